@@ -0,0 +1,162 @@
+-- Plan comparison for V1.3__lookup_indexes.sql at 1M cars.
+--
+-- Run from the project root against a scratch database (it creates and drops its own schema):
+--   psql -h localhost -p 5480 -U postgres -d car_rest_app -f benchmark/V1.3_lookup_indexes.sql
+--
+-- The lookups below are the SQL Hibernate issues for the JPQL in the DAO interfaces.
+-- They are explained once on the V1.2 schema (primary keys only) and once after V1.3 is applied.
+
+\set ON_ERROR_STOP on
+\timing off
+
+DROP SCHEMA IF EXISTS car_rest_bench CASCADE;
+CREATE SCHEMA car_rest_bench;
+SET search_path TO car_rest_bench;
+
+CREATE TABLE manufacturer
+(
+    manufacturer_id bigserial PRIMARY KEY,
+    manufacturer    varchar(50) NOT NULL,
+    year            int         NOT NULL
+);
+
+CREATE TABLE model
+(
+    model_id bigserial PRIMARY KEY,
+    model    varchar(50) NOT NULL
+);
+
+CREATE TABLE category
+(
+    category_id bigserial PRIMARY KEY,
+    category    varchar(50)
+);
+
+CREATE TABLE car
+(
+    car_id          bigserial PRIMARY KEY,
+    manufacturer_id bigint REFERENCES manufacturer (manufacturer_id),
+    model_id        bigint REFERENCES model (model_id)
+);
+
+CREATE TABLE car_category_info
+(
+    id          bigserial PRIMARY KEY,
+    car_id      bigint REFERENCES car (car_id),
+    category_id bigint REFERENCES category (category_id)
+);
+
+
+-- 2 000 makes x 30 years, 50 000 models, 10 categories, 1 000 000 cars, ~1 330 000 category links
+
+INSERT INTO manufacturer (manufacturer, year)
+SELECT 'Make ' || make, 1994 + year
+FROM generate_series(1, 2000) make,
+     generate_series(1, 30) year;
+
+INSERT INTO model (model)
+SELECT 'Model ' || i
+FROM generate_series(1, 50000) i;
+
+INSERT INTO category (category)
+SELECT unnest(ARRAY ['SUV', 'Sedan', 'Pickup', 'Wagon', 'Hatchback', 'Coupe', 'Van/Minivan', 'Convertible',
+                     'SUV1992', 'SUV2020']);
+
+INSERT INTO car (manufacturer_id, model_id)
+SELECT i % 60000 + 1, ((i / 60000) * 2971 + i % 60000) % 50000 + 1
+FROM generate_series(0, 999999) i;
+
+INSERT INTO car_category_info (car_id, category_id)
+SELECT car_id, car_id % 10 + 1
+FROM car
+UNION ALL
+SELECT car_id, (car_id + 3) % 10 + 1
+FROM car
+WHERE car_id % 3 = 0;
+
+ANALYZE;
+
+
+\echo '==================== V1.2: primary keys only ===================='
+
+\echo '--- ManufacturerDAO.findByNameAndYear'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM manufacturer WHERE manufacturer = 'Make 1042' AND year = 2010;
+
+\echo '--- ModelDAO.findByName'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM model WHERE model = 'Model 31337';
+
+\echo '--- CategoryDAO.findByName'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM category WHERE category = 'Wagon';
+
+\echo '--- CarDAO.findByManufacturerAndModelAndYear'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT c.*
+FROM car c
+         JOIN manufacturer mf ON mf.manufacturer_id = c.manufacturer_id
+         JOIN model m ON m.model_id = c.model_id
+WHERE mf.manufacturer = 'Make 1042' AND mf.year = 2010 AND m.model = 'Model 31337';
+
+\echo '--- CarDAO.findCarIdsByManufacturer (first page)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT c.car_id
+FROM car c
+         JOIN manufacturer mf ON mf.manufacturer_id = c.manufacturer_id
+WHERE mf.manufacturer = 'Make 1042'
+  AND EXISTS (SELECT 1 FROM car_category_info cc WHERE cc.car_id = c.car_id)
+ORDER BY c.car_id
+LIMIT 20;
+
+\echo '--- car -> categories (findCarWithAllInfoById)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT ct.*
+FROM car_category_info cc
+         JOIN category ct ON ct.category_id = cc.category_id
+WHERE cc.car_id = 424242;
+
+
+\echo '==================== V1.3: lookup indexes ===================='
+
+\i src/main/resources/db/migration/V1/V1.3__lookup_indexes.sql
+ANALYZE;
+
+\echo '--- ManufacturerDAO.findByNameAndYear'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM manufacturer WHERE manufacturer = 'Make 1042' AND year = 2010;
+
+\echo '--- ModelDAO.findByName'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM model WHERE model = 'Model 31337';
+
+\echo '--- CategoryDAO.findByName'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM category WHERE category = 'Wagon';
+
+\echo '--- CarDAO.findByManufacturerAndModelAndYear'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT c.*
+FROM car c
+         JOIN manufacturer mf ON mf.manufacturer_id = c.manufacturer_id
+         JOIN model m ON m.model_id = c.model_id
+WHERE mf.manufacturer = 'Make 1042' AND mf.year = 2010 AND m.model = 'Model 31337';
+
+\echo '--- CarDAO.findCarIdsByManufacturer (first page)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT c.car_id
+FROM car c
+         JOIN manufacturer mf ON mf.manufacturer_id = c.manufacturer_id
+WHERE mf.manufacturer = 'Make 1042'
+  AND EXISTS (SELECT 1 FROM car_category_info cc WHERE cc.car_id = c.car_id)
+ORDER BY c.car_id
+LIMIT 20;
+
+\echo '--- car -> categories (findCarWithAllInfoById)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT ct.*
+FROM car_category_info cc
+         JOIN category ct ON ct.category_id = cc.category_id
+WHERE cc.car_id = 424242;
+
+DROP SCHEMA car_rest_bench CASCADE;
@@ -0,0 +1,82 @@
+package com.foxminded.car_rest_service.autocomplete;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Immutable prefix index over a set of names: the names sorted by their lower-case form, so all names
+ * starting with a prefix form one contiguous run found by binary search. Changes build a new index.
+ */
+public final class NameIndex {
+
+    private static final Comparator<String> ORDER =
+            Comparator.comparing(NameIndex::keyOf).thenComparing(Comparator.naturalOrder());
+
+    private static final NameIndex EMPTY = new NameIndex(new String[0]);
+
+    private final String[] names;
+
+    private final String[] keys;
+
+    private NameIndex(String[] names) {
+        this.names = names;
+        this.keys = Arrays.stream(names).map(NameIndex::keyOf).toArray(String[]::new);
+    }
+
+    public static NameIndex empty() {
+        return EMPTY;
+    }
+
+    public static NameIndex of(Collection<String> names) {
+        TreeSet<String> sorted = new TreeSet<>(ORDER);
+        names.stream().filter(name -> name != null && !name.isEmpty()).forEach(sorted::add);
+        return new NameIndex(sorted.toArray(String[]::new));
+    }
+
+    /**
+     * Case-insensitive prefix match, at most {@code limit} names in alphabetical order.
+     */
+    public List<String> complete(String prefix, int limit) {
+        String key = keyOf(prefix);
+
+        int from = Arrays.binarySearch(keys, key);
+        if (from < 0) {
+            from = -from - 1;
+        }
+        while (from > 0 && keys[from - 1].equals(key)) {
+            from--;
+        }
+
+        List<String> matches = new ArrayList<>(Math.min(limit, 16));
+        for (int i = from; i < keys.length && matches.size() < limit && keys[i].startsWith(key); i++) {
+            matches.add(names[i]);
+        }
+        return matches;
+    }
+
+    public NameIndex with(Set<String> added, Set<String> removed) {
+        if (added.isEmpty() && removed.isEmpty()) {
+            return this;
+        }
+
+        TreeSet<String> sorted = new TreeSet<>(ORDER);
+        sorted.addAll(Arrays.asList(names));
+        sorted.removeAll(removed);
+        added.stream().filter(name -> name != null && !name.isEmpty()).forEach(sorted::add);
+        return new NameIndex(sorted.toArray(String[]::new));
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    private static String keyOf(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,156 @@
+package com.foxminded.car_rest_service.bitmap;
+
+import java.util.Arrays;
+
+final class ArrayContainer extends Container {
+
+    private char[] values;
+
+    private int cardinality;
+
+    ArrayContainer() {
+        this(new char[4], 0);
+    }
+
+    ArrayContainer(char[] values, int cardinality) {
+        this.values = values;
+        this.cardinality = cardinality;
+    }
+
+    @Override
+    int cardinality() {
+        return cardinality;
+    }
+
+    @Override
+    boolean contains(char value) {
+        return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+    }
+
+    @Override
+    Container add(char value) {
+        int index = Arrays.binarySearch(values, 0, cardinality, value);
+        if (index >= 0) {
+            return this;
+        }
+        if (cardinality >= ARRAY_MAX) {
+            return toBitmap().add(value);
+        }
+
+        index = -index - 1;
+        if (cardinality == values.length) {
+            values = Arrays.copyOf(values, Math.min(ARRAY_MAX, Math.max(4, cardinality * 2)));
+        }
+        System.arraycopy(values, index, values, index + 1, cardinality - index);
+        values[index] = value;
+        cardinality++;
+        return this;
+    }
+
+    @Override
+    Container remove(char value) {
+        int index = Arrays.binarySearch(values, 0, cardinality, value);
+        if (index >= 0) {
+            System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+            cardinality--;
+        }
+        return this;
+    }
+
+    @Override
+    Container and(Container other) {
+        char[] result = new char[Math.min(cardinality, other.cardinality())];
+        int size = 0;
+        if (other instanceof ArrayContainer) {
+            ArrayContainer array = (ArrayContainer) other;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality && j < array.cardinality) {
+                if (values[i] < array.values[j]) {
+                    i++;
+                } else if (values[i] > array.values[j]) {
+                    j++;
+                } else {
+                    result[size++] = values[i];
+                    i++;
+                    j++;
+                }
+            }
+        } else {
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(values[i])) {
+                    result[size++] = values[i];
+                }
+            }
+        }
+        return new ArrayContainer(result, size);
+    }
+
+    @Override
+    Container or(Container other) {
+        if (!(other instanceof ArrayContainer)) {
+            return other.or(this);
+        }
+
+        ArrayContainer array = (ArrayContainer) other;
+        if (cardinality + array.cardinality > ARRAY_MAX) {
+            return toBitmap().or(array);
+        }
+
+        char[] result = new char[cardinality + array.cardinality];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < cardinality && j < array.cardinality) {
+            if (values[i] < array.values[j]) {
+                result[size++] = values[i++];
+            } else if (values[i] > array.values[j]) {
+                result[size++] = array.values[j++];
+            } else {
+                result[size++] = values[i++];
+                j++;
+            }
+        }
+        while (i < cardinality) {
+            result[size++] = values[i++];
+        }
+        while (j < array.cardinality) {
+            result[size++] = array.values[j++];
+        }
+        return new ArrayContainer(result, size);
+    }
+
+    @Override
+    Container andNot(Container other) {
+        char[] result = new char[cardinality];
+        int size = 0;
+        for (int i = 0; i < cardinality; i++) {
+            if (!other.contains(values[i])) {
+                result[size++] = values[i];
+            }
+        }
+        return new ArrayContainer(result, size);
+    }
+
+    @Override
+    Container copy() {
+        return new ArrayContainer(Arrays.copyOf(values, Math.max(cardinality, 1)), cardinality);
+    }
+
+    @Override
+    int copyTo(long high, int skip, long[] out, int from, int limit) {
+        int count = Math.min(cardinality - skip, limit);
+        for (int i = 0; i < count; i++) {
+            out[from + i] = high | values[skip + i];
+        }
+        return Math.max(count, 0);
+    }
+
+    BitmapContainer toBitmap() {
+        BitmapContainer bitmap = new BitmapContainer();
+        for (int i = 0; i < cardinality; i++) {
+            bitmap.add(values[i]);
+        }
+        return bitmap;
+    }
+}
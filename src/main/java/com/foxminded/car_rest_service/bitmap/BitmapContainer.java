@@ -0,0 +1,154 @@
+package com.foxminded.car_rest_service.bitmap;
+
+final class BitmapContainer extends Container {
+
+    private static final int WORDS = (1 << Character.SIZE) / Long.SIZE;
+
+    private final long[] words;
+
+    private int cardinality;
+
+    BitmapContainer() {
+        this(new long[WORDS], 0);
+    }
+
+    private BitmapContainer(long[] words, int cardinality) {
+        this.words = words;
+        this.cardinality = cardinality;
+    }
+
+    @Override
+    int cardinality() {
+        return cardinality;
+    }
+
+    @Override
+    boolean contains(char value) {
+        return (words[value >>> 6] & (1L << value)) != 0;
+    }
+
+    @Override
+    Container add(char value) {
+        long word = words[value >>> 6];
+        long bit = 1L << value;
+        if ((word & bit) == 0) {
+            words[value >>> 6] = word | bit;
+            cardinality++;
+        }
+        return this;
+    }
+
+    @Override
+    Container remove(char value) {
+        long word = words[value >>> 6];
+        long bit = 1L << value;
+        if ((word & bit) != 0) {
+            words[value >>> 6] = word & ~bit;
+            cardinality--;
+        }
+        return cardinality > ARRAY_MAX ? this : toArray();
+    }
+
+    @Override
+    Container and(Container other) {
+        if (!(other instanceof BitmapContainer)) {
+            return other.and(this);
+        }
+
+        long[] otherWords = ((BitmapContainer) other).words;
+        long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = words[i] & otherWords[i];
+        }
+        return of(result);
+    }
+
+    @Override
+    Container or(Container other) {
+        long[] result = words.clone();
+        if (other instanceof BitmapContainer) {
+            long[] otherWords = ((BitmapContainer) other).words;
+            for (int i = 0; i < WORDS; i++) {
+                result[i] |= otherWords[i];
+            }
+        } else {
+            setAll(result, other);
+        }
+        return of(result);
+    }
+
+    @Override
+    Container andNot(Container other) {
+        long[] result = words.clone();
+        if (other instanceof BitmapContainer) {
+            long[] otherWords = ((BitmapContainer) other).words;
+            for (int i = 0; i < WORDS; i++) {
+                result[i] &= ~otherWords[i];
+            }
+        } else {
+            long[] mask = new long[WORDS];
+            setAll(mask, other);
+            for (int i = 0; i < WORDS; i++) {
+                result[i] &= ~mask[i];
+            }
+        }
+        return of(result);
+    }
+
+    @Override
+    Container copy() {
+        return new BitmapContainer(words.clone(), cardinality);
+    }
+
+    @Override
+    int copyTo(long high, int skip, long[] out, int from, int limit) {
+        int written = 0;
+        for (int i = 0; i < WORDS && written < limit; i++) {
+            long word = words[i];
+            int bits = Long.bitCount(word);
+            if (skip >= bits) {
+                skip -= bits;
+                continue;
+            }
+            while (word != 0 && written < limit) {
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    out[from + written++] = high | ((long) i << 6) | Long.numberOfTrailingZeros(word);
+                }
+                word &= word - 1;
+            }
+        }
+        return written;
+    }
+
+    private ArrayContainer toArray() {
+        char[] values = new char[cardinality];
+        int size = 0;
+        for (int i = 0; i < WORDS; i++) {
+            long word = words[i];
+            while (word != 0) {
+                values[size++] = (char) ((i << 6) | Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return new ArrayContainer(values, size);
+    }
+
+    private static void setAll(long[] words, Container array) {
+        long[] values = new long[array.cardinality()];
+        array.copyTo(0L, 0, values, 0, values.length);
+        for (long value : values) {
+            words[(int) (value >>> 6)] |= 1L << value;
+        }
+    }
+
+    private static Container of(long[] words) {
+        int cardinality = 0;
+        for (long word : words) {
+            cardinality += Long.bitCount(word);
+        }
+        BitmapContainer bitmap = new BitmapContainer(words, cardinality);
+        return cardinality > ARRAY_MAX ? bitmap : bitmap.toArray();
+    }
+}
@@ -0,0 +1,198 @@
+package com.foxminded.car_rest_service.bitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compressed set of car ids in the Roaring layout: ids are split by their high bits into chunks of 65536,
+ * and each chunk is a {@link Container} holding the low 16 bits. Set operations combine chunk by chunk
+ * and always return a new bitmap, adding and removing modify this one.
+ */
+public final class CarIdBitmap {
+
+    private long[] keys;
+
+    private Container[] containers;
+
+    private int size;
+
+    public CarIdBitmap() {
+        this(new long[4], new Container[4], 0);
+    }
+
+    private CarIdBitmap(long[] keys, Container[] containers, int size) {
+        this.keys = keys;
+        this.containers = containers;
+        this.size = size;
+    }
+
+    public static CarIdBitmap of(long... ids) {
+        CarIdBitmap bitmap = new CarIdBitmap();
+        for (long id : ids) {
+            bitmap.add(id);
+        }
+        return bitmap;
+    }
+
+    public boolean add(long id) {
+        long key = id >>> Character.SIZE;
+        int index = find(key);
+        if (index < 0) {
+            index = -index - 1;
+            insert(index, key, new ArrayContainer());
+        }
+
+        Container container = containers[index];
+        int before = container.cardinality();
+        containers[index] = container.add((char) id);
+        return containers[index].cardinality() > before;
+    }
+
+    public boolean remove(long id) {
+        int index = find(id >>> Character.SIZE);
+        if (index < 0) {
+            return false;
+        }
+
+        Container container = containers[index];
+        int before = container.cardinality();
+        Container after = container.remove((char) id);
+        if (after.cardinality() == 0) {
+            delete(index);
+        } else {
+            containers[index] = after;
+        }
+        return after.cardinality() < before;
+    }
+
+    public boolean contains(long id) {
+        int index = find(id >>> Character.SIZE);
+        return index >= 0 && containers[index].contains((char) id);
+    }
+
+    public long cardinality() {
+        long cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public CarIdBitmap and(CarIdBitmap other) {
+        CarIdBitmap result = new CarIdBitmap(new long[Math.min(size, other.size)],
+                new Container[Math.min(size, other.size)], 0);
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                result.append(keys[i], containers[i++].and(other.containers[j++]));
+            }
+        }
+        return result;
+    }
+
+    public CarIdBitmap or(CarIdBitmap other) {
+        CarIdBitmap result = new CarIdBitmap(new long[size + other.size], new Container[size + other.size], 0);
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                result.append(keys[i], containers[i++].copy());
+            } else if (keys[i] > other.keys[j]) {
+                result.append(other.keys[j], other.containers[j++].copy());
+            } else {
+                result.append(keys[i], containers[i++].or(other.containers[j++]));
+            }
+        }
+        while (i < size) {
+            result.append(keys[i], containers[i++].copy());
+        }
+        while (j < other.size) {
+            result.append(other.keys[j], other.containers[j++].copy());
+        }
+        return result;
+    }
+
+    public CarIdBitmap andNot(CarIdBitmap other) {
+        CarIdBitmap result = new CarIdBitmap(new long[size], new Container[size], 0);
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            while (j < other.size && other.keys[j] < keys[i]) {
+                j++;
+            }
+            result.append(keys[i], j < other.size && other.keys[j] == keys[i]
+                    ? containers[i].andNot(other.containers[j])
+                    : containers[i].copy());
+        }
+        return result;
+    }
+
+    public CarIdBitmap copy() {
+        CarIdBitmap result = new CarIdBitmap(new long[size], new Container[size], 0);
+        for (int i = 0; i < size; i++) {
+            result.append(keys[i], containers[i].copy());
+        }
+        return result;
+    }
+
+    /**
+     * Ids in ascending order, after skipping {@code offset} of them. Whole chunks are skipped by cardinality.
+     */
+    public List<Long> page(long offset, int limit) {
+        long[] ids = new long[(int) Math.max(0, Math.min(limit, cardinality() - offset))];
+        int written = 0;
+        for (int i = 0; i < size && written < ids.length; i++) {
+            int cardinality = containers[i].cardinality();
+            if (offset >= cardinality) {
+                offset -= cardinality;
+                continue;
+            }
+            written += containers[i].copyTo(keys[i] << Character.SIZE, (int) offset, ids, written, ids.length - written);
+            offset = 0;
+        }
+
+        List<Long> page = new ArrayList<>(written);
+        for (int i = 0; i < written; i++) {
+            page.add(ids[i]);
+        }
+        return page;
+    }
+
+    private int find(long key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void append(long key, Container container) {
+        if (container.cardinality() > 0) {
+            insert(size, key, container);
+        }
+    }
+
+    private void insert(int index, long key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, Math.max(4, size * 2));
+            containers = Arrays.copyOf(containers, Math.max(4, size * 2));
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    private void delete(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        size--;
+        containers[size] = null;
+    }
+}
@@ -0,0 +1,303 @@
+package com.foxminded.car_rest_service.bitmap;
+
+import com.foxminded.car_rest_service.dao.CategoryBitmapDAO;
+import com.foxminded.car_rest_service.events.CatalogChangedEvent;
+import com.foxminded.car_rest_service.events.CategoryLink;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Car ids of every category as a {@link CarIdBitmap}, answering category intersection, union and exclusion
+ * in memory. Loaded on startup, then kept current after every committed write through the services: added
+ * and removed links, deleted cars' links included, are applied one by one. Only category renames and writes
+ * that don't know their cars, like imports, re-read the categories they touched, which they queue for a
+ * background task on the shared scheduler. A full reload
+ * every {@code car-rest.category-bitmaps.reload-interval} repairs what was missed, writes made by other
+ * instances included.
+ */
+@Slf4j
+@Component
+public class CategoryBitmapIndex implements InitializingBean {
+
+    @Autowired
+    private CategoryBitmapDAO categoryBitmapDAO;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Value("${car-rest.category-bitmaps.reload-interval:10m}")
+    private Duration reloadInterval;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, CarIdBitmap> byCategory = new HashMap<>();
+
+    private volatile boolean loaded;
+
+    private final Object reloading = new Object();
+
+    /**
+     * Changes committed while a reload reads, applied again once it is swapped in. Guarded by this.
+     */
+    private List<CatalogChangedEvent> missed;
+
+    private final Set<String> pendingCategories = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean queued = new AtomicBoolean();
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!reloadInterval.isZero()) {
+            taskScheduler.scheduleWithFixedDelay(this::scheduledReload, Instant.now().plus(reloadInterval),
+                    reloadInterval);
+        }
+    }
+
+    /**
+     * Cars in every category of {@code all} and in any category of {@code any}, except cars in any category
+     * of {@code none}. Absent or empty lists don't restrict, but at least one of {@code all} and {@code any}
+     * has to be given. The result is a copy, free to keep or change.
+     */
+    public CarIdBitmap match(Collection<String> all, Collection<String> any, Collection<String> none) {
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            CarIdBitmap result = null;
+            if (isPresent(all)) {
+                for (CarIdBitmap cars : bySize(all)) {
+                    result = result == null ? cars.copy() : result.and(cars);
+                    if (result.isEmpty()) {
+                        return result;
+                    }
+                }
+            }
+            if (isPresent(any)) {
+                CarIdBitmap union = new CarIdBitmap();
+                for (String category : any) {
+                    union = union.or(bitmapOf(category));
+                }
+                result = result == null ? union : result.and(union);
+            }
+            if (result == null) {
+                throw new IllegalArgumentException("All or any categories are required");
+            }
+            if (isPresent(none)) {
+                for (String category : none) {
+                    result = result.andNot(bitmapOf(category));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads every link without blocking the writes committed meanwhile, which are applied again on top.
+     * The read runs in a read-write transaction, so on the primary: a lagging replica would miss writes
+     * committed shortly before the reload, which were applied to the replaced bitmaps only.
+     */
+    public void reload() {
+        synchronized (reloading) {
+            int categories = readAndSwap(null);
+            log.info("Category bitmaps loaded: categories: {}", categories);
+        }
+    }
+
+    /**
+     * Re-reads the categories queued since the last run. Runs in the background, callers that need their
+     * own writes visible right away can run it themselves.
+     */
+    public void applyPendingChanges() {
+        synchronized (reloading) {
+            queued.set(false);
+            Set<String> categories = drain(pendingCategories);
+            if (categories.isEmpty() || !loaded) {
+                return;
+            }
+
+            try {
+                readAndSwap(categories);
+            } catch (DataAccessException e) {
+                log.warn("Category bitmaps weren't patched, they are repaired by the next reload: {}", e.getMessage());
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            reload();
+        } catch (DataAccessException e) {
+            log.warn("Category bitmaps weren't loaded on startup, loading on first use: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCatalogChanged(CatalogChangedEvent event) {
+        if (missed != null) {
+            missed.add(event);
+        }
+        if (loaded) {
+            apply(event);
+        }
+    }
+
+    private void apply(CatalogChangedEvent event) {
+        if (!event.getAddedLinks().isEmpty() || !event.getRemovedLinks().isEmpty()) {
+            applyLinks(event);
+        }
+
+        Set<String> stale = event.getCarIds().isEmpty() ? event.getCategories() : event.getRenamedCategories();
+        if (!stale.isEmpty()) {
+            pendingCategories.addAll(stale);
+            if (queued.compareAndSet(false, true)) {
+                taskScheduler.schedule(this::applyPendingChanges, Instant.now());
+            }
+        }
+    }
+
+    /**
+     * Reads the links of the given categories, or of all of them for {@code null}, and swaps them in. Writes
+     * committed during the read are applied again on top. Returns the number of categories read.
+     */
+    private int readAndSwap(Set<String> categories) {
+        synchronized (this) {
+            missed = new ArrayList<>();
+        }
+        if (categories == null) {
+            pendingCategories.clear();
+        }
+
+        Map<String, CarIdBitmap> fresh = new HashMap<>();
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.executeWithoutResult(status -> {
+                if (categories == null) {
+                    categoryBitmapDAO.findAllLinks((category, carId) ->
+                            fresh.computeIfAbsent(category, c -> new CarIdBitmap()).add(carId));
+                } else {
+                    categoryBitmapDAO.findLinksByCategories(categories, (category, carId) ->
+                            fresh.computeIfAbsent(category, c -> new CarIdBitmap()).add(carId));
+                }
+            });
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                missed = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            lock.writeLock().lock();
+            try {
+                if (categories == null) {
+                    byCategory.clear();
+                } else {
+                    categories.forEach(byCategory::remove);
+                }
+                byCategory.putAll(fresh);
+                loaded = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            missed.forEach(this::apply);
+            missed = null;
+        }
+        return fresh.size();
+    }
+
+    private void scheduledReload() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Category bitmaps reload failed", e);
+        }
+    }
+
+    private void applyLinks(CatalogChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (CategoryLink link : event.getRemovedLinks()) {
+                CarIdBitmap cars = byCategory.get(link.getCategory());
+                if (cars != null && cars.remove(link.getCarId()) && cars.isEmpty()) {
+                    byCategory.remove(link.getCategory());
+                }
+            }
+            for (CategoryLink link : event.getAddedLinks()) {
+                byCategory.computeIfAbsent(link.getCategory(), c -> new CarIdBitmap()).add(link.getCarId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Smallest first, so the intersection shrinks as early as possible.
+     */
+    private List<CarIdBitmap> bySize(Collection<String> categories) {
+        return categories.stream()
+                .map(this::bitmapOf)
+                .sorted(Comparator.comparingLong(CarIdBitmap::cardinality))
+                .collect(toList());
+    }
+
+    private CarIdBitmap bitmapOf(String category) {
+        return byCategory.getOrDefault(category, new CarIdBitmap());
+    }
+
+    private boolean isPresent(Collection<String> categories) {
+        return categories != null && !categories.isEmpty();
+    }
+
+    private static Set<String> drain(Set<String> pending) {
+        Set<String> drained = new HashSet<>();
+        for (Iterator<String> iterator = pending.iterator(); iterator.hasNext(); ) {
+            drained.add(iterator.next());
+            iterator.remove();
+        }
+        return drained;
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (reloading) {
+                if (!loaded) {
+                    reload();
+                }
+            }
+        }
+    }
+}
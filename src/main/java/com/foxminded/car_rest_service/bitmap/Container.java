@@ -0,0 +1,43 @@
+package com.foxminded.car_rest_service.bitmap;
+
+/**
+ * The low 16 bits of the ids sharing the same high bits. Sparse sets are kept as sorted arrays, dense sets
+ * as 65536-bit bitmaps. Operations never modify their argument, and set operations always build a new
+ * container, so a result never shares state with its inputs.
+ */
+abstract class Container {
+
+    /**
+     * Above this many values a bitmap is smaller than a sorted array.
+     */
+    static final int ARRAY_MAX = 4096;
+
+    abstract int cardinality();
+
+    abstract boolean contains(char value);
+
+    /**
+     * Adds in place, returns the container to use from now on, which may be a converted one.
+     */
+    abstract Container add(char value);
+
+    /**
+     * Removes in place, returns the container to use from now on, which may be a converted one.
+     */
+    abstract Container remove(char value);
+
+    abstract Container and(Container other);
+
+    abstract Container or(Container other);
+
+    abstract Container andNot(Container other);
+
+    abstract Container copy();
+
+    /**
+     * Writes the values after skipping {@code skip} of them, combined with the high bits, into {@code out}.
+     *
+     * @return number of values written
+     */
+    abstract int copyTo(long high, int skip, long[] out, int from, int limit);
+}
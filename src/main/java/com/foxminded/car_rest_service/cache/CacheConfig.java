@@ -0,0 +1,23 @@
+package com.foxminded.car_rest_service.cache;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Result caches of the read endpoints. Size and TTL are set by {@code spring.cache.caffeine.spec},
+ * entries are evicted on writes by {@link CatalogCacheEvictor}.
+ */
+@EnableCaching
+@Configuration
+public class CacheConfig {
+
+    public static final String CARS_BY_MANUFACTURER = "carsByManufacturer";
+
+    public static final String MANUFACTURERS_BY_NAME = "manufacturersByName";
+
+    public static final String MODEL_WITH_CARS = "modelWithCars";
+
+    public static final String CATEGORY_WITH_CARS = "categoryWithCars";
+
+    public static final String CAR_FACETS = "carFacets";
+}
@@ -0,0 +1,83 @@
+package com.foxminded.car_rest_service.cache;
+
+import com.foxminded.car_rest_service.events.CatalogChangedEvent;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarFilterDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static com.foxminded.car_rest_service.cache.CacheConfig.CARS_BY_MANUFACTURER;
+import static com.foxminded.car_rest_service.cache.CacheConfig.CAR_FACETS;
+import static com.foxminded.car_rest_service.cache.CacheConfig.CATEGORY_WITH_CARS;
+import static com.foxminded.car_rest_service.cache.CacheConfig.MANUFACTURERS_BY_NAME;
+import static com.foxminded.car_rest_service.cache.CacheConfig.MODEL_WITH_CARS;
+
+/**
+ * Evicts the entries a committed write touched. Paged caches are keyed by {@code [name, pageable]},
+ * so every page of an affected name is dropped. Facets are cached only for filters by name, and a write can
+ * change the facets of such a filter only through a car whose manufacturer, model or category the filter names.
+ */
+@Slf4j
+@Component
+public class CatalogCacheEvictor {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        log.debug("Evicting cached reads for: {}", event);
+
+        evict(CARS_BY_MANUFACTURER, event.getManufacturers());
+        evict(MANUFACTURERS_BY_NAME, event.getManufacturers());
+        evict(MODEL_WITH_CARS, event.getModels());
+        evict(CATEGORY_WITH_CARS, event.getCategories());
+
+        evictFacets(event);
+    }
+
+    private void evict(String cacheName, Set<String> names) {
+        if (names.isEmpty()) {
+            return;
+        }
+
+        evictIf(cacheName, key -> names.contains(nameOf(key)));
+    }
+
+    private void evictFacets(CatalogChangedEvent event) {
+        evictIf(CAR_FACETS, key -> {
+            CarFilterDTO filter = (CarFilterDTO) key;
+            return intersects(filter.getManufacturer(), event.getManufacturers())
+                    || intersects(filter.getModel(), event.getModels())
+                    || intersects(filter.getCategory(), event.getCategories());
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void evictIf(String cacheName, Predicate<Object> affected) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> entries =
+                (com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache();
+
+        entries.asMap().keySet().removeIf(affected);
+    }
+
+    private boolean intersects(List<String> filterNames, Set<String> names) {
+        return filterNames != null && filterNames.stream().anyMatch(names::contains);
+    }
+
+    private Object nameOf(Object key) {
+        return key instanceof List ? ((List<?>) key).get(0) : key;
+    }
+}
@@ -0,0 +1,64 @@
+package com.foxminded.car_rest_service.controllers;
+
+import com.foxminded.car_rest_service.exceptions.response.ResultModel;
+import com.foxminded.car_rest_service.services.AutocompleteService;
+import com.foxminded.car_rest_service.utils.Mappings;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import java.util.List;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+@Slf4j
+@Validated
+@RestController
+@RequestMapping(value = Mappings.API_V1_AUTOCOMPLETE, produces = APPLICATION_JSON_VALUE)
+public class AutocompleteController implements AutocompleteOpenApi {
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    @Override
+    @GetMapping(Mappings.AUTOCOMPLETE_MANUFACTURERS)
+    public ResponseEntity<ResultModel> completeManufacturers(@RequestParam String prefix,
+                                                             @Min(1) @Max(100) @RequestParam(defaultValue = "10") int limit) {
+        log.info("CompleteManufacturers started with prefix: {}, limit: {}", prefix, limit);
+
+        return ok(autocompleteService.completeManufacturers(prefix, limit));
+    }
+
+    @Override
+    @GetMapping(Mappings.AUTOCOMPLETE_MODELS)
+    public ResponseEntity<ResultModel> completeModels(@RequestParam String prefix,
+                                                      @Min(1) @Max(100) @RequestParam(defaultValue = "10") int limit) {
+        log.info("CompleteModels started with prefix: {}, limit: {}", prefix, limit);
+
+        return ok(autocompleteService.completeModels(prefix, limit));
+    }
+
+    @Override
+    @GetMapping(Mappings.AUTOCOMPLETE_CATEGORIES)
+    public ResponseEntity<ResultModel> completeCategories(@RequestParam String prefix,
+                                                          @Min(1) @Max(100) @RequestParam(defaultValue = "10") int limit) {
+        log.info("CompleteCategories started with prefix: {}, limit: {}", prefix, limit);
+
+        return ok(autocompleteService.completeCategories(prefix, limit));
+    }
+
+    private ResponseEntity<ResultModel> ok(List<String> names) {
+        ResultModel resultModel = new ResultModel();
+        resultModel.setData(names);
+
+        return new ResponseEntity<>(resultModel, HttpStatus.OK);
+    }
+}
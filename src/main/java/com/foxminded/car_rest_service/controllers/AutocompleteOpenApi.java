@@ -0,0 +1,132 @@
+package com.foxminded.car_rest_service.controllers;
+
+import com.foxminded.car_rest_service.exceptions.response.ResultModel;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.SchemaProperty;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+@Tag(name = "Autocomplete", description = "Name completion for search inputs")
+public interface AutocompleteOpenApi {
+
+    @Operation(summary = "Completes manufacturer names by prefix",
+            description = "Returns up to 'limit' manufacturer names starting with the prefix, ignoring case, in alphabetical order",
+            tags = "Autocomplete",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Success response with list of names, empty when nothing matches",
+                    content = {@Content(schema = @Schema(type = "object"),
+                            schemaProperties = {
+                                    @SchemaProperty(
+                                            name = "data",
+                                            array = @ArraySchema(schema = @Schema(type = "string", example = "Cadillac"))
+                                    ),
+                                    @SchemaProperty(
+                                            name = "massage",
+                                            schema = @Schema(type = "string", example = "null")
+                                    )
+                            },
+                            mediaType = APPLICATION_JSON_VALUE)}),
+            @ApiResponse(responseCode = "400", ref = "ValidationErrorResponse")})
+    ResponseEntity<ResultModel> completeManufacturers(@Parameter(
+                                                              name = "prefix",
+                                                              description = "Beginning of the name",
+                                                              required = true,
+                                                              in = ParameterIn.QUERY,
+                                                              schema = @Schema(type = "string", example = "ca")
+                                                      ) String prefix,
+                                                      @Min(1) @Max(100)
+                                                      @Parameter(
+                                                              name = "limit",
+                                                              description = "Maximum number of names",
+                                                              in = ParameterIn.QUERY,
+                                                              schema = @Schema(type = "integer", defaultValue = "10", minimum = "1", maximum = "100")
+                                                      ) int limit);
+
+    @Operation(summary = "Completes model names by prefix",
+            description = "Returns up to 'limit' model names starting with the prefix, ignoring case, in alphabetical order",
+            tags = "Autocomplete",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Success response with list of names, empty when nothing matches",
+                    content = {@Content(schema = @Schema(type = "object"),
+                            schemaProperties = {
+                                    @SchemaProperty(
+                                            name = "data",
+                                            array = @ArraySchema(schema = @Schema(type = "string", example = "Escalade"))
+                                    ),
+                                    @SchemaProperty(
+                                            name = "massage",
+                                            schema = @Schema(type = "string", example = "null")
+                                    )
+                            },
+                            mediaType = APPLICATION_JSON_VALUE)}),
+            @ApiResponse(responseCode = "400", ref = "ValidationErrorResponse")})
+    ResponseEntity<ResultModel> completeModels(@Parameter(
+                                                       name = "prefix",
+                                                       description = "Beginning of the name",
+                                                       required = true,
+                                                       in = ParameterIn.QUERY,
+                                                       schema = @Schema(type = "string", example = "es")
+                                               ) String prefix,
+                                               @Min(1) @Max(100)
+                                               @Parameter(
+                                                       name = "limit",
+                                                       description = "Maximum number of names",
+                                                       in = ParameterIn.QUERY,
+                                                       schema = @Schema(type = "integer", defaultValue = "10", minimum = "1", maximum = "100")
+                                               ) int limit);
+
+    @Operation(summary = "Completes category names by prefix",
+            description = "Returns up to 'limit' category names starting with the prefix, ignoring case, in alphabetical order",
+            tags = "Autocomplete",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Success response with list of names, empty when nothing matches",
+                    content = {@Content(schema = @Schema(type = "object"),
+                            schemaProperties = {
+                                    @SchemaProperty(
+                                            name = "data",
+                                            array = @ArraySchema(schema = @Schema(type = "string", example = "SUV"))
+                                    ),
+                                    @SchemaProperty(
+                                            name = "massage",
+                                            schema = @Schema(type = "string", example = "null")
+                                    )
+                            },
+                            mediaType = APPLICATION_JSON_VALUE)}),
+            @ApiResponse(responseCode = "400", ref = "ValidationErrorResponse")})
+    ResponseEntity<ResultModel> completeCategories(@Parameter(
+                                                           name = "prefix",
+                                                           description = "Beginning of the name",
+                                                           required = true,
+                                                           in = ParameterIn.QUERY,
+                                                           schema = @Schema(type = "string", example = "su")
+                                                   ) String prefix,
+                                                   @Min(1) @Max(100)
+                                                   @Parameter(
+                                                           name = "limit",
+                                                           description = "Maximum number of names",
+                                                           in = ParameterIn.QUERY,
+                                                           schema = @Schema(type = "integer", defaultValue = "10", minimum = "1", maximum = "100")
+                                                   ) int limit);
+}
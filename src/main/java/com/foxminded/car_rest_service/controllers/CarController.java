@@ -1,14 +1,28 @@
 package com.foxminded.car_rest_service.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
 import com.foxminded.car_rest_service.exceptions.response.ResultModel;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarBatchCreateDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCategoryChangesDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCategoryChangesResultDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCreateResultDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.car.CarDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCategoryQueryDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarFacetsDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarFilterDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarImportDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.car.CarWithoutCategoriesDTO;
+import com.foxminded.car_rest_service.services.CarJsonService;
 import com.foxminded.car_rest_service.services.CarService;
+import com.foxminded.car_rest_service.utils.KeysetPage;
 import com.foxminded.car_rest_service.utils.Mappings;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -20,11 +34,20 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static java.lang.String.format;
 
@@ -37,19 +60,34 @@ public class CarController implements CarOpenApi {
     @Autowired
     private CarService carService;
 
+    @Autowired
+    private CarJsonService carJsonService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${car-rest.json-aggregation.enabled:false}")
+    private boolean jsonAggregation;
+
     @Override
     @GetMapping
-    public ResponseEntity<ResultModel> getAllCars(Pageable pageable) {
+    public ResponseEntity<ResultModel> getAllCars(@RequestParam(required = false) String cursor,
+                                                  Pageable pageable) {
         log.info("GetAllCars started");
 
-        ResultModel resultModel = new ResultModel();
-        List<CarDTO> cars = carService.getAllCars(pageable);
+        if (cursor == null) {
+            return readCars(pageable, "Cars not found",
+                    () -> carJsonService.getAllCars(pageable), () -> carService.getAllCars(pageable));
+        }
 
-        if (cars.isEmpty()) {
+        ResultModel resultModel = new ResultModel();
+        KeysetPage<CarDTO> page = carService.getAllCars(cursor, pageable.getSort(), pageable.getPageSize());
+        if (page.getContent().isEmpty()) {
             resultModel.setMassage("Cars not found");
             return new ResponseEntity<>(resultModel, HttpStatus.NOT_FOUND);
         }
-        resultModel.setData(cars);
+        resultModel.setData(page.getContent());
+        resultModel.setNextCursor(page.getNextCursor());
 
         return new ResponseEntity<>(resultModel, HttpStatus.OK);
     }
@@ -59,11 +97,33 @@ public class CarController implements CarOpenApi {
     public ResponseEntity<ResultModel> getAllCarsByManufacturer(@NotBlank @RequestParam String manufacturer, Pageable pageable) {
         log.info("GetAllCarsByManufacturer started with manufacturer: {}", manufacturer);
 
+        return readCars(pageable, format("Cars with manufacturer(%s) not found", manufacturer),
+                () -> carJsonService.getAllCarsByManufacturer(manufacturer, pageable),
+                () -> carService.getAllCarsByManufacturer(manufacturer, pageable));
+    }
+
+    @Override
+    @GetMapping(Mappings.GET_CARS_BY_MANUFACTURER_AND_YEAR)
+    public ResponseEntity<ResultModel> getAllCarsByManufacturerAndMinYear(@NotBlank @RequestParam String manufacturer,
+                                                                          @RequestParam Integer year,
+                                                                          Pageable pageable) {
+        log.info("GetAllCarsByManufacturerAndMinYear started with manufacturer: {}, year: {}", manufacturer, year);
+
+        return readCars(pageable, format("Cars with manufacturer(%s) and year(%s) not found", manufacturer, year),
+                () -> carJsonService.getAllCarsByManufacturerAndMinYear(manufacturer, year, pageable),
+                () -> carService.getAllCarsByManufacturerAndMinYear(manufacturer, year, pageable));
+    }
+
+    @Override
+    @GetMapping(Mappings.SEARCH_CARS)
+    public ResponseEntity<ResultModel> searchCars(@NotBlank @RequestParam String query, Pageable pageable) {
+        log.info("SearchCars started with query: {}", query);
+
         ResultModel resultModel = new ResultModel();
-        List<CarDTO> cars = carService.getAllCarsByManufacturer(manufacturer, pageable);
+        List<CarDTO> cars = carService.searchCars(query, pageable);
 
         if (cars.isEmpty()) {
-            resultModel.setMassage(format("Cars with manufacturer(%s) not found", manufacturer));
+            resultModel.setMassage(format("Cars matching(%s) not found", query));
             return new ResponseEntity<>(resultModel, HttpStatus.NOT_FOUND);
         }
 
@@ -73,20 +133,80 @@ public class CarController implements CarOpenApi {
     }
 
     @Override
-    @GetMapping(Mappings.GET_CARS_BY_MANUFACTURER_AND_YEAR)
-    public ResponseEntity<ResultModel> getAllCarsByManufacturerAndMinYear(@NotBlank @RequestParam String manufacturer,
-                                                                          @RequestParam Integer year,
-                                                                          Pageable pageable) {
-        log.info("GetAllCarsByManufacturerAndMinYear started with manufacturer: {}, year: {}", manufacturer, year);
+    @GetMapping(Mappings.FILTER_CARS)
+    public ResponseEntity<ResultModel> filterCars(@Valid CarFilterDTO filter, Pageable pageable) {
+        log.info("FilterCars started with filter: {}", filter);
 
         ResultModel resultModel = new ResultModel();
-        List<CarDTO> cars = carService.getAllCarsByManufacturerAndMinYear(manufacturer, year, pageable);
+        List<CarDTO> cars = carService.filterCars(filter, pageable);
+
+        if (cars.isEmpty()) {
+            resultModel.setMassage("Cars matching the filter not found");
+            return new ResponseEntity<>(resultModel, HttpStatus.NOT_FOUND);
+        }
+
+        resultModel.setData(cars);
+
+        return new ResponseEntity<>(resultModel, HttpStatus.OK);
+    }
+
+    @Override
+    @GetMapping(Mappings.GET_CAR_FACETS)
+    public ResponseEntity<ResultModel> getFacets(@Valid CarFilterDTO filter) {
+        log.info("GetFacets started with filter: {}", filter);
+
+        ResultModel resultModel = new ResultModel();
+        CarFacetsDTO facets = carService.getFacets(filter);
+        resultModel.setData(facets);
+
+        return new ResponseEntity<>(resultModel, HttpStatus.OK);
+    }
+
+    @Override
+    @GetMapping(Mappings.MATCH_CARS_BY_CATEGORIES)
+    public ResponseEntity<ResultModel> getCarsByCategories(@Valid CarCategoryQueryDTO query, Pageable pageable) {
+        log.info("GetCarsByCategories started with query: {}", query);
+
+        ResultModel resultModel = new ResultModel();
+        List<CarDTO> cars = carService.getCarsByCategories(query, pageable);
+
         if (cars.isEmpty()) {
-            resultModel.setMassage(format("Cars with manufacturer(%s) and year(%s) not found", manufacturer, year));
+            resultModel.setMassage("Cars matching the categories not found");
             return new ResponseEntity<>(resultModel, HttpStatus.NOT_FOUND);
         }
 
         resultModel.setData(cars);
+
+        return new ResponseEntity<>(resultModel, HttpStatus.OK);
+    }
+
+    @Override
+    @GetMapping(Mappings.COUNT_CARS_BY_CATEGORIES)
+    public ResponseEntity<ResultModel> countCarsByCategories(@Valid CarCategoryQueryDTO query) {
+        log.info("CountCarsByCategories started with query: {}", query);
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setData(carService.countCarsByCategories(query));
+
+        return new ResponseEntity<>(resultModel, HttpStatus.OK);
+    }
+
+    @Override
+    @GetMapping(Mappings.GET_SIMILAR_CARS)
+    public ResponseEntity<ResultModel> getSimilarCars(@PathVariable(name = "id") Long id,
+                                                      @Min(1) @Max(100) @RequestParam(defaultValue = "10") int limit) {
+        log.info("GetSimilarCars started with id: {}, limit: {}", id, limit);
+
+        ResultModel resultModel = new ResultModel();
+        List<CarDTO> cars = carService.getSimilarCars(id, limit);
+
+        if (cars.isEmpty()) {
+            resultModel.setMassage(format("Cars similar to car with id(%d) not found", id));
+            return new ResponseEntity<>(resultModel, HttpStatus.NOT_FOUND);
+        }
+
+        resultModel.setData(cars);
+
         return new ResponseEntity<>(resultModel, HttpStatus.OK);
     }
 
@@ -113,6 +233,20 @@ public class CarController implements CarOpenApi {
         return new ResponseEntity<>(resultModel, HttpStatus.CREATED);
     }
 
+    @Override
+    @PostMapping(Mappings.CREATE_CARS)
+    public ResponseEntity<ResultModel> createCars(@Valid @RequestBody CarBatchCreateDTO batch) {
+        log.info("CreateCars started");
+
+        ResultModel resultModel = new ResultModel();
+
+        List<CarCreateResultDTO> results = carService.createCars(batch.getCars());
+
+        resultModel.setData(results);
+
+        return new ResponseEntity<>(resultModel, HttpStatus.OK);
+    }
+
     @Override
     @PutMapping
     public ResponseEntity<ResultModel> updateCar(@Valid @RequestBody CarWithoutCategoriesDTO carWithoutCategoriesDTO) {
@@ -190,4 +324,83 @@ public class CarController implements CarOpenApi {
 
         return new ResponseEntity<>(resultModel, HttpStatus.OK);
     }
+
+    @Override
+    @PutMapping(Mappings.CHANGE_CAR_CATEGORIES)
+    public ResponseEntity<ResultModel> changeCarCategories(@Valid @RequestBody CarCategoryChangesDTO changes) {
+        log.info("ChangeCarCategories started");
+
+        ResultModel resultModel = new ResultModel();
+
+        CarCategoryChangesResultDTO result = carService.changeCarCategories(changes);
+
+        resultModel.setData(result);
+
+        return new ResponseEntity<>(resultModel, HttpStatus.OK);
+    }
+
+    @Override
+    @PostMapping(value = Mappings.IMPORT_CARS, consumes = "text/csv")
+    public ResponseEntity<ResultModel> importCars(InputStream csv) {
+        log.info("ImportCars started");
+
+        ResultModel resultModel = new ResultModel();
+
+        CarImportDTO result = carService.importCars(csv);
+
+        resultModel.setData(result);
+
+        return new ResponseEntity<>(resultModel, HttpStatus.OK);
+    }
+
+    @Override
+    @GetMapping(value = Mappings.EXPORT_CARS, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportCars() {
+        log.info("ExportCars started");
+
+        StreamingResponseBody body = out -> {
+            OutputStream buffered = new BufferedOutputStream(out);
+            carService.exportCars(car -> {
+                try {
+                    buffered.write(objectMapper.writeValueAsBytes(car));
+                    buffered.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            buffered.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Responds with the page of cars, or with {@code notFound} when it is empty. With json aggregation enabled
+     * PostgreSQL renders the cars and the text is written to the response as is; sorts it can't render use the
+     * DTO path.
+     */
+    private ResponseEntity<ResultModel> readCars(Pageable pageable, String notFound,
+                                                 Supplier<String> json, Supplier<List<CarDTO>> dtos) {
+        ResultModel resultModel = new ResultModel();
+
+        if (jsonAggregation && carJsonService.supports(pageable.getSort())) {
+            String cars = json.get();
+            if (cars == null) {
+                resultModel.setMassage(notFound);
+                return new ResponseEntity<>(resultModel, HttpStatus.NOT_FOUND);
+            }
+            resultModel.setData(new RawValue(cars));
+            return new ResponseEntity<>(resultModel, HttpStatus.OK);
+        }
+
+        List<CarDTO> cars = dtos.get();
+        if (cars.isEmpty()) {
+            resultModel.setMassage(notFound);
+            return new ResponseEntity<>(resultModel, HttpStatus.NOT_FOUND);
+        }
+        resultModel.setData(cars);
+        return new ResponseEntity<>(resultModel, HttpStatus.OK);
+    }
 }
@@ -1,7 +1,15 @@
 package com.foxminded.car_rest_service.controllers;
 
 import com.foxminded.car_rest_service.exceptions.response.ResultModel;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarBatchCreateDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCategoryChangesDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCategoryChangesResultDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCreateResultDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.car.CarDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCategoryQueryDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarFacetsDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarFilterDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarImportDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.car.CarWithoutCategoriesDTO;
 import com.foxminded.car_rest_service.openAPI.OpenApiExamples;
 import io.swagger.v3.oas.annotations.Operation;
@@ -20,11 +28,16 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springdoc.api.annotations.ParameterObject;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
+import java.io.InputStream;
 
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 
 @Tag(name = "Cars", description = "Car management")
 public interface CarOpenApi {
@@ -46,11 +59,19 @@ public interface CarOpenApi {
                                     @SchemaProperty(
                                             name = "massage",
                                             schema = @Schema(type = "string", example = "null")
+                                    ),
+                                    @SchemaProperty(
+                                            name = "nextCursor",
+                                            schema = @Schema(type = "string",
+                                                    description = "Cursor of the next page, only in cursor mode")
                                     )
                             },
                             mediaType = APPLICATION_JSON_VALUE)}),
-            @ApiResponse(responseCode = "404", ref = "NotFound")})
-    ResponseEntity<ResultModel> getAllCars(@ParameterObject Pageable pageable);
+            @ApiResponse(responseCode = "404", ref = "NotFound"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or sort",
+                    content = @Content(schema = @Schema, examples = @ExampleObject(OpenApiExamples.DEFAULT_ERROR)))})
+    ResponseEntity<ResultModel> getAllCars(@Parameter(ref = "cursor") String cursor,
+                                           @ParameterObject Pageable pageable);
 
     @Operation(summary = "Finds all cars by manufacturer",
             description = "Returns list of cars",
@@ -84,6 +105,174 @@ public interface CarOpenApi {
                                                          ) String manufacturer,
                                                          @ParameterObject Pageable pageable);
 
+    @Operation(summary = "Searches cars by name",
+            description = "Returns cars whose manufacturer, model or category name is similar to the query, " +
+                    "ignoring case and small typos, best match first. 'sort' is ignored",
+            tags = "Cars",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Success response with list of cars",
+                    content = {@Content(schema = @Schema(type = "object"),
+                            schemaProperties = {
+                                    @SchemaProperty(
+                                            name = "data",
+                                            array = @ArraySchema(schema = @Schema(ref = "Car"))
+                                    ),
+                                    @SchemaProperty(
+                                            name = "massage",
+                                            schema = @Schema(type = "string", example = "null")
+                                    )
+                            },
+                            mediaType = APPLICATION_JSON_VALUE)}),
+            @ApiResponse(responseCode = "404", ref = "NotFound"),
+            @ApiResponse(responseCode = "400", ref = "ValidationErrorResponse")})
+    ResponseEntity<ResultModel> searchCars(@NotBlank
+                                           @Parameter(
+                                                   name = "query",
+                                                   description = "Manufacturer, model or category name, may be misspelled",
+                                                   required = true,
+                                                   in = ParameterIn.QUERY,
+                                                   schema = @Schema(type = "string", example = "chevrolet")
+                                           ) String query,
+                                           @ParameterObject Pageable pageable);
+
+    @Operation(summary = "Filters cars",
+            description = "Returns cars matching every given criterion: any of the manufacturers, any of the models, " +
+                    "the year range and any or all of the categories",
+            tags = "Cars",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Success response with list of cars",
+                    content = {@Content(schema = @Schema(type = "object"),
+                            schemaProperties = {
+                                    @SchemaProperty(
+                                            name = "data",
+                                            array = @ArraySchema(schema = @Schema(ref = "Car"))
+                                    ),
+                                    @SchemaProperty(
+                                            name = "massage",
+                                            schema = @Schema(type = "string", example = "null")
+                                    )
+                            },
+                            mediaType = APPLICATION_JSON_VALUE)}),
+            @ApiResponse(responseCode = "404", ref = "NotFound"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter or unsupported sort",
+                    content = @Content(schema = @Schema, examples = @ExampleObject(OpenApiExamples.DEFAULT_ERROR)))})
+    ResponseEntity<ResultModel> filterCars(@Valid @ParameterObject CarFilterDTO filter,
+                                           @ParameterObject Pageable pageable);
+
+    @Operation(summary = "Counts filtered cars per filter value",
+            description = "Returns the number of cars matching the filter for each manufacturer, year, model " +
+                    "and category among them. Filters without names are counted from the statistics views, " +
+                    "with 'refreshedAt' and 'ageSeconds' telling how fresh they are; filters by name are live",
+            tags = "Cars",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Success response with facet counts, empty maps when no car matches",
+                    content = {@Content(schema = @Schema(type = "object"),
+                            schemaProperties = {
+                                    @SchemaProperty(
+                                            name = "data",
+                                            schema = @Schema(implementation = CarFacetsDTO.class)
+                                    ),
+                                    @SchemaProperty(
+                                            name = "massage",
+                                            schema = @Schema(type = "string", example = "null")
+                                    )
+                            },
+                            mediaType = APPLICATION_JSON_VALUE)}),
+            @ApiResponse(responseCode = "400", ref = "ValidationErrorResponse")})
+    ResponseEntity<ResultModel> getFacets(@Valid @ParameterObject CarFilterDTO filter);
+
+    @Operation(summary = "Finds cars by category membership",
+            description = "Returns cars in all of the 'all' categories and in any of the 'any' categories, " +
+                    "except cars in any of the 'none' categories, in id order. 'sort' is ignored",
+            tags = "Cars",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Success response with list of cars",
+                    content = {@Content(schema = @Schema(type = "object"),
+                            schemaProperties = {
+                                    @SchemaProperty(
+                                            name = "data",
+                                            array = @ArraySchema(schema = @Schema(ref = "Car"))
+                                    ),
+                                    @SchemaProperty(
+                                            name = "massage",
+                                            schema = @Schema(type = "string", example = "null")
+                                    )
+                            },
+                            mediaType = APPLICATION_JSON_VALUE)}),
+            @ApiResponse(responseCode = "404", ref = "NotFound"),
+            @ApiResponse(responseCode = "400", ref = "ValidationErrorResponse")})
+    ResponseEntity<ResultModel> getCarsByCategories(@Valid @ParameterObject CarCategoryQueryDTO query,
+                                                    @ParameterObject Pageable pageable);
+
+    @Operation(summary = "Counts cars by category membership",
+            description = "Returns the number of cars the same query finds",
+            tags = "Cars",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Success response with number of cars",
+                    content = {@Content(schema = @Schema(type = "object"),
+                            schemaProperties = {
+                                    @SchemaProperty(
+                                            name = "data",
+                                            schema = @Schema(type = "integer", format = "int64", example = "42")
+                                    ),
+                                    @SchemaProperty(
+                                            name = "massage",
+                                            schema = @Schema(type = "string", example = "null")
+                                    )
+                            },
+                            mediaType = APPLICATION_JSON_VALUE)}),
+            @ApiResponse(responseCode = "400", ref = "ValidationErrorResponse")})
+    ResponseEntity<ResultModel> countCarsByCategories(@Valid @ParameterObject CarCategoryQueryDTO query);
+
+    @Operation(summary = "Finds cars similar to a car",
+            description = "Returns up to 'limit' cars closest to the car by categories (Jaccard similarity), " +
+                    "manufacturer name and year, most similar first",
+            tags = "Cars",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Success response with list of cars",
+                    content = {@Content(schema = @Schema(type = "object"),
+                            schemaProperties = {
+                                    @SchemaProperty(
+                                            name = "data",
+                                            array = @ArraySchema(schema = @Schema(ref = "Car"))
+                                    ),
+                                    @SchemaProperty(
+                                            name = "massage",
+                                            schema = @Schema(type = "string", example = "null")
+                                    )
+                            },
+                            mediaType = APPLICATION_JSON_VALUE)}),
+            @ApiResponse(responseCode = "404", ref = "NotFound"),
+            @ApiResponse(responseCode = "400", ref = "ValidationErrorResponse"),
+            @ApiResponse(responseCode = "503", description = "Catalog snapshot couldn't be loaded",
+                    content = @Content(schema = @Schema, examples = @ExampleObject(OpenApiExamples.DEFAULT_ERROR)))})
+    ResponseEntity<ResultModel> getSimilarCars(@Parameter(ref = "id") Long id,
+                                               @Min(1) @Max(100)
+                                               @Parameter(
+                                                       name = "limit",
+                                                       description = "Maximum number of cars",
+                                                       in = ParameterIn.QUERY,
+                                                       schema = @Schema(type = "integer", defaultValue = "10", minimum = "1", maximum = "100")
+                                               ) int limit);
+
     @Operation(summary = "Finds all cars by manufacturer and min year",
             description = "Returns list of cars",
             tags = "Cars",
@@ -150,6 +339,33 @@ public interface CarOpenApi {
                                           @NotBlank @Parameter(ref = "paramModel") String model,
                                           @Parameter(ref = "paramManufacturerYear") Integer year);
 
+    @Operation(summary = "Create cars in bulk",
+            description = "Creates the cars that don't exist yet, with their manufacturers and models, and returns " +
+                          "the id and status of every car in request order",
+            tags = "Cars",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Success response with the per-car results",
+                    content = {@Content(schema = @Schema(type = "object"),
+                            schemaProperties = {
+                                    @SchemaProperty(
+                                            name = "data",
+                                            array = @ArraySchema(schema = @Schema(implementation = CarCreateResultDTO.class))
+                                    ),
+                                    @SchemaProperty(
+                                            name = "massage",
+                                            schema = @Schema(type = "string", example = "null")
+                                    )
+                            },
+                            mediaType = APPLICATION_JSON_VALUE)}),
+            @ApiResponse(responseCode = "400", ref = "ValidationErrorResponse")})
+    @RequestBody(required = true,
+            description = "Cars to create",
+            content = @Content(schema = @Schema(implementation = CarBatchCreateDTO.class)))
+    ResponseEntity<ResultModel> createCars(@Valid CarBatchCreateDTO batch);
+
     @Operation(summary = "Updates a car",
             description = "Updates a car and returns the updated car",
             tags = "Cars",
@@ -249,4 +465,71 @@ public interface CarOpenApi {
             @ApiResponse(responseCode = "400", ref = "ValidationErrorResponse")})
     ResponseEntity<ResultModel> removeCarFromCategory(@Parameter(ref = "id") Long id,
                                                       @NotBlank @Parameter(ref = "paramCategoryName") String name);
+
+    @Operation(summary = "Adds and removes cars to and from categories in bulk",
+            description = "Applies all removals, then all additions, in one transaction. Missing categories are created " +
+                          "for additions. Returns the result of every item in request order",
+            tags = "Cars",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Success response with the per-item results",
+                    content = {@Content(schema = @Schema(type = "object"),
+                            schemaProperties = {
+                                    @SchemaProperty(
+                                            name = "data",
+                                            schema = @Schema(implementation = CarCategoryChangesResultDTO.class)
+                                    ),
+                                    @SchemaProperty(
+                                            name = "massage",
+                                            schema = @Schema(type = "string", example = "null")
+                                    )
+                            },
+                            mediaType = APPLICATION_JSON_VALUE)}),
+            @ApiResponse(responseCode = "400", ref = "ValidationErrorResponse")})
+    @RequestBody(required = true,
+            description = "Links to add and to remove",
+            content = @Content(schema = @Schema(implementation = CarCategoryChangesDTO.class)))
+    ResponseEntity<ResultModel> changeCarCategories(@Valid CarCategoryChangesDTO changes);
+
+    @Operation(summary = "Import cars from CSV",
+            description = "Streams a CSV in the objectId,Make,Year,Model,Category layout into the catalog. " +
+                          "Manufacturers, models, categories and cars that already exist are skipped",
+            tags = "Cars",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Success response with the import counts",
+                    content = {@Content(schema = @Schema(type = "object"),
+                            schemaProperties = {
+                                    @SchemaProperty(
+                                            name = "data",
+                                            schema = @Schema(implementation = CarImportDTO.class)
+                                    ),
+                                    @SchemaProperty(
+                                            name = "massage",
+                                            schema = @Schema(type = "string", example = "null")
+                                    )
+                            },
+                            mediaType = APPLICATION_JSON_VALUE)}),
+            @ApiResponse(responseCode = "400", description = "Malformed CSV",
+                    content = @Content(schema = @Schema, examples = @ExampleObject(OpenApiExamples.DEFAULT_ERROR)))})
+    ResponseEntity<ResultModel> importCars(@RequestBody(required = true,
+                                                        content = @Content(mediaType = "text/csv",
+                                                                schema = @Schema(type = "string",
+                                                                        example = "objectId,Make,Year,Model,Category\n" +
+                                                                                  "ZRgPP9dBMm,Audi,2020,Q3,SUV"))) InputStream csv);
+
+    @Operation(summary = "Exports all cars",
+            description = "Streams every car as newline-delimited JSON, one car object per line, in id order",
+            tags = "Cars",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Stream of cars",
+                    content = @Content(schema = @Schema(ref = "Car"), mediaType = APPLICATION_NDJSON_VALUE))})
+    ResponseEntity<StreamingResponseBody> exportCars();
 }
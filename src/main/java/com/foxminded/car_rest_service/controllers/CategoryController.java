@@ -4,6 +4,7 @@ import com.foxminded.car_rest_service.exceptions.response.ResultModel;
 import com.foxminded.car_rest_service.mapstruct.dto.category.CategoryBasicDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.category.CategoryDTO;
 import com.foxminded.car_rest_service.services.CategoryService;
+import com.foxminded.car_rest_service.utils.KeysetPage;
 import com.foxminded.car_rest_service.utils.Mappings;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +19,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.validation.Valid;
@@ -37,11 +39,20 @@ public class CategoryController implements CategoryOpenApi {
 
     @Override
     @GetMapping
-    public ResponseEntity<ResultModel> getAllCategories(Pageable pageable) {
+    public ResponseEntity<ResultModel> getAllCategories(@RequestParam(required = false) String cursor,
+                                                        Pageable pageable) {
         log.info("GetAllCategories started");
 
         ResultModel resultModel = new ResultModel();
-        List<CategoryBasicDTO> categories = categoryService.getAllCategories(pageable);
+        List<CategoryBasicDTO> categories;
+        if (cursor == null) {
+            categories = categoryService.getAllCategories(pageable);
+        } else {
+            KeysetPage<CategoryBasicDTO> page =
+                    categoryService.getAllCategories(cursor, pageable.getSort(), pageable.getPageSize());
+            categories = page.getContent();
+            resultModel.setNextCursor(page.getNextCursor());
+        }
 
         if (categories.isEmpty()) {
             resultModel.setMassage("Categories not found");
@@ -0,0 +1,107 @@
+package com.foxminded.car_rest_service.controllers;
+
+import com.foxminded.car_rest_service.exceptions.response.ResultModel;
+import com.foxminded.car_rest_service.jobs.JobStatus;
+import com.foxminded.car_rest_service.mapstruct.dto.job.JobDTO;
+import com.foxminded.car_rest_service.services.JobService;
+import com.foxminded.car_rest_service.utils.Mappings;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.constraints.NotBlank;
+import java.io.InputStream;
+
+import static java.lang.String.format;
+
+@Slf4j
+@Validated
+@RestController
+@RequestMapping(Mappings.API_V1_JOBS)
+public class JobController implements JobOpenApi {
+
+    @Autowired
+    private JobService jobService;
+
+    @Override
+    @GetMapping(Mappings.GET_JOB_BY_ID)
+    public ResponseEntity<ResultModel> getJob(@PathVariable(name = "id") Long id) {
+        log.info("GetJob started with id: {}", id);
+
+        ResultModel resultModel = new ResultModel();
+
+        JobDTO job = jobService.getJob(id);
+
+        if (job == null) {
+            resultModel.setMassage(format("Job with id(%d) not found", id));
+            return new ResponseEntity<>(resultModel, HttpStatus.NOT_FOUND);
+        }
+
+        resultModel.setData(job);
+
+        return new ResponseEntity<>(resultModel, HttpStatus.OK);
+    }
+
+    @Override
+    @PostMapping(Mappings.SUBMIT_MANUFACTURER_DELETION)
+    public ResponseEntity<ResultModel> submitManufacturerDeletion(@NotBlank @PathVariable(name = "name") String name) {
+        log.info("SubmitManufacturerDeletion started with name: {}", name);
+
+        ResultModel resultModel = new ResultModel();
+
+        JobDTO job = jobService.submitManufacturerDeletion(name);
+
+        if (job == null) {
+            resultModel.setMassage(format("Manufacturers with name(%s) weren't found", name));
+            return new ResponseEntity<>(resultModel, HttpStatus.NOT_FOUND);
+        }
+
+        resultModel.setData(job);
+
+        return new ResponseEntity<>(resultModel, HttpStatus.ACCEPTED);
+    }
+
+    @Override
+    @PostMapping(value = Mappings.SUBMIT_CAR_IMPORT, consumes = "text/csv")
+    public ResponseEntity<ResultModel> submitCarImport(InputStream csv) {
+        log.info("SubmitCarImport started");
+
+        ResultModel resultModel = new ResultModel();
+
+        resultModel.setData(jobService.submitCarImport(csv));
+
+        return new ResponseEntity<>(resultModel, HttpStatus.ACCEPTED);
+    }
+
+    @Override
+    @DeleteMapping(Mappings.CANCEL_JOB_BY_ID)
+    public ResponseEntity<ResultModel> cancelJob(@PathVariable(name = "id") Long id) {
+        log.info("CancelJob started with id: {}", id);
+
+        ResultModel resultModel = new ResultModel();
+
+        JobDTO job = jobService.cancelJob(id);
+
+        if (job == null) {
+            resultModel.setMassage(format("Job with id(%d) not found", id));
+            return new ResponseEntity<>(resultModel, HttpStatus.NOT_FOUND);
+        }
+
+        resultModel.setData(job);
+
+        if (job.getStatus() != JobStatus.CANCELLED) {
+            resultModel.setMassage(format("Job with id(%d) has finished already", id));
+            return new ResponseEntity<>(resultModel, HttpStatus.CONFLICT);
+        }
+
+        return new ResponseEntity<>(resultModel, HttpStatus.OK);
+    }
+}
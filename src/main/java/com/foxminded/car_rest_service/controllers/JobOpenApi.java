@@ -0,0 +1,140 @@
+package com.foxminded.car_rest_service.controllers;
+
+import com.foxminded.car_rest_service.exceptions.response.ResultModel;
+import com.foxminded.car_rest_service.mapstruct.dto.job.JobDTO;
+import com.foxminded.car_rest_service.openAPI.OpenApiExamples;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.SchemaProperty;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+
+import javax.validation.constraints.NotBlank;
+import java.io.InputStream;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+@Tag(name = "Jobs", description = "Long-running catalog writes run in the background")
+public interface JobOpenApi {
+
+    @Operation(summary = "Finds a job by id",
+            description = "Returns the job with its status and progress",
+            tags = "Jobs",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Success response with the job",
+                    content = {@Content(schema = @Schema(type = "object"),
+                            schemaProperties = {
+                                    @SchemaProperty(
+                                            name = "data",
+                                            schema = @Schema(implementation = JobDTO.class)
+                                    ),
+                                    @SchemaProperty(
+                                            name = "massage",
+                                            schema = @Schema(type = "string", example = "null")
+                                    )
+                            },
+                            mediaType = APPLICATION_JSON_VALUE)}),
+            @ApiResponse(responseCode = "404", ref = "NotFound")})
+    ResponseEntity<ResultModel> getJob(@Parameter(ref = "id") Long id);
+
+    @Operation(summary = "Deletes manufacturers by name with related cars in the background",
+            description = "Queues a job deleting the cars in chunks, each committed separately, then the manufacturers",
+            tags = "Jobs",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "The job was queued",
+                    content = {@Content(schema = @Schema(type = "object"),
+                            schemaProperties = {
+                                    @SchemaProperty(
+                                            name = "data",
+                                            schema = @Schema(implementation = JobDTO.class)
+                                    ),
+                                    @SchemaProperty(
+                                            name = "massage",
+                                            schema = @Schema(type = "string", example = "null")
+                                    )
+                            },
+                            mediaType = APPLICATION_JSON_VALUE)}),
+            @ApiResponse(responseCode = "404", ref = "NotFound"),
+            @ApiResponse(responseCode = "400", ref = "ValidationErrorResponse")})
+    ResponseEntity<ResultModel> submitManufacturerDeletion(@NotBlank @Parameter(ref = "paramManufacturerName") String name);
+
+    @Operation(summary = "Imports cars from CSV in the background",
+            description = "Stores the CSV in the objectId,Make,Year,Model,Category layout and queues a job " +
+                          "importing it in chunks of rows, each committed separately",
+            tags = "Jobs",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "The job was queued",
+                    content = {@Content(schema = @Schema(type = "object"),
+                            schemaProperties = {
+                                    @SchemaProperty(
+                                            name = "data",
+                                            schema = @Schema(implementation = JobDTO.class)
+                                    ),
+                                    @SchemaProperty(
+                                            name = "massage",
+                                            schema = @Schema(type = "string", example = "null")
+                                    )
+                            },
+                            mediaType = APPLICATION_JSON_VALUE)}),
+            @ApiResponse(responseCode = "400", description = "Malformed CSV",
+                    content = @Content(schema = @Schema, examples = @ExampleObject(OpenApiExamples.DEFAULT_ERROR)))})
+    ResponseEntity<ResultModel> submitCarImport(@RequestBody(required = true,
+                                                             content = @Content(mediaType = "text/csv",
+                                                                     schema = @Schema(type = "string",
+                                                                             example = "objectId,Make,Year,Model,Category\n" +
+                                                                                       "ZRgPP9dBMm,Audi,2020,Q3,SUV"))) InputStream csv);
+
+    @Operation(summary = "Cancels a job",
+            description = "A running job stops at its next chunk, chunks committed before stay",
+            tags = "Jobs",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "The job was cancelled, now or before",
+                    content = {@Content(schema = @Schema(type = "object"),
+                            schemaProperties = {
+                                    @SchemaProperty(
+                                            name = "data",
+                                            schema = @Schema(implementation = JobDTO.class)
+                                    ),
+                                    @SchemaProperty(
+                                            name = "massage",
+                                            schema = @Schema(type = "string", example = "null")
+                                    )
+                            },
+                            mediaType = APPLICATION_JSON_VALUE)}),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "The job has succeeded or failed already",
+                    content = {@Content(schema = @Schema(type = "object"),
+                            schemaProperties = {
+                                    @SchemaProperty(
+                                            name = "data",
+                                            schema = @Schema(implementation = JobDTO.class)
+                                    ),
+                                    @SchemaProperty(
+                                            name = "massage",
+                                            schema = @Schema(type = "string", example = "null")
+                                    )
+                            },
+                            mediaType = APPLICATION_JSON_VALUE)}),
+            @ApiResponse(responseCode = "404", ref = "NotFound")})
+    ResponseEntity<ResultModel> cancelJob(@Parameter(ref = "id") Long id);
+}
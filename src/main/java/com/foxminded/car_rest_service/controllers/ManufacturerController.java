@@ -4,6 +4,7 @@ import com.foxminded.car_rest_service.exceptions.response.ResultModel;
 import com.foxminded.car_rest_service.mapstruct.dto.manufacturer.ManufacturerBasicDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.manufacturer.ManufacturerDTO;
 import com.foxminded.car_rest_service.services.ManufacturerService;
+import com.foxminded.car_rest_service.utils.KeysetPage;
 import com.foxminded.car_rest_service.utils.Mappings;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +19,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.validation.Valid;
@@ -38,11 +40,21 @@ public class ManufacturerController implements ManufacturerOpenApi {
 
     @Override
     @GetMapping
-    public ResponseEntity<ResultModel> getAllUniqueManufacturers(Pageable pageable) {
+    public ResponseEntity<ResultModel> getAllUniqueManufacturers(@RequestParam(required = false) String cursor,
+                                                                 Pageable pageable) {
         log.info("GetAllUniqueManufacturers started");
 
         ResultModel resultModel = new ResultModel();
-        List<String> manufacturers = manufacturerService.getAllUniqueManufacturers(pageable);
+        List<String> manufacturers;
+        if (cursor == null) {
+            manufacturers = manufacturerService.getAllUniqueManufacturers(pageable);
+        } else {
+            KeysetPage<String> page =
+                    manufacturerService.getAllUniqueManufacturers(cursor, pageable.getSort(), pageable.getPageSize());
+            manufacturers = page.getContent();
+            resultModel.setNextCursor(page.getNextCursor());
+        }
+
         if (manufacturers.isEmpty()) {
             resultModel.setMassage("Manufacturers not found");
             return new ResponseEntity<>(resultModel, HttpStatus.NOT_FOUND);
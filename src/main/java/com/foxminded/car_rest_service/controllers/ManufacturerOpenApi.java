@@ -44,11 +44,19 @@ public interface ManufacturerOpenApi {
                                     @SchemaProperty(
                                             name = "massage",
                                             schema = @Schema(type = "string", example = "null")
+                                    ),
+                                    @SchemaProperty(
+                                            name = "nextCursor",
+                                            schema = @Schema(type = "string",
+                                                    description = "Cursor of the next page, only in cursor mode")
                                     )
                             },
                             mediaType = APPLICATION_JSON_VALUE)}),
-            @ApiResponse(responseCode = "404", ref = "NotFound")})
-    ResponseEntity<ResultModel> getAllUniqueManufacturers(@ParameterObject Pageable pageable);
+            @ApiResponse(responseCode = "404", ref = "NotFound"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or sort",
+                    content = @Content(schema = @Schema, examples = @ExampleObject(OpenApiExamples.DEFAULT_ERROR)))})
+    ResponseEntity<ResultModel> getAllUniqueManufacturers(@Parameter(ref = "cursor") String cursor,
+                                                          @ParameterObject Pageable pageable);
 
     @Operation(summary = "Finds manufacturers by name",
             description = "Returns the model",
@@ -4,6 +4,7 @@ import com.foxminded.car_rest_service.exceptions.response.ResultModel;
 import com.foxminded.car_rest_service.mapstruct.dto.model.ModelBasicDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.model.ModelDTO;
 import com.foxminded.car_rest_service.services.ModelService;
+import com.foxminded.car_rest_service.utils.KeysetPage;
 import com.foxminded.car_rest_service.utils.Mappings;
 import lombok.extern.slf4j.Slf4j;
 import org.springdoc.api.annotations.ParameterObject;
@@ -19,6 +20,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.validation.Valid;
@@ -40,11 +42,20 @@ public class ModelController implements ModelOpenApi {
 
     @Override
     @GetMapping
-    public ResponseEntity<ResultModel> getAllModels(@ParameterObject Pageable pageable) {
+    public ResponseEntity<ResultModel> getAllModels(@RequestParam(required = false) String cursor,
+                                                    @ParameterObject Pageable pageable) {
         log.info("GetAllModels started");
 
         ResultModel resultModel = new ResultModel();
-        List<ModelBasicDTO> models = modelService.getAllModels(pageable);
+        List<ModelBasicDTO> models;
+        if (cursor == null) {
+            models = modelService.getAllModels(pageable);
+        } else {
+            KeysetPage<ModelBasicDTO> page = modelService.getAllModels(cursor, pageable.getSort(), pageable.getPageSize());
+            models = page.getContent();
+            resultModel.setNextCursor(page.getNextCursor());
+        }
+
         if (models.isEmpty()) {
             resultModel.setMassage("Models not found");
             return new ResponseEntity<>(resultModel, HttpStatus.NOT_FOUND);
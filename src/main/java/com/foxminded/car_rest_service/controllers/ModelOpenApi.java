@@ -45,11 +45,19 @@ public interface ModelOpenApi {
                                     @SchemaProperty(
                                             name = "massage",
                                             schema = @Schema(type = "string", example = "null")
+                                    ),
+                                    @SchemaProperty(
+                                            name = "nextCursor",
+                                            schema = @Schema(type = "string",
+                                                    description = "Cursor of the next page, only in cursor mode")
                                     )
                             },
                             mediaType = APPLICATION_JSON_VALUE)}),
-            @ApiResponse(responseCode = "404", ref = "NotFound")})
-    ResponseEntity<ResultModel> getAllModels(@ParameterObject Pageable pageable);
+            @ApiResponse(responseCode = "404", ref = "NotFound"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or sort",
+                    content = @Content(schema = @Schema, examples = @ExampleObject(OpenApiExamples.DEFAULT_ERROR)))})
+    ResponseEntity<ResultModel> getAllModels(@Parameter(ref = "cursor") String cursor,
+                                             @ParameterObject Pageable pageable);
 
     @Operation(summary = "Finds a model by name",
             description = "Returns the model",
@@ -0,0 +1,69 @@
+package com.foxminded.car_rest_service.controllers;
+
+import com.foxminded.car_rest_service.exceptions.response.ResultModel;
+import com.foxminded.car_rest_service.services.StatisticsService;
+import com.foxminded.car_rest_service.utils.Mappings;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+@Slf4j
+@RestController
+@RequestMapping(value = Mappings.API_V1_STATISTICS, produces = APPLICATION_JSON_VALUE)
+public class StatisticsController implements StatisticsOpenApi {
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Override
+    @GetMapping(Mappings.STATISTICS_MANUFACTURERS)
+    public ResponseEntity<ResultModel> getCarsPerManufacturerYear() {
+        log.info("GetCarsPerManufacturerYear started");
+
+        return ok(statisticsService.getCarsPerManufacturerYear());
+    }
+
+    @Override
+    @GetMapping(Mappings.STATISTICS_CATEGORIES)
+    public ResponseEntity<ResultModel> getModelsPerCategory() {
+        log.info("GetModelsPerCategory started");
+
+        return ok(statisticsService.getModelsPerCategory());
+    }
+
+    @Override
+    @GetMapping(Mappings.STATISTICS_YEARS)
+    public ResponseEntity<ResultModel> getCarsPerYear() {
+        log.info("GetCarsPerYear started");
+
+        return ok(statisticsService.getCarsPerYear());
+    }
+
+    @Override
+    @PostMapping(Mappings.REFRESH_STATISTICS)
+    public ResponseEntity<?> refresh() {
+        log.info("RefreshStatistics started");
+
+        if (!statisticsService.refresh()) {
+            ResultModel resultModel = new ResultModel();
+            resultModel.setMassage("Statistics are being refreshed already");
+            return new ResponseEntity<>(resultModel, HttpStatus.CONFLICT);
+        }
+
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    private ResponseEntity<ResultModel> ok(Object statistics) {
+        ResultModel resultModel = new ResultModel();
+        resultModel.setData(statistics);
+
+        return new ResponseEntity<>(resultModel, HttpStatus.OK);
+    }
+}
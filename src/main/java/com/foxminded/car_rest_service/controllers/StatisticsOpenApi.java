@@ -0,0 +1,100 @@
+package com.foxminded.car_rest_service.controllers;
+
+import com.foxminded.car_rest_service.exceptions.response.ResultModel;
+import com.foxminded.car_rest_service.mapstruct.dto.statistics.StatisticsDTO;
+import com.foxminded.car_rest_service.openAPI.OpenApiExamples;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.SchemaProperty;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+@Tag(name = "Statistics", description = "Precomputed catalog statistics")
+public interface StatisticsOpenApi {
+
+    @Operation(summary = "Counts cars per manufacturer and year",
+            description = "Returns statistics as of the last refresh of the materialized views, with its time and age",
+            tags = "Statistics",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Success response with statistics",
+                    content = {@Content(schema = @Schema(type = "object"),
+                            schemaProperties = {
+                                    @SchemaProperty(
+                                            name = "data",
+                                            schema = @Schema(implementation = StatisticsDTO.class,
+                                                    description = "Rows are ManufacturerYearStatistics objects")
+                                    ),
+                                    @SchemaProperty(
+                                            name = "massage",
+                                            schema = @Schema(type = "string", example = "null")
+                                    )
+                            },
+                            mediaType = APPLICATION_JSON_VALUE)})})
+    ResponseEntity<ResultModel> getCarsPerManufacturerYear();
+
+    @Operation(summary = "Counts models per category",
+            description = "Returns statistics as of the last refresh of the materialized views, with its time and age",
+            tags = "Statistics",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Success response with statistics",
+                    content = {@Content(schema = @Schema(type = "object"),
+                            schemaProperties = {
+                                    @SchemaProperty(
+                                            name = "data",
+                                            schema = @Schema(implementation = StatisticsDTO.class,
+                                                    description = "Rows are CategoryStatistics objects")
+                                    ),
+                                    @SchemaProperty(
+                                            name = "massage",
+                                            schema = @Schema(type = "string", example = "null")
+                                    )
+                            },
+                            mediaType = APPLICATION_JSON_VALUE)})})
+    ResponseEntity<ResultModel> getModelsPerCategory();
+
+    @Operation(summary = "Counts cars per year",
+            description = "Returns statistics as of the last refresh of the materialized views, with its time and age",
+            tags = "Statistics",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Success response with statistics",
+                    content = {@Content(schema = @Schema(type = "object"),
+                            schemaProperties = {
+                                    @SchemaProperty(
+                                            name = "data",
+                                            schema = @Schema(implementation = StatisticsDTO.class,
+                                                    description = "Rows are YearStatistics objects")
+                                    ),
+                                    @SchemaProperty(
+                                            name = "massage",
+                                            schema = @Schema(type = "string", example = "null")
+                                    )
+                            },
+                            mediaType = APPLICATION_JSON_VALUE)})})
+    ResponseEntity<ResultModel> getCarsPerYear();
+
+    @Operation(summary = "Refreshes statistics",
+            description = "Refreshes the materialized views now, reads stay available while it runs",
+            tags = "Statistics",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Statistics were refreshed"),
+            @ApiResponse(responseCode = "409", description = "Another refresh is running",
+                    content = @Content(schema = @Schema, examples = @ExampleObject(OpenApiExamples.DEFAULT_ERROR)))})
+    ResponseEntity<?> refresh();
+}
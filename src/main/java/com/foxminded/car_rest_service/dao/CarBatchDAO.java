@@ -0,0 +1,122 @@
+package com.foxminded.car_rest_service.dao;
+
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCreateDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Batch car creation. Lookups return one row per input element, in input order, so the results line up
+ * with the list they were made from.
+ */
+@Repository
+public class CarBatchDAO {
+
+    private static final String CARS =
+            "unnest(?::text[], ?::text[], ?::int[]) WITH ORDINALITY AS i(manufacturer, model, year, ord) ";
+
+    private static final String KEYS =
+            "unnest(?::bigint[], ?::bigint[]) WITH ORDINALITY AS k(manufacturer_id, model_id, ord) ";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public int upsertManufacturers(List<CarCreateDTO> cars) {
+        return jdbcTemplate.update("INSERT INTO manufacturer (manufacturer, year) " +
+                                   "SELECT DISTINCT i.manufacturer, i.year FROM " + CARS +
+                                   "WHERE NOT EXISTS (SELECT 1 FROM manufacturer mf " +
+                                                     "WHERE mf.manufacturer = i.manufacturer AND mf.year = i.year) " +
+                                   "ON CONFLICT DO NOTHING", carParams(cars));
+    }
+
+    public int upsertModels(List<CarCreateDTO> cars) {
+        return jdbcTemplate.update("INSERT INTO model (model) " +
+                                   "SELECT DISTINCT i.model FROM " + CARS +
+                                   "WHERE NOT EXISTS (SELECT 1 FROM model m WHERE m.model = i.model) " +
+                                   "ON CONFLICT DO NOTHING", carParams(cars));
+    }
+
+    /**
+     * Manufacturer and model ids of every car. The manufacturers and models must exist.
+     */
+    public List<CarBatchRow> findReferenceIds(List<CarCreateDTO> cars) {
+        return jdbcTemplate.query("SELECT mf.manufacturer_id, m.model_id " +
+                                  "FROM " + CARS +
+                                  "JOIN manufacturer mf ON mf.manufacturer = i.manufacturer AND mf.year = i.year " +
+                                  "JOIN model m ON m.model = i.model " +
+                                  "ORDER BY i.ord",
+                (rs, rowNum) -> new CarBatchRow(null, rs.getLong("manufacturer_id"), rs.getLong("model_id"), false),
+                carParams(cars));
+    }
+
+    /**
+     * Only pass cars that don't exist. Ids are taken from car_seq the way Hibernate's pooled-lo optimizer
+     * does, one nextval per block of the sequence increment, instead of a block per row through the column
+     * default. Returns one row per input car in input order; {@code carId} is null where a concurrent
+     * transaction inserted the same car first.
+     */
+    public List<CarBatchRow> insertCars(List<CarBatchRow> cars) {
+        if (cars.isEmpty()) {
+            return List.of();
+        }
+
+        long block = jdbcTemplate.queryForObject(
+                "SELECT seqincrement FROM pg_sequence WHERE seqrelid = 'car_seq'::regclass", Long.class);
+        List<Long> blocks = jdbcTemplate.queryForList("SELECT nextval('car_seq') FROM generate_series(1, ?)",
+                Long.class, (cars.size() + block - 1) / block);
+        Long[] ids = new Long[cars.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = blocks.get((int) (i / block)) + i % block;
+        }
+
+        CarBatchRow[] rows = new CarBatchRow[cars.size()];
+        jdbcTemplate.query("WITH k AS (SELECT * FROM unnest(?::bigint[], ?::bigint[], ?::bigint[]) " +
+                                     "WITH ORDINALITY AS k(car_id, manufacturer_id, model_id, ord)), " +
+                           "ins AS (INSERT INTO car (car_id, manufacturer_id, model_id) " +
+                                   "SELECT car_id, manufacturer_id, model_id FROM k ORDER BY ord " +
+                                   "ON CONFLICT DO NOTHING " +
+                                   "RETURNING car_id) " +
+                           "SELECT k.ord, ins.car_id FROM k LEFT JOIN ins ON ins.car_id = k.car_id",
+                rs -> {
+                    int i = rs.getInt("ord") - 1;
+                    Long carId = rs.getObject("car_id", Long.class);
+                    rows[i] = new CarBatchRow(carId, cars.get(i).getManufacturerId(), cars.get(i).getModelId(),
+                            carId != null);
+                },
+                ids,
+                cars.stream().map(CarBatchRow::getManufacturerId).toArray(Long[]::new),
+                cars.stream().map(CarBatchRow::getModelId).toArray(Long[]::new));
+
+        return Arrays.asList(rows);
+    }
+
+    /**
+     * Cars with their ids, null for a car that doesn't exist.
+     */
+    public List<CarBatchRow> findCars(List<CarBatchRow> cars) {
+        if (cars.isEmpty()) {
+            return List.of();
+        }
+
+        return jdbcTemplate.query("SELECT c.car_id, k.manufacturer_id, k.model_id " +
+                                  "FROM " + KEYS +
+                                  "LEFT JOIN car c " +
+                                         "ON c.manufacturer_id = k.manufacturer_id AND c.model_id = k.model_id " +
+                                  "ORDER BY k.ord",
+                (rs, rowNum) -> new CarBatchRow(rs.getObject("car_id", Long.class), rs.getLong("manufacturer_id"),
+                        rs.getLong("model_id"), false),
+                cars.stream().map(CarBatchRow::getManufacturerId).toArray(Long[]::new),
+                cars.stream().map(CarBatchRow::getModelId).toArray(Long[]::new));
+    }
+
+    private Object[] carParams(List<CarCreateDTO> cars) {
+        return new Object[]{
+                cars.stream().map(CarCreateDTO::getManufacturer).toArray(String[]::new),
+                cars.stream().map(CarCreateDTO::getModel).toArray(String[]::new),
+                cars.stream().map(CarCreateDTO::getYear).toArray(Integer[]::new)
+        };
+    }
+}
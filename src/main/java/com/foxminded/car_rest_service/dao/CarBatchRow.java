@@ -0,0 +1,20 @@
+package com.foxminded.car_rest_service.dao;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Car of a batch create by its manufacturer and model ids. {@code carId} is null while the car doesn't exist.
+ */
+@Getter
+@AllArgsConstructor
+public class CarBatchRow {
+
+    private final Long carId;
+
+    private final Long manufacturerId;
+
+    private final Long modelId;
+
+    private final boolean created;
+}
@@ -0,0 +1,94 @@
+package com.foxminded.car_rest_service.dao;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Set-based car to category changes. Every method is one statement over the whole batch, passed as arrays.
+ */
+@Repository
+public class CarCategoryBulkDAO {
+
+    private static final RowMapper<CarCategoryLink> LINK =
+            (rs, rowNum) -> new CarCategoryLink(rs.getLong("car_id"), rs.getLong("category_id"));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public Set<Long> findExistingCarIds(Collection<Long> ids) {
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT car_id FROM car WHERE car_id = ANY (?::bigint[])",
+                Long.class, (Object) ids.toArray(Long[]::new)));
+    }
+
+    public Map<String, Long> findCategoryIds(Collection<String> names) {
+        if (names.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT category_id, category FROM category WHERE category = ANY (?::text[])",
+                rs -> {
+                    ids.put(rs.getString("category"), rs.getLong("category_id"));
+                }, (Object) names.toArray(String[]::new));
+        return ids;
+    }
+
+    /**
+     * Creates the missing categories and returns the ids of all of them. The lookup is a separate statement
+     * so it also sees categories committed concurrently while the insert ran.
+     */
+    public Map<String, Long> upsertCategories(Collection<String> names) {
+        if (names.isEmpty()) {
+            return Map.of();
+        }
+        jdbcTemplate.update("INSERT INTO category (category) " +
+                            "SELECT DISTINCT n FROM unnest(?::text[]) AS n " +
+                            "ON CONFLICT DO NOTHING", (Object) names.toArray(String[]::new));
+        return findCategoryIds(names);
+    }
+
+    /**
+     * @return links that didn't exist before
+     */
+    public Set<CarCategoryLink> insertLinks(List<CarCategoryLink> links) {
+        if (links.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.query("INSERT INTO car_category_info (car_id, category_id) " +
+                                                "SELECT DISTINCT l.car_id, l.category_id " +
+                                                "FROM unnest(?::bigint[], ?::bigint[]) AS l(car_id, category_id) " +
+                                                "ON CONFLICT DO NOTHING " +
+                                                "RETURNING car_id, category_id",
+                LINK, carIds(links), categoryIds(links)));
+    }
+
+    /**
+     * @return links that existed and were deleted
+     */
+    public Set<CarCategoryLink> deleteLinks(List<CarCategoryLink> links) {
+        if (links.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.query("DELETE FROM car_category_info cc " +
+                                                "USING unnest(?::bigint[], ?::bigint[]) AS l(car_id, category_id) " +
+                                                "WHERE cc.car_id = l.car_id AND cc.category_id = l.category_id " +
+                                                "RETURNING cc.car_id, cc.category_id",
+                LINK, carIds(links), categoryIds(links)));
+    }
+
+    private Long[] carIds(List<CarCategoryLink> links) {
+        return links.stream().map(CarCategoryLink::getCarId).toArray(Long[]::new);
+    }
+
+    private Long[] categoryIds(List<CarCategoryLink> links) {
+        return links.stream().map(CarCategoryLink::getCategoryId).toArray(Long[]::new);
+    }
+}
@@ -0,0 +1,30 @@
+package com.foxminded.car_rest_service.dao;
+
+import com.foxminded.car_rest_service.entities.CarCategoryInfo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+/**
+ * Car to category links, written without loading either side of the link.
+ */
+public interface CarCategoryInfoDAO extends JpaRepository<CarCategoryInfo, Long> {
+
+    /**
+     * Links the car to the category unless the link exists.
+     *
+     * @return id of the inserted link, empty when the car is already in the category
+     */
+    @Query(value = "INSERT INTO car_category_info (car_id, category_id) VALUES (:carId, :categoryId) " +
+                   "ON CONFLICT DO NOTHING " +
+                   "RETURNING id", nativeQuery = true)
+    Optional<Long> insertIfAbsent(Long carId, Long categoryId);
+
+    @Modifying
+    @Query(value = "DELETE FROM CarCategoryInfo cc " +
+                   "WHERE cc.car.id = :carId " +
+                            "AND cc.category.id IN (SELECT ct.id FROM Category ct WHERE ct.category = :category)")
+    int deleteByCarIdAndCategory(Long carId, String category);
+}
@@ -0,0 +1,18 @@
+package com.foxminded.car_rest_service.dao;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Key of a {@code car_category_info} row.
+ */
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class CarCategoryLink {
+
+    private final Long carId;
+
+    private final Long categoryId;
+}
@@ -3,20 +3,80 @@ package com.foxminded.car_rest_service.dao;
 import com.foxminded.car_rest_service.entities.Car;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface CarDAO extends JpaRepository<Car, Long> {
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
+public interface CarDAO extends JpaRepository<Car, Long>, CarFilterDAO {
+
+    /**
+     * Projection of the {@code findNamesBy*} queries onto {@link CarNames}, a row per car and category.
+     */
+    String CAR_NAMES = "SELECT DISTINCT c.id AS carId, mf.manufacturer AS manufacturer, " +
+                           "m.model AS model, ct.category AS category " +
+                       "FROM Car c " +
+                       "JOIN c.manufacturer mf " +
+                       "JOIN c.model m " +
+                       "LEFT JOIN c.carCategories cc " +
+                       "LEFT JOIN cc.category ct ";
+
+    @Query(value = "SELECT c.id " +
+                   "FROM Car c " +
+                   "WHERE EXISTS (SELECT cc.id FROM CarCategoryInfo cc WHERE cc.car = c) ")
+    List<Long> findAllCarIds(Pageable pageable);
+
+    @Query(value = "SELECT c.id " +
+                   "FROM Car c " +
+                   "WHERE c.id > :id " +
+                            "AND EXISTS (SELECT cc.id FROM CarCategoryInfo cc WHERE cc.car = c) " +
+                   "ORDER BY c.id")
+    List<Long> findCarIdsAfterId(Long id, Pageable pageable);
+
+    @Query(value = "SELECT c.id " +
+                   "FROM Car c " +
+                   "JOIN c.manufacturer mf " +
+                   "WHERE (mf.year, c.id) > (:year, :id) " +
+                            "AND EXISTS (SELECT cc.id FROM CarCategoryInfo cc WHERE cc.car = c) " +
+                   "ORDER BY mf.year, c.id")
+    List<Long> findCarIdsAfterYear(Integer year, Long id, Pageable pageable);
+
+    @Query(value = "SELECT new com.foxminded.car_rest_service.dao.CarRow(" +
+                            "c.id, m.id, m.model, mf.id, mf.manufacturer, mf.year, ct.id, ct.category) " +
+                   "FROM Car c " +
+                   "JOIN c.model m " +
+                   "JOIN c.manufacturer mf " +
+                   "LEFT JOIN c.carCategories cc " +
+                   "LEFT JOIN cc.category ct " +
+                   "WHERE c.id IN :ids ")
+    List<CarRow> findCarRowsByIds(Collection<Long> ids);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HINT_READONLY, value = "true")})
     @Query(value = "SELECT c " +
                    "FROM Car c " +
                    "JOIN FETCH c.model m " +
                    "JOIN FETCH c.manufacturer mf " +
-                   "JOIN FETCH c.carCategories cc " +
-                   "JOIN FETCH cc.category ct ")
-    List<Car> findAllCarsWithAllInfo(Pageable pageable);
+                   "ORDER BY c.id")
+    Stream<Car> streamAllCars();
+
+    @QueryHints({@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"),
+                 @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query(value = "SELECT DISTINCT c " +
+                   "FROM Car c " +
+                   "LEFT JOIN FETCH c.carCategories cc " +
+                   "LEFT JOIN FETCH cc.category ct " +
+                   "WHERE c.id IN :ids ")
+    List<Car> findCarsWithCategoriesByIds(Collection<Long> ids);
 
     @Query(value = "SELECT c " +
                    "FROM Car c " +
@@ -25,9 +85,6 @@ public interface CarDAO extends JpaRepository<Car, Long> {
                             "AND c.model.model = :model")
     Optional<Car> findByManufacturerAndModelAndYear(String manufacturer, String model, Integer year);
 
-    @Query(value = "SELECT c FROM Car c JOIN FETCH c.carCategories cc WHERE c.id = :id ")
-    Optional<Car> findCarWithCategoriesById(Long id);
-
     @Query(value = "SELECT c FROM Car c " +
             "JOIN FETCH c.model m " +
             "JOIN FETCH c.manufacturer mf "  +
@@ -36,21 +93,135 @@ public interface CarDAO extends JpaRepository<Car, Long> {
             "JOIN FETCH cc.category WHERE c.id = :id ")
     Optional<Car> findCarWithAllInfoById(Long id);
 
-    @Query(value = "SELECT c FROM Car c " +
-                   "JOIN FETCH c.model m " +
-                   "JOIN FETCH c.manufacturer mf "  +
-                   "JOIN FETCH c.carCategories cc " +
-                   "JOIN FETCH cc.category ct " +
-                   "JOIN FETCH cc.category " +
-                   "WHERE c.manufacturer.manufacturer = :manufacturer ")
-    List<Car> findCarsByManufacturer(String manufacturer, Pageable pageable);
+    @Query(value = "SELECT c.id " +
+                   "FROM Car c " +
+                   "WHERE c.manufacturer.manufacturer = :manufacturer " +
+                            "AND EXISTS (SELECT cc.id FROM CarCategoryInfo cc WHERE cc.car = c) ")
+    List<Long> findCarIdsByManufacturer(String manufacturer, Pageable pageable);
 
-    @Query(value = "SELECT c FROM Car c " +
-                   "JOIN FETCH c.model m " +
-                   "JOIN FETCH c.manufacturer mf "  +
-                   "JOIN FETCH c.carCategories cc " +
-                   "JOIN FETCH cc.category ct " +
-                   "JOIN FETCH cc.category " +
-                   "WHERE c.manufacturer.manufacturer = :manufacturer AND c.manufacturer.year >= :year")
-    List<Car> findCarsByManufacturerAndMinYear(String manufacturer, Integer year, Pageable pageable);
+    @Query(value = "SELECT c.id " +
+                   "FROM Car c " +
+                   "WHERE c.manufacturer.manufacturer = :manufacturer " +
+                            "AND c.manufacturer.year >= :year " +
+                            "AND EXISTS (SELECT cc.id FROM CarCategoryInfo cc WHERE cc.car = c) ")
+    List<Long> findCarIdsByManufacturerAndMinYear(String manufacturer, Integer year, Pageable pageable);
+
+    @Query(value = "SELECT c.id FROM Car c WHERE c.manufacturer.manufacturer = :name AND c.id > :id ORDER BY c.id")
+    List<Long> findCarIdsByManufacturerAfterId(String name, Long id, Pageable pageable);
+
+    @Query(value = "SELECT count(c) FROM Car c WHERE c.manufacturer.manufacturer = :name")
+    long countCarsByManufacturer(String name);
+
+    @Query(value = CAR_NAMES + "WHERE c.id = :id")
+    List<CarNames> findNamesByCarId(Long id);
+
+    @Query(value = CAR_NAMES + "WHERE c.id IN :ids")
+    List<CarNames> findNamesByCarIds(Collection<Long> ids);
+
+    @Query(value = CAR_NAMES + "WHERE m.id = :id")
+    List<CarNames> findNamesByModelId(Long id);
+
+    @Query(value = CAR_NAMES + "WHERE mf.id IN :ids")
+    List<CarNames> findNamesByManufacturerIds(Collection<Long> ids);
+
+    @Query(value = CAR_NAMES + "WHERE ct.id = :id")
+    List<CarNames> findNamesByCategoryId(Long id);
+
+    @Query(value = CAR_NAMES + "WHERE mf.manufacturer = :name")
+    List<CarNames> findNamesByManufacturer(String name);
+
+    @Query(value = CAR_NAMES + "WHERE mf.manufacturer = :name AND mf.year = :year")
+    List<CarNames> findNamesByManufacturerAndYear(String name, Integer year);
+
+    @Query(value = CAR_NAMES + "WHERE m.model = :name")
+    List<CarNames> findNamesByModel(String name);
+
+    @Query(value = CAR_NAMES + "WHERE ct.category = :name")
+    List<CarNames> findNamesByCategory(String name);
+
+    /**
+     * Deletes the car in one statement, its category links go with it through the ON DELETE CASCADE key.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM Car c WHERE c.id = :id")
+    int deleteCarById(Long id);
+
+    /**
+     * Ids of cars whose manufacturer, model or one of the categories is trigram-similar to the lower-cased term,
+     * best match first. A car matched by several names is ranked by the closest one.
+     */
+    @Query(value = "SELECT hits.car_id " +
+                   "FROM (" +
+                       "SELECT c.car_id, similarity(lower(mf.manufacturer), :term) AS score " +
+                       "FROM manufacturer mf JOIN car c ON c.manufacturer_id = mf.manufacturer_id " +
+                       "WHERE lower(mf.manufacturer) % :term " +
+                       "UNION ALL " +
+                       "SELECT c.car_id, similarity(lower(m.model), :term) " +
+                       "FROM model m JOIN car c ON c.model_id = m.model_id " +
+                       "WHERE lower(m.model) % :term " +
+                       "UNION ALL " +
+                       "SELECT cci.car_id, similarity(lower(ct.category), :term) " +
+                       "FROM category ct JOIN car_category_info cci ON cci.category_id = ct.category_id " +
+                       "WHERE lower(ct.category) % :term" +
+                   ") hits " +
+                   "GROUP BY hits.car_id " +
+                   "ORDER BY max(hits.score) DESC, hits.car_id",
+           nativeQuery = true)
+    List<Long> findCarIdsMatching(String term, Pageable pageable);
+
+    /**
+     * Ids of the cars with categories most similar to the given car, best first, scored the same way as
+     * {@link com.foxminded.car_rest_service.snapshot.CatalogSnapshot#findSimilar}: Jaccard similarity of the
+     * category sets, plus 0.5 for the same manufacturer name and up to 0.5 fading out over ten years.
+     * Groups all of {@code car_category_info}, so only used with {@code car-rest.similar-cars.score-in-database}.
+     */
+    @Query(value = "SELECT cci.car_id " +
+                   "FROM car t " +
+                   "JOIN manufacturer tmf ON tmf.manufacturer_id = t.manufacturer_id " +
+                   "JOIN car_category_info cci ON cci.car_id <> t.car_id " +
+                   "JOIN car c ON c.car_id = cci.car_id " +
+                   "JOIN manufacturer mf ON mf.manufacturer_id = c.manufacturer_id " +
+                   "LEFT JOIN car_category_info tc ON tc.car_id = t.car_id AND tc.category_id = cci.category_id " +
+                   "WHERE t.car_id = :id " +
+                   "GROUP BY cci.car_id, mf.manufacturer, mf.year, tmf.manufacturer, tmf.year " +
+                   "ORDER BY CAST(count(tc.category_id) AS float8) / (count(*) - count(tc.category_id) + " +
+                                "(SELECT count(*) FROM car_category_info WHERE car_id = :id)) " +
+                            "+ CASE WHEN mf.manufacturer = tmf.manufacturer THEN CAST(0.5 AS float8) ELSE 0 END " +
+                            "+ CASE WHEN abs(mf.year - tmf.year) < 10 " +
+                                   "THEN CAST(0.5 AS float8) * (10 - abs(mf.year - tmf.year)) / 10 ELSE 0 END DESC, " +
+                            "cci.car_id",
+           nativeQuery = true)
+    List<Long> findSimilarCarIds(Long id, Pageable pageable);
+
+    /**
+     * Creates the car together with its manufacturer and model when they are missing, in one statement.
+     * Returns empty when the car already exists, and also when a manufacturer or model was committed by
+     * a concurrent transaction after the statement started; repeating the call tells the two apart.
+     */
+    @Query(value = "WITH mf AS (" +
+                       "INSERT INTO manufacturer (manufacturer, year) VALUES (:manufacturer, :year) " +
+                       "ON CONFLICT DO NOTHING " +
+                       "RETURNING manufacturer_id" +
+                   "), m AS (" +
+                       "INSERT INTO model (model) VALUES (:model) " +
+                       "ON CONFLICT DO NOTHING " +
+                       "RETURNING model_id" +
+                   ") " +
+                   "INSERT INTO car (manufacturer_id, model_id) " +
+                   "SELECT k.manufacturer_id, k.model_id " +
+                   "FROM (" +
+                       "SELECT (SELECT manufacturer_id FROM mf " +
+                               "UNION ALL " +
+                               "SELECT manufacturer_id FROM manufacturer WHERE manufacturer = :manufacturer AND year = :year " +
+                               "LIMIT 1) AS manufacturer_id, " +
+                              "(SELECT model_id FROM m " +
+                               "UNION ALL " +
+                               "SELECT model_id FROM model WHERE model = :model " +
+                               "LIMIT 1) AS model_id" +
+                   ") k " +
+                   "WHERE k.manufacturer_id IS NOT NULL AND k.model_id IS NOT NULL " +
+                   "ON CONFLICT DO NOTHING " +
+                   "RETURNING car_id AS id, manufacturer_id AS \"manufacturerId\", model_id AS \"modelId\"",
+           nativeQuery = true)
+    Optional<CarKeys> insertCar(String manufacturer, String model, Integer year);
 }
@@ -0,0 +1,118 @@
+package com.foxminded.car_rest_service.dao;
+
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarFacetsDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarFilterDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Facet counts of the cars matching a {@link CarFilterDTO}. Filters by name are computed in one statement: the
+ * filtered cars are grouped by manufacturer, year and model with GROUPING SETS, and their category links are
+ * counted alongside. Filters by year range only are summed from the per-year statistics views of V1.6 and V1.9,
+ * so they are as fresh as the last statistics refresh, which they report like the statistics endpoints do.
+ */
+@Repository
+public class CarFacetDAO {
+
+    private static final String MANUFACTURER = "manufacturer";
+
+    private static final String YEAR = "year";
+
+    private static final String MODEL = "model";
+
+    private static final String CATEGORY = "category";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public CarFacetsDTO findFacets(CarFilterDTO filter) {
+        if (!filter.hasNameCriteria()) {
+            // Read before the views, so a refresh committed in between makes the counts newer than reported
+            Instant refreshedAt = jdbcTemplate.queryForObject("SELECT refreshed_at FROM stats_refresh",
+                    Timestamp.class).toInstant();
+
+            CarFacetsDTO facets = findFacetsByYears(filter);
+            facets.setRefreshedAt(refreshedAt);
+            facets.setAgeSeconds(Math.max(0, Duration.between(refreshedAt, Instant.now()).toSeconds()));
+            return facets;
+        }
+
+        CarFilterSql sql = CarFilterSql.of(filter);
+
+        return query("WITH f AS MATERIALIZED (" +
+                         "SELECT c.car_id, mf.manufacturer, mf.year, m.model " +
+                         "FROM " + CarFilterSql.CARS +
+                         sql.getWhere() +
+                     ") " +
+                     "SELECT CASE WHEN GROUPING(f.manufacturer) = 0 THEN '" + MANUFACTURER + "' " +
+                                 "WHEN GROUPING(f.year) = 0 THEN '" + YEAR + "' " +
+                                 "ELSE '" + MODEL + "' END AS facet, " +
+                            "coalesce(f.manufacturer, f.model, f.year::text) AS value, count(*) AS cars " +
+                     "FROM f " +
+                     "GROUP BY GROUPING SETS ((f.manufacturer), (f.year), (f.model)) " +
+                     "UNION ALL " +
+                     "SELECT '" + CATEGORY + "', ct.category, count(*) " +
+                     "FROM f " +
+                     "JOIN car_category_info cci ON cci.car_id = f.car_id " +
+                     "JOIN category ct ON ct.category_id = cci.category_id " +
+                     "WHERE ct.category IS NOT NULL " +
+                     "GROUP BY ct.category",
+                sql.getArgs());
+    }
+
+    private CarFacetsDTO findFacetsByYears(CarFilterDTO filter) {
+        CarFilterSql sql = CarFilterSql.ofYears(YEAR, filter);
+
+        List<Object> args = new ArrayList<>();
+        for (int view = 0; view < 4; view++) {
+            args.addAll(sql.getArgs());
+        }
+
+        return query("SELECT '" + MANUFACTURER + "' AS facet, manufacturer AS value, sum(cars) AS cars " +
+                     "FROM stats_cars_per_manufacturer_year " + sql.getWhere() +
+                     "GROUP BY manufacturer " +
+                     "UNION ALL " +
+                     "SELECT '" + YEAR + "', year::text, cars " +
+                     "FROM stats_cars_per_year " + sql.getWhere() +
+                     "UNION ALL " +
+                     "SELECT '" + MODEL + "', model, sum(cars) " +
+                     "FROM stats_cars_per_model_year " + sql.getWhere() +
+                     "GROUP BY model " +
+                     "UNION ALL " +
+                     "SELECT '" + CATEGORY + "', category, sum(cars) " +
+                     "FROM stats_cars_per_category_year " + sql.getWhere() +
+                     "GROUP BY category",
+                args);
+    }
+
+    private CarFacetsDTO query(String sql, List<Object> args) {
+        CarFacetsDTO facets = new CarFacetsDTO();
+        jdbcTemplate.query(sql,
+                rs -> {
+                    String value = rs.getString("value");
+                    long cars = rs.getLong("cars");
+                    switch (rs.getString("facet")) {
+                        case MANUFACTURER:
+                            facets.getManufacturers().put(value, cars);
+                            break;
+                        case YEAR:
+                            facets.getYears().put(Integer.valueOf(value), cars);
+                            break;
+                        case MODEL:
+                            facets.getModels().put(value, cars);
+                            break;
+                        default:
+                            facets.getCategories().put(value, cars);
+                    }
+                }, args.toArray());
+
+        return facets;
+    }
+}
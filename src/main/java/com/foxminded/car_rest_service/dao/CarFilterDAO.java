@@ -0,0 +1,11 @@
+package com.foxminded.car_rest_service.dao;
+
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarFilterDTO;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public interface CarFilterDAO {
+
+    List<Long> findCarIds(CarFilterDTO filter, Pageable pageable);
+}
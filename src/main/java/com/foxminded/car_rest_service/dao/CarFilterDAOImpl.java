@@ -0,0 +1,34 @@
+package com.foxminded.car_rest_service.dao;
+
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarFilterDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Selects the id page of the cars matching a filter compiled by {@link CarFilterSql}.
+ */
+class CarFilterDAOImpl implements CarFilterDAO {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> findCarIds(CarFilterDTO filter, Pageable pageable) {
+        CarFilterSql sql = CarFilterSql.of(filter);
+
+        List<Object> args = new ArrayList<>(sql.getArgs());
+        args.add(pageable.isPaged() ? pageable.getPageSize() : Long.MAX_VALUE);
+        args.add(pageable.isPaged() ? pageable.getOffset() : 0L);
+
+        return jdbcTemplate.queryForList("SELECT c.car_id " +
+                                         "FROM " + CarFilterSql.CARS +
+                                         sql.getWhere() +
+                                         "ORDER BY " + CarSort.orderBy(pageable.getSort()) + " " +
+                                         "LIMIT ? OFFSET ?",
+                Long.class, args.toArray());
+    }
+}
@@ -0,0 +1,100 @@
+package com.foxminded.car_rest_service.dao;
+
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarFilterDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarFilterDTO.CategoryMatch;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * WHERE clause of a {@link CarFilterDTO} over {@code car c}, {@code manufacturer mf} and {@code model m},
+ * built from the present criteria only, so every filter combination is one statement the planner sees without
+ * "OR :param IS NULL" branches. The id query and the facet counts share it, so both match the same cars.
+ */
+@Getter
+final class CarFilterSql {
+
+    static final String CARS = "car c " +
+            "JOIN manufacturer mf ON mf.manufacturer_id = c.manufacturer_id " +
+            "JOIN model m ON m.model_id = c.model_id ";
+
+    /**
+     * Empty without criteria, otherwise "WHERE ..." followed by a space.
+     */
+    private final String where;
+
+    private final List<Object> args;
+
+    private CarFilterSql(String where, List<Object> args) {
+        this.where = where;
+        this.args = args;
+    }
+
+    static CarFilterSql of(CarFilterDTO filter) {
+        List<String> predicates = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (isPresent(filter.getManufacturer())) {
+            predicates.add("mf.manufacturer = ANY (?::text[])");
+            args.add(filter.getManufacturer().toArray(String[]::new));
+        }
+        if (isPresent(filter.getModel())) {
+            predicates.add("m.model = ANY (?::text[])");
+            args.add(filter.getModel().toArray(String[]::new));
+        }
+        yearRange("mf.year", filter, predicates, args);
+        if (isPresent(filter.getCategory())) {
+            predicates.add(categoryPredicate(new LinkedHashSet<>(filter.getCategory()), filter.getCategoryMatch(), args));
+        }
+
+        return new CarFilterSql(whereOf(predicates), args);
+    }
+
+    /**
+     * The year range of the filter alone, over any table with a year column.
+     */
+    static CarFilterSql ofYears(String column, CarFilterDTO filter) {
+        List<String> predicates = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        yearRange(column, filter, predicates, args);
+
+        return new CarFilterSql(whereOf(predicates), args);
+    }
+
+    private static void yearRange(String column, CarFilterDTO filter, List<String> predicates, List<Object> args) {
+        if (filter.getMinYear() != null) {
+            predicates.add(column + " >= ?");
+            args.add(filter.getMinYear());
+        }
+        if (filter.getMaxYear() != null) {
+            predicates.add(column + " <= ?");
+            args.add(filter.getMaxYear());
+        }
+    }
+
+    /**
+     * Any-of is an EXISTS over the car's links, all-of counts the car's links to the wanted categories,
+     * which the (car_id, category_id) unique key keeps free of duplicates.
+     */
+    private static String categoryPredicate(Set<String> categories, CategoryMatch match, List<Object> args) {
+        String links = "FROM car_category_info cci " +
+                       "JOIN category ct ON ct.category_id = cci.category_id " +
+                       "WHERE cci.car_id = c.car_id AND ct.category = ANY (?::text[])";
+        args.add(categories.toArray(String[]::new));
+
+        return match == CategoryMatch.ALL
+                ? "(SELECT count(*) " + links + ") = " + categories.size()
+                : "EXISTS (SELECT 1 " + links + ")";
+    }
+
+    private static String whereOf(List<String> predicates) {
+        return predicates.isEmpty() ? "" : "WHERE " + String.join(" AND ", predicates) + " ";
+    }
+
+    private static boolean isPresent(Collection<?> values) {
+        return values != null && !values.isEmpty();
+    }
+}
@@ -0,0 +1,154 @@
+package com.foxminded.car_rest_service.dao;
+
+import com.foxminded.car_rest_service.exceptions.InvalidImportException;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Set-based car import through a transaction-scoped staging table.
+ * Staging and upserts must run in one transaction, starting with {@link #copyToStaging(InputStream)}
+ * or {@link #stageJobRows(long, long, long)}.
+ */
+@Repository
+public class CarImportDAO {
+
+    private static final String CREATE_STAGING =
+            "DROP TABLE IF EXISTS pg_temp.car_import; " +
+            "CREATE TEMPORARY TABLE car_import " +
+            "(" +
+                "object_id    text, " +
+                "manufacturer text, " +
+                "year         int, " +
+                "model        text, " +
+                "category     text, " +
+                "row_no       bigserial" +
+            ") ON COMMIT DROP";
+
+    private static final String COPY_STAGING = "COPY car_import (object_id, manufacturer, year, model, category) " +
+                                               "FROM STDIN WITH (FORMAT CSV, HEADER)";
+
+    private static final String STAGED_CARS = "car_import i " +
+            "JOIN manufacturer mf ON mf.manufacturer = i.manufacturer AND mf.year = i.year " +
+            "JOIN model m ON m.model = i.model ";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public long copyToStaging(InputStream csv) {
+        jdbcTemplate.execute(CREATE_STAGING);
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            long rows = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_STAGING, csv);
+            jdbcTemplate.execute("ANALYZE car_import");
+            return rows;
+        } catch (SQLException e) {
+            throw new InvalidImportException(e.getMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * Keeps the staged rows for a job, numbered from 1 in file order as COPY read them.
+     *
+     * @return number of rows kept
+     */
+    public int saveStagingForJob(long jobId) {
+        return jdbcTemplate.update("INSERT INTO catalog_job_import_row " +
+                                   "(job_id, row_no, object_id, manufacturer, year, model, category) " +
+                                   "SELECT ?, row_no, object_id, manufacturer, year, model, category " +
+                                   "FROM car_import", jobId);
+    }
+
+    /**
+     * Stages the rows of a job numbered after {@code afterRow} up to {@code toRow}, in place of a CSV.
+     */
+    public int stageJobRows(long jobId, long afterRow, long toRow) {
+        jdbcTemplate.execute(CREATE_STAGING);
+
+        return jdbcTemplate.update("INSERT INTO car_import (object_id, manufacturer, year, model, category) " +
+                                   "SELECT object_id, manufacturer, year, model, category " +
+                                   "FROM catalog_job_import_row " +
+                                   "WHERE job_id = ? AND row_no > ? AND row_no <= ?", jobId, afterRow, toRow);
+    }
+
+    public int deleteJobRows(long jobId) {
+        return jdbcTemplate.update("DELETE FROM catalog_job_import_row WHERE job_id = ?", jobId);
+    }
+
+    public int upsertManufacturers() {
+        return jdbcTemplate.update("INSERT INTO manufacturer (manufacturer, year) " +
+                                   "SELECT DISTINCT manufacturer, year " +
+                                   "FROM car_import " +
+                                   "WHERE manufacturer IS NOT NULL AND year IS NOT NULL AND model IS NOT NULL " +
+                                   "ON CONFLICT DO NOTHING");
+    }
+
+    public int upsertModels() {
+        return jdbcTemplate.update("INSERT INTO model (model) " +
+                                   "SELECT DISTINCT model " +
+                                   "FROM car_import " +
+                                   "WHERE manufacturer IS NOT NULL AND year IS NOT NULL AND model IS NOT NULL " +
+                                   "ON CONFLICT DO NOTHING");
+    }
+
+    public int upsertCategories() {
+        return jdbcTemplate.update("INSERT INTO category (category) " +
+                                   "SELECT DISTINCT s.category " +
+                                   "FROM car_import i " +
+                                   "CROSS JOIN LATERAL regexp_split_to_table(i.category, ', ?') AS s(category) " +
+                                   "WHERE i.manufacturer IS NOT NULL AND i.year IS NOT NULL AND i.model IS NOT NULL " +
+                                   "AND s.category <> '' " +
+                                   "ON CONFLICT DO NOTHING");
+    }
+
+    public int upsertCars() {
+        return jdbcTemplate.update("INSERT INTO car (manufacturer_id, model_id) " +
+                                   "SELECT DISTINCT mf.manufacturer_id, m.model_id " +
+                                   "FROM " + STAGED_CARS +
+                                   "ON CONFLICT DO NOTHING");
+    }
+
+    public int upsertCarCategories() {
+        return jdbcTemplate.update("INSERT INTO car_category_info (car_id, category_id) " +
+                                   "SELECT DISTINCT c.car_id, ct.category_id " +
+                                   "FROM " + STAGED_CARS +
+                                   "JOIN car c ON c.manufacturer_id = mf.manufacturer_id AND c.model_id = m.model_id " +
+                                   "CROSS JOIN LATERAL regexp_split_to_table(i.category, ', ?') AS s(category) " +
+                                   "JOIN category ct ON ct.category = s.category " +
+                                   "ON CONFLICT DO NOTHING");
+    }
+
+    public List<String> findStagedManufacturers() {
+        return jdbcTemplate.queryForList("SELECT DISTINCT manufacturer FROM car_import WHERE manufacturer IS NOT NULL",
+                String.class);
+    }
+
+    public List<String> findStagedModels() {
+        return jdbcTemplate.queryForList("SELECT DISTINCT model FROM car_import WHERE model IS NOT NULL", String.class);
+    }
+
+    public List<String> findStagedCategories() {
+        return jdbcTemplate.queryForList("SELECT DISTINCT s.category " +
+                                         "FROM car_import i " +
+                                         "CROSS JOIN LATERAL regexp_split_to_table(i.category, ', ?') AS s(category) " +
+                                         "WHERE s.category <> ''", String.class);
+    }
+}
@@ -0,0 +1,74 @@
+package com.foxminded.car_rest_service.dao;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Car pages rendered by PostgreSQL as the JSON array of {@code CarDTO}s.
+ * Every method returns null when the page is empty.
+ */
+@Repository
+public class CarJsonDAO {
+
+    private static final String CAR_JOINS =
+            "JOIN manufacturer mf ON mf.manufacturer_id = c.manufacturer_id " +
+            "JOIN model m ON m.model_id = c.model_id ";
+
+    /**
+     * Subselects named after the DTO fields let row_to_json render compact objects with the DTO keys.
+     */
+    private static final String CAR_JSON = "row_to_json((SELECT car FROM (SELECT " +
+                "c.car_id AS id, " +
+                "(SELECT row_to_json(mo) FROM (SELECT m.model_id AS id, m.model) mo) AS model, " +
+                "(SELECT row_to_json(ma) FROM (SELECT mf.manufacturer_id AS id, mf.manufacturer, mf.year) ma) " +
+                        "AS manufacturer, " +
+                "(SELECT json_agg(ca ORDER BY ca.id) " +
+                 "FROM (SELECT ct.category_id AS id, ct.category " +
+                       "FROM car_category_info cc " +
+                       "JOIN category ct ON ct.category_id = cc.category_id " +
+                       "WHERE cc.car_id = c.car_id) ca) AS \"carCategories\"" +
+            ") car))";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public boolean supports(Sort sort) {
+        return CarSort.supports(sort);
+    }
+
+    public String findAllCars(Pageable pageable) {
+        return findCars("", List.of(), pageable);
+    }
+
+    public String findCarsByManufacturer(String manufacturer, Pageable pageable) {
+        return findCars("AND mf.manufacturer = ? ", List.of(manufacturer), pageable);
+    }
+
+    public String findCarsByManufacturerAndMinYear(String manufacturer, Integer year, Pageable pageable) {
+        return findCars("AND mf.manufacturer = ? AND mf.year >= ? ", List.of(manufacturer, year), pageable);
+    }
+
+    private String findCars(String filter, List<Object> filterArgs, Pageable pageable) {
+        String orderBy = CarSort.orderBy(pageable.getSort());
+
+        List<Object> args = new ArrayList<>(filterArgs);
+        args.add(pageable.isPaged() ? pageable.getPageSize() : Long.MAX_VALUE);
+        args.add(pageable.isPaged() ? pageable.getOffset() : 0L);
+
+        return jdbcTemplate.queryForObject("SELECT json_agg(" + CAR_JSON + " ORDER BY p.ord) " +
+                                           "FROM (SELECT c.car_id, row_number() OVER (ORDER BY " + orderBy + ") AS ord " +
+                                                 "FROM car c " + CAR_JOINS +
+                                                 "WHERE EXISTS (SELECT 1 FROM car_category_info cc WHERE cc.car_id = c.car_id) " +
+                                                         filter +
+                                                 "ORDER BY " + orderBy + " " +
+                                                 "LIMIT ? OFFSET ?) p " +
+                                           "JOIN car c ON c.car_id = p.car_id " + CAR_JOINS,
+                String.class, args.toArray());
+    }
+}
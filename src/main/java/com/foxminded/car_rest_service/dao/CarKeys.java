@@ -0,0 +1,13 @@
+package com.foxminded.car_rest_service.dao;
+
+/**
+ * Keys of a car row written by {@link CarDAO#insertCar(String, String, Integer)}.
+ */
+public interface CarKeys {
+
+    Long getId();
+
+    Long getManufacturerId();
+
+    Long getModelId();
+}
@@ -0,0 +1,16 @@
+package com.foxminded.car_rest_service.dao;
+
+/**
+ * Names a car is listed under, one row per category of the car. {@code category} is null for a car
+ * without categories.
+ */
+public interface CarNames {
+
+    Long getCarId();
+
+    String getManufacturer();
+
+    String getModel();
+
+    String getCategory();
+}
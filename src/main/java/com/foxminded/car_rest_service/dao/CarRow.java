@@ -0,0 +1,29 @@
+package com.foxminded.car_rest_service.dao;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One car-category pair of the read-only list query. A car with several categories spans several rows,
+ * a car without categories has one row with null category columns.
+ */
+@Getter
+@AllArgsConstructor
+public class CarRow {
+
+    private final Long carId;
+
+    private final Long modelId;
+
+    private final String model;
+
+    private final Long manufacturerId;
+
+    private final String manufacturer;
+
+    private final Integer year;
+
+    private final Long categoryId;
+
+    private final String category;
+}
@@ -0,0 +1,47 @@
+package com.foxminded.car_rest_service.dao;
+
+import com.foxminded.car_rest_service.exceptions.InvalidSortException;
+import org.springframework.data.domain.Sort;
+
+import java.util.Map;
+import java.util.TreeSet;
+
+import static java.lang.String.format;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * ORDER BY of the SQL car reads, over {@code car c}, {@code manufacturer mf} and {@code model m}.
+ */
+final class CarSort {
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "c.car_id",
+            "manufacturer.manufacturer", "mf.manufacturer",
+            "manufacturer.year", "mf.year",
+            "model.model", "m.model");
+
+    private CarSort() {
+    }
+
+    static boolean supports(Sort sort) {
+        return sort.stream().allMatch(order -> SORT_COLUMNS.containsKey(order.getProperty()));
+    }
+
+    /**
+     * The sort with an id tiebreaker, so OFFSET pages are stable between requests.
+     *
+     * @throws InvalidSortException when a property of the sort has no column, before any query runs
+     */
+    static String orderBy(Sort sort) {
+        if (!supports(sort)) {
+            throw new InvalidSortException(format("Cars can be sorted only by %s",
+                    new TreeSet<>(SORT_COLUMNS.keySet())));
+        }
+
+        Sort withId = sort.getOrderFor("id") == null ? sort.and(Sort.by("id")) : sort;
+
+        return withId.stream()
+                .map(order -> SORT_COLUMNS.get(order.getProperty()) + (order.isAscending() ? " ASC" : " DESC"))
+                .collect(joining(", "));
+    }
+}
@@ -0,0 +1,127 @@
+package com.foxminded.car_rest_service.dao;
+
+import com.foxminded.car_rest_service.jobs.JobStatus;
+import com.foxminded.car_rest_service.jobs.JobType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The jobs table of V1.8. Updates made by a worker are fenced by the attempt it claimed the job with,
+ * so they stop applying once the job was cancelled or claimed again after the worker's lease expired.
+ */
+@Repository
+public class CatalogJobDAO {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public long insert(JobType type, String subject, long total) {
+        return jdbcTemplate.queryForObject("INSERT INTO catalog_job (type, status, subject, total) " +
+                                           "VALUES (?, ?, ?, ?) " +
+                                           "RETURNING job_id",
+                Long.class, type.name(), JobStatus.QUEUED.name(), subject, total);
+    }
+
+    public Optional<CatalogJobRow> findById(long id) {
+        return jdbcTemplate.query("SELECT * FROM catalog_job WHERE job_id = ?", this::toRow, id).stream()
+                .findFirst();
+    }
+
+    /**
+     * Claims the oldest queued job, or a running one whose worker hasn't checkpointed within the lease
+     * and that was claimed fewer than {@code maxAttempts} times, skipping jobs another worker is claiming
+     * at the same time.
+     */
+    public Optional<CatalogJobRow> claimNext(Duration lease, int maxAttempts) {
+        return jdbcTemplate.query("UPDATE catalog_job " +
+                                  "SET status = 'RUNNING', attempts = attempts + 1, " +
+                                      "started_at = coalesce(started_at, now()), heartbeat_at = now() " +
+                                  "WHERE job_id = (" +
+                                      "SELECT job_id " +
+                                      "FROM catalog_job " +
+                                      "WHERE status = 'QUEUED' " +
+                                         "OR status = 'RUNNING' AND heartbeat_at < now() - ? * interval '1 ms' " +
+                                            "AND attempts < ? " +
+                                      "ORDER BY job_id " +
+                                      "LIMIT 1 " +
+                                      "FOR UPDATE SKIP LOCKED" +
+                                  ") " +
+                                  "RETURNING *", this::toRow, lease.toMillis(), maxAttempts).stream()
+                .findFirst();
+    }
+
+    /**
+     * Fails the running jobs whose lease expired on their last allowed attempt.
+     *
+     * @return the failed jobs
+     */
+    public List<CatalogJobRow> failExpired(Duration lease, int maxAttempts) {
+        return jdbcTemplate.query("UPDATE catalog_job " +
+                                  "SET status = 'FAILED', finished_at = now(), " +
+                                      "error = 'Lease expired on each of ' || attempts || ' attempts' " +
+                                  "WHERE status = 'RUNNING' AND heartbeat_at < now() - ? * interval '1 ms' " +
+                                    "AND attempts >= ? " +
+                                  "RETURNING *", this::toRow, lease.toMillis(), maxAttempts);
+    }
+
+    /**
+     * Moves the job past a chunk. Run in the chunk's transaction, so the chunk and the checkpoint commit together.
+     *
+     * @return false when the job was cancelled or claimed again meanwhile
+     */
+    public boolean checkpoint(CatalogJobRow job, long checkpoint, long processed) {
+        return jdbcTemplate.update("UPDATE catalog_job " +
+                                   "SET checkpoint = ?, processed = processed + ?, heartbeat_at = now() " +
+                                   "WHERE job_id = ? AND status = 'RUNNING' AND attempts = ?",
+                checkpoint, processed, job.getId(), job.getAttempts()) > 0;
+    }
+
+    /**
+     * @return false when the job was cancelled or claimed again meanwhile
+     */
+    public boolean finish(CatalogJobRow job, JobStatus status, String error) {
+        return jdbcTemplate.update("UPDATE catalog_job " +
+                                   "SET status = ?, error = ?, finished_at = now() " +
+                                   "WHERE job_id = ? AND status = 'RUNNING' AND attempts = ?",
+                status.name(), error, job.getId(), job.getAttempts()) > 0;
+    }
+
+    /**
+     * Cancels the job unless it has finished. A running job stops at its next checkpoint.
+     *
+     * @return false when the job has finished
+     */
+    public boolean cancel(long id) {
+        return jdbcTemplate.update("UPDATE catalog_job " +
+                                   "SET status = 'CANCELLED', finished_at = now() " +
+                                   "WHERE job_id = ? AND status IN ('QUEUED', 'RUNNING')", id) > 0;
+    }
+
+    private CatalogJobRow toRow(ResultSet rs, int rowNum) throws SQLException {
+        return new CatalogJobRow(rs.getLong("job_id"),
+                JobType.valueOf(rs.getString("type")),
+                JobStatus.valueOf(rs.getString("status")),
+                rs.getString("subject"),
+                rs.getLong("total"),
+                rs.getLong("processed"),
+                rs.getLong("checkpoint"),
+                rs.getInt("attempts"),
+                rs.getString("error"),
+                toInstant(rs.getTimestamp("created_at")),
+                toInstant(rs.getTimestamp("started_at")),
+                toInstant(rs.getTimestamp("finished_at")));
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+}
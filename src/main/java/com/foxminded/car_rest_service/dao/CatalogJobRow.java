@@ -0,0 +1,40 @@
+package com.foxminded.car_rest_service.dao;
+
+import com.foxminded.car_rest_service.jobs.JobStatus;
+import com.foxminded.car_rest_service.jobs.JobType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * One row of the jobs table. {@code checkpoint} is where the next chunk starts, its meaning depends on the type.
+ */
+@Getter
+@AllArgsConstructor
+public class CatalogJobRow {
+
+    private final Long id;
+
+    private final JobType type;
+
+    private final JobStatus status;
+
+    private final String subject;
+
+    private final long total;
+
+    private final long processed;
+
+    private final long checkpoint;
+
+    private final int attempts;
+
+    private final String error;
+
+    private final Instant createdAt;
+
+    private final Instant startedAt;
+
+    private final Instant finishedAt;
+}
@@ -0,0 +1,95 @@
+package com.foxminded.car_rest_service.dao;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Streams car-category rows for the in-memory catalog snapshot, ordered by car id.
+ * The rows are fetched in batches, so the full catalog never sits in one JDBC result set.
+ */
+@Repository
+public class CatalogSnapshotDAO {
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private static final String SELECT_ROWS =
+            "SELECT c.car_id, m.model_id, m.model, mf.manufacturer_id, mf.manufacturer, mf.year, " +
+                   "ct.category_id, ct.category " +
+            "FROM car c " +
+            "JOIN model m ON m.model_id = c.model_id " +
+            "JOIN manufacturer mf ON mf.manufacturer_id = c.manufacturer_id " +
+            "LEFT JOIN car_category_info cci ON cci.car_id = c.car_id " +
+            "LEFT JOIN category ct ON ct.category_id = cci.category_id ";
+
+    private static final String BY_CAR_IDS = "WHERE c.car_id = ANY (?::bigint[]) ";
+
+    private static final String BY_NAMES =
+            "WHERE mf.manufacturer = ANY (?::text[]) " +
+               "OR m.model = ANY (?::text[]) " +
+               "OR EXISTS (SELECT 1 " +
+                          "FROM car_category_info cc " +
+                          "JOIN category named ON named.category_id = cc.category_id " +
+                          "WHERE cc.car_id = c.car_id AND named.category = ANY (?::text[])) ";
+
+    private static final String ORDER_BY = "ORDER BY c.car_id, ct.category_id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void findAllRows(Consumer<CarRow> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_ROWS + ORDER_BY);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(toRow(rs)));
+    }
+
+    /**
+     * Rows of the given cars that still exist, together with the rows of the cars whose manufacturer, model
+     * or any category currently has one of the given names. A car matching both comes once.
+     */
+    public void findRowsByCarIdsOrNames(Collection<Long> carIds, Collection<String> manufacturers,
+                                        Collection<String> models, Collection<String> categories,
+                                        Consumer<CarRow> consumer) {
+        boolean byCarIds = !carIds.isEmpty();
+        boolean byNames = !manufacturers.isEmpty() || !models.isEmpty() || !categories.isEmpty();
+
+        String sql = byCarIds && byNames
+                ? SELECT_ROWS + BY_CAR_IDS + "UNION " + SELECT_ROWS + BY_NAMES + "ORDER BY car_id, category_id"
+                : SELECT_ROWS + (byCarIds ? BY_CAR_IDS : BY_NAMES) + ORDER_BY;
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(FETCH_SIZE);
+            int parameter = 1;
+            if (byCarIds) {
+                statement.setArray(parameter++, connection.createArrayOf("bigint", carIds.toArray()));
+            }
+            if (byNames) {
+                statement.setArray(parameter++, connection.createArrayOf("text", manufacturers.toArray()));
+                statement.setArray(parameter++, connection.createArrayOf("text", models.toArray()));
+                statement.setArray(parameter, connection.createArrayOf("text", categories.toArray()));
+            }
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(toRow(rs)));
+    }
+
+    private CarRow toRow(ResultSet rs) throws SQLException {
+        return new CarRow(rs.getLong("car_id"),
+                rs.getLong("model_id"),
+                rs.getString("model"),
+                rs.getLong("manufacturer_id"),
+                rs.getString("manufacturer"),
+                rs.getInt("year"),
+                rs.getObject("category_id", Long.class),
+                rs.getString("category"));
+    }
+}
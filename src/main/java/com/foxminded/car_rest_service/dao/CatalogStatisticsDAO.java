@@ -0,0 +1,69 @@
+package com.foxminded.car_rest_service.dao;
+
+import com.foxminded.car_rest_service.mapstruct.dto.statistics.CategoryStatisticsDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.statistics.ManufacturerYearStatisticsDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.statistics.YearStatisticsDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Reads and refreshes the materialized statistics views of V1.6 and V1.9.
+ */
+@Repository
+public class CatalogStatisticsDAO {
+
+    private static final List<String> VIEWS = List.of(
+            "stats_cars_per_manufacturer_year",
+            "stats_models_per_category",
+            "stats_cars_per_year",
+            "stats_cars_per_model_year",
+            "stats_cars_per_category_year");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public List<ManufacturerYearStatisticsDTO> findCarsPerManufacturerYear() {
+        return jdbcTemplate.query("SELECT manufacturer, year, cars FROM stats_cars_per_manufacturer_year " +
+                                  "ORDER BY manufacturer, year",
+                (rs, rowNum) -> new ManufacturerYearStatisticsDTO(rs.getString("manufacturer"), rs.getInt("year"),
+                        rs.getLong("cars")));
+    }
+
+    public List<CategoryStatisticsDTO> findModelsPerCategory() {
+        return jdbcTemplate.query("SELECT category, models FROM stats_models_per_category ORDER BY category",
+                (rs, rowNum) -> new CategoryStatisticsDTO(rs.getString("category"), rs.getLong("models")));
+    }
+
+    public List<YearStatisticsDTO> findCarsPerYear() {
+        return jdbcTemplate.query("SELECT year, cars FROM stats_cars_per_year ORDER BY year",
+                (rs, rowNum) -> new YearStatisticsDTO(rs.getInt("year"), rs.getLong("cars")));
+    }
+
+    public Instant findRefreshedAt() {
+        return jdbcTemplate.queryForObject("SELECT refreshed_at FROM stats_refresh", Timestamp.class).toInstant();
+    }
+
+    /**
+     * Refreshes every view and stamps the refresh time, unless another transaction is refreshing them already.
+     * Must run in a transaction, which holds the advisory lock until it ends.
+     *
+     * @return false when another refresh was running
+     */
+    public boolean refresh() {
+        Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(hashtext('stats_refresh'))",
+                Boolean.class);
+        if (!Boolean.TRUE.equals(locked)) {
+            return false;
+        }
+
+        VIEWS.forEach(view -> jdbcTemplate.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY " + view));
+        jdbcTemplate.update("UPDATE stats_refresh SET refreshed_at = now()");
+
+        return true;
+    }
+}
@@ -0,0 +1,43 @@
+package com.foxminded.car_rest_service.dao;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Streams category links for the in-memory category bitmaps, ordered by category and car id.
+ */
+@Repository
+public class CategoryBitmapDAO {
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private static final String SELECT_LINKS = "SELECT ct.category, cci.car_id " +
+                                               "FROM car_category_info cci " +
+                                               "JOIN category ct ON ct.category_id = cci.category_id " +
+                                               "WHERE ct.category IS NOT NULL ";
+
+    private static final String ORDER_BY = "ORDER BY ct.category_id, cci.car_id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void findAllLinks(ObjLongConsumer<String> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_LINKS + ORDER_BY);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(rs.getString("category"), rs.getLong("car_id")));
+    }
+
+    public void findLinksByCategories(Collection<String> categories, ObjLongConsumer<String> consumer) {
+        jdbcTemplate.query(SELECT_LINKS + "AND ct.category = ANY (?::text[]) " + ORDER_BY,
+                (RowCallbackHandler) rs -> consumer.accept(rs.getString("category"), rs.getLong("car_id")),
+                (Object) categories.toArray(String[]::new));
+    }
+}
@@ -3,16 +3,24 @@ package com.foxminded.car_rest_service.dao;
 import com.foxminded.car_rest_service.entities.Category;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface CategoryDAO extends JpaRepository<Category, Long> {
+public interface CategoryDAO extends JpaRepository<Category, Long>, CategoryNaturalIdDAO {
 
     @Query(value = "SELECT c FROM Category c ")
     List<Category> findAllPage(Pageable pageable);
 
+    @Query(value = "SELECT c FROM Category c WHERE c.id > :id ORDER BY c.id")
+    List<Category> findAllAfterId(Long id, Pageable pageable);
+
+    @Query(value = "SELECT c FROM Category c WHERE (c.category, c.id) > (:category, :id) ORDER BY c.category, c.id")
+    List<Category> findAllAfterName(String category, Long id, Pageable pageable);
+
     @Query(value = "SELECT c FROM Category c " +
                    "LEFT JOIN FETCH c.carCategories cc " +
                    "LEFT JOIN FETCH cc.car cr " +
@@ -21,6 +29,45 @@ public interface CategoryDAO extends JpaRepository<Category, Long> {
                    "WHERE c.category = :name ")
     Optional<Category> findCategoryWithCarsByName(String name);
 
-    @Query(value = "SELECT c FROM Category c WHERE c.category = :category")
-    Optional<Category> findByName(String category);
+    /**
+     * Deletes the category in one statement, its car links go with it through the ON DELETE CASCADE key.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM Category c WHERE c.category = :name")
+    int deleteByName(String name);
+
+    /**
+     * Inserts the category unless one with the same name exists.
+     *
+     * @return id of the inserted row, empty when the category already exists
+     */
+    @Query(value = "INSERT INTO category (category) VALUES (:category) " +
+                   "ON CONFLICT DO NOTHING " +
+                   "RETURNING category_id", nativeQuery = true)
+    Optional<Long> insertIfAbsent(String category);
+
+    @Query(value = "WITH inserted AS (" +
+                       "INSERT INTO category (category) VALUES (:category) " +
+                       "ON CONFLICT DO NOTHING " +
+                       "RETURNING category_id" +
+                   ") " +
+                   "SELECT category_id FROM inserted " +
+                   "UNION ALL " +
+                   "SELECT category_id FROM category WHERE category = :category " +
+                   "LIMIT 1", nativeQuery = true)
+    Optional<Long> upsertId(String category);
+
+    /**
+     * Get-or-create in one statement. A row committed by a concurrent insert after the statement
+     * started is invisible to it, so that case falls through to a second statement.
+     */
+    default Long getOrCreateId(String category) {
+        return upsertId(category).or(() -> upsertId(category)).orElseThrow();
+    }
+
+    @Query(value = "SELECT c.category FROM Category c WHERE c.category IS NOT NULL")
+    List<String> findAllNames();
+
+    @Query(value = "SELECT c.category FROM Category c WHERE c.category IN :names")
+    List<String> findNamesIn(Collection<String> names);
 }
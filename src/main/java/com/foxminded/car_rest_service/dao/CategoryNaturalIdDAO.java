@@ -0,0 +1,10 @@
+package com.foxminded.car_rest_service.dao;
+
+import com.foxminded.car_rest_service.entities.Category;
+
+import java.util.Optional;
+
+public interface CategoryNaturalIdDAO {
+
+    Optional<Category> findByName(String category);
+}
@@ -0,0 +1,21 @@
+package com.foxminded.car_rest_service.dao;
+
+import com.foxminded.car_rest_service.entities.Category;
+import org.hibernate.Session;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Optional;
+
+class CategoryNaturalIdDAOImpl implements CategoryNaturalIdDAO {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Category> findByName(String category) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Category.class)
+                .loadOptional(category);
+    }
+}
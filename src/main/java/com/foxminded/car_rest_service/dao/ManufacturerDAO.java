@@ -3,40 +3,85 @@ package com.foxminded.car_rest_service.dao;
 import com.foxminded.car_rest_service.entities.Manufacturer;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
-public interface ManufacturerDAO extends JpaRepository<Manufacturer, Long> {
+import static org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH;
+
+public interface ManufacturerDAO extends JpaRepository<Manufacturer, Long>, ManufacturerNaturalIdDAO {
 
     @Query(value = "SELECT DISTINCT m.manufacturer FROM Manufacturer m ")
     List<String> findAllUniqueManufacturers(Pageable pageable);
 
-    @Query(value = "SELECT m FROM Manufacturer m WHERE m.manufacturer = :name AND m.year = :year")
-    Optional<Manufacturer> findByNameAndYear(String name, Integer year);
-
-    @Query(value = "SELECT m " +
+    @Query(value = "SELECT DISTINCT m.manufacturer " +
                    "FROM Manufacturer m " +
-                   "JOIN FETCH m.cars c " +
-                   "JOIN FETCH c.carCategories cc " +
-                   "WHERE m.manufacturer = :name ")
-    Set<Manufacturer> findAllByName(String name);
+                   "WHERE m.manufacturer > :name " +
+                   "ORDER BY m.manufacturer")
+    List<String> findUniqueManufacturersAfter(String name, Pageable pageable);
 
-    @Query(value = "SELECT m " +
-                   "FROM Manufacturer m " +
-                   "JOIN FETCH m.cars c " +
-                   "JOIN FETCH c.carCategories cc " +
-                   "WHERE m.manufacturer = :name AND m.year = :year")
-    Optional<Manufacturer> findByNameAndYearWithCars(String name, Integer year);
+    /**
+     * Deletes every manufacturer with the name in one statement, their cars and the cars' category links
+     * go with them through the ON DELETE CASCADE keys.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM Manufacturer m WHERE m.manufacturer = :name")
+    int deleteByName(String name);
+
+    @Modifying
+    @Query(value = "DELETE FROM Manufacturer m WHERE m.manufacturer = :name AND m.year = :year")
+    int deleteByNameAndYear(String name, Integer year);
+
+    @Query(value = "SELECT mf.id FROM Manufacturer mf WHERE mf.manufacturer = :name ")
+    List<Long> findManufacturerIdsByName(String name, Pageable pageable);
 
-    @Query(value = "SELECT mf " +
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query(value = "SELECT DISTINCT mf " +
                    "FROM Manufacturer mf " +
                    "LEFT JOIN FETCH mf.cars c " +
                    "LEFT JOIN FETCH c.model m " +
                    "LEFT JOIN FETCH c.carCategories cc " +
                    "LEFT JOIN FETCH cc.category ct " +
-                   "WHERE mf.manufacturer = :name ")
-    List<Manufacturer> findAllManufacturersWithCarsByName(String name, Pageable pageable);
+                   "WHERE mf.id IN :ids ")
+    List<Manufacturer> findManufacturersWithCarsByIds(Collection<Long> ids);
+
+    /**
+     * Inserts the manufacturer unless one with the same name and year exists.
+     *
+     * @return id of the inserted row, empty when the manufacturer already exists
+     */
+    @Query(value = "INSERT INTO manufacturer (manufacturer, year) VALUES (:manufacturer, :year) " +
+                   "ON CONFLICT DO NOTHING " +
+                   "RETURNING manufacturer_id", nativeQuery = true)
+    Optional<Long> insertIfAbsent(String manufacturer, Integer year);
+
+    @Query(value = "WITH inserted AS (" +
+                       "INSERT INTO manufacturer (manufacturer, year) VALUES (:manufacturer, :year) " +
+                       "ON CONFLICT DO NOTHING " +
+                       "RETURNING manufacturer_id" +
+                   ") " +
+                   "SELECT manufacturer_id FROM inserted " +
+                   "UNION ALL " +
+                   "SELECT manufacturer_id FROM manufacturer WHERE manufacturer = :manufacturer AND year = :year " +
+                   "LIMIT 1", nativeQuery = true)
+    Optional<Long> upsertId(String manufacturer, Integer year);
+
+    /**
+     * Get-or-create in one statement. A row committed by a concurrent insert after the statement
+     * started is invisible to it, so that case falls through to a second statement.
+     */
+    default Long getOrCreateId(String manufacturer, Integer year) {
+        return upsertId(manufacturer, year).or(() -> upsertId(manufacturer, year)).orElseThrow();
+    }
+
+    @Query(value = "SELECT DISTINCT m.manufacturer FROM Manufacturer m")
+    List<String> findAllNames();
+
+    @Query(value = "SELECT DISTINCT m.manufacturer FROM Manufacturer m WHERE m.manufacturer IN :names")
+    List<String> findNamesIn(Collection<String> names);
 }
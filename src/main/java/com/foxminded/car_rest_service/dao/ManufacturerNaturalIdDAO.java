@@ -0,0 +1,10 @@
+package com.foxminded.car_rest_service.dao;
+
+import com.foxminded.car_rest_service.entities.Manufacturer;
+
+import java.util.Optional;
+
+public interface ManufacturerNaturalIdDAO {
+
+    Optional<Manufacturer> findByNameAndYear(String name, Integer year);
+}
@@ -0,0 +1,23 @@
+package com.foxminded.car_rest_service.dao;
+
+import com.foxminded.car_rest_service.entities.Manufacturer;
+import org.hibernate.Session;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Optional;
+
+class ManufacturerNaturalIdDAOImpl implements ManufacturerNaturalIdDAO {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Manufacturer> findByNameAndYear(String name, Integer year) {
+        return entityManager.unwrap(Session.class)
+                .byNaturalId(Manufacturer.class)
+                .using("manufacturer", name)
+                .using("year", year)
+                .loadOptional();
+    }
+}
@@ -3,16 +3,24 @@ package com.foxminded.car_rest_service.dao;
 import com.foxminded.car_rest_service.entities.Model;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface ModelDAO extends JpaRepository<Model, Long> {
+public interface ModelDAO extends JpaRepository<Model, Long>, ModelNaturalIdDAO {
 
     @Query(value = "SELECT m FROM Model m ")
     List<Model> findAllPage(Pageable pageable);
 
+    @Query(value = "SELECT m FROM Model m WHERE m.id > :id ORDER BY m.id")
+    List<Model> findAllAfterId(Long id, Pageable pageable);
+
+    @Query(value = "SELECT m FROM Model m WHERE (m.model, m.id) > (:model, :id) ORDER BY m.model, m.id")
+    List<Model> findAllAfterName(String model, Long id, Pageable pageable);
+
     @Query(value = "SELECT m " +
                    "FROM Model m " +
                    "JOIN FETCH m.cars c " +
@@ -22,6 +30,46 @@ public interface ModelDAO extends JpaRepository<Model, Long> {
                    "WHERE m.model = :name ")
     Optional<Model> findModelWithCarsByName(String name);
 
-    @Query(value = "SELECT m FROM Model m WHERE m.model = :model")
-    Optional<Model> findByName(String model);
+    /**
+     * Deletes the model in one statement, its cars and their category links go with it through
+     * the ON DELETE CASCADE keys.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM Model m WHERE m.model = :name")
+    int deleteByName(String name);
+
+    /**
+     * Inserts the model unless one with the same name exists.
+     *
+     * @return id of the inserted row, empty when the model already exists
+     */
+    @Query(value = "INSERT INTO model (model) VALUES (:model) " +
+                   "ON CONFLICT DO NOTHING " +
+                   "RETURNING model_id", nativeQuery = true)
+    Optional<Long> insertIfAbsent(String model);
+
+    @Query(value = "WITH inserted AS (" +
+                       "INSERT INTO model (model) VALUES (:model) " +
+                       "ON CONFLICT DO NOTHING " +
+                       "RETURNING model_id" +
+                   ") " +
+                   "SELECT model_id FROM inserted " +
+                   "UNION ALL " +
+                   "SELECT model_id FROM model WHERE model = :model " +
+                   "LIMIT 1", nativeQuery = true)
+    Optional<Long> upsertId(String model);
+
+    /**
+     * Get-or-create in one statement. A row committed by a concurrent insert after the statement
+     * started is invisible to it, so that case falls through to a second statement.
+     */
+    default Long getOrCreateId(String model) {
+        return upsertId(model).or(() -> upsertId(model)).orElseThrow();
+    }
+
+    @Query(value = "SELECT m.model FROM Model m")
+    List<String> findAllNames();
+
+    @Query(value = "SELECT m.model FROM Model m WHERE m.model IN :names")
+    List<String> findNamesIn(Collection<String> names);
 }
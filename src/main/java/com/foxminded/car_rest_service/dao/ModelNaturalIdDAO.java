@@ -0,0 +1,10 @@
+package com.foxminded.car_rest_service.dao;
+
+import com.foxminded.car_rest_service.entities.Model;
+
+import java.util.Optional;
+
+public interface ModelNaturalIdDAO {
+
+    Optional<Model> findByName(String model);
+}
@@ -0,0 +1,21 @@
+package com.foxminded.car_rest_service.dao;
+
+import com.foxminded.car_rest_service.entities.Model;
+import org.hibernate.Session;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Optional;
+
+class ModelNaturalIdDAOImpl implements ModelNaturalIdDAO {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Model> findByName(String model) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Model.class)
+                .loadOptional(model);
+    }
+}
@@ -0,0 +1,72 @@
+package com.foxminded.car_rest_service.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.TaskScheduler;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(HikariDataSource primaryDataSource,
+                                                      ReplicaProperties properties,
+                                                      ReadYourWritesTracker readYourWritesTracker,
+                                                      TaskScheduler taskScheduler) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReplicaProperties.Replica> configured = properties.getReplicas();
+        for (int i = 0; i < configured.size(); i++) {
+            String name = "replica-" + (i + 1);
+            replicas.put(name, replicaDataSource(primaryDataSource, configured.get(i), name));
+        }
+
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, properties.getHealthCheckInterval(),
+                readYourWritesTracker::isPinnedToPrimary, taskScheduler);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private HikariDataSource replicaDataSource(HikariDataSource primary, ReplicaProperties.Replica replica, String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("car-rest-" + name);
+        dataSource.setJdbcUrl(replica.getUrl());
+        dataSource.setUsername(replica.getUsername() != null ? replica.getUsername() : primary.getUsername());
+        dataSource.setPassword(replica.getPassword() != null ? replica.getPassword() : primary.getPassword());
+        dataSource.setDriverClassName(primary.getDriverClassName());
+        dataSource.setSchema(primary.getSchema());
+        if (primary.getMaximumPoolSize() > 0) {
+            dataSource.setMaximumPoolSize(primary.getMaximumPoolSize());
+        }
+        if (primary.getMinimumIdle() >= 0) {
+            dataSource.setMinimumIdle(primary.getMinimumIdle());
+        }
+        dataSource.setConnectionTimeout(replica.getConnectionTimeout() != null
+                ? replica.getConnectionTimeout().toMillis()
+                : primary.getConnectionTimeout());
+        dataSource.setDataSourceProperties(primary.getDataSourceProperties());
+        dataSource.addDataSourceProperty("ApplicationName", dataSource.getPoolName());
+
+        return dataSource;
+    }
+}
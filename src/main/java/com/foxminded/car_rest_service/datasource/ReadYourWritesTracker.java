@@ -0,0 +1,47 @@
+package com.foxminded.car_rest_service.datasource;
+
+import com.foxminded.car_rest_service.events.CatalogChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Remembers users who committed a catalog write in the last {@code car-rest.datasource.read-your-writes-window},
+ * so their reads are served by the primary until replicas have caught up.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private final Cache<String, Boolean> writers;
+
+    public ReadYourWritesTracker(ReplicaProperties properties) {
+        writers = properties.getReadYourWritesWindow().isZero()
+                ? null
+                : Caffeine.newBuilder().expireAfterWrite(properties.getReadYourWritesWindow()).build();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        String user = currentUser();
+        if (writers != null && user != null) {
+            writers.put(user, Boolean.TRUE);
+        }
+    }
+
+    public boolean isPinnedToPrimary() {
+        String user = currentUser();
+        return writers != null && user != null && writers.getIfPresent(user) != null;
+    }
+
+    private String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,41 @@
+package com.foxminded.car_rest_service.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "car-rest.datasource")
+public class ReplicaProperties {
+
+    /**
+     * Read replicas of the primary, read-only transactions are spread over them.
+     * Credentials default to the primary's; driver, schema and pool sizes are always the primary's.
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * How long read-only transactions of a user stay on the primary after that user's write. Zero disables it.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(2);
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private Duration connectionTimeout;
+    }
+}
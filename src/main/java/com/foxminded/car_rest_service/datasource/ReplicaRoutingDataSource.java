@@ -0,0 +1,145 @@
+package com.foxminded.car_rest_service.datasource;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Sends read-only transactions round-robin to the healthy replicas and everything else to the primary.
+ * The lookup reads the transaction's read-only flag, so it must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} that fetches the connection
+ * after the transaction has started.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final List<Replica> replicas;
+
+    private final Duration healthCheckInterval;
+
+    private final BooleanSupplier primaryPinned;
+
+    private final TaskScheduler taskScheduler;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private ScheduledFuture<?> healthChecks;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    Duration healthCheckInterval, BooleanSupplier primaryPinned,
+                                    TaskScheduler taskScheduler) {
+        this.replicas = replicas.entrySet().stream()
+                .map(replica -> new Replica(replica.getKey(), replica.getValue()))
+                .collect(toList());
+        this.healthCheckInterval = healthCheckInterval;
+        this.primaryPinned = primaryPinned;
+        this.taskScheduler = taskScheduler;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+
+        if (replicas.isEmpty()) {
+            return;
+        }
+
+        checkHealth();
+
+        healthChecks = taskScheduler.scheduleWithFixedDelay(this::checkHealth,
+                Instant.now().plus(healthCheckInterval), healthCheckInterval);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || primaryPinned.getAsBoolean()) {
+            return PRIMARY;
+        }
+
+        List<Replica> healthy = replicas.stream()
+                .filter(Replica::isHealthy)
+                .collect(toList());
+        if (healthy.isEmpty()) {
+            return PRIMARY;
+        }
+
+        return healthy.get(Math.floorMod(next.getAndIncrement(), healthy.size())).getName();
+    }
+
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.getDataSource().getConnection()) {
+                healthy = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException | RuntimeException e) {
+                log.debug("Health check of {} failed", replica.getName(), e);
+                healthy = false;
+            }
+
+            if (healthy != replica.isHealthy()) {
+                log.warn("Replica {} is {}", replica.getName(), healthy ? "up" : "down");
+                replica.setHealthy(healthy);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (healthChecks != null) {
+            healthChecks.cancel(false);
+        }
+
+        for (Replica replica : replicas) {
+            if (replica.getDataSource() instanceof Closeable) {
+                ((Closeable) replica.getDataSource()).close();
+            }
+        }
+    }
+
+    @Getter
+    private static class Replica {
+
+        private final String name;
+
+        private final DataSource dataSource;
+
+        private volatile boolean healthy;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        void setHealthy(boolean healthy) {
+            this.healthy = healthy;
+        }
+    }
+}
@@ -16,6 +16,7 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import java.util.Objects;
 
@@ -30,7 +31,8 @@ import java.util.Objects;
 public class CarCategoryInfo {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "car_category_info_seq")
+    @SequenceGenerator(name = "car_category_info_seq", sequenceName = "car_category_info_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
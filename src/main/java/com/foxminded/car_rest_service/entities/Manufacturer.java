@@ -1,5 +1,6 @@
 package com.foxminded.car_rest_service.entities;
 
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -7,6 +8,7 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.OneToMany;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 
 import lombok.AllArgsConstructor;
@@ -15,6 +17,10 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.util.HashSet;
 import java.util.Objects;
@@ -27,16 +33,22 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "manufacturer")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "manufacturer")
+@NaturalIdCache(region = "manufacturer-natural-id")
 public class Manufacturer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "manufacturer_seq")
+    @SequenceGenerator(name = "manufacturer_seq", sequenceName = "manufacturer_seq", allocationSize = 50)
     @Column(name = "manufacturer_id")
     private Long id;
 
+    @NaturalId(mutable = true)
     @Column(name = "manufacturer")
     private String manufacturer;
 
+    @NaturalId(mutable = true)
     @Column(name = "year")
     private Integer year;
 
@@ -0,0 +1,89 @@
+package com.foxminded.car_rest_service.events;
+
+import com.foxminded.car_rest_service.dao.CarNames;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+import lombok.ToString;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Cars changed in a write, with the names of their manufacturers, models and categories.
+ * Published inside the writing transaction, consumers act on it after commit.
+ */
+@Getter
+@Builder
+@ToString
+public class CatalogChangedEvent {
+
+    @Singular
+    private final Set<String> manufacturers;
+
+    @Singular
+    private final Set<String> models;
+
+    @Singular
+    private final Set<String> categories;
+
+    /**
+     * Cars the write inserted, updated or deleted. Empty when the write only knows the names, as an import does.
+     */
+    @Singular
+    private final Set<Long> carIds;
+
+    /**
+     * Links the write added. Consumers tracking membership apply these instead of re-reading the categories.
+     */
+    @Singular
+    private final Set<CategoryLink> addedLinks;
+
+    /**
+     * Links the write removed, including the links of deleted cars and categories.
+     */
+    @Singular
+    private final Set<CategoryLink> removedLinks;
+
+    /**
+     * Old and new names of a category the write renamed, whose members are re-read under the new name.
+     */
+    @Singular
+    private final Set<String> renamedCategories;
+
+    /**
+     * Rows the write inserted, updated or deleted, one unless the publisher counts them.
+     */
+    @Builder.Default
+    private final long rows = 1;
+
+    public static class CatalogChangedEventBuilder {
+
+        /**
+         * Adds the cars with their names and counts one row per car.
+         */
+        public CatalogChangedEventBuilder cars(Collection<? extends CarNames> cars) {
+            rows(cars.stream().map(CarNames::getCarId).distinct().count());
+            cars.forEach(car -> {
+                carId(car.getCarId());
+                manufacturer(car.getManufacturer());
+                model(car.getModel());
+                if (car.getCategory() != null) {
+                    category(car.getCategory());
+                }
+            });
+            return this;
+        }
+
+        /**
+         * Adds the cars like {@link #cars(Collection)}, with every listed category link as removed.
+         */
+        public CatalogChangedEventBuilder carsWithRemovedLinks(Collection<? extends CarNames> cars) {
+            cars(cars);
+            cars.stream()
+                    .filter(car -> car.getCategory() != null)
+                    .forEach(car -> removedLink(new CategoryLink(car.getCarId(), car.getCategory())));
+            return this;
+        }
+    }
+}
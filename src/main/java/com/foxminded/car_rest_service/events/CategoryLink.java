@@ -0,0 +1,20 @@
+package com.foxminded.car_rest_service.events;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * A car linked to or unlinked from a category, by the category name.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class CategoryLink {
+
+    private final Long carId;
+
+    private final String category;
+}
@@ -0,0 +1,16 @@
+package com.foxminded.car_rest_service.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published inside the transaction that queued a job, so a worker picks it up as soon as it's committed.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class JobSubmittedEvent {
+
+    private final long jobId;
+}
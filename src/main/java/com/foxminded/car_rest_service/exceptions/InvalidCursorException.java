@@ -0,0 +1,7 @@
+package com.foxminded.car_rest_service.exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String massage) {
+        super(massage);
+    }
+}
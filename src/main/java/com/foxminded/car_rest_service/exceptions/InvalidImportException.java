@@ -0,0 +1,7 @@
+package com.foxminded.car_rest_service.exceptions;
+
+public class InvalidImportException extends RuntimeException {
+    public InvalidImportException(String massage) {
+        super(massage);
+    }
+}
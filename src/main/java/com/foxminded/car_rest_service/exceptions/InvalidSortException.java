@@ -0,0 +1,7 @@
+package com.foxminded.car_rest_service.exceptions;
+
+public class InvalidSortException extends RuntimeException {
+    public InvalidSortException(String massage) {
+        super(massage);
+    }
+}
@@ -0,0 +1,7 @@
+package com.foxminded.car_rest_service.exceptions;
+
+public class SnapshotUnavailableException extends RuntimeException {
+    public SnapshotUnavailableException(String massage, Throwable cause) {
+        super(massage, cause);
+    }
+}
@@ -1,6 +1,10 @@
 package com.foxminded.car_rest_service.exceptions.handlers;
 
 import com.foxminded.car_rest_service.exceptions.DataAlreadyExistException;
+import com.foxminded.car_rest_service.exceptions.InvalidCursorException;
+import com.foxminded.car_rest_service.exceptions.InvalidImportException;
+import com.foxminded.car_rest_service.exceptions.InvalidSortException;
+import com.foxminded.car_rest_service.exceptions.SnapshotUnavailableException;
 import com.foxminded.car_rest_service.exceptions.response.ResultModel;
 import com.foxminded.car_rest_service.exceptions.response.ValidationErrorResponse;
 import com.foxminded.car_rest_service.exceptions.response.Violation;
@@ -8,6 +12,7 @@ import io.swagger.v3.oas.annotations.Hidden;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -47,6 +52,52 @@ public class AppExceptionAdvice {
         return error;
     }
 
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(BindException.class)
+    public ValidationErrorResponse handleBindException(BindException e) {
+        log.info("HandleBindException started");
+
+        ValidationErrorResponse error = new ValidationErrorResponse();
+        for (FieldError fieldError : e.getBindingResult().getFieldErrors()) {
+            error.getViolations().add(new Violation(fieldError.getField(), fieldError.getDefaultMessage()));
+        }
+
+        return error;
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<?> handleInvalidCursorException(InvalidCursorException e) {
+        log.info("HandleInvalidCursorException started");
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setMassage(e.getMessage());
+
+        return new ResponseEntity<>(resultModel, HttpStatus.BAD_REQUEST);
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidSortException.class)
+    public ResponseEntity<?> handleInvalidSortException(InvalidSortException e) {
+        log.info("HandleInvalidSortException started");
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setMassage(e.getMessage());
+
+        return new ResponseEntity<>(resultModel, HttpStatus.BAD_REQUEST);
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidImportException.class)
+    public ResponseEntity<?> handleInvalidImportException(InvalidImportException e) {
+        log.info("HandleInvalidImportException started");
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setMassage(e.getMessage());
+
+        return new ResponseEntity<>(resultModel, HttpStatus.BAD_REQUEST);
+    }
+
     @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
     @ExceptionHandler(DataAlreadyExistException.class)
     public ResponseEntity<?> handelDataAlreadyExistException(DataAlreadyExistException e) {
@@ -57,4 +108,15 @@ public class AppExceptionAdvice {
 
         return new ResponseEntity<>(resultModel, HttpStatus.UNPROCESSABLE_ENTITY);
     }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(SnapshotUnavailableException.class)
+    public ResponseEntity<?> handleSnapshotUnavailableException(SnapshotUnavailableException e) {
+        log.warn("HandleSnapshotUnavailableException started: {}", e.getCause().getMessage());
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setMassage(e.getMessage());
+
+        return new ResponseEntity<>(resultModel, HttpStatus.SERVICE_UNAVAILABLE);
+    }
 }
@@ -1,5 +1,6 @@
 package com.foxminded.car_rest_service.exceptions.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -9,4 +10,7 @@ public class ResultModel {
     private Object data;
 
     private String massage;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
 }
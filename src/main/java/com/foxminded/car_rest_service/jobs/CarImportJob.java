@@ -0,0 +1,48 @@
+package com.foxminded.car_rest_service.jobs;
+
+import com.foxminded.car_rest_service.dao.CarImportDAO;
+import com.foxminded.car_rest_service.dao.CatalogJobRow;
+import com.foxminded.car_rest_service.services.CarService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Imports the CSV rows stored with the job, a range of row numbers at a time.
+ * The checkpoint is the last imported row number.
+ */
+@Component
+public class CarImportJob implements JobHandler {
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private CarImportDAO carImportDAO;
+
+    @Override
+    public JobType getType() {
+        return JobType.IMPORT_CARS;
+    }
+
+    @Override
+    public JobChunk runChunk(CatalogJobRow job, long checkpoint, int size) {
+        if (checkpoint >= job.getTotal()) {
+            return null;
+        }
+
+        long toRow = Math.min(checkpoint + size, job.getTotal());
+        carService.importJobRows(job.getId(), checkpoint, toRow);
+
+        return new JobChunk(toRow, toRow - checkpoint);
+    }
+
+    @Override
+    public void complete(CatalogJobRow job) {
+        carImportDAO.deleteJobRows(job.getId());
+    }
+
+    @Override
+    public void discard(CatalogJobRow job) {
+        carImportDAO.deleteJobRows(job.getId());
+    }
+}
@@ -0,0 +1,169 @@
+package com.foxminded.car_rest_service.jobs;
+
+import com.foxminded.car_rest_service.dao.CatalogJobDAO;
+import com.foxminded.car_rest_service.dao.CatalogJobRow;
+import com.foxminded.car_rest_service.events.JobSubmittedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs queued catalog jobs on up to {@code car-rest.jobs.workers} threads of the shared scheduler at a time.
+ * A job runs in chunks of {@code car-rest.jobs.chunk-size}, each committed in its own transaction together
+ * with the job's checkpoint, so locks are held for one chunk at a time. A job stops at the first checkpoint
+ * after it was cancelled, and a job whose worker stopped checkpointing, on a restart say, is taken over once
+ * its lease expires, up to {@code car-rest.jobs.max-attempts} claims in all, after which it's failed.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(JobProperties.class)
+public class CatalogJobRunner implements InitializingBean {
+
+    @Autowired
+    private CatalogJobDAO catalogJobDAO;
+
+    @Autowired
+    private List<JobHandler> jobHandlers;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JobProperties properties;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    private final Map<JobType, JobHandler> handlers = new EnumMap<>(JobType.class);
+
+    private Semaphore workers;
+
+    @Override
+    public void afterPropertiesSet() {
+        jobHandlers.forEach(handler -> handlers.put(handler.getType(), handler));
+
+        workers = new Semaphore(properties.getWorkers());
+        for (int i = 0; i < properties.getWorkers(); i++) {
+            taskScheduler.scheduleWithFixedDelay(this::runQueuedIfIdle, properties.getPollInterval());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobSubmitted(JobSubmittedEvent event) {
+        if (properties.getWorkers() > 0) {
+            taskScheduler.schedule(this::runQueuedIfIdle, Instant.now());
+        }
+    }
+
+    /**
+     * Claims and runs queued jobs on the calling thread until none is left.
+     */
+    public void runQueued() {
+        try {
+            Optional<CatalogJobRow> job;
+            while ((job = claim()).isPresent()) {
+                run(job.get());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Catalog jobs weren't claimed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * {@link #runQueued()} unless every worker is busy, so jobs hold no more scheduler threads than there are workers.
+     */
+    private void runQueuedIfIdle() {
+        if (!workers.tryAcquire()) {
+            return;
+        }
+
+        try {
+            runQueued();
+        } finally {
+            workers.release();
+        }
+    }
+
+    private Optional<CatalogJobRow> claim() {
+        return transaction().execute(status -> {
+            for (CatalogJobRow job : catalogJobDAO.failExpired(properties.getLease(), properties.getMaxAttempts())) {
+                log.warn("Catalog job failed, its lease expired on each attempt: id: {}, attempts: {}",
+                        job.getId(), job.getAttempts());
+                handlers.get(job.getType()).discard(job);
+            }
+            return catalogJobDAO.claimNext(properties.getLease(), properties.getMaxAttempts());
+        });
+    }
+
+    private void run(CatalogJobRow job) {
+        JobHandler handler = handlers.get(job.getType());
+        log.info("Catalog job started: id: {}, type: {}, attempt: {}", job.getId(), job.getType(), job.getAttempts());
+
+        try {
+            long checkpoint = job.getCheckpoint();
+            JobChunk chunk;
+            while ((chunk = runChunk(handler, job, checkpoint)) != null) {
+                checkpoint = chunk.getCheckpoint();
+            }
+
+            transaction().executeWithoutResult(status -> {
+                handler.complete(job);
+                if (!catalogJobDAO.finish(job, JobStatus.SUCCEEDED, null)) {
+                    throw new CancellationException();
+                }
+            });
+            log.info("Catalog job succeeded: id: {}", job.getId());
+        } catch (CancellationException e) {
+            log.info("Catalog job stopped, it was cancelled or taken over: id: {}", job.getId());
+        } catch (RuntimeException e) {
+            log.warn("Catalog job failed: id: {}", job.getId(), e);
+            fail(handler, job, e);
+        }
+    }
+
+    /**
+     * @throws CancellationException when the job was cancelled or taken over, the chunk is rolled back then
+     */
+    private JobChunk runChunk(JobHandler handler, CatalogJobRow job, long checkpoint) {
+        return transaction().execute(status -> {
+            JobChunk chunk = handler.runChunk(job, checkpoint, properties.getChunkSize());
+            if (chunk != null && !catalogJobDAO.checkpoint(job, chunk.getCheckpoint(), chunk.getProcessed())) {
+                throw new CancellationException();
+            }
+            return chunk;
+        });
+    }
+
+    private void fail(JobHandler handler, CatalogJobRow job, RuntimeException e) {
+        String error = Objects.toString(e.getMessage(), e.getClass().getSimpleName());
+        try {
+            transaction().executeWithoutResult(status -> {
+                if (catalogJobDAO.finish(job, JobStatus.FAILED, error)) {
+                    handler.discard(job);
+                }
+            });
+        } catch (RuntimeException failure) {
+            log.warn("Catalog job wasn't marked failed, it's retried after its lease: id: {}: {}",
+                    job.getId(), failure.getMessage());
+        }
+    }
+
+    private TransactionTemplate transaction() {
+        return new TransactionTemplate(transactionManager);
+    }
+}
@@ -0,0 +1,16 @@
+package com.foxminded.car_rest_service.jobs;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Outcome of one chunk: where the next chunk starts and how many units of the job's total it processed.
+ */
+@Getter
+@AllArgsConstructor
+public class JobChunk {
+
+    private final long checkpoint;
+
+    private final long processed;
+}
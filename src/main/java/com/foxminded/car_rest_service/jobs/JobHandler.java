@@ -0,0 +1,30 @@
+package com.foxminded.car_rest_service.jobs;
+
+import com.foxminded.car_rest_service.dao.CatalogJobRow;
+
+/**
+ * Runs the jobs of one type for {@link CatalogJobRunner}. Every method is called in its own transaction.
+ */
+public interface JobHandler {
+
+    JobType getType();
+
+    /**
+     * Runs the chunk of at most {@code size} units that starts after {@code checkpoint}.
+     *
+     * @return the chunk, null when no work is left
+     */
+    JobChunk runChunk(CatalogJobRow job, long checkpoint, int size);
+
+    /**
+     * Finishes the job after its last chunk.
+     */
+    default void complete(CatalogJobRow job) {
+    }
+
+    /**
+     * Drops what was kept for the remaining chunks, after the job failed or was cancelled.
+     */
+    default void discard(CatalogJobRow job) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.foxminded.car_rest_service.jobs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "car-rest.jobs")
+public class JobProperties {
+
+    /**
+     * Number of jobs run at the same time by this instance. Zero leaves the jobs to other instances.
+     */
+    private int workers = 2;
+
+    /**
+     * Units of work committed together: cars for deletions, CSV rows for imports.
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * Delay between looks for queued jobs while the workers are idle.
+     */
+    private Duration pollInterval = Duration.ofSeconds(5);
+
+    /**
+     * Time after the last checkpoint of a running job when another worker takes it over,
+     * as after a restart. A chunk has to commit within it.
+     */
+    private Duration lease = Duration.ofMinutes(1);
+
+    /**
+     * Claims of a job after which it's failed instead of taken over again once its lease expires,
+     * so a job that keeps taking its worker down doesn't run forever.
+     */
+    private int maxAttempts = 3;
+}
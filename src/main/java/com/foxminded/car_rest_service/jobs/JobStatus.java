@@ -0,0 +1,14 @@
+package com.foxminded.car_rest_service.jobs;
+
+public enum JobStatus {
+
+    QUEUED,
+
+    RUNNING,
+
+    SUCCEEDED,
+
+    FAILED,
+
+    CANCELLED
+}
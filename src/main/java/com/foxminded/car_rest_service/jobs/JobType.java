@@ -0,0 +1,14 @@
+package com.foxminded.car_rest_service.jobs;
+
+public enum JobType {
+
+    /**
+     * Deletes every manufacturer with the job's subject as name, together with their cars.
+     */
+    DELETE_MANUFACTURERS,
+
+    /**
+     * Imports the CSV rows stored with the job.
+     */
+    IMPORT_CARS
+}
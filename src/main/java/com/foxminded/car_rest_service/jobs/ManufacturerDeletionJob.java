@@ -0,0 +1,39 @@
+package com.foxminded.car_rest_service.jobs;
+
+import com.foxminded.car_rest_service.dao.CatalogJobRow;
+import com.foxminded.car_rest_service.services.ManufacturerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Deletes the cars of the manufacturers in id order, a chunk at a time, then the manufacturers themselves.
+ * The checkpoint is the last deleted car id.
+ */
+@Component
+public class ManufacturerDeletionJob implements JobHandler {
+
+    @Autowired
+    private ManufacturerService manufacturerService;
+
+    @Override
+    public JobType getType() {
+        return JobType.DELETE_MANUFACTURERS;
+    }
+
+    @Override
+    public JobChunk runChunk(CatalogJobRow job, long checkpoint, int size) {
+        List<Long> ids = manufacturerService.deleteManufacturerCars(job.getSubject(), checkpoint, size);
+        if (ids.isEmpty()) {
+            return null;
+        }
+
+        return new JobChunk(ids.get(ids.size() - 1), ids.size());
+    }
+
+    @Override
+    public void complete(CatalogJobRow job) {
+        manufacturerService.deleteAllManufacturerByName(job.getSubject());
+    }
+}
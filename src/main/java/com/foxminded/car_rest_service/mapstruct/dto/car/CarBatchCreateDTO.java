@@ -0,0 +1,29 @@
+package com.foxminded.car_rest_service.mapstruct.dto.car;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "CarBatchCreate", description = "Cars to create in one call")
+public class CarBatchCreateDTO {
+
+    public static final int MAX_CARS = 10_000;
+
+    @Valid
+    @NotEmpty
+    @Size(max = MAX_CARS)
+    @ArraySchema(schema = @Schema(implementation = CarCreateDTO.class))
+    private List<CarCreateDTO> cars;
+}
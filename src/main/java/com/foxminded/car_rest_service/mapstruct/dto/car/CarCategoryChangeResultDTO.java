@@ -0,0 +1,30 @@
+package com.foxminded.car_rest_service.mapstruct.dto.car;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "CarCategoryChangeResult", description = "Outcome of one requested car to category change")
+public class CarCategoryChangeResultDTO {
+
+    public enum Status {
+        ADDED, REMOVED, UNCHANGED, CAR_NOT_FOUND, CATEGORY_NOT_FOUND
+    }
+
+    @Schema(example = "1", description = "Car id")
+    private Long carId;
+
+    @Schema(example = "SUV1992", description = "Category name")
+    private String category;
+
+    @Schema(example = "ADDED", description = "UNCHANGED when the car already was, or wasn't, in the category")
+    private Status status;
+}
@@ -0,0 +1,37 @@
+package com.foxminded.car_rest_service.mapstruct.dto.car;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "CarCategoryChanges", description = "Car to category links to add and to remove in one call")
+public class CarCategoryChangesDTO {
+
+    public static final int MAX_CHANGES = 10_000;
+
+    @Valid
+    @NotNull
+    @Size(max = MAX_CHANGES)
+    @ArraySchema(schema = @Schema(implementation = CarCategoryLinkDTO.class), arraySchema = @Schema(description = "Links to add"))
+    private List<CarCategoryLinkDTO> add = new ArrayList<>();
+
+    @Valid
+    @NotNull
+    @Size(max = MAX_CHANGES)
+    @ArraySchema(schema = @Schema(implementation = CarCategoryLinkDTO.class),
+            arraySchema = @Schema(description = "Links to remove, applied before the additions"))
+    private List<CarCategoryLinkDTO> remove = new ArrayList<>();
+}
@@ -0,0 +1,26 @@
+package com.foxminded.car_rest_service.mapstruct.dto.car;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "CarCategoryChangesResult", description = "Per-item results of a bulk category change, in request order")
+public class CarCategoryChangesResultDTO {
+
+    @ArraySchema(schema = @Schema(implementation = CarCategoryChangeResultDTO.class))
+    private List<CarCategoryChangeResultDTO> add;
+
+    @ArraySchema(schema = @Schema(implementation = CarCategoryChangeResultDTO.class))
+    private List<CarCategoryChangeResultDTO> remove;
+}
@@ -0,0 +1,29 @@
+package com.foxminded.car_rest_service.mapstruct.dto.car;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "CarCategoryLink", description = "Car and the category it is added to or removed from")
+public class CarCategoryLinkDTO {
+
+    @NotNull
+    @Schema(example = "1", description = "Car id")
+    private Long carId;
+
+    @NotNull
+    @NotBlank
+    @Schema(example = "SUV1992", description = "Category name")
+    private String category;
+}
@@ -0,0 +1,45 @@
+package com.foxminded.car_rest_service.mapstruct.dto.car;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+import static com.foxminded.car_rest_service.mapstruct.dto.car.CarFilterDTO.MAX_VALUES;
+
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "CarCategoryQuery", description = "Category membership query, all or any categories are required")
+public class CarCategoryQueryDTO {
+
+    @Size(max = MAX_VALUES)
+    @ArraySchema(schema = @Schema(example = "SUV"), arraySchema = @Schema(description = "Categories a car has to be in"))
+    private List<String> all;
+
+    @Size(max = MAX_VALUES)
+    @ArraySchema(schema = @Schema(example = "Hatchback"),
+            arraySchema = @Schema(description = "Categories a car has to be in at least one of"))
+    private List<String> any;
+
+    @Size(max = MAX_VALUES)
+    @ArraySchema(schema = @Schema(example = "Wagon"), arraySchema = @Schema(description = "Categories a car must not be in"))
+    private List<String> none;
+
+    @Schema(hidden = true)
+    @AssertTrue(message = "all or any categories are required")
+    public boolean isBounded() {
+        return all != null && !all.isEmpty() || any != null && !any.isEmpty();
+    }
+}
@@ -0,0 +1,36 @@
+package com.foxminded.car_rest_service.mapstruct.dto.car;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "CarCreate", description = "Car to create")
+public class CarCreateDTO {
+
+    @NotNull
+    @NotBlank
+    @Schema(example = "Cadillac", description = "Manufacturer name")
+    private String manufacturer;
+
+    @NotNull
+    @NotBlank
+    @Schema(example = "Suburban 2500", description = "Model name")
+    private String model;
+
+    @NotNull
+    @Schema(example = "2021", description = "Year of creation")
+    private Integer year;
+}
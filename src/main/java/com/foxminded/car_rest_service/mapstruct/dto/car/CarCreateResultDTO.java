@@ -0,0 +1,36 @@
+package com.foxminded.car_rest_service.mapstruct.dto.car;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "CarCreateResult", description = "Outcome of one car of a batch create")
+public class CarCreateResultDTO {
+
+    public enum Status {
+        CREATED, ALREADY_EXISTS
+    }
+
+    @Schema(example = "1", description = "Car id")
+    private Long id;
+
+    @Schema(example = "Cadillac", description = "Manufacturer name")
+    private String manufacturer;
+
+    @Schema(example = "Suburban 2500", description = "Model name")
+    private String model;
+
+    @Schema(example = "2021", description = "Year of creation")
+    private Integer year;
+
+    @Schema(example = "CREATED", description = "ALREADY_EXISTS also for a repeat of a car earlier in the same batch")
+    private Status status;
+}
@@ -0,0 +1,51 @@
+package com.foxminded.car_rest_service.mapstruct.dto.car;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@Schema(name = "CarFacets", description = "Numbers of filtered cars per filter value, values in ascending order")
+public class CarFacetsDTO {
+
+    @Schema(example = "{\"Acura\": 3, \"Cadillac\": 12}", description = "Cars per manufacturer name")
+    private Map<String, Long> manufacturers;
+
+    @Schema(example = "{\"2017\": 5, \"2021\": 10}", description = "Cars per year of creation")
+    private Map<Integer, Long> years;
+
+    @Schema(example = "{\"Escalade\": 4}", description = "Cars per model name")
+    private Map<String, Long> models;
+
+    @Schema(example = "{\"SUV\": 9}", description = "Cars per category name, a car counts once in each of its categories")
+    private Map<String, Long> categories;
+
+    @Schema(example = "2023-01-15T10:15:30Z",
+            description = "When the statistics the counts were summed from were last refreshed, " +
+                    "null when the counts are live")
+    private Instant refreshedAt;
+
+    @Schema(example = "42", description = "Seconds since the last statistics refresh, null when the counts are live")
+    private Long ageSeconds;
+
+    public CarFacetsDTO() {
+        this(new TreeMap<>(), new TreeMap<>(), new TreeMap<>(), new TreeMap<>());
+    }
+
+    public CarFacetsDTO(Map<String, Long> manufacturers, Map<Integer, Long> years, Map<String, Long> models,
+                        Map<String, Long> categories) {
+        this.manufacturers = manufacturers;
+        this.years = years;
+        this.models = models;
+        this.categories = categories;
+    }
+}
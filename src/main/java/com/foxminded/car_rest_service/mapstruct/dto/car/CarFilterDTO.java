@@ -0,0 +1,62 @@
+package com.foxminded.car_rest_service.mapstruct.dto.car;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "CarFilter", description = "Car filter, absent criteria match every car")
+public class CarFilterDTO {
+
+    public static final int MAX_VALUES = 100;
+
+    public enum CategoryMatch {
+        ANY, ALL
+    }
+
+    @Size(max = MAX_VALUES)
+    @ArraySchema(schema = @Schema(example = "Cadillac"), arraySchema = @Schema(description = "Any of the manufacturer names"))
+    private List<String> manufacturer;
+
+    @Size(max = MAX_VALUES)
+    @ArraySchema(schema = @Schema(example = "Escalade"), arraySchema = @Schema(description = "Any of the model names"))
+    private List<String> model;
+
+    @Schema(example = "2010", description = "Minimum year of creation")
+    private Integer minYear;
+
+    @Schema(example = "2020", description = "Maximum year of creation")
+    private Integer maxYear;
+
+    @Size(max = MAX_VALUES)
+    @ArraySchema(schema = @Schema(example = "SUV"), arraySchema = @Schema(description = "Category names"))
+    private List<String> category;
+
+    @Schema(example = "ANY", defaultValue = "ANY",
+            description = "Whether a car has to be in any of the categories or in all of them")
+    private CategoryMatch categoryMatch = CategoryMatch.ANY;
+
+    /**
+     * Whether the filter narrows cars by manufacturer, model or category names, not just by the year range.
+     */
+    public boolean hasNameCriteria() {
+        return isPresent(manufacturer) || isPresent(model) || isPresent(category);
+    }
+
+    private static boolean isPresent(List<String> values) {
+        return values != null && !values.isEmpty();
+    }
+}
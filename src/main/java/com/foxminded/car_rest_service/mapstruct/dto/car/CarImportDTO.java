@@ -0,0 +1,35 @@
+package com.foxminded.car_rest_service.mapstruct.dto.car;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "CarImport", description = "Result of a bulk car import")
+public class CarImportDTO {
+
+    @Schema(example = "9581", description = "Rows read from the CSV")
+    private long rows;
+
+    @Schema(example = "12", description = "New manufacturers")
+    private int manufacturers;
+
+    @Schema(example = "40", description = "New models")
+    private int models;
+
+    @Schema(example = "2", description = "New categories")
+    private int categories;
+
+    @Schema(example = "9000", description = "New cars")
+    private int cars;
+
+    @Schema(example = "10500", description = "New car to category links")
+    private int carCategories;
+}
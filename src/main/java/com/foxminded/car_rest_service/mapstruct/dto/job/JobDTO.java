@@ -0,0 +1,53 @@
+package com.foxminded.car_rest_service.mapstruct.dto.job;
+
+import com.foxminded.car_rest_service.jobs.JobStatus;
+import com.foxminded.car_rest_service.jobs.JobType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "Job", description = "Background catalog job and its progress")
+public class JobDTO {
+
+    @Schema(example = "1")
+    private Long id;
+
+    @Schema(example = "DELETE_MANUFACTURERS")
+    private JobType type;
+
+    @Schema(example = "RUNNING")
+    private JobStatus status;
+
+    @Schema(example = "Cadillac", description = "Name the job works on, null for imports")
+    private String subject;
+
+    @Schema(example = "500000", description = "Units of work: cars to delete or CSV rows to import")
+    private long total;
+
+    @Schema(example = "120000", description = "Units of work committed so far")
+    private long processed;
+
+    @Schema(example = "null", description = "Why the job failed")
+    private String error;
+
+    @Schema(example = "2023-01-15T10:15:30Z")
+    private Instant createdAt;
+
+    @Schema(example = "2023-01-15T10:15:31Z")
+    private Instant startedAt;
+
+    @Schema(example = "null")
+    private Instant finishedAt;
+}
@@ -0,0 +1,25 @@
+package com.foxminded.car_rest_service.mapstruct.dto.statistics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "CategoryStatistics", description = "Number of distinct models among the cars of a category")
+public class CategoryStatisticsDTO {
+
+    @Schema(example = "SUV", description = "Category name")
+    private String category;
+
+    @Schema(example = "7", description = "Number of models")
+    private Long models;
+}
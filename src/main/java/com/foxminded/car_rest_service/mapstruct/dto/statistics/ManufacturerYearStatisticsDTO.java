@@ -0,0 +1,28 @@
+package com.foxminded.car_rest_service.mapstruct.dto.statistics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "ManufacturerYearStatistics", description = "Number of cars of a manufacturer and year")
+public class ManufacturerYearStatisticsDTO {
+
+    @Schema(example = "Cadillac", description = "Manufacturer name")
+    private String manufacturer;
+
+    @Schema(example = "2021", description = "Year of creation")
+    private Integer year;
+
+    @Schema(example = "12", description = "Number of cars")
+    private Long cars;
+}
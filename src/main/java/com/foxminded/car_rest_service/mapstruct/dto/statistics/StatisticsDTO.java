@@ -0,0 +1,28 @@
+package com.foxminded.car_rest_service.mapstruct.dto.statistics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "Statistics", description = "Precomputed statistics and how fresh they are")
+public class StatisticsDTO<T> {
+
+    @Schema(example = "2023-01-15T10:15:30Z", description = "When the statistics were last refreshed")
+    private Instant refreshedAt;
+
+    @Schema(example = "42", description = "Seconds since the last refresh, writes made since then aren't counted")
+    private Long ageSeconds;
+
+    private List<T> rows;
+}
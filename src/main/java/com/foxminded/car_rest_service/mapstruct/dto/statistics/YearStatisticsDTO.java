@@ -0,0 +1,25 @@
+package com.foxminded.car_rest_service.mapstruct.dto.statistics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "YearStatistics", description = "Number of cars of a year")
+public class YearStatisticsDTO {
+
+    @Schema(example = "2021", description = "Year of creation")
+    private Integer year;
+
+    @Schema(example = "40", description = "Number of cars")
+    private Long cars;
+}
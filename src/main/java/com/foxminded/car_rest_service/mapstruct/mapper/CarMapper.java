@@ -1,14 +1,47 @@
 package com.foxminded.car_rest_service.mapstruct.mapper;
 
+import com.foxminded.car_rest_service.dao.CarRow;
 import com.foxminded.car_rest_service.entities.Car;
 import com.foxminded.car_rest_service.mapstruct.dto.car.CarDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.car.CarWithoutCategoriesDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.category.CategoryBasicDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.manufacturer.ManufacturerBasicDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.model.ModelBasicDTO;
 import org.mapstruct.Mapper;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
 @Mapper(componentModel = "spring")
 public interface CarMapper extends MainMapper{
 
     CarDTO carToCarDTO(Car car);
 
     CarWithoutCategoriesDTO carToCarWithoutCategoriesDTO(Car car);
+
+    /**
+     * Groups the rows of {@link com.foxminded.car_rest_service.dao.CarDAO#findCarRowsByIds} into one CarDTO per car.
+     * Models and manufacturers shared by several cars are mapped once.
+     */
+    default Collection<CarDTO> carRowsToCarDTOs(Collection<CarRow> rows) {
+        Map<Long, CarDTO> cars = new HashMap<>();
+        Map<Long, ModelBasicDTO> models = new HashMap<>();
+        Map<Long, ManufacturerBasicDTO> manufacturers = new HashMap<>();
+
+        for (CarRow row : rows) {
+            CarDTO car = cars.computeIfAbsent(row.getCarId(), id -> new CarDTO(id,
+                    models.computeIfAbsent(row.getModelId(), modelId -> new ModelBasicDTO(modelId, row.getModel())),
+                    manufacturers.computeIfAbsent(row.getManufacturerId(),
+                            manufacturerId -> new ManufacturerBasicDTO(manufacturerId, row.getManufacturer(), row.getYear())),
+                    new HashSet<>()));
+
+            if (row.getCategoryId() != null) {
+                car.getCarCategories().add(new CategoryBasicDTO(row.getCategoryId(), row.getCategory()));
+            }
+        }
+
+        return cars.values();
+    }
 }
@@ -61,6 +61,16 @@ public class OpenAPIComponentsManager {
                 .example(example);
     }
 
+    public Parameter getCursorParam() {
+        return new Parameter().name("cursor")
+                .in("query")
+                .required(false)
+                .description("Switches to cursor pagination: pass an empty value for the first page, " +
+                        "then the 'nextCursor' of the previous response. Only 'size' and a single ascending 'sort' " +
+                        "are used in this mode; a continuation cursor keeps its sort, and a different 'sort' is rejected")
+                .schema(new StringSchema());
+    }
+
     public Schema<?> getManufacturerSchema() {
         return new ObjectSchema()
                 .description("Manufacturer object")
@@ -39,6 +39,7 @@ public class OpenApi30Config {
                 .addParameters("paramManufacturer", manager.getPathParam("manufacturer", "Cadillac"))
                 .addParameters("paramModel", manager.getPathParam("model", "Suburban 2500"))
                 .addParameters("id", manager.getParamId())
+                .addParameters("cursor", manager.getCursorParam())
 
                 .addSchemas("Error", manager.getErrorSchema())
                 .addSchemas("ValidationError", manager.getValidationErrorSchema())
@@ -0,0 +1,36 @@
+package com.foxminded.car_rest_service.scheduling;
+
+import com.foxminded.car_rest_service.jobs.JobProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * The one scheduler behind the background work: replica health checks, reloads and patches of the in-memory
+ * indexes, statistics refreshes and the catalog job workers. It is stopped with the context, so components only
+ * schedule their tasks on it, and skip that for a zero interval.
+ */
+@Configuration
+@EnableConfigurationProperties(JobProperties.class)
+public class SchedulingConfig {
+
+    /**
+     * Threads left for the other tasks while every job worker holds one for a whole job.
+     */
+    private static final int MAINTENANCE_THREADS = 2;
+
+    /**
+     * Declared as a {@link TaskScheduler}: Spring Boot only creates the executor of the async MVC responses,
+     * like the car export, while no {@link java.util.concurrent.Executor} bean is declared.
+     */
+    @Bean
+    public TaskScheduler taskScheduler(JobProperties jobProperties) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(jobProperties.getWorkers() + MAINTENANCE_THREADS);
+        scheduler.setThreadNamePrefix("car-rest-task-");
+        scheduler.setDaemon(true);
+        return scheduler;
+    }
+}
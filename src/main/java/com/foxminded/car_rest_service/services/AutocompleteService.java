@@ -0,0 +1,16 @@
+package com.foxminded.car_rest_service.services;
+
+import java.util.List;
+
+public interface AutocompleteService {
+
+    List<String> completeManufacturers(String prefix, int limit);
+
+    List<String> completeModels(String prefix, int limit);
+
+    List<String> completeCategories(String prefix, int limit);
+
+    void reload();
+
+    void applyPendingChanges();
+}
@@ -0,0 +1,198 @@
+package com.foxminded.car_rest_service.services;
+
+import com.foxminded.car_rest_service.autocomplete.NameIndex;
+import com.foxminded.car_rest_service.dao.CategoryDAO;
+import com.foxminded.car_rest_service.dao.ManufacturerDAO;
+import com.foxminded.car_rest_service.dao.ModelDAO;
+import com.foxminded.car_rest_service.events.CatalogChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Name completion served from in-memory {@link NameIndex}es. They are loaded on startup and patched
+ * after every committed write through the services, by re-reading the names the write touched. Committed
+ * writes only queue their names; a background task on the shared scheduler re-reads everything queued so far.
+ * A full reload every {@code car-rest.autocomplete.reload-interval} picks up writes made by other
+ * instances or outside the services.
+ */
+@Slf4j
+@Service
+public class AutocompleteServiceImp implements AutocompleteService, InitializingBean {
+
+    @Autowired
+    private ManufacturerDAO manufacturerDAO;
+
+    @Autowired
+    private ModelDAO modelDAO;
+
+    @Autowired
+    private CategoryDAO categoryDAO;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${car-rest.autocomplete.reload-interval:5m}")
+    private Duration reloadInterval;
+
+    private volatile NameIndex manufacturers = NameIndex.empty();
+
+    private volatile NameIndex models = NameIndex.empty();
+
+    private volatile NameIndex categories = NameIndex.empty();
+
+    private volatile boolean loaded;
+
+    private final Set<String> pendingManufacturers = ConcurrentHashMap.newKeySet();
+
+    private final Set<String> pendingModels = ConcurrentHashMap.newKeySet();
+
+    private final Set<String> pendingCategories = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean queued = new AtomicBoolean();
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!reloadInterval.isZero()) {
+            taskScheduler.scheduleWithFixedDelay(this::scheduledReload, Instant.now().plus(reloadInterval),
+                    reloadInterval);
+        }
+    }
+
+    @Override
+    public List<String> completeManufacturers(String prefix, int limit) {
+        ensureLoaded();
+        return manufacturers.complete(prefix, limit);
+    }
+
+    @Override
+    public List<String> completeModels(String prefix, int limit) {
+        ensureLoaded();
+        return models.complete(prefix, limit);
+    }
+
+    @Override
+    public List<String> completeCategories(String prefix, int limit) {
+        ensureLoaded();
+        return categories.complete(prefix, limit);
+    }
+
+    @Override
+    public synchronized void reload() {
+        manufacturers = NameIndex.of(manufacturerDAO.findAllNames());
+        models = NameIndex.of(modelDAO.findAllNames());
+        categories = NameIndex.of(categoryDAO.findAllNames());
+        loaded = true;
+
+        log.info("Autocomplete loaded: manufacturers: {}, models: {}, categories: {}",
+                manufacturers.size(), models.size(), categories.size());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            reload();
+        } catch (DataAccessException e) {
+            log.warn("Autocomplete wasn't loaded on startup, loading on first use: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (!loaded) {
+            return;
+        }
+
+        pendingManufacturers.addAll(event.getManufacturers());
+        pendingModels.addAll(event.getModels());
+        pendingCategories.addAll(event.getCategories());
+        if (queued.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::applyPendingChanges, Instant.now());
+        }
+    }
+
+    /**
+     * Re-reads the names queued since the last patch in a read-write transaction, which always goes to
+     * the primary: the background task has no user to pin there.
+     */
+    @Override
+    public synchronized void applyPendingChanges() {
+        queued.set(false);
+        Set<String> touchedManufacturers = drain(pendingManufacturers);
+        Set<String> touchedModels = drain(pendingModels);
+        Set<String> touchedCategories = drain(pendingCategories);
+        if (touchedManufacturers.isEmpty() && touchedModels.isEmpty() && touchedCategories.isEmpty()) {
+            return;
+        }
+
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            transaction.executeWithoutResult(status -> {
+                if (!touchedManufacturers.isEmpty()) {
+                    manufacturers = patch(manufacturers, touchedManufacturers,
+                            manufacturerDAO.findNamesIn(touchedManufacturers));
+                }
+                if (!touchedModels.isEmpty()) {
+                    models = patch(models, touchedModels, modelDAO.findNamesIn(touchedModels));
+                }
+                if (!touchedCategories.isEmpty()) {
+                    categories = patch(categories, touchedCategories, categoryDAO.findNamesIn(touchedCategories));
+                }
+            });
+        } catch (DataAccessException e) {
+            log.warn("Autocomplete wasn't patched, it is repaired by the next reload: {}", e.getMessage());
+        }
+    }
+
+    private void scheduledReload() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Autocomplete reload failed", e);
+        }
+    }
+
+    private NameIndex patch(NameIndex index, Set<String> touched, List<String> existing) {
+        Set<String> removed = new HashSet<>(touched);
+        existing.forEach(removed::remove);
+        return index.with(new HashSet<>(existing), removed);
+    }
+
+    private static Set<String> drain(Set<String> pending) {
+        Set<String> drained = new HashSet<>();
+        for (Iterator<String> iterator = pending.iterator(); iterator.hasNext(); ) {
+            drained.add(iterator.next());
+            iterator.remove();
+        }
+        return drained;
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            reload();
+        }
+    }
+}
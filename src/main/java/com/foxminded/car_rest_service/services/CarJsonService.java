@@ -0,0 +1,14 @@
+package com.foxminded.car_rest_service.services;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+public interface CarJsonService {
+    boolean supports(Sort sort);
+
+    String getAllCars(Pageable pageable);
+
+    String getAllCarsByManufacturer(String manufacturer, Pageable pageable);
+
+    String getAllCarsByManufacturerAndMinYear(String manufacturer, Integer year, Pageable pageable);
+}
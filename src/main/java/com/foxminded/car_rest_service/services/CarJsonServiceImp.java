@@ -0,0 +1,49 @@
+package com.foxminded.car_rest_service.services;
+
+import com.foxminded.car_rest_service.dao.CarJsonDAO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Read path where PostgreSQL renders the {@code data} array of car pages, see {@link CarJsonDAO}.
+ */
+@Slf4j
+@Service
+public class CarJsonServiceImp implements CarJsonService {
+
+    @Autowired
+    private CarJsonDAO carJsonDAO;
+
+    @Override
+    public boolean supports(Sort sort) {
+        return carJsonDAO.supports(sort);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getAllCars(Pageable pageable) {
+        log.info("GetAllCars as json started");
+
+        return carJsonDAO.findAllCars(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getAllCarsByManufacturer(String manufacturer, Pageable pageable) {
+        log.info("GetAllCarsByManufacturer as json started with: {}", manufacturer);
+
+        return carJsonDAO.findCarsByManufacturer(manufacturer, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getAllCarsByManufacturerAndMinYear(String manufacturer, Integer year, Pageable pageable) {
+        log.info("GetAllCarsByManufacturerAndMinYear as json started with: {}, year: {}", manufacturer, year);
+
+        return carJsonDAO.findCarsByManufacturerAndMinYear(manufacturer, year, pageable);
+    }
+}
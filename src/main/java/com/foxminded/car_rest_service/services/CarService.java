@@ -1,14 +1,28 @@
 package com.foxminded.car_rest_service.services;
 
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCategoryChangesDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCategoryChangesResultDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCategoryQueryDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCreateDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCreateResultDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.car.CarDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarFacetsDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarFilterDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarImportDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.car.CarWithoutCategoriesDTO;
+import com.foxminded.car_rest_service.utils.KeysetPage;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CarService {
     List<CarDTO> getAllCars(Pageable pageable);
 
+    KeysetPage<CarDTO> getAllCars(String cursor, Sort sort, int size);
+
     CarWithoutCategoriesDTO createCar(String manufacturer, String model, Integer year);
 
     boolean deleteCarById(Long id);
@@ -21,5 +35,30 @@ public interface CarService {
 
     List<CarDTO> getAllCarsByManufacturerAndMinYear(String manufacturer, Integer year, Pageable pageable);
 
+    List<CarDTO> searchCars(String query, Pageable pageable);
+
+    List<CarDTO> filterCars(CarFilterDTO filter, Pageable pageable);
+
+    CarFacetsDTO getFacets(CarFilterDTO filter);
+
+    List<CarDTO> getCarsByCategories(CarCategoryQueryDTO query, Pageable pageable);
+
+    long countCarsByCategories(CarCategoryQueryDTO query);
+
+    List<CarDTO> getSimilarCars(Long id, int limit);
+
     CarWithoutCategoriesDTO updateCar(CarWithoutCategoriesDTO carWithoutCategoriesDTO);
+
+    List<CarCreateResultDTO> createCars(List<CarCreateDTO> cars);
+
+    CarCategoryChangesResultDTO changeCarCategories(CarCategoryChangesDTO changes);
+
+    CarImportDTO importCars(InputStream csv);
+
+    /**
+     * Imports the rows of an import job numbered after {@code afterRow} up to {@code toRow}.
+     */
+    CarImportDTO importJobRows(long jobId, long afterRow, long toRow);
+
+    long exportCars(Consumer<CarDTO> consumer);
 }
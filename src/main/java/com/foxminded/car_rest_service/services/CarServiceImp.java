@@ -1,36 +1,90 @@
 package com.foxminded.car_rest_service.services;
 
+import com.foxminded.car_rest_service.bitmap.CarIdBitmap;
+import com.foxminded.car_rest_service.bitmap.CategoryBitmapIndex;
+import com.foxminded.car_rest_service.dao.CarBatchDAO;
+import com.foxminded.car_rest_service.dao.CarBatchRow;
+import com.foxminded.car_rest_service.dao.CarCategoryBulkDAO;
+import com.foxminded.car_rest_service.dao.CarCategoryInfoDAO;
+import com.foxminded.car_rest_service.dao.CarCategoryLink;
 import com.foxminded.car_rest_service.dao.CarDAO;
+import com.foxminded.car_rest_service.dao.CarFacetDAO;
+import com.foxminded.car_rest_service.dao.CarImportDAO;
+import com.foxminded.car_rest_service.dao.CarKeys;
+import com.foxminded.car_rest_service.dao.CarNames;
 import com.foxminded.car_rest_service.dao.CategoryDAO;
 import com.foxminded.car_rest_service.dao.ManufacturerDAO;
 import com.foxminded.car_rest_service.dao.ModelDAO;
 import com.foxminded.car_rest_service.entities.Car;
-import com.foxminded.car_rest_service.entities.CarCategoryInfo;
-import com.foxminded.car_rest_service.entities.Category;
 import com.foxminded.car_rest_service.entities.Manufacturer;
 import com.foxminded.car_rest_service.entities.Model;
+import com.foxminded.car_rest_service.events.CatalogChangedEvent;
+import com.foxminded.car_rest_service.events.CategoryLink;
 import com.foxminded.car_rest_service.exceptions.DataAlreadyExistException;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCategoryChangeResultDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCategoryChangeResultDTO.Status;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCategoryChangesDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCategoryChangesResultDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCategoryQueryDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCategoryLinkDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCreateDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCreateResultDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.car.CarDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarFacetsDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarFilterDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarImportDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.car.CarWithoutCategoriesDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.manufacturer.ManufacturerBasicDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.model.ModelBasicDTO;
 import com.foxminded.car_rest_service.mapstruct.mapper.CarMapper;
+import com.foxminded.car_rest_service.snapshot.CatalogSnapshotEngine;
+import com.foxminded.car_rest_service.utils.KeysetCursor;
+import com.foxminded.car_rest_service.utils.KeysetPage;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
-
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static com.foxminded.car_rest_service.cache.CacheConfig.CARS_BY_MANUFACTURER;
+import static com.foxminded.car_rest_service.cache.CacheConfig.CAR_FACETS;
+import static com.foxminded.car_rest_service.utils.IdPagination.inIdOrder;
+import static com.foxminded.car_rest_service.utils.IdPagination.withIdOrder;
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 
 @Slf4j
 @Service
 public class CarServiceImp implements CarService {
 
+    private static final String SORT_BY_YEAR = "manufacturer.year";
+
+    private static final List<String> CURSOR_SORT_KEYS = List.of("id", SORT_BY_YEAR);
+
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
     @Autowired
     private CarDAO carDAO;
 
@@ -43,27 +97,79 @@ public class CarServiceImp implements CarService {
     @Autowired
     private CategoryDAO categoryDAO;
 
+    @Autowired
+    private CarCategoryInfoDAO carCategoryInfoDAO;
+
+    @Autowired
+    private CarCategoryBulkDAO carCategoryBulkDAO;
+
+    @Autowired
+    private CarBatchDAO carBatchDAO;
+
+    @Autowired
+    private CarImportDAO carImportDAO;
+
+    @Autowired
+    private CarFacetDAO carFacetDAO;
+
+    @Autowired
+    private CatalogSnapshotEngine catalogSnapshotEngine;
+
+    @Autowired
+    private CategoryBitmapIndex categoryBitmapIndex;
+
     @Autowired
     private CarMapper mapper;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     @Transactional(readOnly = true)
     public List<CarDTO> getAllCars(Pageable pageable) {
         log.info("GetAllCars started");
 
-        return carDAO.findAllCarsWithAllInfo(pageable).stream()
-                .map(car -> mapper.carToCarDTO(car))
-                .collect(toList());
+        return catalogSnapshotEngine.findAllCars(pageable)
+                .orElseGet(() -> hydrateCars(carDAO.findAllCarIds(withIdOrder(pageable))));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<CarDTO> getAllCars(String cursor, Sort sort, int size) {
+        log.info("GetAllCars started with cursor: {}", cursor);
+
+        KeysetCursor keyset = KeysetCursor.of(cursor, sort, CURSOR_SORT_KEYS);
+        PageRequest limit = PageRequest.of(0, size + 1);
+
+        List<Long> ids = SORT_BY_YEAR.equals(keyset.getSortKey())
+                ? carDAO.findCarIdsAfterYear(keyset.intValueOr(Integer.MIN_VALUE), keyset.idOr(0L), limit)
+                : carDAO.findCarIdsAfterId(keyset.idOr(0L), limit);
+
+        boolean hasNext = ids.size() > size;
+        List<CarDTO> cars = hydrateCars(hasNext ? ids.subList(0, size) : ids);
+
+        if (!hasNext || cars.isEmpty()) {
+            return new KeysetPage<>(cars, null);
+        }
+
+        CarDTO last = cars.get(cars.size() - 1);
+        Object value = SORT_BY_YEAR.equals(keyset.getSortKey()) ? last.getManufacturer().getYear() : last.getId();
+
+        return new KeysetPage<>(cars, KeysetCursor.encode(keyset.getSortKey(), value, last.getId()));
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CARS_BY_MANUFACTURER, key = "{#manufacturer, #pageable}",
+            condition = "!@catalogSnapshotEngine.servesCarsByManufacturer(#pageable)", unless = "#result.isEmpty()")
     public List<CarDTO> getAllCarsByManufacturer(String manufacturer, Pageable pageable) {
         log.info("GetAllCarsByManufacturer started with: {}", manufacturer);
 
-        return carDAO.findCarsByManufacturer(manufacturer, pageable).stream()
-                .map(car -> mapper.carToCarDTO(car))
-                .collect(toList());
+        return catalogSnapshotEngine.findCarsByManufacturer(manufacturer, pageable)
+                .orElseGet(() -> hydrateCars(carDAO.findCarIdsByManufacturer(manufacturer, withIdOrder(pageable))));
     }
 
     @Override
@@ -71,9 +177,67 @@ public class CarServiceImp implements CarService {
     public List<CarDTO> getAllCarsByManufacturerAndMinYear(String manufacturer, Integer year, Pageable pageable) {
         log.info("GetAllCarsByManufacturerAndMinYear started with: {}, year: {}", manufacturer, year);
 
-        return carDAO.findCarsByManufacturerAndMinYear(manufacturer, year, pageable).stream()
-                .map(car -> mapper.carToCarDTO(car))
-                .collect(toList());
+        return catalogSnapshotEngine.findCarsByManufacturerAndMinYear(manufacturer, year, pageable)
+                .orElseGet(() -> hydrateCars(carDAO.findCarIdsByManufacturerAndMinYear(manufacturer, year,
+                        withIdOrder(pageable))));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CarDTO> searchCars(String query, Pageable pageable) {
+        log.info("SearchCars started with query: {}", query);
+
+        List<Long> ids = carDAO.findCarIdsMatching(query.trim().toLowerCase(Locale.ROOT),
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+
+        return hydrateCars(ids);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CarDTO> filterCars(CarFilterDTO filter, Pageable pageable) {
+        log.info("FilterCars started with filter: {}", filter);
+
+        List<Long> ids = carDAO.findCarIds(filter, withIdOrder(pageable));
+
+        return hydrateCars(ids);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CAR_FACETS, key = "#filter", condition = "#filter.hasNameCriteria()")
+    public CarFacetsDTO getFacets(CarFilterDTO filter) {
+        log.info("GetFacets started with filter: {}", filter);
+
+        return carFacetDAO.findFacets(filter);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CarDTO> getCarsByCategories(CarCategoryQueryDTO query, Pageable pageable) {
+        log.info("GetCarsByCategories started with query: {}", query);
+
+        CarIdBitmap cars = categoryBitmapIndex.match(query.getAll(), query.getAny(), query.getNone());
+
+        return hydrateCars(pageable.isPaged()
+                ? cars.page(pageable.getOffset(), pageable.getPageSize())
+                : cars.page(0, Integer.MAX_VALUE));
+    }
+
+    @Override
+    public long countCarsByCategories(CarCategoryQueryDTO query) {
+        log.info("CountCarsByCategories started with query: {}", query);
+
+        return categoryBitmapIndex.match(query.getAll(), query.getAny(), query.getNone()).cardinality();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CarDTO> getSimilarCars(Long id, int limit) {
+        log.info("GetSimilarCars started with id: {}, limit: {}", id, limit);
+
+        return catalogSnapshotEngine.findSimilarCars(id, limit)
+                .orElseGet(() -> hydrateCars(carDAO.findSimilarCarIds(id, PageRequest.of(0, limit))));
     }
 
     @Override
@@ -94,20 +258,17 @@ public class CarServiceImp implements CarService {
                 .map(car -> {
 
                     ManufacturerBasicDTO manufacturerDTO = carWithoutCategoriesDTO.getManufacturer();
-                    Manufacturer manufacturer = manufacturerDAO.findById(manufacturerDTO.getId())
-                            .orElseGet(() -> {
-                                Manufacturer newManufacturer = new Manufacturer();
-                                newManufacturer.setManufacturer(manufacturerDTO.getManufacturer());
-                                newManufacturer.setYear(manufacturerDTO.getYear());
-                                return manufacturerDAO.save(newManufacturer);
-                            });
+                    Manufacturer manufacturer = manufacturerDAO.getReferenceById(
+                            manufacturerDAO.getOrCreateId(manufacturerDTO.getManufacturer(), manufacturerDTO.getYear()));
 
                     ModelBasicDTO modelDTO = carWithoutCategoriesDTO.getModel();
-                    Model model = modelDAO.findById(modelDTO.getId()).orElseGet(() -> {
-                        Model newModel = new Model();
-                        newModel.setModel(modelDTO.getModel());
-                        return modelDAO.save(newModel);
-                    });
+                    Model model = modelDAO.getReferenceById(modelDAO.getOrCreateId(modelDTO.getModel()));
+
+                    eventPublisher.publishEvent(CatalogChangedEvent.builder()
+                            .cars(carDAO.findNamesByCarId(car.getId()))
+                            .manufacturer(manufacturer.getManufacturer())
+                            .model(model.getModel())
+                            .build());
 
                     car.setModel(model);
                     car.setManufacturer(manufacturer);
@@ -121,41 +282,96 @@ public class CarServiceImp implements CarService {
     public CarWithoutCategoriesDTO createCar(String manufacturerInput, String modelInput, Integer year) {
         log.info("CreateCar started with manufacturer: {}, model: {}, year: {}", manufacturerInput, modelInput, year);
 
-        if (carDAO.findByManufacturerAndModelAndYear(manufacturerInput, modelInput, year).isPresent()) {
+        Optional<CarKeys> inserted = carDAO.insertCar(manufacturerInput, modelInput, year)
+                .or(() -> carDAO.insertCar(manufacturerInput, modelInput, year));
+        if (inserted.isEmpty()) {
             return null;
         }
 
-        Manufacturer manufacturer = manufacturerDAO.findByNameAndYear(manufacturerInput, year)
-                .orElseGet(() -> {
-                    Manufacturer m = new Manufacturer();
-                    m.setManufacturer(manufacturerInput);
-                    m.setYear(year);
-                    return manufacturerDAO.save(m);
-                });
-
-        Model model = modelDAO.findByName(modelInput).orElseGet(() -> {
-            Model m = new Model();
-            m.setModel(modelInput);
-            return modelDAO.save(m);
-        });
-
-        Car car = carDAO.save(Car.builder()
-                .manufacturer(manufacturer)
-                .model(model)
+        CarKeys keys = inserted.get();
+        eventPublisher.publishEvent(CatalogChangedEvent.builder()
+                .carId(keys.getId())
+                .manufacturer(manufacturerInput)
+                .model(modelInput)
                 .build());
 
-        return mapper.carToCarWithoutCategoriesDTO(car);
+        return new CarWithoutCategoriesDTO(keys.getId(),
+                new ModelBasicDTO(keys.getModelId(), modelInput),
+                new ManufacturerBasicDTO(keys.getManufacturerId(), manufacturerInput, year));
     }
 
     @Override
+    @Transactional
+    public List<CarCreateResultDTO> createCars(List<CarCreateDTO> cars) {
+        log.info("CreateCars started with: {} cars", cars.size());
+
+        List<CarCreateDTO> distinct = new ArrayList<>(new LinkedHashSet<>(cars));
+
+        carBatchDAO.upsertManufacturers(distinct);
+        carBatchDAO.upsertModels(distinct);
+        List<CarBatchRow> references = carBatchDAO.findReferenceIds(distinct);
+
+        List<CarBatchRow> existing = carBatchDAO.findCars(references);
+        List<CarBatchRow> missing = existing.stream().filter(row -> row.getCarId() == null).collect(toList());
+        List<CarBatchRow> inserted = carBatchDAO.insertCars(missing);
+        List<CarBatchRow> lost = inserted.stream().filter(row -> row.getCarId() == null).collect(toList());
+        Iterator<CarBatchRow> insertedRows = inserted.iterator();
+        Iterator<CarBatchRow> concurrentRows = carBatchDAO.findCars(lost).iterator();
+
+        Map<CarCreateDTO, CarBatchRow> written = new HashMap<>();
+        Set<CarCreateDTO> created = new HashSet<>();
+        for (int i = 0; i < distinct.size(); i++) {
+            CarBatchRow row = existing.get(i);
+            if (row.getCarId() == null) {
+                row = insertedRows.next();
+                if (row.getCarId() == null) {
+                    row = concurrentRows.next();
+                }
+            }
+            written.put(distinct.get(i), row);
+            if (row.isCreated()) {
+                created.add(distinct.get(i));
+            }
+        }
+
+        Set<CarCreateDTO> reported = new HashSet<>();
+        List<CarCreateResultDTO> results = new ArrayList<>(cars.size());
+        for (CarCreateDTO car : cars) {
+            CarCreateResultDTO.Status status = created.contains(car) && reported.add(car)
+                    ? CarCreateResultDTO.Status.CREATED
+                    : CarCreateResultDTO.Status.ALREADY_EXISTS;
+            results.add(new CarCreateResultDTO(written.get(car).getCarId(),
+                    car.getManufacturer(), car.getModel(), car.getYear(), status));
+        }
+
+        if (!created.isEmpty()) {
+            eventPublisher.publishEvent(CatalogChangedEvent.builder()
+                    .manufacturers(created.stream().map(CarCreateDTO::getManufacturer).collect(toSet()))
+                    .models(created.stream().map(CarCreateDTO::getModel).collect(toSet()))
+                    .carIds(created.stream().map(car -> written.get(car).getCarId()).collect(toSet()))
+                    .rows(created.size())
+                    .build());
+        }
+
+        log.info("CreateCars finished: created: {}", created.size());
+
+        return results;
+    }
+
+    @Override
+    @Transactional
     public boolean deleteCarById(Long id) {
         log.info("DeleteCarById started with id: {}", id);
 
-        return carDAO.findCarWithCategoriesById(id)
-                .map(car -> {
-                    carDAO.delete(car);
-                    return true;
-                }).orElse(false);
+        List<CarNames> names = carDAO.findNamesByCarId(id);
+        if (carDAO.deleteCarById(id) == 0) {
+            return false;
+        }
+
+        eventPublisher.publishEvent(CatalogChangedEvent.builder()
+                .carsWithRemovedLinks(names)
+                .build());
+        return true;
     }
 
     @Override
@@ -163,20 +379,20 @@ public class CarServiceImp implements CarService {
     public CarDTO addCarToCategory(Long id, String name) {
         log.info("AddCarToCategory started with id: {}, name: {}", id, name);
 
-        Car car = carDAO.findCarWithAllInfoById(id)
-                .map(c -> {
-                    Category category = categoryDAO.findCategoryWithCarsByName(name).orElseGet(() -> {
-                        Category cate = new Category();
-                        cate.setCategory(name);
-                        return categoryDAO.save(cate);
-                    });
+        List<CarNames> names = carDAO.findNamesByCarId(id);
+        if (names.isEmpty()) {
+            return null;
+        }
 
-                    addCategory(c, category);
-                    return c;
-                })
-                .orElse(null);
+        if (carCategoryInfoDAO.insertIfAbsent(id, categoryDAO.getOrCreateId(name)).isPresent()) {
+            eventPublisher.publishEvent(CatalogChangedEvent.builder()
+                    .cars(names)
+                    .category(name)
+                    .addedLink(new CategoryLink(id, name))
+                    .build());
+        }
 
-        return mapper.carToCarDTO(car);
+        return hydrateCar(id);
     }
 
     @Override
@@ -184,42 +400,189 @@ public class CarServiceImp implements CarService {
     public CarDTO removeCarFromCategory(Long id, String name) {
         log.info("RemoveCarFromCategory started with id: {}, name: {}", id, name);
 
-        Car car = carDAO.findCarWithAllInfoById(id)
-                .map(c -> {
-                    Optional<Category> op = categoryDAO.findCategoryWithCarsByName(name);
-                    if (op.isEmpty()) {
-                        return c;
-                    }
-                    Category category = op.get();
+        List<CarNames> names = carDAO.findNamesByCarId(id);
+        if (names.isEmpty()) {
+            return null;
+        }
+
+        if (carCategoryInfoDAO.deleteByCarIdAndCategory(id, name) > 0) {
+            eventPublisher.publishEvent(CatalogChangedEvent.builder()
+                    .cars(names)
+                    .removedLink(new CategoryLink(id, name))
+                    .build());
+        }
+
+        return hydrateCar(id);
+    }
+
+    @Override
+    @Transactional
+    public CarCategoryChangesResultDTO changeCarCategories(CarCategoryChangesDTO changes) {
+        log.info("ChangeCarCategories started with additions: {}, removals: {}",
+                changes.getAdd().size(), changes.getRemove().size());
+
+        Set<Long> cars = carCategoryBulkDAO.findExistingCarIds(
+                Stream.concat(changes.getAdd().stream(), changes.getRemove().stream())
+                        .map(CarCategoryLinkDTO::getCarId)
+                        .collect(toSet()));
 
-                    removeCategory(c, category);
+        Map<String, Long> removeCategories = carCategoryBulkDAO.findCategoryIds(categoriesOf(changes.getRemove(), cars));
+        Set<CarCategoryLink> removed = carCategoryBulkDAO.deleteLinks(linksOf(changes.getRemove(), cars, removeCategories));
 
-                    return c;
-                })
-                .orElse(null);
+        Map<String, Long> addCategories = carCategoryBulkDAO.upsertCategories(categoriesOf(changes.getAdd(), cars));
+        Set<CarCategoryLink> added = carCategoryBulkDAO.insertLinks(linksOf(changes.getAdd(), cars, addCategories));
 
-        return mapper.carToCarDTO(car);
+        CarCategoryChangesResultDTO result = new CarCategoryChangesResultDTO(
+                changeResults(changes.getAdd(), cars, addCategories, added, Status.ADDED),
+                changeResults(changes.getRemove(), cars, removeCategories, removed, Status.REMOVED));
+
+        List<CarCategoryChangeResultDTO> changed = Stream.concat(result.getAdd().stream(), result.getRemove().stream())
+                .filter(r -> r.getStatus() == Status.ADDED || r.getStatus() == Status.REMOVED)
+                .collect(toList());
+        if (!changed.isEmpty()) {
+            Set<Long> changedCars = changed.stream().map(CarCategoryChangeResultDTO::getCarId).collect(toSet());
+
+            eventPublisher.publishEvent(CatalogChangedEvent.builder()
+                    .cars(carDAO.findNamesByCarIds(changedCars))
+                    .categories(changed.stream().map(CarCategoryChangeResultDTO::getCategory).collect(toSet()))
+                    .addedLinks(linksWithStatus(changed, Status.ADDED))
+                    .removedLinks(linksWithStatus(changed, Status.REMOVED))
+                    .rows(changed.size())
+                    .build());
+        }
+
+        log.info("ChangeCarCategories finished: added: {}, removed: {}", added.size(), removed.size());
+
+        return result;
     }
 
-    private void removeCategory(Car c, Category category) {
-        var iterator = c.getCarCategories().iterator();
-        while (iterator.hasNext()) {
-            CarCategoryInfo next = iterator.next();
-            if (next.getCar().equals(c) && next.getCategory().equals(category)) {
-                iterator.remove();
-                next.getCategory().getCarCategories().remove(next);
-                next.setCar(null);
-                next.setCategory(null);
+    @Override
+    @Transactional
+    public CarImportDTO importCars(InputStream csv) {
+        log.info("ImportCars started");
+
+        CarImportDTO result = importStaged(carImportDAO.copyToStaging(csv));
+
+        log.info("ImportCars finished: rows: {}, new cars: {}", result.getRows(), result.getCars());
+
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public CarImportDTO importJobRows(long jobId, long afterRow, long toRow) {
+        log.info("ImportJobRows started with jobId: {}, afterRow: {}, toRow: {}", jobId, afterRow, toRow);
+
+        return importStaged(carImportDAO.stageJobRows(jobId, afterRow, toRow));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportCars(Consumer<CarDTO> consumer) {
+        log.info("ExportCars started");
+
+        long exported = 0;
+        List<Car> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+        try (Stream<Car> cars = carDAO.streamAllCars()) {
+            Iterator<Car> iterator = cars.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == EXPORT_CHUNK_SIZE) {
+                    exported += exportChunk(chunk, consumer);
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            exported += exportChunk(chunk, consumer);
+        }
+
+        log.info("ExportCars finished: cars: {}", exported);
+
+        return exported;
+    }
+
+    private Set<String> categoriesOf(List<CarCategoryLinkDTO> items, Set<Long> cars) {
+        return items.stream()
+                .filter(item -> cars.contains(item.getCarId()))
+                .map(CarCategoryLinkDTO::getCategory)
+                .collect(toSet());
+    }
+
+    private List<CarCategoryLink> linksOf(List<CarCategoryLinkDTO> items, Set<Long> cars, Map<String, Long> categories) {
+        return items.stream()
+                .filter(item -> cars.contains(item.getCarId()) && categories.containsKey(item.getCategory()))
+                .map(item -> new CarCategoryLink(item.getCarId(), categories.get(item.getCategory())))
+                .collect(toList());
+    }
+
+    /**
+     * A pair repeated in the request is reported as changed once, the repeats are UNCHANGED.
+     */
+    private List<CarCategoryChangeResultDTO> changeResults(List<CarCategoryLinkDTO> items, Set<Long> cars,
+                                                           Map<String, Long> categories, Set<CarCategoryLink> changed,
+                                                           Status done) {
+        Set<CarCategoryLink> reported = new HashSet<>();
+        List<CarCategoryChangeResultDTO> results = new ArrayList<>(items.size());
+        for (CarCategoryLinkDTO item : items) {
+            Status status;
+            if (!cars.contains(item.getCarId())) {
+                status = Status.CAR_NOT_FOUND;
+            } else if (!categories.containsKey(item.getCategory())) {
+                status = Status.CATEGORY_NOT_FOUND;
+            } else {
+                CarCategoryLink link = new CarCategoryLink(item.getCarId(), categories.get(item.getCategory()));
+                status = changed.contains(link) && reported.add(link) ? done : Status.UNCHANGED;
             }
+            results.add(new CarCategoryChangeResultDTO(item.getCarId(), item.getCategory(), status));
+        }
+        return results;
+    }
+
+    private Set<CategoryLink> linksWithStatus(List<CarCategoryChangeResultDTO> results, Status status) {
+        return results.stream()
+                .filter(result -> result.getStatus() == status)
+                .map(result -> new CategoryLink(result.getCarId(), result.getCategory()))
+                .collect(toSet());
+    }
+
+    private CarImportDTO importStaged(long rows) {
+        CarImportDTO result = new CarImportDTO(rows,
+                carImportDAO.upsertManufacturers(),
+                carImportDAO.upsertModels(),
+                carImportDAO.upsertCategories(),
+                carImportDAO.upsertCars(),
+                carImportDAO.upsertCarCategories());
+
+        eventPublisher.publishEvent(CatalogChangedEvent.builder()
+                .manufacturers(carImportDAO.findStagedManufacturers())
+                .models(carImportDAO.findStagedModels())
+                .categories(carImportDAO.findStagedCategories())
+                .rows(result.getCars() + result.getCarCategories())
+                .build());
+
+        return result;
+    }
+
+    private CarDTO hydrateCar(Long id) {
+        return hydrateCars(List.of(id)).stream().findFirst().orElse(null);
+    }
+
+    private List<CarDTO> hydrateCars(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
         }
+
+        return inIdOrder(ids, mapper.carRowsToCarDTOs(carDAO.findCarRowsByIds(ids)), CarDTO::getId);
     }
 
-    private void addCategory(Car c, Category category) {
-        CarCategoryInfo categoryInfo = CarCategoryInfo.builder()
-                .car(c)
-                .category(category)
-                .build();
-        c.getCarCategories().add(categoryInfo);
-        category.getCarCategories().add(categoryInfo);
+    private int exportChunk(List<Car> chunk, Consumer<CarDTO> consumer) {
+        carDAO.findCarsWithCategoriesByIds(chunk.stream().map(Car::getId).collect(toList()));
+        chunk.forEach(car -> consumer.accept(mapper.carToCarDTO(car)));
+
+        int size = chunk.size();
+        chunk.clear();
+        entityManager.clear();
+
+        return size;
     }
 }
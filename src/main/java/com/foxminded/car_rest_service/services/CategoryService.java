@@ -2,13 +2,17 @@ package com.foxminded.car_rest_service.services;
 
 import com.foxminded.car_rest_service.mapstruct.dto.category.CategoryBasicDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.category.CategoryDTO;
+import com.foxminded.car_rest_service.utils.KeysetPage;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 
 public interface CategoryService {
     List<CategoryBasicDTO> getAllCategories(Pageable pageable);
 
+    KeysetPage<CategoryBasicDTO> getAllCategories(String cursor, Sort sort, int size);
+
     CategoryDTO getCategoryWithCarsByName(String name);
 
     CategoryBasicDTO createCategory(CategoryBasicDTO category);
@@ -1,20 +1,30 @@
 package com.foxminded.car_rest_service.services;
 
+import com.foxminded.car_rest_service.dao.CarDAO;
+import com.foxminded.car_rest_service.dao.CarNames;
 import com.foxminded.car_rest_service.dao.CategoryDAO;
 import com.foxminded.car_rest_service.entities.Category;
+import com.foxminded.car_rest_service.events.CatalogChangedEvent;
 import com.foxminded.car_rest_service.exceptions.DataAlreadyExistException;
 import com.foxminded.car_rest_service.mapstruct.dto.category.CategoryBasicDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.category.CategoryDTO;
 import com.foxminded.car_rest_service.mapstruct.mapper.CategoryMapper;
+import com.foxminded.car_rest_service.utils.KeysetCursor;
+import com.foxminded.car_rest_service.utils.KeysetPage;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
+import static com.foxminded.car_rest_service.cache.CacheConfig.CATEGORY_WITH_CARS;
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
 
@@ -23,12 +33,22 @@ import static java.util.stream.Collectors.toList;
 @Service
 public class CategoryServiceImp implements CategoryService {
 
+    private static final String SORT_BY_NAME = "category";
+
+    private static final List<String> CURSOR_SORT_KEYS = List.of("id", SORT_BY_NAME);
+
     @Autowired
     private CategoryDAO categoryDAO;
 
+    @Autowired
+    private CarDAO carDAO;
+
     @Autowired
     private CategoryMapper mapper;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     @Transactional(readOnly = true)
     public List<CategoryBasicDTO> getAllCategories(Pageable pageable) {
@@ -41,6 +61,28 @@ public class CategoryServiceImp implements CategoryService {
 
     @Override
     @Transactional(readOnly = true)
+    public KeysetPage<CategoryBasicDTO> getAllCategories(String cursor, Sort sort, int size) {
+        log.info("GetAllCategories started with cursor: {}", cursor);
+
+        KeysetCursor keyset = KeysetCursor.of(cursor, sort, CURSOR_SORT_KEYS);
+        PageRequest limit = PageRequest.of(0, size + 1);
+
+        boolean byName = SORT_BY_NAME.equals(keyset.getSortKey());
+        List<Category> categories = byName
+                ? categoryDAO.findAllAfterName(keyset.valueOr(""), keyset.idOr(0L), limit)
+                : categoryDAO.findAllAfterId(keyset.idOr(0L), limit);
+
+        List<CategoryBasicDTO> categoryDTOs = categories.stream()
+                .map(category -> mapper.categoryToCategoryBasicDTO(category))
+                .collect(toList());
+
+        return KeysetPage.of(categoryDTOs, size, last -> KeysetCursor.encode(keyset.getSortKey(),
+                byName ? last.getCategory() : last.getId(), last.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CATEGORY_WITH_CARS, unless = "#result == null")
     public CategoryDTO getCategoryWithCarsByName(String name) {
         log.info("GetModelWithCarsByName started with name: {}", name);
 
@@ -54,17 +96,22 @@ public class CategoryServiceImp implements CategoryService {
 
 
     @Override
+    @Transactional
     public CategoryBasicDTO createCategory(CategoryBasicDTO category) {
         log.info("CreateCategory started");
 
-        Optional<Category> optional = categoryDAO.findByName(category.getCategory());
-        if (optional.isPresent()) {
+        Optional<Long> inserted = categoryDAO.insertIfAbsent(category.getCategory());
+        if (inserted.isEmpty()) {
             return null;
         }
-        return mapper.categoryToCategoryBasicDTO(categoryDAO.save(mapper.categoryBasicToCategory(category)));
+
+        eventPublisher.publishEvent(CatalogChangedEvent.builder().category(category.getCategory()).build());
+
+        return new CategoryBasicDTO(inserted.get(), category.getCategory());
     }
 
     @Override
+    @Transactional
     public CategoryBasicDTO updateCategory(Long id, CategoryBasicDTO categoryInput) {
         log.info("UpdateCategory started with id: {}, category: {}", id, categoryInput);
 
@@ -74,18 +121,33 @@ public class CategoryServiceImp implements CategoryService {
 
         return categoryDAO.findById(id)
                 .map((category -> {
+                    eventPublisher.publishEvent(CatalogChangedEvent.builder()
+                            .cars(carDAO.findNamesByCategoryId(id))
+                            .renamedCategory(category.getCategory())
+                            .renamedCategory(categoryInput.getCategory())
+                            .category(category.getCategory())
+                            .category(categoryInput.getCategory())
+                            .build());
+
                     category.setCategory(categoryInput.getCategory());
                     return mapper.categoryToCategoryBasicDTO(categoryDAO.save(category));
                 })).orElse(null);
     }
 
     @Override
+    @Transactional
     public boolean deleteCategoryByName(String name) {
         log.info("DeleteCategoryByName started with name: {}", name);
 
-        return categoryDAO.findByName(name).map(category -> {
-            categoryDAO.delete(category);
-            return true;
-        }).orElse(false);
+        List<CarNames> names = carDAO.findNamesByCategory(name);
+        if (categoryDAO.deleteByName(name) == 0) {
+            return false;
+        }
+
+        eventPublisher.publishEvent(CatalogChangedEvent.builder()
+                .carsWithRemovedLinks(names)
+                .category(name)
+                .build());
+        return true;
     }
 }
@@ -0,0 +1,21 @@
+package com.foxminded.car_rest_service.services;
+
+import com.foxminded.car_rest_service.mapstruct.dto.job.JobDTO;
+
+import java.io.InputStream;
+
+public interface JobService {
+
+    JobDTO getJob(Long id);
+
+    JobDTO submitManufacturerDeletion(String name);
+
+    JobDTO submitCarImport(InputStream csv);
+
+    /**
+     * Cancels the job unless it has finished, work committed by its finished chunks stays.
+     *
+     * @return the job after cancelling, null when it doesn't exist
+     */
+    JobDTO cancelJob(Long id);
+}
@@ -0,0 +1,110 @@
+package com.foxminded.car_rest_service.services;
+
+import com.foxminded.car_rest_service.dao.CarDAO;
+import com.foxminded.car_rest_service.dao.CarImportDAO;
+import com.foxminded.car_rest_service.dao.CatalogJobDAO;
+import com.foxminded.car_rest_service.dao.CatalogJobRow;
+import com.foxminded.car_rest_service.dao.ManufacturerDAO;
+import com.foxminded.car_rest_service.events.JobSubmittedEvent;
+import com.foxminded.car_rest_service.jobs.JobHandler;
+import com.foxminded.car_rest_service.jobs.JobType;
+import com.foxminded.car_rest_service.mapstruct.dto.job.JobDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.InputStream;
+import java.util.List;
+
+@Slf4j
+@Service
+public class JobServiceImp implements JobService {
+
+    @Autowired
+    private CatalogJobDAO catalogJobDAO;
+
+    @Autowired
+    private ManufacturerDAO manufacturerDAO;
+
+    @Autowired
+    private CarDAO carDAO;
+
+    @Autowired
+    private CarImportDAO carImportDAO;
+
+    @Autowired
+    private List<JobHandler> jobHandlers;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Read from the primary, since replicas may lag behind a job that was just submitted.
+     */
+    @Override
+    @Transactional
+    public JobDTO getJob(Long id) {
+        log.info("GetJob started with id: {}", id);
+
+        return catalogJobDAO.findById(id).map(this::toJobDTO).orElse(null);
+    }
+
+    @Override
+    @Transactional
+    public JobDTO submitManufacturerDeletion(String name) {
+        log.info("SubmitManufacturerDeletion started with name: {}", name);
+
+        if (manufacturerDAO.findManufacturerIdsByName(name, PageRequest.of(0, 1)).isEmpty()) {
+            return null;
+        }
+
+        return submit(catalogJobDAO.insert(JobType.DELETE_MANUFACTURERS, name, carDAO.countCarsByManufacturer(name)));
+    }
+
+    @Override
+    @Transactional
+    public JobDTO submitCarImport(InputStream csv) {
+        log.info("SubmitCarImport started");
+
+        long rows = carImportDAO.copyToStaging(csv);
+        long id = catalogJobDAO.insert(JobType.IMPORT_CARS, null, rows);
+        carImportDAO.saveStagingForJob(id);
+
+        return submit(id);
+    }
+
+    @Override
+    @Transactional
+    public JobDTO cancelJob(Long id) {
+        log.info("CancelJob started with id: {}", id);
+
+        return catalogJobDAO.findById(id)
+                .map(job -> {
+                    if (catalogJobDAO.cancel(id)) {
+                        handlerOf(job.getType()).discard(job);
+                    }
+                    return toJobDTO(catalogJobDAO.findById(id).orElseThrow());
+                }).orElse(null);
+    }
+
+    private JobDTO submit(long id) {
+        eventPublisher.publishEvent(new JobSubmittedEvent(id));
+
+        return toJobDTO(catalogJobDAO.findById(id).orElseThrow());
+    }
+
+    private JobHandler handlerOf(JobType type) {
+        return jobHandlers.stream()
+                .filter(handler -> handler.getType() == type)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private JobDTO toJobDTO(CatalogJobRow job) {
+        return new JobDTO(job.getId(), job.getType(), job.getStatus(), job.getSubject(), job.getTotal(),
+                job.getProcessed(), job.getError(), job.getCreatedAt(), job.getStartedAt(), job.getFinishedAt());
+    }
+}
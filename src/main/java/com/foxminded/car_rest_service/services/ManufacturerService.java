@@ -2,17 +2,28 @@ package com.foxminded.car_rest_service.services;
 
 import com.foxminded.car_rest_service.mapstruct.dto.manufacturer.ManufacturerBasicDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.manufacturer.ManufacturerDTO;
+import com.foxminded.car_rest_service.utils.KeysetPage;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 
 public interface ManufacturerService {
     List<String> getAllUniqueManufacturers(Pageable pageable);
 
+    KeysetPage<String> getAllUniqueManufacturers(String cursor, Sort sort, int size);
+
     ManufacturerBasicDTO createManufacturer(ManufacturerBasicDTO manufacturerBasicDTO);
 
     boolean deleteAllManufacturerByName(String name);
 
+    /**
+     * Deletes up to {@code limit} cars of the manufacturers with the name, in id order after {@code afterId}.
+     *
+     * @return ids of the deleted cars
+     */
+    List<Long> deleteManufacturerCars(String name, Long afterId, int limit);
+
     boolean deleteManufacturerByNameAndYear(String name, Integer year);
 
     ManufacturerBasicDTO updateManufacturer(Long id, ManufacturerBasicDTO ManufacturerBasicDTO);
@@ -1,34 +1,53 @@
 package com.foxminded.car_rest_service.services;
 
+import com.foxminded.car_rest_service.dao.CarDAO;
+import com.foxminded.car_rest_service.dao.CarNames;
 import com.foxminded.car_rest_service.dao.ManufacturerDAO;
 import com.foxminded.car_rest_service.entities.Manufacturer;
+import com.foxminded.car_rest_service.events.CatalogChangedEvent;
 import com.foxminded.car_rest_service.exceptions.DataAlreadyExistException;
 import com.foxminded.car_rest_service.mapstruct.dto.manufacturer.ManufacturerBasicDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.manufacturer.ManufacturerDTO;
 import com.foxminded.car_rest_service.mapstruct.mapper.ManufacturerMapper;
+import com.foxminded.car_rest_service.utils.KeysetCursor;
+import com.foxminded.car_rest_service.utils.KeysetPage;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 import java.util.stream.Collectors;
 
+import static com.foxminded.car_rest_service.cache.CacheConfig.MANUFACTURERS_BY_NAME;
+import static com.foxminded.car_rest_service.utils.IdPagination.inIdOrder;
+import static com.foxminded.car_rest_service.utils.IdPagination.withIdOrder;
 import static java.lang.String.format;
 
 @Slf4j
 @Service
 public class ManufacturerServiceImp implements ManufacturerService {
 
+    private static final List<String> CURSOR_SORT_KEYS = List.of("manufacturer");
+
     @Autowired
     private ManufacturerDAO manufacturerDAO;
 
+    @Autowired
+    private CarDAO carDAO;
+
     @Autowired
     private ManufacturerMapper mapper;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     @Transactional(readOnly = true)
     public List<String> getAllUniqueManufacturers(Pageable pageable) {
@@ -39,10 +58,30 @@ public class ManufacturerServiceImp implements ManufacturerService {
 
     @Override
     @Transactional(readOnly = true)
+    public KeysetPage<String> getAllUniqueManufacturers(String cursor, Sort sort, int size) {
+        log.info("GetAllUniqueManufacturers started with cursor: {}", cursor);
+
+        KeysetCursor keyset = KeysetCursor.of(cursor, sort, CURSOR_SORT_KEYS);
+
+        List<String> manufacturers =
+                manufacturerDAO.findUniqueManufacturersAfter(keyset.valueOr(""), PageRequest.of(0, size + 1));
+
+        return KeysetPage.of(manufacturers, size, last -> KeysetCursor.encode(keyset.getSortKey(), last, 0L));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = MANUFACTURERS_BY_NAME, key = "{#name, #pageable}", unless = "#result.isEmpty()")
     public List<ManufacturerDTO> getAllManufacturersByName(String name, Pageable pageable) {
         log.info("GetAllManufacturersByName started with name: {}", name);
 
-        List<Manufacturer> manufacturers = manufacturerDAO.findAllManufacturersWithCarsByName(name, pageable);
+        List<Long> ids = manufacturerDAO.findManufacturerIdsByName(name, withIdOrder(pageable));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        List<Manufacturer> manufacturers =
+                inIdOrder(ids, manufacturerDAO.findManufacturersWithCarsByIds(ids), Manufacturer::getId);
 
         return manufacturers.stream()
                 .map(manufacturer -> mapper.manufacturerToManufacturerDTO(manufacturer))
@@ -50,22 +89,26 @@ public class ManufacturerServiceImp implements ManufacturerService {
     }
 
     @Override
+    @Transactional
     public ManufacturerBasicDTO createManufacturer(ManufacturerBasicDTO manufacturerBasicDTO) {
         log.info("CreateManufacturer started");
 
-        Optional<Manufacturer> optionalManufacturer =
-                manufacturerDAO.findByNameAndYear(manufacturerBasicDTO.getManufacturer(), manufacturerBasicDTO.getYear());
+        Optional<Long> inserted =
+                manufacturerDAO.insertIfAbsent(manufacturerBasicDTO.getManufacturer(), manufacturerBasicDTO.getYear());
 
-        if (optionalManufacturer.isPresent()) {
+        if (inserted.isEmpty()) {
             return null;
         }
 
-        Manufacturer manufacturer = mapper.manufacturerBasicDTOToManufacturer(manufacturerBasicDTO);
+        eventPublisher.publishEvent(CatalogChangedEvent.builder()
+                .manufacturer(manufacturerBasicDTO.getManufacturer())
+                .build());
 
-        return mapper.manufacturerToManufacturerBasicDTO(manufacturerDAO.save(manufacturer));
+        return new ManufacturerBasicDTO(inserted.get(), manufacturerBasicDTO.getManufacturer(), manufacturerBasicDTO.getYear());
     }
 
     @Override
+    @Transactional
     public ManufacturerBasicDTO updateManufacturer(Long id, ManufacturerBasicDTO manufacturerBasicDTO) {
         log.info("UpdateManufacturer started with id: {}, manufacturerBasicDTO: {}", id, manufacturerBasicDTO);
 
@@ -75,6 +118,12 @@ public class ManufacturerServiceImp implements ManufacturerService {
 
         return manufacturerDAO.findById(id)
                 .map(m -> {
+                    eventPublisher.publishEvent(CatalogChangedEvent.builder()
+                            .cars(carDAO.findNamesByManufacturerIds(List.of(id)))
+                            .manufacturer(m.getManufacturer())
+                            .manufacturer(manufacturerBasicDTO.getManufacturer())
+                            .build());
+
                     m.setYear(manufacturerBasicDTO.getYear());
                     m.setManufacturer(manufacturerBasicDTO.getManufacturer());
                     return mapper.manufacturerToManufacturerBasicDTO(manufacturerDAO.save(m));
@@ -82,28 +131,55 @@ public class ManufacturerServiceImp implements ManufacturerService {
     }
 
     @Override
+    @Transactional
     public boolean deleteAllManufacturerByName(String name) {
         log.info("DeleteManufacturer started with name: {}", name);
 
-        Set<Manufacturer> manufacturers = manufacturerDAO.findAllByName(name);
-
-        if (manufacturers.isEmpty()) {
+        List<CarNames> names = carDAO.findNamesByManufacturer(name);
+        if (manufacturerDAO.deleteByName(name) == 0) {
             return false;
         }
 
-        manufacturerDAO.deleteAll(manufacturers);
-
+        eventPublisher.publishEvent(CatalogChangedEvent.builder()
+                .carsWithRemovedLinks(names)
+                .manufacturer(name)
+                .build());
         return true;
     }
 
     @Override
+    @Transactional
+    public List<Long> deleteManufacturerCars(String name, Long afterId, int limit) {
+        log.info("DeleteManufacturerCars started with name: {}, afterId: {}, limit: {}", name, afterId, limit);
+
+        List<Long> ids = carDAO.findCarIdsByManufacturerAfterId(name, afterId, PageRequest.of(0, limit));
+        if (ids.isEmpty()) {
+            return ids;
+        }
+
+        List<CarNames> names = carDAO.findNamesByCarIds(ids);
+        carDAO.deleteAllByIdInBatch(ids);
+
+        eventPublisher.publishEvent(CatalogChangedEvent.builder()
+                .carsWithRemovedLinks(names)
+                .build());
+        return ids;
+    }
+
+    @Override
+    @Transactional
     public boolean deleteManufacturerByNameAndYear(String name, Integer year) {
         log.info("DeleteManufacturerByNameAndYear started with name: {}, year: {}", name, year);
 
-        return manufacturerDAO.findByNameAndYearWithCars(name, year)
-                .map(manufacturer -> {
-                    manufacturerDAO.delete(manufacturer);
-                    return true;
-                }).orElse(false);
+        List<CarNames> names = carDAO.findNamesByManufacturerAndYear(name, year);
+        if (manufacturerDAO.deleteByNameAndYear(name, year) == 0) {
+            return false;
+        }
+
+        eventPublisher.publishEvent(CatalogChangedEvent.builder()
+                .carsWithRemovedLinks(names)
+                .manufacturer(name)
+                .build());
+        return true;
     }
 }
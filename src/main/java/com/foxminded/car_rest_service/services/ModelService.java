@@ -2,13 +2,17 @@ package com.foxminded.car_rest_service.services;
 
 import com.foxminded.car_rest_service.mapstruct.dto.model.ModelBasicDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.model.ModelDTO;
+import com.foxminded.car_rest_service.utils.KeysetPage;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 
 public interface ModelService {
     List<ModelBasicDTO> getAllModels(Pageable pageable);
 
+    KeysetPage<ModelBasicDTO> getAllModels(String cursor, Sort sort, int size);
+
     ModelDTO getModelWithCarsByName(String name);
 
     ModelBasicDTO createModel(ModelBasicDTO modelBasicDTO);
@@ -1,20 +1,30 @@
 package com.foxminded.car_rest_service.services;
 
+import com.foxminded.car_rest_service.dao.CarDAO;
+import com.foxminded.car_rest_service.dao.CarNames;
 import com.foxminded.car_rest_service.dao.ModelDAO;
 import com.foxminded.car_rest_service.entities.Model;
+import com.foxminded.car_rest_service.events.CatalogChangedEvent;
 import com.foxminded.car_rest_service.exceptions.DataAlreadyExistException;
 import com.foxminded.car_rest_service.mapstruct.dto.model.ModelBasicDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.model.ModelDTO;
 import com.foxminded.car_rest_service.mapstruct.mapper.ModelMapper;
+import com.foxminded.car_rest_service.utils.KeysetCursor;
+import com.foxminded.car_rest_service.utils.KeysetPage;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
+import static com.foxminded.car_rest_service.cache.CacheConfig.MODEL_WITH_CARS;
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
 
@@ -22,12 +32,22 @@ import static java.util.stream.Collectors.toList;
 @Service
 public class ModelServiceImp implements ModelService {
 
+    private static final String SORT_BY_NAME = "model";
+
+    private static final List<String> CURSOR_SORT_KEYS = List.of("id", SORT_BY_NAME);
+
     @Autowired
     private ModelDAO modelDAO;
 
+    @Autowired
+    private CarDAO carDAO;
+
     @Autowired
     private ModelMapper mapper;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     @Transactional(readOnly = true)
     public List<ModelBasicDTO> getAllModels(Pageable pageable) {
@@ -42,6 +62,28 @@ public class ModelServiceImp implements ModelService {
 
     @Override
     @Transactional(readOnly = true)
+    public KeysetPage<ModelBasicDTO> getAllModels(String cursor, Sort sort, int size) {
+        log.info("GetAllModels started with cursor: {}", cursor);
+
+        KeysetCursor keyset = KeysetCursor.of(cursor, sort, CURSOR_SORT_KEYS);
+        PageRequest limit = PageRequest.of(0, size + 1);
+
+        boolean byName = SORT_BY_NAME.equals(keyset.getSortKey());
+        List<Model> models = byName
+                ? modelDAO.findAllAfterName(keyset.valueOr(""), keyset.idOr(0L), limit)
+                : modelDAO.findAllAfterId(keyset.idOr(0L), limit);
+
+        List<ModelBasicDTO> modelDTOs = models.stream()
+                .map(model -> mapper.modelToModelBasicDTO(model))
+                .collect(toList());
+
+        return KeysetPage.of(modelDTOs, size, last -> KeysetCursor.encode(keyset.getSortKey(),
+                byName ? last.getModel() : last.getId(), last.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = MODEL_WITH_CARS, unless = "#result == null")
     public ModelDTO getModelWithCarsByName(String name) {
         log.info("GetModelWithCarsByName started with name: {}", name);
 
@@ -54,18 +96,22 @@ public class ModelServiceImp implements ModelService {
     }
 
     @Override
+    @Transactional
     public ModelBasicDTO createModel(ModelBasicDTO modelBasicDTO) {
         log.info("CreateModel started with input: {}", modelBasicDTO);
-        Optional<Model> optional = modelDAO.findByName(modelBasicDTO.getModel());
+        Optional<Long> inserted = modelDAO.insertIfAbsent(modelBasicDTO.getModel());
 
-        if (optional.isPresent()) {
+        if (inserted.isEmpty()) {
             return null;
-
         }
-        return mapper.modelToModelBasicDTO(modelDAO.save(mapper.modelBasicDTOToModel(modelBasicDTO)));
+
+        eventPublisher.publishEvent(CatalogChangedEvent.builder().model(modelBasicDTO.getModel()).build());
+
+        return new ModelBasicDTO(inserted.get(), modelBasicDTO.getModel());
     }
 
     @Override
+    @Transactional
     public ModelBasicDTO updateModel(Long id, ModelBasicDTO modelBasicDTO) {
         log.info("UpdateModel started with id: {}, model: {}", id, modelBasicDTO);
 
@@ -73,19 +119,31 @@ public class ModelServiceImp implements ModelService {
             throw new DataAlreadyExistException(format("Model with name(%s) already exists", modelBasicDTO.getModel()));
         });
         return modelDAO.findById(id).map(m -> {
+            eventPublisher.publishEvent(CatalogChangedEvent.builder()
+                    .cars(carDAO.findNamesByModelId(id))
+                    .model(m.getModel())
+                    .model(modelBasicDTO.getModel())
+                    .build());
+
             m.setModel(modelBasicDTO.getModel());
             return mapper.modelToModelBasicDTO(modelDAO.save(m));
         }).orElse(null);
     }
 
     @Override
+    @Transactional
     public boolean deleteModelByName(String name) {
         log.info("DeleteModelByName started with name: {}", name);
 
-        return modelDAO.findModelWithCarsByName(name)
-                .map(m -> {
-                    modelDAO.delete(m);
-                    return true;
-                }).orElse(false);
+        List<CarNames> names = carDAO.findNamesByModel(name);
+        if (modelDAO.deleteByName(name) == 0) {
+            return false;
+        }
+
+        eventPublisher.publishEvent(CatalogChangedEvent.builder()
+                .carsWithRemovedLinks(names)
+                .model(name)
+                .build());
+        return true;
     }
 }
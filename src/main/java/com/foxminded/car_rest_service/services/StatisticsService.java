@@ -0,0 +1,17 @@
+package com.foxminded.car_rest_service.services;
+
+import com.foxminded.car_rest_service.mapstruct.dto.statistics.CategoryStatisticsDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.statistics.ManufacturerYearStatisticsDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.statistics.StatisticsDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.statistics.YearStatisticsDTO;
+
+public interface StatisticsService {
+
+    StatisticsDTO<ManufacturerYearStatisticsDTO> getCarsPerManufacturerYear();
+
+    StatisticsDTO<CategoryStatisticsDTO> getModelsPerCategory();
+
+    StatisticsDTO<YearStatisticsDTO> getCarsPerYear();
+
+    boolean refresh();
+}
@@ -0,0 +1,70 @@
+package com.foxminded.car_rest_service.services;
+
+import com.foxminded.car_rest_service.dao.CatalogStatisticsDAO;
+import com.foxminded.car_rest_service.mapstruct.dto.statistics.CategoryStatisticsDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.statistics.ManufacturerYearStatisticsDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.statistics.StatisticsDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.statistics.YearStatisticsDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@Slf4j
+@Service
+public class StatisticsServiceImp implements StatisticsService {
+
+    @Autowired
+    private CatalogStatisticsDAO statisticsDAO;
+
+    @Override
+    @Transactional(readOnly = true)
+    public StatisticsDTO<ManufacturerYearStatisticsDTO> getCarsPerManufacturerYear() {
+        log.info("GetCarsPerManufacturerYear started");
+
+        return withAge(statisticsDAO.findCarsPerManufacturerYear());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StatisticsDTO<CategoryStatisticsDTO> getModelsPerCategory() {
+        log.info("GetModelsPerCategory started");
+
+        return withAge(statisticsDAO.findModelsPerCategory());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StatisticsDTO<YearStatisticsDTO> getCarsPerYear() {
+        log.info("GetCarsPerYear started");
+
+        return withAge(statisticsDAO.findCarsPerYear());
+    }
+
+    @Override
+    @Transactional
+    public boolean refresh() {
+        log.info("Refresh started");
+
+        long started = System.nanoTime();
+        boolean refreshed = statisticsDAO.refresh();
+        if (refreshed) {
+            log.info("Statistics refreshed in {} ms", Duration.ofNanos(System.nanoTime() - started).toMillis());
+        } else {
+            log.info("Statistics are being refreshed by another transaction");
+        }
+
+        return refreshed;
+    }
+
+    private <T> StatisticsDTO<T> withAge(List<T> rows) {
+        Instant refreshedAt = statisticsDAO.findRefreshedAt();
+        long age = Math.max(0, Duration.between(refreshedAt, Instant.now()).toSeconds());
+
+        return new StatisticsDTO<>(refreshedAt, age, rows);
+    }
+}
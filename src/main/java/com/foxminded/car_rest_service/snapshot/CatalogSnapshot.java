@@ -0,0 +1,837 @@
+package com.foxminded.car_rest_service.snapshot;
+
+import com.foxminded.car_rest_service.dao.CarRow;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.category.CategoryBasicDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.manufacturer.ManufacturerBasicDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.model.ModelBasicDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntPredicate;
+
+/**
+ * Immutable column-oriented copy of the car catalog. Cars are stored in ascending id order as primitive
+ * columns pointing into dictionaries of manufacturers, models and categories, and the categories of a car
+ * are a bitset over the category dictionary. A car's position in the columns is its rank by id, so any
+ * ascending array of positions is already in id order.
+ */
+public final class CatalogSnapshot {
+
+    private static final int[] NO_POSITIONS = new int[0];
+
+    private static final double SAME_MANUFACTURER_WEIGHT = 0.5;
+
+    private static final double YEAR_WEIGHT = 0.5;
+
+    private static final int YEAR_SPAN = 10;
+
+    /**
+     * Candidates a similarity task scores itself instead of splitting further.
+     */
+    private static final int SIMILARITY_BATCH = 8192;
+
+    private final long[] carIds;
+
+    private final int[] carManufacturers;
+
+    private final int[] carModels;
+
+    private final int[] carYears;
+
+    private final int wordsPerCar;
+
+    private final long[] carCategories;
+
+    private final long[] manufacturerIds;
+
+    private final int[] manufacturerNames;
+
+    private final int[] manufacturerYears;
+
+    private final String[] manufacturerNameDictionary;
+
+    private final long[] modelIds;
+
+    private final String[] modelNames;
+
+    private final long[] categoryIds;
+
+    private final String[] categoryNames;
+
+    /**
+     * Positions of the cars having at least one category, the only ones the list endpoints return.
+     */
+    private final int[] withCategories;
+
+    private final Map<String, ManufacturerIndex> byManufacturer;
+
+    /**
+     * Takes the dictionaries from the builder and the car columns as given. Without a previous snapshot every
+     * manufacturer index is built. With one, only the touched manufacturer names are indexed again and the
+     * other indexes are carried over through {@code moved}, the new position of every previous car or -1.
+     */
+    private CatalogSnapshot(Builder dictionaries, long[] carIds, int[] carManufacturers, int[] carModels,
+                            long[] carCategories, CatalogSnapshot previous, int[] moved, boolean[] touchedNames) {
+        this.carIds = carIds;
+        this.carManufacturers = carManufacturers;
+        this.carModels = carModels;
+        this.carCategories = carCategories;
+
+        manufacturerIds = dictionaries.manufacturers.ids();
+        manufacturerNames = Arrays.copyOf(dictionaries.manufacturerNames, dictionaries.manufacturers.size);
+        manufacturerYears = Arrays.copyOf(dictionaries.manufacturerYears, dictionaries.manufacturers.size);
+        manufacturerNameDictionary = dictionaries.manufacturerNameDictionary.toArray(String[]::new);
+        modelIds = dictionaries.models.ids();
+        modelNames = dictionaries.models.names();
+        categoryIds = dictionaries.categories.ids();
+        categoryNames = dictionaries.categories.names();
+        wordsPerCar = wordsPerCar(categoryIds.length);
+
+        int cars = carIds.length;
+        carYears = new int[cars];
+        int[] positions = new int[cars];
+        int withCategoriesCount = 0;
+        for (int position = 0; position < cars; position++) {
+            carYears[position] = manufacturerYears[carManufacturers[position]];
+            if (hasCategories(position)) {
+                positions[withCategoriesCount++] = position;
+            }
+        }
+        withCategories = Arrays.copyOf(positions, withCategoriesCount);
+        byManufacturer = previous == null
+                ? indexByManufacturer(null)
+                : reindexByManufacturer(previous, moved, touchedNames);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static CatalogSnapshot empty() {
+        return builder().build();
+    }
+
+    public int size() {
+        return carIds.length;
+    }
+
+    public List<CarDTO> findAll(SnapshotOrder order, long offset, int limit) {
+        return order == SnapshotOrder.ID_DESC
+                ? toCarDTOsDescending(withCategories, 0, withCategories.length, offset, limit)
+                : toCarDTOs(withCategories, 0, withCategories.length, offset, limit);
+    }
+
+    public List<CarDTO> findByManufacturer(String manufacturer, SnapshotOrder order, long offset, int limit) {
+        ManufacturerIndex index = byManufacturer.get(manufacturer);
+        if (index == null) {
+            return List.of();
+        }
+
+        switch (order) {
+            case YEAR_ASC:
+                return toCarDTOs(index.byYear, 0, index.byYear.length, offset, limit);
+            case ID_DESC:
+                return toCarDTOsDescending(index.byId, 0, index.byId.length, offset, limit);
+            default:
+                return toCarDTOs(index.byId, 0, index.byId.length, offset, limit);
+        }
+    }
+
+    public List<CarDTO> findByManufacturerAndMinYear(String manufacturer, int minYear, SnapshotOrder order,
+                                                     long offset, int limit) {
+        ManufacturerIndex index = byManufacturer.get(manufacturer);
+        if (index == null) {
+            return List.of();
+        }
+
+        int from = lowerBound(index.years, minYear);
+        if (order == SnapshotOrder.YEAR_ASC) {
+            return toCarDTOs(index.byYear, from, index.byYear.length, offset, limit);
+        }
+
+        int[] positions = from == 0 ? index.byId : Arrays.copyOfRange(index.byYear, from, index.byYear.length);
+        if (from > 0) {
+            Arrays.sort(positions);
+        }
+
+        return order == SnapshotOrder.ID_DESC
+                ? toCarDTOsDescending(positions, 0, positions.length, offset, limit)
+                : toCarDTOs(positions, 0, positions.length, offset, limit);
+    }
+
+    /**
+     * Up to {@code limit} cars most similar to the given one, best first, or nothing when the car isn't known.
+     * Candidates are scored in parallel on the common fork-join pool, each task keeping its own bounded heap.
+     */
+    public List<CarDTO> findSimilar(long carId, int limit) {
+        int target = Arrays.binarySearch(carIds, carId);
+        if (target < 0) {
+            return List.of();
+        }
+
+        TopCars top = ForkJoinPool.commonPool().invoke(new SimilarityTask(target, limit, 0, withCategories.length));
+
+        int[] positions = top.positionsBestFirst();
+        List<CarDTO> cars = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            cars.add(toCarDTO(position));
+        }
+        return cars;
+    }
+
+    /**
+     * Jaccard similarity of the category sets, plus a bonus for the same manufacturer name and one fading
+     * out over {@link #YEAR_SPAN} years of difference.
+     */
+    private double similarity(int target, int candidate) {
+        int targetOffset = target * wordsPerCar;
+        int candidateOffset = candidate * wordsPerCar;
+        int common = 0;
+        int all = 0;
+        for (int word = 0; word < wordsPerCar; word++) {
+            long a = carCategories[targetOffset + word];
+            long b = carCategories[candidateOffset + word];
+            common += Long.bitCount(a & b);
+            all += Long.bitCount(a | b);
+        }
+
+        double score = all == 0 ? 0 : (double) common / all;
+        if (manufacturerNames[carManufacturers[target]] == manufacturerNames[carManufacturers[candidate]]) {
+            score += SAME_MANUFACTURER_WEIGHT;
+        }
+        int years = Math.abs(carYears[target] - carYears[candidate]);
+        if (years < YEAR_SPAN) {
+            score += YEAR_WEIGHT * (YEAR_SPAN - years) / YEAR_SPAN;
+        }
+        return score;
+    }
+
+    /**
+     * A new snapshot where the given cars, and every car that had one of the given names here, are replaced
+     * by the fresh rows. Cars in the rows override their old state, matching cars missing from the rows are
+     * dropped as deleted.
+     *
+     * @param rows current rows of the given cars and of the cars matching the names, ordered by car id
+     */
+    public CatalogSnapshot patch(Set<Long> cars, Set<String> manufacturers, Set<String> models,
+                                 Set<String> categories, List<CarRow> rows) {
+        long[] changed = cars.stream().mapToLong(Long::longValue).sorted().toArray();
+        IntPredicate changedCar = position -> Arrays.binarySearch(changed, carIds[position]) >= 0;
+        if (manufacturers.isEmpty() && models.isEmpty() && categories.isEmpty()) {
+            return merge(rows, changedCar);
+        }
+
+        boolean[] touchedManufacturers = touched(manufacturerNameDictionary, manufacturers);
+        boolean[] touchedModels = touched(modelNames, models);
+        boolean[] touchedCategories = touched(categoryNames, categories);
+
+        return merge(rows, changedCar.or(position ->
+                touchedManufacturers[manufacturerNames[carManufacturers[position]]]
+                        || touchedModels[carModels[position]]
+                        || hasAny(position, touchedCategories)));
+    }
+
+    /**
+     * Merges the rows into the cars kept from this snapshot in one pass. A car in the rows overrides its old
+     * state, a stale car missing from the rows is dropped. Only the rows are encoded, into dictionaries that
+     * start as copies of these, so kept cars are copied column by column with their codes as they are. Only
+     * the manufacturer names whose cars were replaced, dropped, added or renamed get their index sorted again.
+     */
+    private CatalogSnapshot merge(List<CarRow> rows, IntPredicate stale) {
+        Builder fresh = new Builder(this);
+        rows.forEach(fresh::add);
+
+        boolean[] touchedNames = new boolean[fresh.manufacturerNameDictionary.size()];
+        fresh.changedNames.forEach(name -> touchedNames[name] = true);
+        for (int row = 0; row < fresh.cars; row++) {
+            touchedNames[fresh.manufacturerNames[fresh.carManufacturers[row]]] = true;
+        }
+
+        int[] moved = new int[carIds.length];
+        int[] placed = new int[fresh.cars];
+        int size = 0;
+        int row = 0;
+        for (int position = 0; position < carIds.length; position++) {
+            long carId = carIds[position];
+            while (row < fresh.cars && fresh.carIds[row] < carId) {
+                placed[row++] = size++;
+            }
+
+            if (row < fresh.cars && fresh.carIds[row] == carId || stale.test(position)) {
+                moved[position] = -1;
+                touchedNames[manufacturerNames[carManufacturers[position]]] = true;
+            } else {
+                moved[position] = size++;
+            }
+        }
+        while (row < fresh.cars) {
+            placed[row++] = size++;
+        }
+
+        int words = wordsPerCar(fresh.categories.size);
+        long[] ids = new long[size];
+        int[] manufacturers = new int[size];
+        int[] models = new int[size];
+        long[] categories = new long[size * words];
+        for (int position = 0; position < carIds.length; position++) {
+            int target = moved[position];
+            if (target >= 0) {
+                ids[target] = carIds[position];
+                manufacturers[target] = carManufacturers[position];
+                models[target] = carModels[position];
+                System.arraycopy(carCategories, position * wordsPerCar, categories, target * words, wordsPerCar);
+            }
+        }
+        long[] freshCategories = fresh.categoryWords(words);
+        for (row = 0; row < fresh.cars; row++) {
+            int target = placed[row];
+            ids[target] = fresh.carIds[row];
+            manufacturers[target] = fresh.carManufacturers[row];
+            models[target] = fresh.carModels[row];
+            System.arraycopy(freshCategories, row * words, categories, target * words, words);
+        }
+
+        return new CatalogSnapshot(fresh, ids, manufacturers, models, categories, this, moved, touchedNames);
+    }
+
+    /**
+     * Manufacturer indexes of this snapshot built from a previous one. Names the merge touched are indexed
+     * again, the others keep their cars and order, so their positions are only moved.
+     */
+    private Map<String, ManufacturerIndex> reindexByManufacturer(CatalogSnapshot previous, int[] moved,
+                                                                 boolean[] touchedNames) {
+        Map<String, ManufacturerIndex> index = indexByManufacturer(touchedNames);
+        for (int name = 0; name < previous.manufacturerNameDictionary.length; name++) {
+            ManufacturerIndex kept = previous.byManufacturer.get(previous.manufacturerNameDictionary[name]);
+            if (!touchedNames[name] && kept != null) {
+                index.put(manufacturerNameDictionary[name], kept.moved(moved));
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Builds the indexes of the given manufacturer names, or of all of them when {@code only} is null.
+     */
+    private Map<String, ManufacturerIndex> indexByManufacturer(boolean[] only) {
+        int[] counts = new int[manufacturerNameDictionary.length];
+        for (int position : withCategories) {
+            int name = manufacturerNames[carManufacturers[position]];
+            if (only == null || only[name]) {
+                counts[name]++;
+            }
+        }
+
+        int[][] byId = new int[counts.length][];
+        for (int name = 0; name < counts.length; name++) {
+            byId[name] = counts[name] == 0 ? NO_POSITIONS : new int[counts[name]];
+        }
+        int[] filled = new int[counts.length];
+        for (int position : withCategories) {
+            int name = manufacturerNames[carManufacturers[position]];
+            if (only == null || only[name]) {
+                byId[name][filled[name]++] = position;
+            }
+        }
+
+        Map<String, ManufacturerIndex> index = new HashMap<>();
+        for (int name = 0; name < counts.length; name++) {
+            if (counts[name] > 0) {
+                index.put(manufacturerNameDictionary[name], new ManufacturerIndex(byId[name], carYears));
+            }
+        }
+        return index;
+    }
+
+    private boolean hasCategories(int position) {
+        int offset = position * wordsPerCar;
+        for (int word = 0; word < wordsPerCar; word++) {
+            if (carCategories[offset + word] != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasAny(int position, boolean[] touchedCategories) {
+        int offset = position * wordsPerCar;
+        for (int word = 0; word < wordsPerCar; word++) {
+            long bits = carCategories[offset + word];
+            while (bits != 0) {
+                if (touchedCategories[word * Long.SIZE + Long.numberOfTrailingZeros(bits)]) {
+                    return true;
+                }
+                bits &= bits - 1;
+            }
+        }
+        return false;
+    }
+
+    private List<CarDTO> toCarDTOs(int[] positions, int from, int to, long offset, int limit) {
+        if (offset >= to - from) {
+            return List.of();
+        }
+
+        int start = from + (int) offset;
+        int end = (int) Math.min(to, (long) start + limit);
+        List<CarDTO> cars = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            cars.add(toCarDTO(positions[i]));
+        }
+        return cars;
+    }
+
+    private List<CarDTO> toCarDTOsDescending(int[] positions, int from, int to, long offset, int limit) {
+        if (offset >= to - from) {
+            return List.of();
+        }
+
+        int start = to - 1 - (int) offset;
+        int end = (int) Math.max(from - 1L, (long) start - limit);
+        List<CarDTO> cars = new ArrayList<>(start - end);
+        for (int i = start; i > end; i--) {
+            cars.add(toCarDTO(positions[i]));
+        }
+        return cars;
+    }
+
+    private CarDTO toCarDTO(int position) {
+        int manufacturer = carManufacturers[position];
+        int model = carModels[position];
+
+        Set<CategoryBasicDTO> categories = new HashSet<>();
+        int offset = position * wordsPerCar;
+        for (int word = 0; word < wordsPerCar; word++) {
+            long bits = carCategories[offset + word];
+            while (bits != 0) {
+                int category = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                categories.add(new CategoryBasicDTO(categoryIds[category], categoryNames[category]));
+                bits &= bits - 1;
+            }
+        }
+
+        return new CarDTO(carIds[position],
+                new ModelBasicDTO(modelIds[model], modelNames[model]),
+                new ManufacturerBasicDTO(manufacturerIds[manufacturer],
+                        manufacturerNameDictionary[manufacturerNames[manufacturer]], manufacturerYears[manufacturer]),
+                categories);
+    }
+
+    private static int wordsPerCar(int categories) {
+        return (categories + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    private static boolean[] touched(String[] dictionary, Set<String> names) {
+        boolean[] touched = new boolean[dictionary.length];
+        for (int i = 0; i < dictionary.length; i++) {
+            touched[i] = names.contains(dictionary[i]);
+        }
+        return touched;
+    }
+
+    /**
+     * First index whose value is not less than the key, or the array length.
+     */
+    private static int lowerBound(int[] sorted, int key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Positions of one manufacturer name's cars, in id order and in (year, id) order with the years alongside.
+     */
+    private static final class ManufacturerIndex {
+
+        private final int[] byId;
+
+        private final int[] byYear;
+
+        private final int[] years;
+
+        private ManufacturerIndex(int[] byId, int[] carYears) {
+            long[] keys = new long[byId.length];
+            for (int i = 0; i < byId.length; i++) {
+                keys[i] = ((long) carYears[byId[i]] << Integer.SIZE) | byId[i];
+            }
+            Arrays.sort(keys);
+
+            this.byId = byId;
+            this.byYear = new int[keys.length];
+            this.years = new int[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                byYear[i] = (int) keys[i];
+                years[i] = (int) (keys[i] >> Integer.SIZE);
+            }
+        }
+
+        private ManufacturerIndex(int[] byId, int[] byYear, int[] years) {
+            this.byId = byId;
+            this.byYear = byYear;
+            this.years = years;
+        }
+
+        /**
+         * The same cars at their new positions. Positions only move in id order, so both orders still hold.
+         */
+        private ManufacturerIndex moved(int[] moved) {
+            int[] movedById = new int[byId.length];
+            int[] movedByYear = new int[byYear.length];
+            for (int i = 0; i < byId.length; i++) {
+                movedById[i] = moved[byId[i]];
+                movedByYear[i] = moved[byYear[i]];
+            }
+            return new ManufacturerIndex(movedById, movedByYear, years);
+        }
+    }
+
+    /**
+     * Scores a range of {@link #withCategories}, splitting it in halves down to {@link #SIMILARITY_BATCH}.
+     */
+    private final class SimilarityTask extends RecursiveTask<TopCars> {
+
+        private final int target;
+
+        private final int limit;
+
+        private final int from;
+
+        private final int to;
+
+        private SimilarityTask(int target, int limit, int from, int to) {
+            this.target = target;
+            this.limit = limit;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TopCars compute() {
+            if (to - from <= SIMILARITY_BATCH) {
+                TopCars top = new TopCars(limit);
+                for (int i = from; i < to; i++) {
+                    int candidate = withCategories[i];
+                    if (candidate != target) {
+                        top.offer(candidate, similarity(target, candidate));
+                    }
+                }
+                return top;
+            }
+
+            int middle = (from + to) >>> 1;
+            SimilarityTask left = new SimilarityTask(target, limit, from, middle);
+            left.fork();
+            TopCars top = new SimilarityTask(target, limit, middle, to).compute();
+            top.offerAll(left.join());
+            return top;
+        }
+    }
+
+    /**
+     * Bounded min-heap of the best scored positions, the worst kept one on top. Equal scores prefer
+     * the lower position, so results are stable between requests.
+     */
+    private static final class TopCars {
+
+        private final int[] positions;
+
+        private final double[] scores;
+
+        private int size;
+
+        private TopCars(int limit) {
+            positions = new int[limit];
+            scores = new double[limit];
+        }
+
+        private void offer(int position, double score) {
+            if (size < positions.length) {
+                positions[size] = position;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (size > 0 && isBetter(position, score, 0)) {
+                positions[0] = position;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        private void offerAll(TopCars other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.positions[i], other.scores[i]);
+            }
+        }
+
+        private int[] positionsBestFirst() {
+            int[] best = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                best[i] = positions[0];
+                size--;
+                positions[0] = positions[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+            return best;
+        }
+
+        private boolean isBetter(int position, double score, int slot) {
+            return score > scores[slot] || score == scores[slot] && position < positions[slot];
+        }
+
+        private void siftUp(int slot) {
+            while (slot > 0) {
+                int parent = (slot - 1) >>> 1;
+                if (!isBetter(positions[parent], scores[parent], slot)) {
+                    return;
+                }
+                swap(slot, parent);
+                slot = parent;
+            }
+        }
+
+        private void siftDown(int slot) {
+            while (true) {
+                int worst = slot;
+                for (int child = 2 * slot + 1; child <= 2 * slot + 2 && child < size; child++) {
+                    if (isBetter(positions[worst], scores[worst], child)) {
+                        worst = child;
+                    }
+                }
+                if (worst == slot) {
+                    return;
+                }
+                swap(slot, worst);
+                slot = worst;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int position = positions[a];
+            positions[a] = positions[b];
+            positions[b] = position;
+            double score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+
+    /**
+     * Collects cars in ascending id order and encodes them into columns. Rows of one car must be consecutive.
+     */
+    public static final class Builder {
+
+        private final Dictionary manufacturers;
+
+        private final Dictionary models;
+
+        private final Dictionary categories;
+
+        private final Map<String, Integer> manufacturerNameCodes = new HashMap<>();
+
+        private final List<String> manufacturerNameDictionary;
+
+        private int[] manufacturerNames;
+
+        private int[] manufacturerYears;
+
+        /**
+         * Name codes whose manufacturer an added row renamed or moved to another year.
+         */
+        private final Set<Integer> changedNames = new HashSet<>();
+
+        private int cars;
+
+        private long[] carIds = new long[16];
+
+        private int[] carManufacturers = new int[16];
+
+        private int[] carModels = new int[16];
+
+        private int[] categoryOffsets = new int[17];
+
+        private int[] categoryRefs = new int[16];
+
+        private Builder() {
+            manufacturers = new Dictionary();
+            models = new Dictionary();
+            categories = new Dictionary();
+            manufacturerNameDictionary = new ArrayList<>();
+            manufacturerNames = new int[16];
+            manufacturerYears = new int[16];
+        }
+
+        /**
+         * Starts from the dictionaries of the snapshot, so codes already there keep their meaning.
+         */
+        private Builder(CatalogSnapshot source) {
+            String[] names = new String[source.manufacturerIds.length];
+            for (int manufacturer = 0; manufacturer < names.length; manufacturer++) {
+                names[manufacturer] = source.manufacturerNameDictionary[source.manufacturerNames[manufacturer]];
+            }
+            manufacturers = new Dictionary(source.manufacturerIds, names);
+            models = new Dictionary(source.modelIds, source.modelNames);
+            categories = new Dictionary(source.categoryIds, source.categoryNames);
+            manufacturerNameDictionary = new ArrayList<>(Arrays.asList(source.manufacturerNameDictionary));
+            for (int name = 0; name < source.manufacturerNameDictionary.length; name++) {
+                manufacturerNameCodes.put(source.manufacturerNameDictionary[name], name);
+            }
+            manufacturerNames = Arrays.copyOf(source.manufacturerNames, source.manufacturerNames.length + 16);
+            manufacturerYears = Arrays.copyOf(source.manufacturerYears, source.manufacturerYears.length + 16);
+        }
+
+        public Builder add(CarRow row) {
+            if (cars == 0 || carIds[cars - 1] != row.getCarId()) {
+                startCar(row.getCarId(),
+                        manufacturer(row.getManufacturerId(), row.getManufacturer(), row.getYear()),
+                        models.encode(row.getModelId(), row.getModel()));
+            }
+            if (row.getCategoryId() != null) {
+                addCategory(categories.encode(row.getCategoryId(), row.getCategory()));
+            }
+            return this;
+        }
+
+        public CatalogSnapshot build() {
+            return new CatalogSnapshot(this, Arrays.copyOf(carIds, cars), Arrays.copyOf(carManufacturers, cars),
+                    Arrays.copyOf(carModels, cars), categoryWords(wordsPerCar(categories.size)), null, null, null);
+        }
+
+        /**
+         * The categories of the added cars as bitsets of {@code words} words per car.
+         */
+        private long[] categoryWords(int words) {
+            long[] bits = new long[cars * words];
+            for (int car = 0; car < cars; car++) {
+                for (int i = categoryOffsets[car]; i < categoryOffsets[car + 1]; i++) {
+                    int category = categoryRefs[i];
+                    bits[car * words + category / Long.SIZE] |= 1L << (category % Long.SIZE);
+                }
+            }
+            return bits;
+        }
+
+        private void startCar(long carId, int manufacturer, int model) {
+            if (cars > 0 && carIds[cars - 1] >= carId) {
+                throw new IllegalArgumentException("Cars must be added in ascending id order, got: " + carId);
+            }
+            if (cars == carIds.length) {
+                carIds = Arrays.copyOf(carIds, cars * 2);
+                carManufacturers = Arrays.copyOf(carManufacturers, cars * 2);
+                carModels = Arrays.copyOf(carModels, cars * 2);
+                categoryOffsets = Arrays.copyOf(categoryOffsets, cars * 2 + 1);
+            }
+            carIds[cars] = carId;
+            carManufacturers[cars] = manufacturer;
+            carModels[cars] = model;
+            cars++;
+            categoryOffsets[cars] = categoryOffsets[cars - 1];
+        }
+
+        private void addCategory(int category) {
+            int size = categoryOffsets[cars];
+            if (size == categoryRefs.length) {
+                categoryRefs = Arrays.copyOf(categoryRefs, size * 2);
+            }
+            categoryRefs[size] = category;
+            categoryOffsets[cars]++;
+        }
+
+        private int manufacturer(long id, String name, int year) {
+            int size = manufacturers.size;
+            int manufacturer = manufacturers.encode(id, name);
+            if (manufacturer == size) {
+                if (size == manufacturerNames.length) {
+                    manufacturerNames = Arrays.copyOf(manufacturerNames, size * 2);
+                    manufacturerYears = Arrays.copyOf(manufacturerYears, size * 2);
+                }
+                manufacturerNames[size] = nameCode(name);
+                manufacturerYears[size] = year;
+            } else if (manufacturerYears[manufacturer] != year
+                    || !manufacturerNameDictionary.get(manufacturerNames[manufacturer]).equals(name)) {
+                changedNames.add(manufacturerNames[manufacturer]);
+                manufacturerNames[manufacturer] = nameCode(name);
+                manufacturerYears[manufacturer] = year;
+                changedNames.add(manufacturerNames[manufacturer]);
+            }
+            return manufacturer;
+        }
+
+        private int nameCode(String name) {
+            return manufacturerNameCodes.computeIfAbsent(name, n -> {
+                manufacturerNameDictionary.add(n);
+                return manufacturerNameDictionary.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * Maps entity ids to dense codes in first-seen order, keeping the id and the latest name of every code.
+     */
+    private static final class Dictionary {
+
+        private final Map<Long, Integer> codes = new HashMap<>();
+
+        private final List<String> names;
+
+        private long[] ids;
+
+        private int size;
+
+        private Dictionary() {
+            names = new ArrayList<>();
+            ids = new long[16];
+        }
+
+        private Dictionary(long[] ids, String[] names) {
+            this.names = new ArrayList<>(Arrays.asList(names));
+            this.ids = Arrays.copyOf(ids, ids.length + 16);
+            size = ids.length;
+            for (int code = 0; code < size; code++) {
+                codes.put(ids[code], code);
+            }
+        }
+
+        private int encode(long id, String name) {
+            Integer code = codes.get(id);
+            if (code != null) {
+                if (!Objects.equals(names.get(code), name)) {
+                    names.set(code, name);
+                }
+                return code;
+            }
+
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size] = id;
+            names.add(name);
+            codes.put(id, size);
+            return size++;
+        }
+
+        private long[] ids() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        private String[] names() {
+            return names.toArray(String[]::new);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.foxminded.car_rest_service.snapshot;
+
+import com.foxminded.car_rest_service.dao.CarRow;
+import com.foxminded.car_rest_service.dao.CatalogSnapshotDAO;
+import com.foxminded.car_rest_service.events.CatalogChangedEvent;
+import com.foxminded.car_rest_service.exceptions.SnapshotUnavailableException;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serves similar cars from an in-memory {@link CatalogSnapshot}, and the car list reads too when
+ * {@code car-rest.snapshot.enabled} is on. Unless list reads are off and similar cars are scored in the database
+ * through {@code car-rest.similar-cars.score-in-database}, the snapshot is loaded on startup and patched after
+ * committed writes through the services, by re-reading only the cars the writes changed, or the cars under the
+ * touched names for writes that don't know their cars, like imports. Committed writes only queue their cars or
+ * names; a background task on the shared scheduler applies everything queued so far as one patch. A full reload
+ * every {@code car-rest.snapshot.reload-interval} repairs what patches missed. Reads go to the database while
+ * their switch says so, list reads also while the snapshot isn't loaded.
+ */
+@Slf4j
+@Component
+public class CatalogSnapshotEngine implements InitializingBean {
+
+    @Value("${car-rest.snapshot.enabled:false}")
+    private boolean enabled;
+
+    @Value("${car-rest.similar-cars.score-in-database:false}")
+    private boolean similarCarsInDatabase;
+
+    @Value("${car-rest.snapshot.reload-interval:10m}")
+    private Duration reloadInterval;
+
+    @Autowired
+    private CatalogSnapshotDAO catalogSnapshotDAO;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    private volatile CatalogSnapshot snapshot;
+
+    private final Set<Long> pendingCars = ConcurrentHashMap.newKeySet();
+
+    private final Set<String> pendingManufacturers = ConcurrentHashMap.newKeySet();
+
+    private final Set<String> pendingModels = ConcurrentHashMap.newKeySet();
+
+    private final Set<String> pendingCategories = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean queued = new AtomicBoolean();
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!reloadInterval.isZero()) {
+            taskScheduler.scheduleWithFixedDelay(this::scheduledReload, Instant.now().plus(reloadInterval),
+                    reloadInterval);
+        }
+    }
+
+    public Optional<List<CarDTO>> findAllCars(Pageable pageable) {
+        SnapshotOrder order = SnapshotOrder.of(pageable.getSort());
+        if (order == null || order == SnapshotOrder.YEAR_ASC) {
+            return Optional.empty();
+        }
+
+        return current().map(s -> s.findAll(order, offset(pageable), limit(pageable)));
+    }
+
+    /**
+     * Whether {@link #findCarsByManufacturer} answers from memory. Such pages aren't worth a result cache, and
+     * one cached between the commit and the patch would outlive the patch.
+     */
+    public boolean servesCarsByManufacturer(Pageable pageable) {
+        return enabled && SnapshotOrder.of(pageable.getSort()) != null;
+    }
+
+    public Optional<List<CarDTO>> findCarsByManufacturer(String manufacturer, Pageable pageable) {
+        SnapshotOrder order = SnapshotOrder.of(pageable.getSort());
+        if (order == null) {
+            return Optional.empty();
+        }
+
+        return current().map(s -> s.findByManufacturer(manufacturer, order, offset(pageable), limit(pageable)));
+    }
+
+    public Optional<List<CarDTO>> findCarsByManufacturerAndMinYear(String manufacturer, int year, Pageable pageable) {
+        SnapshotOrder order = SnapshotOrder.of(pageable.getSort());
+        if (order == null) {
+            return Optional.empty();
+        }
+
+        return current().map(s -> s.findByManufacturerAndMinYear(manufacturer, year, order,
+                offset(pageable), limit(pageable)));
+    }
+
+    /**
+     * Empty while similar cars are scored in the database. Otherwise they have no database fallback, so a snapshot
+     * that can't be loaded fails the read as unavailable.
+     */
+    public Optional<List<CarDTO>> findSimilarCars(long carId, int limit) {
+        if (similarCarsInDatabase) {
+            return Optional.empty();
+        }
+
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            try {
+                current = loadIfAbsent();
+            } catch (DataAccessException e) {
+                throw new SnapshotUnavailableException("Similar cars are temporarily unavailable", e);
+            }
+        }
+        return Optional.of(current.findSimilar(carId, limit));
+    }
+
+    /**
+     * Reads the whole catalog on the primary, through a read-write transaction like the patches. The queue is
+     * cleared before the read, so a lagging replica would lose the writes queued until then.
+     */
+    public synchronized void reload() {
+        pendingCars.clear();
+        pendingManufacturers.clear();
+        pendingModels.clear();
+        pendingCategories.clear();
+
+        CatalogSnapshot.Builder builder = CatalogSnapshot.builder();
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> catalogSnapshotDAO.findAllRows(builder::add));
+
+        snapshot = builder.build();
+        log.info("Catalog snapshot loaded: cars: {}", snapshot.size());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!isNeeded()) {
+            return;
+        }
+
+        try {
+            reload();
+        } catch (DataAccessException e) {
+            log.warn("Catalog snapshot wasn't loaded on startup, loading on first read: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (!isNeeded()) {
+            return;
+        }
+
+        if (event.getCarIds().isEmpty()) {
+            pendingManufacturers.addAll(event.getManufacturers());
+            pendingModels.addAll(event.getModels());
+            pendingCategories.addAll(event.getCategories());
+        } else {
+            pendingCars.addAll(event.getCarIds());
+        }
+        if (queued.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::applyPendingChanges, Instant.now());
+        }
+    }
+
+    /**
+     * Patches the snapshot with the writes queued since the last patch. Runs in the background,
+     * callers that need their own writes visible right away can run it themselves. The changed cars are
+     * re-read in a read-write transaction, which always goes to the primary: the background task has no
+     * user to pin there, and a lagging replica would hand back the state from before the write.
+     */
+    public synchronized void applyPendingChanges() {
+        queued.set(false);
+        Set<Long> cars = drain(pendingCars);
+        Set<String> manufacturers = drain(pendingManufacturers);
+        Set<String> models = drain(pendingModels);
+        Set<String> categories = drain(pendingCategories);
+
+        boolean byNames = !manufacturers.isEmpty() || !models.isEmpty() || !categories.isEmpty();
+        CatalogSnapshot current = snapshot;
+        if (current == null || cars.isEmpty() && !byNames) {
+            return;
+        }
+
+        List<CarRow> rows = new ArrayList<>();
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            transaction.executeWithoutResult(status ->
+                    catalogSnapshotDAO.findRowsByCarIdsOrNames(cars, manufacturers, models, categories, rows::add));
+        } catch (DataAccessException e) {
+            log.warn("Catalog snapshot wasn't patched, it is repaired by the next reload: {}", e.getMessage());
+            return;
+        }
+
+        snapshot = current.patch(cars, manufacturers, models, categories, rows);
+    }
+
+    private void scheduledReload() {
+        if (!isNeeded()) {
+            return;
+        }
+
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Catalog snapshot reload failed", e);
+        }
+    }
+
+    private boolean isNeeded() {
+        return enabled || !similarCarsInDatabase;
+    }
+
+    private Optional<CatalogSnapshot> current() {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            try {
+                current = loadIfAbsent();
+            } catch (DataAccessException e) {
+                log.warn("Catalog snapshot isn't available, reading from the database: {}", e.getMessage());
+                return Optional.empty();
+            }
+        }
+        return Optional.of(current);
+    }
+
+    private synchronized CatalogSnapshot loadIfAbsent() {
+        if (snapshot == null) {
+            reload();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Takes the cars or names out of the queue. One queued again while draining is either taken here or left
+     * for the next patch, never lost.
+     */
+    private static <T> Set<T> drain(Set<T> pending) {
+        Set<T> drained = new HashSet<>();
+        for (Iterator<T> iterator = pending.iterator(); iterator.hasNext(); ) {
+            drained.add(iterator.next());
+            iterator.remove();
+        }
+        return drained;
+    }
+
+    private static long offset(Pageable pageable) {
+        return pageable.isPaged() ? pageable.getOffset() : 0L;
+    }
+
+    private static int limit(Pageable pageable) {
+        return pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+    }
+}
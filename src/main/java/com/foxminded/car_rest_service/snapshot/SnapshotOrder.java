@@ -0,0 +1,49 @@
+package com.foxminded.car_rest_service.snapshot;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Order;
+
+import java.util.List;
+
+/**
+ * Orders a {@link CatalogSnapshot} can page through without sorting.
+ */
+public enum SnapshotOrder {
+
+    ID_ASC,
+
+    ID_DESC,
+
+    /**
+     * By manufacturer year, then by id. Only available for the queries of one manufacturer name.
+     */
+    YEAR_ASC;
+
+    private static final String ID = "id";
+
+    private static final String YEAR = "manufacturer.year";
+
+    /**
+     * The order matching the sort, or null when the snapshot can't serve it.
+     */
+    public static SnapshotOrder of(Sort sort) {
+        List<Order> orders = sort.toList();
+        if (orders.isEmpty()) {
+            return ID_ASC;
+        }
+
+        Order first = orders.get(0);
+        if (orders.size() == 1 && ID.equals(first.getProperty())) {
+            return first.isAscending() ? ID_ASC : ID_DESC;
+        }
+        if (YEAR.equals(first.getProperty()) && first.isAscending()
+                && (orders.size() == 1 || orders.size() == 2 && isIdAscending(orders.get(1)))) {
+            return YEAR_ASC;
+        }
+        return null;
+    }
+
+    private static boolean isIdAscending(Order order) {
+        return ID.equals(order.getProperty()) && order.isAscending();
+    }
+}
@@ -0,0 +1,23 @@
+package com.foxminded.car_rest_service.statistics;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "car-rest.statistics")
+public class StatisticsProperties {
+
+    /**
+     * Delay between scheduled refreshes of the statistics views. Zero disables them.
+     */
+    private Duration refreshInterval = Duration.ofMinutes(5);
+
+    /**
+     * Number of rows written by committed catalog writes that triggers a refresh ahead of schedule. Zero disables it.
+     */
+    private int refreshAfterWrites = 1000;
+}
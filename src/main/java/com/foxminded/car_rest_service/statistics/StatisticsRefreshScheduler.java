@@ -0,0 +1,66 @@
+package com.foxminded.car_rest_service.statistics;
+
+import com.foxminded.car_rest_service.events.CatalogChangedEvent;
+import com.foxminded.car_rest_service.services.StatisticsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Refreshes the statistics views every {@code car-rest.statistics.refresh-interval}, and early once
+ * {@code car-rest.statistics.refresh-after-writes} rows were written by writes committed since the last refresh.
+ * Refreshes run one at a time on the shared scheduler, and at most one is queued.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(StatisticsProperties.class)
+public class StatisticsRefreshScheduler implements InitializingBean {
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private StatisticsProperties properties;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    private final AtomicLong writes = new AtomicLong();
+
+    private final AtomicBoolean queued = new AtomicBoolean();
+
+    @Override
+    public void afterPropertiesSet() {
+        Duration interval = properties.getRefreshInterval();
+        if (!interval.isZero()) {
+            taskScheduler.scheduleWithFixedDelay(this::refresh, Instant.now().plus(interval), interval);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        int threshold = properties.getRefreshAfterWrites();
+        if (threshold > 0 && writes.addAndGet(event.getRows()) >= threshold && queued.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::refresh, Instant.now());
+        }
+    }
+
+    private synchronized void refresh() {
+        queued.set(false);
+        writes.set(0);
+        try {
+            statisticsService.refresh();
+        } catch (RuntimeException e) {
+            log.warn("Statistics refresh failed", e);
+        }
+    }
+}
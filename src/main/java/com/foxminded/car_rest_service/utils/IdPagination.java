@@ -0,0 +1,57 @@
+package com.foxminded.car_rest_service.utils;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Helpers for two-phase pagination: a page of root ids is selected with SQL LIMIT/OFFSET first,
+ * then only those ids are hydrated with fetch joins.
+ */
+public final class IdPagination {
+
+    private static final String ID = "id";
+
+    private IdPagination() {
+    }
+
+    /**
+     * Adds an "id" tiebreaker to the sort, so OFFSET pages are stable between requests.
+     */
+    public static Pageable withIdOrder(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return pageable;
+        }
+
+        Sort sort = pageable.getSort();
+        if (sort.getOrderFor(ID) == null) {
+            sort = sort.and(Sort.by(ID));
+        }
+
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+    }
+
+    /**
+     * Restores the order of the id page, since the hydrating IN query returns rows in no particular order.
+     */
+    public static <T> List<T> inIdOrder(List<Long> ids, Collection<T> entities, Function<T, Long> idExtractor) {
+        Map<Long, T> byId = new HashMap<>();
+        for (T entity : entities) {
+            byId.put(idExtractor.apply(entity), entity);
+        }
+
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(toList());
+    }
+}
@@ -0,0 +1,111 @@
+package com.foxminded.car_rest_service.utils;
+
+import com.foxminded.car_rest_service.exceptions.InvalidCursorException;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * Opaque position of a keyset (seek) page: the sort key it was built for and the
+ * (sort value, id) pair of the last row returned, so the next page starts with
+ * {@code WHERE (sort_key, id) > (value, id)} instead of an OFFSET scan.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class KeysetCursor {
+
+    private static final String SEPARATOR = "\n";
+
+    private final String sortKey;
+
+    private final String value;
+
+    private final Long id;
+
+    /**
+     * Resolves the request cursor. A blank token starts from the first page using the requested sort,
+     * which must be a single ascending order on one of the supported keys (the first one is the default).
+     * A continuation token keeps the order it was issued for; an explicit sort that differs is rejected.
+     */
+    public static KeysetCursor of(String token, Sort sort, List<String> supportedKeys) {
+        if (token == null || token.isBlank()) {
+            return new KeysetCursor(resolveSortKey(sort, supportedKeys), null, null);
+        }
+
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(SEPARATOR, 3);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(format("Cursor(%s) is malformed", token));
+        }
+
+        if (parts.length != 3 || !supportedKeys.contains(parts[0])) {
+            throw new InvalidCursorException(format("Cursor(%s) is malformed", token));
+        }
+
+        if (sort.isSorted() && !parts[0].equals(resolveSortKey(sort, supportedKeys))) {
+            throw new InvalidCursorException(format("Cursor was issued for sort by %s", parts[0]));
+        }
+
+        return new KeysetCursor(parts[0], parts[2], parseLong(parts[1], token));
+    }
+
+    public static String encode(String sortKey, Object value, Long id) {
+        String raw = sortKey + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isFirstPage() {
+        return id == null;
+    }
+
+    public long idOr(long defaultId) {
+        return isFirstPage() ? defaultId : id;
+    }
+
+    public String valueOr(String defaultValue) {
+        return isFirstPage() ? defaultValue : value;
+    }
+
+    public int intValueOr(int defaultValue) {
+        if (isFirstPage()) {
+            return defaultValue;
+        }
+
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException(format("Cursor value(%s) is malformed", value));
+        }
+    }
+
+    private static String resolveSortKey(Sort sort, List<String> supportedKeys) {
+        if (sort.isUnsorted()) {
+            return supportedKeys.get(0);
+        }
+
+        List<Sort.Order> orders = sort.toList();
+        Sort.Order order = orders.get(0);
+        if (orders.size() > 1 || order.isDescending() || !supportedKeys.contains(order.getProperty())) {
+            throw new InvalidCursorException(format("Cursor pagination supports only ascending sort by one of %s",
+                    supportedKeys));
+        }
+
+        return order.getProperty();
+    }
+
+    private static Long parseLong(String value, String token) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException(format("Cursor(%s) is malformed", token));
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.foxminded.car_rest_service.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@AllArgsConstructor
+public class KeysetPage<T> {
+    private final List<T> content;
+
+    private final String nextCursor;
+
+    /**
+     * Builds a page from rows fetched with limit {@code size + 1}: the extra row only tells that a next page exists.
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int size, Function<T, String> cursorOf) {
+        if (rows.size() <= size) {
+            return new KeysetPage<>(rows, null);
+        }
+
+        List<T> content = rows.subList(0, size);
+
+        return new KeysetPage<>(content, cursorOf.apply(content.get(size - 1)));
+    }
+}
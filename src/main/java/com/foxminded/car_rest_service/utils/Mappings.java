@@ -8,14 +8,34 @@ public class Mappings {
 
     public static final String GET_CARS_BY_MANUFACTURER_AND_YEAR = "/manufacturer/year";
 
+    public static final String SEARCH_CARS = "/search";
+
+    public static final String FILTER_CARS = "/filter";
+
+    public static final String GET_CAR_FACETS = "/facets";
+
+    public static final String MATCH_CARS_BY_CATEGORIES = "/categories/match";
+
+    public static final String COUNT_CARS_BY_CATEGORIES = "/categories/match/count";
+
     public static final String CREATE_CAR = "manufacturer/{manufacturer}/model/{model}/year/{year}";
 
+    public static final String CREATE_CARS = "/batch";
+
     public static final String DELETE_CAR_BY_ID = "/id/{id}";
 
+    public static final String GET_SIMILAR_CARS = "/id/{id}/similar";
+
     public static final String ADD_CAR_TO_CATEGORY = "/id/{id}/category/{name}";
 
     public static final String DELETE_CAR_FROM_CATEGORY = "/remove/id/{id}/category/{name}";
 
+    public static final String CHANGE_CAR_CATEGORIES = "/categories";
+
+    public static final String IMPORT_CARS = "/import";
+
+    public static final String EXPORT_CARS = "/export";
+
 
     public static final String API_V1_MODELS = "/api/v1/models";
 
@@ -44,4 +64,35 @@ public class Mappings {
     public static final String DELETE_MANUFACTURER_BY_NAME_AND_YEAR = "/name/{name}/year/{year}";
 
     public static final String DELETE_MANUFACTURER_BY_NAME = "/name/{name}";
+
+
+    public static final String API_V1_AUTOCOMPLETE = "/api/v1/autocomplete";
+
+    public static final String AUTOCOMPLETE_MANUFACTURERS = "/manufacturers";
+
+    public static final String AUTOCOMPLETE_MODELS = "/models";
+
+    public static final String AUTOCOMPLETE_CATEGORIES = "/categories";
+
+
+    public static final String API_V1_STATISTICS = "/api/v1/statistics";
+
+    public static final String STATISTICS_MANUFACTURERS = "/manufacturers";
+
+    public static final String STATISTICS_CATEGORIES = "/categories";
+
+    public static final String STATISTICS_YEARS = "/years";
+
+    public static final String REFRESH_STATISTICS = "/refresh";
+
+
+    public static final String API_V1_JOBS = "/api/v1/jobs";
+
+    public static final String GET_JOB_BY_ID = "/id/{id}";
+
+    public static final String CANCEL_JOB_BY_ID = "/id/{id}";
+
+    public static final String SUBMIT_MANUFACTURER_DELETION = "/manufacturers/name/{name}/delete";
+
+    public static final String SUBMIT_CAR_IMPORT = "/cars/import";
 }
@@ -0,0 +1,9 @@
+-- VALIDATE CATEGORY NAMES NOT NULL
+-- Validation takes a SHARE UPDATE EXCLUSIVE lock, so reads and writes keep going while the table is scanned.
+-- SET NOT NULL then uses the validated check instead of scanning again under its exclusive lock.
+
+ALTER TABLE category VALIDATE CONSTRAINT category_category_not_null;
+
+ALTER TABLE category
+    ALTER COLUMN category SET NOT NULL,
+    DROP CONSTRAINT category_category_not_null;
@@ -0,0 +1,12 @@
+-- CATEGORY NAMES NOT NULL
+-- Categories are paged by (category, category_id) in CategoryDAO.findAllAfterName, and the row comparison
+-- never matches a NULL name, so such a category was skipped by every cursor. Unnamed categories get a
+-- placeholder name that keeps their cars; they can be renamed through the API afterwards.
+-- The check is added as NOT VALID, which skips the table scan; V1.10.1 validates it and turns it into NOT NULL.
+
+UPDATE category
+SET category = 'Unnamed ' || category_id
+WHERE category IS NULL;
+
+ALTER TABLE category
+    ADD CONSTRAINT category_category_not_null CHECK (category IS NOT NULL) NOT VALID;
@@ -0,0 +1,31 @@
+-- UNIQUE LOOKUP KEYS
+-- Every natural key the DAO layer looks up by name gets a unique index that also carries the surrogate id,
+-- so 'WHERE name = ?' and the joins behind it are answered by index-only scans.
+
+ALTER TABLE manufacturer
+    ADD CONSTRAINT manufacturer_manufacturer_year_key UNIQUE (manufacturer, year) INCLUDE (manufacturer_id);
+
+ALTER TABLE model
+    ADD CONSTRAINT model_model_key UNIQUE (model) INCLUDE (model_id);
+
+ALTER TABLE category
+    ADD CONSTRAINT category_category_key UNIQUE (category) INCLUDE (category_id);
+
+
+-- 'car' LOOKUPS
+-- (manufacturer_id, model_id) serves CarDAO.findByManufacturerAndModelAndYear and the manufacturer FK joins,
+-- model_id serves ModelDAO.findModelWithCarsByName.
+
+ALTER TABLE car
+    ADD CONSTRAINT car_manufacturer_id_model_id_key UNIQUE (manufacturer_id, model_id);
+
+CREATE INDEX car_model_id_idx ON car (model_id);
+
+
+-- 'car_category_info' LOOKUPS
+-- Both directions of the join table: car -> categories and category -> cars.
+
+ALTER TABLE car_category_info
+    ADD CONSTRAINT car_category_info_car_id_category_id_key UNIQUE (car_id, category_id);
+
+CREATE INDEX car_category_info_category_id_car_id_idx ON car_category_info (category_id, car_id);
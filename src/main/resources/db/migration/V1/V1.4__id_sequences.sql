@@ -0,0 +1,28 @@
+-- ID SEQUENCES
+-- Hibernate allocates ids from these sequences in blocks of 50 (pooled-lo optimizer), so inserts can be batched.
+-- The column defaults move to the new sequences as well; the bigserial ones are dropped.
+
+CREATE SEQUENCE manufacturer_seq INCREMENT BY 50 OWNED BY manufacturer.manufacturer_id;
+SELECT setval('manufacturer_seq', coalesce(max(manufacturer_id), 0) + 1, false) FROM manufacturer;
+ALTER TABLE manufacturer ALTER COLUMN manufacturer_id SET DEFAULT nextval('manufacturer_seq');
+DROP SEQUENCE manufacturer_manufacturer_id_seq;
+
+CREATE SEQUENCE model_seq INCREMENT BY 50 OWNED BY model.model_id;
+SELECT setval('model_seq', coalesce(max(model_id), 0) + 1, false) FROM model;
+ALTER TABLE model ALTER COLUMN model_id SET DEFAULT nextval('model_seq');
+DROP SEQUENCE model_model_id_seq;
+
+CREATE SEQUENCE category_seq INCREMENT BY 50 OWNED BY category.category_id;
+SELECT setval('category_seq', coalesce(max(category_id), 0) + 1, false) FROM category;
+ALTER TABLE category ALTER COLUMN category_id SET DEFAULT nextval('category_seq');
+DROP SEQUENCE category_category_id_seq;
+
+CREATE SEQUENCE car_seq INCREMENT BY 50 OWNED BY car.car_id;
+SELECT setval('car_seq', coalesce(max(car_id), 0) + 1, false) FROM car;
+ALTER TABLE car ALTER COLUMN car_id SET DEFAULT nextval('car_seq');
+DROP SEQUENCE car_car_id_seq;
+
+CREATE SEQUENCE car_category_info_seq INCREMENT BY 50 OWNED BY car_category_info.id;
+SELECT setval('car_category_info_seq', coalesce(max(id), 0) + 1, false) FROM car_category_info;
+ALTER TABLE car_category_info ALTER COLUMN id SET DEFAULT nextval('car_category_info_seq');
+DROP SEQUENCE car_category_info_id_seq;
@@ -0,0 +1,11 @@
+-- TRIGRAM SEARCH
+-- CarDAO.findCarIdsMatching ranks cars by trigram similarity of the lower-cased names to the search term,
+-- these expression indexes answer its '%' filters.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX manufacturer_manufacturer_trgm_idx ON manufacturer USING gin (lower(manufacturer) gin_trgm_ops);
+
+CREATE INDEX model_model_trgm_idx ON model USING gin (lower(model) gin_trgm_ops);
+
+CREATE INDEX category_category_trgm_idx ON category USING gin (lower(category) gin_trgm_ops);
@@ -0,0 +1,38 @@
+-- CATALOG STATISTICS
+-- Dashboard aggregates, refreshed by CatalogStatisticsDAO.refresh. Each view has a unique index,
+-- which REFRESH MATERIALIZED VIEW CONCURRENTLY needs to keep the view readable while it runs.
+
+CREATE MATERIALIZED VIEW stats_cars_per_manufacturer_year AS
+SELECT mf.manufacturer, mf.year, count(*) AS cars
+FROM car c
+         JOIN manufacturer mf ON mf.manufacturer_id = c.manufacturer_id
+GROUP BY mf.manufacturer, mf.year;
+
+CREATE UNIQUE INDEX stats_cars_per_manufacturer_year_key ON stats_cars_per_manufacturer_year (manufacturer, year);
+
+CREATE MATERIALIZED VIEW stats_models_per_category AS
+SELECT ct.category, count(DISTINCT c.model_id) AS models
+FROM category ct
+         JOIN car_category_info cci ON cci.category_id = ct.category_id
+         JOIN car c ON c.car_id = cci.car_id
+WHERE ct.category IS NOT NULL
+GROUP BY ct.category;
+
+CREATE UNIQUE INDEX stats_models_per_category_key ON stats_models_per_category (category);
+
+CREATE MATERIALIZED VIEW stats_cars_per_year AS
+SELECT mf.year, count(*) AS cars
+FROM car c
+         JOIN manufacturer mf ON mf.manufacturer_id = c.manufacturer_id
+GROUP BY mf.year;
+
+CREATE UNIQUE INDEX stats_cars_per_year_key ON stats_cars_per_year (year);
+
+-- Single row: when the views were last refreshed, updated in the refreshing transaction.
+CREATE TABLE stats_refresh
+(
+    id           boolean PRIMARY KEY DEFAULT true CHECK (id),
+    refreshed_at timestamptz NOT NULL
+);
+
+INSERT INTO stats_refresh (refreshed_at) VALUES (now());
@@ -0,0 +1,11 @@
+-- VALIDATE CASCADING DELETES
+-- Checks the rows that existed before V1.7 swapped the foreign keys. Validation takes a SHARE UPDATE EXCLUSIVE
+-- lock, so reads and writes keep going while the tables are scanned.
+
+ALTER TABLE car VALIDATE CONSTRAINT car_manufacturer_id_fkey;
+
+ALTER TABLE car VALIDATE CONSTRAINT car_model_id_fkey;
+
+ALTER TABLE car_category_info VALIDATE CONSTRAINT car_category_info_car_id_fkey;
+
+ALTER TABLE car_category_info VALIDATE CONSTRAINT car_category_info_category_id_fkey;
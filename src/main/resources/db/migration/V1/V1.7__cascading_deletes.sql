@@ -0,0 +1,26 @@
+-- CASCADING DELETES
+-- Deleting a manufacturer, model or category removes its cars and car-category links in the same statement,
+-- so the DAO layer deletes by name with one bulk DELETE instead of loading and removing every child row.
+-- The referencing columns are indexed by V1.3, so each cascade is an index scan.
+-- The keys are swapped as NOT VALID, which only takes brief locks and skips the table scan; the existing rows
+-- are checked by V1.7.1 in its own transaction, which doesn't block reads or writes.
+
+ALTER TABLE car
+    DROP CONSTRAINT car_manufacturer_id_fkey,
+    ADD CONSTRAINT car_manufacturer_id_fkey
+        FOREIGN KEY (manufacturer_id) REFERENCES manufacturer (manufacturer_id) ON DELETE CASCADE NOT VALID;
+
+ALTER TABLE car
+    DROP CONSTRAINT car_model_id_fkey,
+    ADD CONSTRAINT car_model_id_fkey
+        FOREIGN KEY (model_id) REFERENCES model (model_id) ON DELETE CASCADE NOT VALID;
+
+ALTER TABLE car_category_info
+    DROP CONSTRAINT car_category_info_car_id_fkey,
+    ADD CONSTRAINT car_category_info_car_id_fkey
+        FOREIGN KEY (car_id) REFERENCES car (car_id) ON DELETE CASCADE NOT VALID;
+
+ALTER TABLE car_category_info
+    DROP CONSTRAINT car_category_info_category_id_fkey,
+    ADD CONSTRAINT car_category_info_category_id_fkey
+        FOREIGN KEY (category_id) REFERENCES category (category_id) ON DELETE CASCADE NOT VALID;
@@ -0,0 +1,39 @@
+-- CATALOG JOBS
+-- Long-running catalog writes queued through the API. A worker runs a job in chunks and commits every chunk
+-- together with the job's checkpoint, so a job interrupted by a restart resumes after its last committed chunk.
+-- 'attempts' grows with every claim and fences off a worker whose lease expired.
+
+CREATE TABLE catalog_job
+(
+    job_id       bigserial PRIMARY KEY,
+    type         varchar(50) NOT NULL,
+    status       varchar(20) NOT NULL,
+    subject      varchar(50),
+    total        bigint      NOT NULL,
+    processed    bigint      NOT NULL DEFAULT 0,
+    checkpoint   bigint      NOT NULL DEFAULT 0,
+    attempts     int         NOT NULL DEFAULT 0,
+    error        text,
+    created_at   timestamptz NOT NULL DEFAULT now(),
+    started_at   timestamptz,
+    heartbeat_at timestamptz,
+    finished_at  timestamptz
+);
+
+CREATE INDEX catalog_job_unfinished_idx ON catalog_job (job_id) WHERE status IN ('QUEUED', 'RUNNING');
+
+
+-- 'catalog_job_import_row'
+-- CSV rows of an import job, numbered from 1 in file order. A chunk is a range of row numbers.
+
+CREATE TABLE catalog_job_import_row
+(
+    job_id       bigint NOT NULL REFERENCES catalog_job (job_id) ON DELETE CASCADE,
+    row_no       bigint NOT NULL,
+    object_id    text,
+    manufacturer text,
+    year         int,
+    model        text,
+    category     text,
+    PRIMARY KEY (job_id, row_no)
+);
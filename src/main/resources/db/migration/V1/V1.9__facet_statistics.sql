@@ -0,0 +1,24 @@
+-- FACET STATISTICS
+-- Cars per model and per category by year, refreshed with the V1.6 views by CatalogStatisticsDAO.refresh.
+-- Together with stats_cars_per_manufacturer_year and stats_cars_per_year they answer the facets of filters
+-- by year range only, see CarFacetDAO.
+
+CREATE MATERIALIZED VIEW stats_cars_per_model_year AS
+SELECT m.model, mf.year, count(*) AS cars
+FROM car c
+         JOIN manufacturer mf ON mf.manufacturer_id = c.manufacturer_id
+         JOIN model m ON m.model_id = c.model_id
+GROUP BY m.model, mf.year;
+
+CREATE UNIQUE INDEX stats_cars_per_model_year_key ON stats_cars_per_model_year (model, year);
+
+CREATE MATERIALIZED VIEW stats_cars_per_category_year AS
+SELECT ct.category, mf.year, count(*) AS cars
+FROM category ct
+         JOIN car_category_info cci ON cci.category_id = ct.category_id
+         JOIN car c ON c.car_id = cci.car_id
+         JOIN manufacturer mf ON mf.manufacturer_id = c.manufacturer_id
+WHERE ct.category IS NOT NULL
+GROUP BY ct.category, mf.year;
+
+CREATE UNIQUE INDEX stats_cars_per_category_year_key ON stats_cars_per_category_year (category, year);
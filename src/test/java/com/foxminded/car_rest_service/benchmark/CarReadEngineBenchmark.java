@@ -0,0 +1,99 @@
+package com.foxminded.car_rest_service.benchmark;
+
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.foxminded.car_rest_service.exceptions.response.ResultModel;
+import com.foxminded.car_rest_service.integration.IntegrationTestcontainersConfig;
+import com.foxminded.car_rest_service.services.CarJsonService;
+import com.foxminded.car_rest_service.services.CarService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Callable;
+
+/**
+ * Compares the DTO read path of GET /api/v1/cars with PostgreSQL json aggregation, from the query to response bytes.
+ * Not part of the test suite, run with {@code mvn test -Dtest=CarReadEngineBenchmark}.
+ */
+@Slf4j
+class CarReadEngineBenchmark extends IntegrationTestcontainersConfig {
+
+    private static final int CARS = 20_000;
+
+    private static final int WARMUP = 30;
+
+    private static final int ITERATIONS = 100;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private CarJsonService carJsonService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void compareReadEngines() throws Exception {
+        seed();
+
+        for (int size : new int[]{20, 200, 1000}) {
+            PageRequest page = PageRequest.of(3, size);
+
+            measure("dto", size, () -> {
+                ResultModel resultModel = new ResultModel();
+                resultModel.setData(carService.getAllCars(page));
+                return objectMapper.writeValueAsBytes(resultModel);
+            });
+            measure("json", size, () -> {
+                ResultModel resultModel = new ResultModel();
+                resultModel.setData(new RawValue(carJsonService.getAllCars(page)));
+                return objectMapper.writeValueAsBytes(resultModel);
+            });
+        }
+    }
+
+    private void seed() {
+        jdbcTemplate.update("INSERT INTO manufacturer (manufacturer, year) " +
+                            "SELECT 'Manufacturer ' || n, y FROM generate_series(1, 50) n, generate_series(1990, 2020) y");
+        jdbcTemplate.update("INSERT INTO model (model) SELECT 'Model ' || n FROM generate_series(1, 500) n");
+        jdbcTemplate.update("INSERT INTO category (category) SELECT 'Category ' || n FROM generate_series(1, 30) n");
+        jdbcTemplate.update("INSERT INTO car (manufacturer_id, model_id) " +
+                            "SELECT DISTINCT ON (mf, m) mf, m FROM (" +
+                                "SELECT mfs[1 + (random() * (cardinality(mfs) - 1))::int] AS mf, " +
+                                       "ms[1 + (random() * (cardinality(ms) - 1))::int] AS m " +
+                                "FROM (SELECT array_agg(manufacturer_id) AS mfs FROM manufacturer) mf, " +
+                                     "(SELECT array_agg(model_id) AS ms FROM model) m, " +
+                                     "generate_series(1, ?)) r", CARS);
+        jdbcTemplate.update("INSERT INTO car_category_info (car_id, category_id) " +
+                            "SELECT c.car_id, ct.category_id " +
+                            "FROM (SELECT car_id, row_number() OVER (ORDER BY car_id) AS n FROM car) c " +
+                            "JOIN (SELECT category_id, row_number() OVER (ORDER BY category_id) AS n FROM category) ct " +
+                                "ON ct.n % 10 = c.n % 10 OR ct.n = 1 + c.n % 30 " +
+                            "ON CONFLICT DO NOTHING");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private void measure(String engine, int size, Callable<byte[]> read) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        for (int i = 0; i < WARMUP; i++) {
+            read.call();
+        }
+
+        long bytes = 0;
+        long allocated = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            bytes = read.call().length;
+        }
+        long micros = (System.nanoTime() - start) / 1_000 / ITERATIONS;
+        long allocatedKb = (threads.getCurrentThreadAllocatedBytes() - allocated) / 1024 / ITERATIONS;
+
+        log.info("{} page {}: {} us/op, {} KB allocated/op, {} response bytes",
+                engine, size, micros, allocatedKb, bytes);
+    }
+}
@@ -0,0 +1,222 @@
+package com.foxminded.car_rest_service.bitmap;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CarIdBitmapTest {
+
+    private static final long CHUNK = 1L << Character.SIZE;
+
+    @Test
+    void add_shouldKeepIdsOnBothSidesOfChunkBoundary_whenIdsAreAdjacent() {
+        CarIdBitmap bitmap = CarIdBitmap.of(CHUNK, CHUNK - 1, 2 * CHUNK, 0);
+
+        assertAll(
+                () -> assertTrue(bitmap.contains(CHUNK - 1)),
+                () -> assertTrue(bitmap.contains(CHUNK)),
+                () -> assertFalse(bitmap.contains(CHUNK + 1)),
+                () -> assertEquals(4, bitmap.cardinality()),
+                () -> assertEquals(List.of(0L, CHUNK - 1, CHUNK, 2 * CHUNK), ids(bitmap))
+        );
+    }
+
+    @Test
+    void add_shouldReturnFalse_whenIdIsAlreadyPresent() {
+        CarIdBitmap bitmap = CarIdBitmap.of(5);
+
+        assertAll(
+                () -> assertFalse(bitmap.add(5)),
+                () -> assertTrue(bitmap.add(CHUNK + 5)),
+                () -> assertEquals(2, bitmap.cardinality())
+        );
+    }
+
+    @Test
+    void remove_shouldDropChunk_whenItsLastIdIsRemoved() {
+        CarIdBitmap bitmap = CarIdBitmap.of(CHUNK + 1);
+
+        assertAll(
+                () -> assertTrue(bitmap.remove(CHUNK + 1)),
+                () -> assertFalse(bitmap.remove(CHUNK + 1)),
+                () -> assertTrue(bitmap.isEmpty()),
+                () -> assertEquals(List.of(), ids(bitmap))
+        );
+    }
+
+    @Test
+    void remove_shouldKeepOtherIds_whenDenseChunkConvertsBackToArray() {
+        CarIdBitmap bitmap = new CarIdBitmap();
+        for (long id = CHUNK; id <= CHUNK + Container.ARRAY_MAX; id++) {
+            bitmap.add(id);
+        }
+
+        bitmap.remove(CHUNK);
+
+        assertAll(
+                () -> assertEquals(Container.ARRAY_MAX, bitmap.cardinality()),
+                () -> assertFalse(bitmap.contains(CHUNK)),
+                () -> assertTrue(bitmap.contains(CHUNK + Container.ARRAY_MAX)),
+                () -> assertEquals(List.of(CHUNK + 1, CHUNK + 2), bitmap.page(0, 2))
+        );
+    }
+
+    @Test
+    void and_shouldMatchReferenceSet_whenBitmapsSpanSparseAndDenseChunks() {
+        TreeSet<Long> first = randomIds(1);
+        TreeSet<Long> second = randomIds(2);
+
+        TreeSet<Long> expected = new TreeSet<>(first);
+        expected.retainAll(second);
+
+        assertEquals(new ArrayList<>(expected), ids(bitmapOf(first).and(bitmapOf(second))));
+    }
+
+    @Test
+    void or_shouldMatchReferenceSet_whenBitmapsSpanSparseAndDenseChunks() {
+        TreeSet<Long> first = randomIds(3);
+        TreeSet<Long> second = randomIds(4);
+
+        TreeSet<Long> expected = new TreeSet<>(first);
+        expected.addAll(second);
+
+        CarIdBitmap actual = bitmapOf(first).or(bitmapOf(second));
+
+        assertAll(
+                () -> assertEquals(new ArrayList<>(expected), ids(actual)),
+                () -> assertEquals(expected.size(), actual.cardinality())
+        );
+    }
+
+    @Test
+    void andNot_shouldMatchReferenceSet_whenBitmapsSpanSparseAndDenseChunks() {
+        TreeSet<Long> first = randomIds(5);
+        TreeSet<Long> second = randomIds(6);
+
+        TreeSet<Long> expected = new TreeSet<>(first);
+        expected.removeAll(second);
+
+        assertEquals(new ArrayList<>(expected), ids(bitmapOf(first).andNot(bitmapOf(second))));
+    }
+
+    @Test
+    void and_shouldReturnEmptyBitmap_whenChunksDontOverlap() {
+        CarIdBitmap first = CarIdBitmap.of(1, 2, 3);
+        CarIdBitmap second = CarIdBitmap.of(CHUNK + 1, CHUNK + 2);
+
+        CarIdBitmap actual = first.and(second);
+
+        assertAll(
+                () -> assertTrue(actual.isEmpty()),
+                () -> assertEquals(0, actual.cardinality())
+        );
+    }
+
+    @Test
+    void and_shouldDropChunk_whenSameChunkHasNoCommonIds() {
+        CarIdBitmap first = CarIdBitmap.of(1, CHUNK + 1);
+        CarIdBitmap second = CarIdBitmap.of(1, CHUNK + 2);
+
+        CarIdBitmap actual = first.and(second);
+
+        assertAll(
+                () -> assertEquals(List.of(1L), ids(actual)),
+                () -> assertEquals(List.of(), actual.page(1, 10))
+        );
+    }
+
+    @Test
+    void setOperations_shouldHandleEmptyBitmap_whenEitherSideIsEmpty() {
+        CarIdBitmap empty = new CarIdBitmap();
+        CarIdBitmap bitmap = CarIdBitmap.of(1, CHUNK + 1);
+
+        assertAll(
+                () -> assertTrue(bitmap.and(empty).isEmpty()),
+                () -> assertTrue(empty.and(bitmap).isEmpty()),
+                () -> assertEquals(ids(bitmap), ids(bitmap.or(empty))),
+                () -> assertEquals(ids(bitmap), ids(empty.or(bitmap))),
+                () -> assertEquals(ids(bitmap), ids(bitmap.andNot(empty))),
+                () -> assertTrue(empty.andNot(bitmap).isEmpty()),
+                () -> assertTrue(bitmap.andNot(bitmap).isEmpty())
+        );
+    }
+
+    @Test
+    void setOperations_shouldNotChangeInputs_whenResultIsModified() {
+        CarIdBitmap first = CarIdBitmap.of(1, CHUNK + 1);
+        CarIdBitmap second = CarIdBitmap.of(2, CHUNK + 1);
+
+        first.or(second).add(3);
+        first.and(second).remove(CHUNK + 1);
+        first.andNot(second).add(CHUNK + 3);
+        first.copy().remove(1);
+
+        assertAll(
+                () -> assertEquals(List.of(1L, CHUNK + 1), ids(first)),
+                () -> assertEquals(List.of(2L, CHUNK + 1), ids(second))
+        );
+    }
+
+    @Test
+    void page_shouldReturnIdsInAscendingOrder_whenOffsetCrossesChunks() {
+        CarIdBitmap bitmap = new CarIdBitmap();
+        List<Long> expected = new ArrayList<>();
+        for (long chunk = 3; chunk >= 0; chunk--) {
+            for (long low = 0; low < 5000; low += 1 + chunk) {
+                bitmap.add(chunk * CHUNK + low);
+            }
+        }
+        for (long chunk = 0; chunk <= 3; chunk++) {
+            for (long low = 0; low < 5000; low += 1 + chunk) {
+                expected.add(chunk * CHUNK + low);
+            }
+        }
+
+        assertAll(
+                () -> assertEquals(expected.size(), bitmap.cardinality()),
+                () -> assertEquals(expected, ids(bitmap)),
+                () -> assertEquals(expected.subList(4990, 5020), bitmap.page(4990, 30)),
+                () -> assertEquals(expected.subList(expected.size() - 3, expected.size()),
+                        bitmap.page(expected.size() - 3, 10)),
+                () -> assertEquals(List.of(), bitmap.page(expected.size(), 10)),
+                () -> assertEquals(List.of(), bitmap.page(expected.size() + 10, 10))
+        );
+    }
+
+    /**
+     * Ids in four chunks: the first two dense (bitmap containers), the last two sparse (array containers).
+     * Even seeds also get one id in the chunk between them, so the two sides of an operation differ in chunks.
+     */
+    private static TreeSet<Long> randomIds(long seed) {
+        Random random = new Random(seed);
+        TreeSet<Long> ids = new TreeSet<>();
+        for (long chunk : new long[]{0, 1, 3, 4}) {
+            int count = chunk < 2 ? 20000 : 1000;
+            for (int i = 0; i < count; i++) {
+                ids.add(chunk * CHUNK + random.nextInt((int) CHUNK));
+            }
+        }
+        if (seed % 2 == 0) {
+            ids.add(2 * CHUNK + 7);
+        }
+        return ids;
+    }
+
+    private static CarIdBitmap bitmapOf(TreeSet<Long> ids) {
+        CarIdBitmap bitmap = new CarIdBitmap();
+        ids.forEach(bitmap::add);
+        return bitmap;
+    }
+
+    private static List<Long> ids(CarIdBitmap bitmap) {
+        return bitmap.page(0, Integer.MAX_VALUE);
+    }
+}
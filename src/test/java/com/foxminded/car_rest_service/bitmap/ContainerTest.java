@@ -0,0 +1,211 @@
+package com.foxminded.car_rest_service.bitmap;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.foxminded.car_rest_service.bitmap.Container.ARRAY_MAX;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContainerTest {
+
+    @Test
+    void add_shouldKeepArray_whenCardinalityReachesArrayMax() {
+        Container container = range(0, ARRAY_MAX, 1);
+
+        assertAll(
+                () -> assertInstanceOf(ArrayContainer.class, container),
+                () -> assertEquals(ARRAY_MAX, container.cardinality())
+        );
+    }
+
+    @Test
+    void add_shouldConvertToBitmap_whenCardinalityExceedsArrayMax() {
+        Container container = range(0, ARRAY_MAX, 1).add((char) 60000);
+
+        assertAll(
+                () -> assertInstanceOf(BitmapContainer.class, container),
+                () -> assertEquals(ARRAY_MAX + 1, container.cardinality()),
+                () -> assertTrue(container.contains((char) 60000)),
+                () -> assertTrue(container.contains((char) (ARRAY_MAX - 1)))
+        );
+    }
+
+    @Test
+    void add_shouldKeepContainer_whenValueIsAlreadyPresent() {
+        Container container = range(0, ARRAY_MAX, 1);
+
+        Container actual = container.add((char) 0);
+
+        assertAll(
+                () -> assertInstanceOf(ArrayContainer.class, actual),
+                () -> assertEquals(ARRAY_MAX, actual.cardinality())
+        );
+    }
+
+    @Test
+    void remove_shouldConvertToArray_whenBitmapCardinalityDropsToArrayMax() {
+        Container bitmap = range(0, ARRAY_MAX + 1, 1);
+
+        Container actual = bitmap.remove((char) 17);
+
+        assertAll(
+                () -> assertInstanceOf(BitmapContainer.class, bitmap),
+                () -> assertInstanceOf(ArrayContainer.class, actual),
+                () -> assertEquals(ARRAY_MAX, actual.cardinality()),
+                () -> assertFalse(actual.contains((char) 17)),
+                () -> assertEquals(without(range(0, ARRAY_MAX + 1, 1), 17), values(actual))
+        );
+    }
+
+    @Test
+    void or_shouldReturnBitmap_whenArraysTogetherExceedArrayMax() {
+        Container even = range(0, ARRAY_MAX, 2);
+        Container odd = range(1, ARRAY_MAX, 2);
+
+        Container actual = even.or(odd);
+
+        assertAll(
+                () -> assertInstanceOf(BitmapContainer.class, actual),
+                () -> assertEquals(2 * ARRAY_MAX, actual.cardinality()),
+                () -> assertEquals(values(range(0, 2 * ARRAY_MAX, 1)), values(actual))
+        );
+    }
+
+    @Test
+    void or_shouldReturnArray_whenOverlappingArraysFitInArrayMax() {
+        Container first = range(0, 3000, 1);
+        Container second = range(1000, 3000, 1);
+
+        Container actual = first.or(second);
+
+        assertAll(
+                () -> assertInstanceOf(ArrayContainer.class, actual),
+                () -> assertEquals(values(range(0, 4000, 1)), values(actual))
+        );
+    }
+
+    @Test
+    void and_shouldReturnArray_whenBitmapIntersectionFitsInArrayMax() {
+        Container first = range(0, 3 * ARRAY_MAX, 1);
+        Container second = range(3 * ARRAY_MAX - 10, 2 * ARRAY_MAX, 1);
+
+        Container actual = first.and(second);
+
+        assertAll(
+                () -> assertInstanceOf(BitmapContainer.class, first),
+                () -> assertInstanceOf(BitmapContainer.class, second),
+                () -> assertInstanceOf(ArrayContainer.class, actual),
+                () -> assertEquals(values(range(3 * ARRAY_MAX - 10, 10, 1)), values(actual))
+        );
+    }
+
+    @Test
+    void and_shouldReturnSameValues_whenArrayIsIntersectedWithBitmapEitherWay() {
+        Container array = range(5, 100, 3);
+        Container bitmap = range(0, 2 * ARRAY_MAX, 2);
+
+        assertAll(
+                () -> assertEquals(values(array.and(bitmap)), values(bitmap.and(array))),
+                () -> assertEquals(values(range(8, 50, 6)), values(array.and(bitmap)))
+        );
+    }
+
+    @Test
+    void andNot_shouldReturnArray_whenBitmapMinusArrayDropsToArrayMax() {
+        Container bitmap = range(0, ARRAY_MAX + 10, 1);
+        Container array = range(0, 10, 1);
+
+        Container actual = bitmap.andNot(array);
+
+        assertAll(
+                () -> assertInstanceOf(ArrayContainer.class, actual),
+                () -> assertEquals(values(range(10, ARRAY_MAX, 1)), values(actual))
+        );
+    }
+
+    @Test
+    void andNot_shouldReturnEmptyArray_whenEverythingIsRemoved() {
+        Container bitmap = range(0, ARRAY_MAX + 10, 1);
+
+        Container actual = bitmap.andNot(bitmap.copy());
+
+        assertAll(
+                () -> assertInstanceOf(ArrayContainer.class, actual),
+                () -> assertEquals(0, actual.cardinality())
+        );
+    }
+
+    @Test
+    void or_shouldNotShareState_whenResultIsModified() {
+        Container first = range(0, 10, 1);
+        Container second = range(20, 10, 1);
+
+        first.or(second).add((char) 15);
+
+        assertAll(
+                () -> assertFalse(first.contains((char) 15)),
+                () -> assertFalse(second.contains((char) 15))
+        );
+    }
+
+    @Test
+    void copyTo_shouldSkipAndLimitInAscendingOrder_whenContainerIsBitmap() {
+        Container bitmap = range(0, ARRAY_MAX + 1, 3);
+        long[] out = new long[5];
+
+        int written = bitmap.copyTo(1L << Character.SIZE, 100, out, 0, 5);
+
+        assertAll(
+                () -> assertEquals(5, written),
+                () -> assertEquals(List.of(65836L, 65839L, 65842L, 65845L, 65848L), toList(out))
+        );
+    }
+
+    @Test
+    void copyTo_shouldWriteNothing_whenSkipExceedsCardinality() {
+        long[] out = new long[5];
+
+        assertAll(
+                () -> assertEquals(0, range(0, 10, 1).copyTo(0L, 20, out, 0, 5)),
+                () -> assertEquals(0, range(0, ARRAY_MAX + 1, 1).copyTo(0L, ARRAY_MAX + 1, out, 0, 5))
+        );
+    }
+
+    /**
+     * {@code count} values from {@code first} with the given step, added one by one so the container
+     * converts the way it does in use.
+     */
+    private static Container range(int first, int count, int step) {
+        Container container = new ArrayContainer();
+        for (int i = 0; i < count; i++) {
+            container = container.add((char) (first + i * step));
+        }
+        return container;
+    }
+
+    private static List<Long> values(Container container) {
+        long[] out = new long[container.cardinality()];
+        container.copyTo(0L, 0, out, 0, out.length);
+        return toList(out);
+    }
+
+    private static List<Long> without(Container container, long value) {
+        List<Long> values = new ArrayList<>(values(container));
+        values.remove(value);
+        return values;
+    }
+
+    private static List<Long> toList(long[] values) {
+        List<Long> list = new ArrayList<>(values.length);
+        for (long value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,101 @@
+package com.foxminded.car_rest_service.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foxminded.car_rest_service.exceptions.response.ResultModel;
+import com.foxminded.car_rest_service.exceptions.response.ValidationErrorResponse;
+import com.foxminded.car_rest_service.exceptions.response.Violation;
+import com.foxminded.car_rest_service.services.AutocompleteService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@Import(SecurityConfigTest.class)
+@WebMvcTest(controllers = AutocompleteController.class)
+class AutocompleteControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AutocompleteService autocompleteService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void completeManufacturers_shouldReturnStatus200WithNames_whenPrefixMatches() throws Exception {
+        when(autocompleteService.completeManufacturers("ac", 10)).thenReturn(List.of("Acura"));
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/autocomplete/manufacturers")
+                        .param("prefix", "ac")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setData(List.of("Acura"));
+
+        String expected = objectMapper.writeValueAsString(resultModel);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void completeModels_shouldReturnStatus200WithEmptyList_whenNothingMatches() throws Exception {
+        when(autocompleteService.completeModels("x", 5)).thenReturn(List.of());
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/autocomplete/models")
+                        .param("prefix", "x")
+                        .param("limit", "5")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setData(List.of());
+
+        String expected = objectMapper.writeValueAsString(resultModel);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void completeCategories_shouldReturnStatus400_whenLimitIsTooBig() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/autocomplete/categories")
+                        .param("prefix", "s")
+                        .param("limit", "101")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+
+        ValidationErrorResponse error = new ValidationErrorResponse();
+        error.getViolations().add(new Violation("completeCategories.limit", "must be less than or equal to 100"));
+
+        String expected = objectMapper.writeValueAsString(error);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+}
@@ -1,41 +1,60 @@
 package com.foxminded.car_rest_service.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foxminded.car_rest_service.exceptions.InvalidCursorException;
+import com.foxminded.car_rest_service.exceptions.InvalidSortException;
+import com.foxminded.car_rest_service.exceptions.SnapshotUnavailableException;
 import com.foxminded.car_rest_service.exceptions.response.ResultModel;
 import com.foxminded.car_rest_service.exceptions.response.ValidationErrorResponse;
 import com.foxminded.car_rest_service.exceptions.response.Violation;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarBatchCreateDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCategoryChangesDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCategoryLinkDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCategoryQueryDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.car.CarDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarFilterDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarImportDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.car.CarWithoutCategoriesDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.category.CategoryBasicDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.manufacturer.ManufacturerBasicDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.model.ModelBasicDTO;
+import com.foxminded.car_rest_service.services.CarJsonService;
 import com.foxminded.car_rest_service.services.CarService;
+import com.foxminded.car_rest_service.utils.KeysetPage;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.InputStream;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ActiveProfiles("test")
@@ -49,6 +68,9 @@ class CarControllerTest {
     @MockBean
     private CarService carService;
 
+    @MockBean
+    private CarJsonService carJsonService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -93,6 +115,51 @@ class CarControllerTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    @WithMockUser(roles = "USER")
+    void getAllCars_shouldReturnCarDTOsWithNextCursor_whenCursorIsProvided() throws Exception {
+        List<CarDTO> cars = getCars();
+        when(carService.getAllCars(anyString(), any(Sort.class), anyInt())).thenReturn(new KeysetPage<>(cars, "Mg"));
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars")
+                        .param("cursor", "")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setData(cars);
+        resultModel.setNextCursor("Mg");
+
+        String expected = objectMapper.writeValueAsString(resultModel);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getAllCars_shouldReturnStatus400_whenCursorIsInvalid() throws Exception {
+        when(carService.getAllCars(anyString(), any(Sort.class), anyInt()))
+                .thenThrow(new InvalidCursorException("Cursor(abc) is malformed"));
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars")
+                        .param("cursor", "abc")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setMassage("Cursor(abc) is malformed");
+
+        String expected = objectMapper.writeValueAsString(resultModel);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
     @Test
     @WithMockUser(roles = "USER")
     void getAllCarsByManufacturer_shouldReturn_whenCarsWithInputManufacturerExist() throws Exception {
@@ -205,6 +272,58 @@ class CarControllerTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    @WithMockUser(roles = "USER")
+    void exportCars_shouldStreamOneCarPerLine_whenCarsExist() throws Exception {
+        List<CarDTO> cars = getCars();
+        doAnswer(invocation -> {
+            Consumer<CarDTO> consumer = invocation.getArgument(0);
+            cars.forEach(consumer);
+            return (long) cars.size();
+        }).when(carService).exportCars(any());
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String expected = objectMapper.writeValueAsString(cars.get(0)) + "\n" +
+                          objectMapper.writeValueAsString(cars.get(1)) + "\n" +
+                          objectMapper.writeValueAsString(cars.get(2)) + "\n";
+
+        String actual = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void importCars_shouldReturnImportCounts_whenCsvImported() throws Exception {
+        CarImportDTO result = new CarImportDTO(2, 1, 1, 0, 2, 3);
+        when(carService.importCars(any(InputStream.class))).thenReturn(result);
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/v1/cars/import")
+                        .contentType("text/csv")
+                        .content("objectId,Make,Year,Model,Category\n" +
+                                 "a,Acura,2017,Regal,Wagon\n" +
+                                 "b,Tesla,2020,Model S,\"Sedan, Convertible\""))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setData(result);
+
+        String expected = objectMapper.writeValueAsString(resultModel);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void createCar_shouldReturnStatus422_whenCarAlreadyExist() throws Exception {
@@ -224,6 +343,150 @@ class CarControllerTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    @WithMockUser(roles = "USER")
+    void getCarsByCategories_shouldReturnStatus400_whenOnlyExcludedCategoriesArePassed() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars/categories/match")
+                        .param("none", "Wagon")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+
+        ValidationErrorResponse error = new ValidationErrorResponse();
+        error.getViolations().add(new Violation("bounded", "all or any categories are required"));
+
+        String expected = objectMapper.writeValueAsString(error);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void countCarsByCategories_shouldReturnCount_whenQueryIsValid() throws Exception {
+        when(carService.countCarsByCategories(any(CarCategoryQueryDTO.class))).thenReturn(42L);
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars/categories/match/count")
+                        .param("all", "SUV", "Hatchback")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setData(42L);
+
+        String expected = objectMapper.writeValueAsString(resultModel);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getSimilarCars_shouldReturnStatus503_whenSnapshotCannotBeLoaded() throws Exception {
+        when(carService.getSimilarCars(1L, 10)).thenThrow(new SnapshotUnavailableException(
+                "Similar cars are temporarily unavailable", new IllegalStateException("Connection refused")));
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars/id/{id}/similar", 1)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isServiceUnavailable())
+                .andReturn();
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setMassage("Similar cars are temporarily unavailable");
+
+        String expected = objectMapper.writeValueAsString(resultModel);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getSimilarCars_shouldReturnStatus400_whenLimitIsTooSmall() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars/id/{id}/similar", 1)
+                        .param("limit", "0")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+
+        ValidationErrorResponse error = new ValidationErrorResponse();
+        error.getViolations().add(new Violation("getSimilarCars.limit", "must be greater than or equal to 1"));
+
+        String expected = objectMapper.writeValueAsString(error);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void filterCars_shouldReturnStatus400_whenTooManyCategoriesArePassed() throws Exception {
+        String[] categories = IntStream.rangeClosed(0, CarFilterDTO.MAX_VALUES).mapToObj(i -> "c" + i).toArray(String[]::new);
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars/filter")
+                        .param("category", categories)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+
+        ValidationErrorResponse error = new ValidationErrorResponse();
+        error.getViolations().add(new Violation("category", "size must be between 0 and 100"));
+
+        String expected = objectMapper.writeValueAsString(error);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void filterCars_shouldReturnStatus400_whenSortIsNotSupported() throws Exception {
+        when(carService.filterCars(any(), any())).thenThrow(new InvalidSortException(
+                "Cars can be sorted only by [id, manufacturer.manufacturer, manufacturer.year, model.model]"));
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars/filter")
+                        .param("manufacturer", "Audi")
+                        .param("sort", "foo")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setMassage("Cars can be sorted only by " +
+                               "[id, manufacturer.manufacturer, manufacturer.year, model.model]");
+
+        String expected = objectMapper.writeValueAsString(resultModel);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void searchCars_shouldReturnStatus400_whenQueryIsBlank() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars/search")
+                        .param("query", "  ")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+
+        ValidationErrorResponse error = new ValidationErrorResponse();
+        error.getViolations().add(new Violation("searchCars.query", "must not be blank"));
+
+        String expected = objectMapper.writeValueAsString(error);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void createCar_shouldReturnStatus400_whenConstraintViolationExceptionThrown() throws Exception {
@@ -286,6 +549,46 @@ class CarControllerTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void createCars_shouldReturnStatus422_whenBatchIsEmpty() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(post("/api/v1/cars/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CarBatchCreateDTO(List.of()))))
+                .andExpect(status().isUnprocessableEntity())
+                .andReturn();
+
+        ValidationErrorResponse error = new ValidationErrorResponse();
+        error.getViolations().add(new Violation("cars", "must not be empty"));
+
+        String expected = objectMapper.writeValueAsString(error);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @WithMockUser(roles = "STAFF")
+    void changeCarCategories_shouldReturnStatus422_whenCategoryIsBlank() throws Exception {
+        CarCategoryChangesDTO changes = new CarCategoryChangesDTO(List.of(new CarCategoryLinkDTO(1L, " ")), List.of());
+
+        MvcResult mvcResult = mockMvc.perform(put("/api/v1/cars/categories")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(changes)))
+                .andExpect(status().isUnprocessableEntity())
+                .andReturn();
+
+        ValidationErrorResponse error = new ValidationErrorResponse();
+        error.getViolations().add(new Violation("add[0].category", "must not be blank"));
+
+        String expected = objectMapper.writeValueAsString(error);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
     @Test
     @WithMockUser(roles = "STAFF")
     void updateCar_shouldReturnStatus404_whenCarIsNotFound() throws Exception {
@@ -8,12 +8,14 @@ import com.foxminded.car_rest_service.mapstruct.dto.car.CarWithoutCategoriesDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.category.CategoryBasicDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.category.CategoryDTO;
 import com.foxminded.car_rest_service.services.CategoryService;
+import com.foxminded.car_rest_service.utils.KeysetPage;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
@@ -26,6 +28,7 @@ import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -69,6 +72,29 @@ class CategoryControllerTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    @WithMockUser(roles = "USER")
+    void getAllCategories_shouldReturnCategoriesWithNextCursor_whenCursorIsProvided() throws Exception {
+        List<CategoryBasicDTO> categories = getCategories();
+        when(categoryService.getAllCategories(anyString(), any(Sort.class), anyInt()))
+                .thenReturn(new KeysetPage<>(categories, null));
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/categories")
+                        .param("cursor", "")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setData(categories);
+
+        String expected = objectMapper.writeValueAsString(resultModel);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
     @Test
     @WithMockUser(roles = "USER")
     void getAllCategories_shouldReturnStatus404_whenCategoriesNotExist() throws Exception {
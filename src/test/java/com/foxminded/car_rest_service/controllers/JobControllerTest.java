@@ -0,0 +1,134 @@
+package com.foxminded.car_rest_service.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foxminded.car_rest_service.exceptions.response.ResultModel;
+import com.foxminded.car_rest_service.exceptions.response.ValidationErrorResponse;
+import com.foxminded.car_rest_service.exceptions.response.Violation;
+import com.foxminded.car_rest_service.jobs.JobStatus;
+import com.foxminded.car_rest_service.jobs.JobType;
+import com.foxminded.car_rest_service.mapstruct.dto.job.JobDTO;
+import com.foxminded.car_rest_service.services.JobService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@Import(SecurityConfigTest.class)
+@WebMvcTest(controllers = JobController.class)
+class JobControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JobService jobService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void submitManufacturerDeletion_shouldReturnStatus202WithQueuedJob_whenManufacturersExist() throws Exception {
+        JobDTO job = getJobDTO(JobStatus.QUEUED);
+        when(jobService.submitManufacturerDeletion("Acura")).thenReturn(job);
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/v1/jobs/manufacturers/name/{name}/delete", "Acura"))
+                .andExpect(status().isAccepted())
+                .andReturn();
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setData(job);
+
+        String expected = objectMapper.writeValueAsString(resultModel);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void submitManufacturerDeletion_shouldReturnStatus400_whenConstraintViolationExceptionThrown() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(post("/api/v1/jobs/manufacturers/name/{name}/delete", "  "))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+
+        ValidationErrorResponse error = new ValidationErrorResponse();
+        error.getViolations().add(new Violation("submitManufacturerDeletion.name", "must not be blank"));
+
+        String expected = objectMapper.writeValueAsString(error);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getJob_shouldReturnStatus404_whenJobNotFound() throws Exception {
+        when(jobService.getJob(anyLong())).thenReturn(null);
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/jobs/id/{id}", 20)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andReturn();
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setMassage("Job with id(20) not found");
+
+        String expected = objectMapper.writeValueAsString(resultModel);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void cancelJob_shouldReturnStatus409WithJob_whenJobHasFinished() throws Exception {
+        JobDTO job = getJobDTO(JobStatus.SUCCEEDED);
+        when(jobService.cancelJob(1L)).thenReturn(job);
+
+        MvcResult mvcResult = mockMvc.perform(delete("/api/v1/jobs/id/{id}", 1))
+                .andExpect(status().isConflict())
+                .andReturn();
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setData(job);
+        resultModel.setMassage("Job with id(1) has finished already");
+
+        String expected = objectMapper.writeValueAsString(resultModel);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @WithMockUser(roles = "STAFF")
+    void cancelJob_shouldReturnStatus403_whenUserIsNotAdmin() throws Exception {
+        mockMvc.perform(delete("/api/v1/jobs/id/{id}", 1))
+                .andExpect(status().isForbidden());
+    }
+
+    private JobDTO getJobDTO(JobStatus status) {
+        return new JobDTO(1L, JobType.DELETE_MANUFACTURERS, status, "Acura", 3L, 0L, null,
+                Instant.parse("2023-01-15T10:15:30Z"), null, null);
+    }
+}
@@ -7,12 +7,14 @@ import com.foxminded.car_rest_service.exceptions.response.Violation;
 import com.foxminded.car_rest_service.mapstruct.dto.manufacturer.ManufacturerBasicDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.manufacturer.ManufacturerDTO;
 import com.foxminded.car_rest_service.services.ManufacturerService;
+import com.foxminded.car_rest_service.utils.KeysetPage;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
@@ -68,6 +70,31 @@ class ManufacturerControllerTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    @WithMockUser(roles = "USER")
+    void getAllUniqueManufacturers_shouldReturnNamesWithNextCursor_whenCursorIsProvided() throws Exception {
+        List<String> manufacturers = getNamesOfManufacturers();
+
+        when(manufacturerService.getAllUniqueManufacturers(anyString(), any(Sort.class), anyInt()))
+                .thenReturn(new KeysetPage<>(manufacturers, "bWFudWZhY3R1cmVy"));
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/manufacturers")
+                        .param("cursor", "")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setData(manufacturers);
+        resultModel.setNextCursor("bWFudWZhY3R1cmVy");
+
+        String expected = objectMapper.writeValueAsString(resultModel);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
     @Test
     @WithMockUser(roles = "USER")
     void getAllUniqueManufacturers_shouldReturnStatus404_whenManufacturersNotExist() throws Exception {
@@ -8,12 +8,14 @@ import com.foxminded.car_rest_service.mapstruct.dto.car.CarWithoutModelDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.model.ModelBasicDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.model.ModelDTO;
 import com.foxminded.car_rest_service.services.ModelService;
+import com.foxminded.car_rest_service.utils.KeysetPage;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
@@ -27,6 +29,7 @@ import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -71,6 +74,32 @@ class ModelControllerTest {
 
     }
 
+    @Test
+    @WithMockUser(roles = "USER")
+    void getAllModels_shouldReturnModelsWithNextCursor_whenCursorIsProvided() throws Exception {
+        List<ModelBasicDTO> modelBasicDTOs = getModelBasicDTOs();
+
+        when(modelService.getAllModels(anyString(), any(Sort.class), anyInt()))
+                .thenReturn(new KeysetPage<>(modelBasicDTOs, "bW9kZWw"));
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/models/")
+                        .param("cursor", "")
+                        .param("sort", "model")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setData(modelBasicDTOs);
+        resultModel.setNextCursor("bW9kZWw");
+
+        String expected = objectMapper.writeValueAsString(resultModel);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
     @Test
     @WithMockUser(roles = "USER")
     void getAllModels_shouldReturnStatus404_whenModelsNotExists() throws Exception {
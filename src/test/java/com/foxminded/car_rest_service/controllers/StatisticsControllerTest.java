@@ -0,0 +1,81 @@
+package com.foxminded.car_rest_service.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foxminded.car_rest_service.exceptions.response.ResultModel;
+import com.foxminded.car_rest_service.mapstruct.dto.statistics.StatisticsDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.statistics.YearStatisticsDTO;
+import com.foxminded.car_rest_service.services.StatisticsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@Import(SecurityConfigTest.class)
+@WebMvcTest(controllers = StatisticsController.class)
+class StatisticsControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getCarsPerYear_shouldReturnStatus200WithStatisticsAndTheirAge() throws Exception {
+        StatisticsDTO<YearStatisticsDTO> statistics = new StatisticsDTO<>(Instant.parse("2023-01-15T10:15:30Z"), 42L,
+                List.of(new YearStatisticsDTO(2021, 40L)));
+        when(statisticsService.getCarsPerYear()).thenReturn(statistics);
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/statistics/years")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setData(statistics);
+
+        String expected = objectMapper.writeValueAsString(resultModel);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void refresh_shouldReturnStatus409_whenAnotherRefreshIsRunning() throws Exception {
+        when(statisticsService.refresh()).thenReturn(false);
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/v1/statistics/refresh"))
+                .andExpect(status().isConflict())
+                .andReturn();
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setMassage("Statistics are being refreshed already");
+
+        String expected = objectMapper.writeValueAsString(resultModel);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+}
@@ -0,0 +1,95 @@
+package com.foxminded.car_rest_service.integration;
+
+import com.foxminded.car_rest_service.exceptions.response.ResultModel;
+import com.foxminded.car_rest_service.mapstruct.dto.model.ModelBasicDTO;
+import com.foxminded.car_rest_service.services.AutocompleteService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class AutocompleteControllerIntegrationTest extends IntegrationTestcontainersConfig {
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void completeManufacturers_shouldReturnDistinctNamesIgnoringCase_whenPrefixMatches() throws Exception {
+        assertEquals(expected(List.of("Acura")), complete("manufacturers", "aC"));
+        assertEquals(expected(List.of("Acura", "Aston Martin")), complete("manufacturers", "A"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void completeModels_shouldReturnEmptyList_whenNothingMatches() throws Exception {
+        assertEquals(expected(List.of()), complete("models", "Escalade"));
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER", "ADMIN"})
+    void completeModels_shouldFollowWrites_whenModelIsCreatedRenamedAndDeleted() throws Exception {
+        mockMvc.perform(post("/api/v1/models")
+                        .content(objectMapper.writeValueAsString(new ModelBasicDTO(null, "Gladiator")))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated());
+        autocompleteService.applyPendingChanges();
+
+        assertEquals(expected(List.of("Gladiator", "Grand")), complete("models", "g"));
+
+        mockMvc.perform(put("/api/v1/models/id/{id}", 3)
+                        .content(objectMapper.writeValueAsString(new ModelBasicDTO(3L, "Highlander")))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        autocompleteService.applyPendingChanges();
+
+        assertEquals(expected(List.of("Gladiator")), complete("models", "g"));
+        assertEquals(expected(List.of("Highlander")), complete("models", "h"));
+
+        mockMvc.perform(delete("/api/v1/models/name/{name}", "Highlander"))
+                .andExpect(status().isNoContent());
+        autocompleteService.applyPendingChanges();
+
+        assertEquals(expected(List.of()), complete("models", "h"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void completeCategories_shouldReturnAtMostLimitNames() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/autocomplete/categories")
+                        .param("prefix", "")
+                        .param("limit", "2")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals(expected(List.of("Convertible", "SUV1992")), mvcResult.getResponse().getContentAsString());
+    }
+
+    private String complete(String kind, String prefix) throws Exception {
+        return mockMvc.perform(get("/api/v1/autocomplete/{kind}", kind)
+                        .param("prefix", prefix)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+
+    private String expected(List<String> names) throws Exception {
+        ResultModel resultModel = new ResultModel();
+        resultModel.setData(names);
+
+        return objectMapper.writeValueAsString(resultModel);
+    }
+}
@@ -1,22 +1,40 @@
 package com.foxminded.car_rest_service.integration;
 
+import com.foxminded.car_rest_service.bitmap.CategoryBitmapIndex;
 import com.foxminded.car_rest_service.exceptions.response.ResultModel;
 import com.foxminded.car_rest_service.exceptions.response.ValidationErrorResponse;
 import com.foxminded.car_rest_service.exceptions.response.Violation;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarBatchCreateDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCategoryChangeResultDTO.Status;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCategoryChangeResultDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCategoryChangesDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCategoryChangesResultDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCategoryLinkDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCreateDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCreateResultDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.car.CarDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarFacetsDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.car.CarWithoutCategoriesDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.category.CategoryBasicDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.manufacturer.ManufacturerBasicDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.model.ModelBasicDTO;
+import com.github.benmanes.caffeine.cache.Cache;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
+import static com.foxminded.car_rest_service.cache.CacheConfig.CARS_BY_MANUFACTURER;
+import static java.util.stream.Collectors.toSet;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -26,6 +44,12 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 public class CarControllerIntegrationTest extends IntegrationTestcontainersConfig {
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CategoryBitmapIndex categoryBitmapIndex;
+
     @Test
     @WithMockUser(roles = "USER")
     void getAllCars_shouldReturnCarDTOs_whenCarsExist() throws Exception {
@@ -88,6 +112,334 @@ public class CarControllerIntegrationTest extends IntegrationTestcontainersConfi
     }
 
 
+    @Test
+    @WithMockUser(roles = "USER")
+    void searchCars_shouldReturnCarsOfSimilarCategory_whenQueryIsMisspelled() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars/search")
+                        .param("query", "convertable")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        List<Long> actual = new ArrayList<>();
+        objectMapper.readTree(mvcResult.getResponse().getContentAsString()).get("data")
+                .forEach(car -> actual.add(car.get("id").asLong()));
+
+        assertEquals(List.of(1L, 5L), actual);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void filterCars_shouldReturnCarsMatchingEveryCriterion_whenSeveralCriteriaArePresent() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars/filter")
+                        .param("manufacturer", "Acura", "Aston Martin")
+                        .param("maxYear", "2010")
+                        .param("category", "SUV1992", "Wagon")
+                        .param("categoryMatch", "ALL")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        List<Long> actual = new ArrayList<>();
+        objectMapper.readTree(mvcResult.getResponse().getContentAsString()).get("data")
+                .forEach(car -> actual.add(car.get("id").asLong()));
+
+        assertEquals(List.of(4L), actual);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void filterCars_shouldReturnStatus404_whenNoCarMatches() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars/filter")
+                        .param("model", "Grand")
+                        .param("category", "SUV1992")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andReturn();
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setMassage("Cars matching the filter not found");
+
+        String expected = objectMapper.writeValueAsString(resultModel);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void filterCars_shouldReturnStatus400_whenSortIsNotSupported() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars/filter")
+                        .param("model", "Grand")
+                        .param("sort", "foo")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setMassage("Cars can be sorted only by " +
+                               "[id, manufacturer.manufacturer, manufacturer.year, model.model]");
+
+        String expected = objectMapper.writeValueAsString(resultModel);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getFacets_shouldReturnEmptyFacets_whenNoCarMatches() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars/facets")
+                        .param("model", "Grand")
+                        .param("maxYear", "2000")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setData(new CarFacetsDTO());
+
+        String expected = objectMapper.writeValueAsString(resultModel);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getFacets_shouldCountCarsPerValue_whenFilterIsPresent() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars/facets")
+                        .param("category", "Convertible")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setData(new CarFacetsDTO(
+                new TreeMap<>(Map.of("Acura", 1L, "Aston Martin", 1L)),
+                new TreeMap<>(Map.of(2010, 1L, 2017, 1L)),
+                new TreeMap<>(Map.of("Grand", 1L, "Touareg 2", 1L)),
+                new TreeMap<>(Map.of("Convertible", 2L, "SUV1992", 1L))));
+
+        String expected = objectMapper.writeValueAsString(resultModel);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER", "ADMIN"})
+    void getFacets_shouldNotCountDeletedCar_whenFacetsWereCachedBeforeDelete() throws Exception {
+        mockMvc.perform(get("/api/v1/cars/facets")
+                        .param("manufacturer", "Aston Martin")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/v1/cars/id/{id}", 7))
+                .andExpect(status().isNoContent());
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars/facets")
+                        .param("manufacturer", "Aston Martin")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals(3, objectMapper.readTree(mvcResult.getResponse().getContentAsString())
+                .get("data").get("manufacturers").get("Aston Martin").asInt());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getCarsByCategories_shouldReturnCarsInAllCategoriesExceptExcluded_whenAllAndNoneArePresent() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars/categories/match")
+                        .param("all", "SUV1992")
+                        .param("none", "Convertible")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals(List.of(2L, 4L, 7L), carIds(mvcResult));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getCarsByCategories_shouldReturnCarsInAnyCategory_whenAnyIsPresent() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars/categories/match")
+                        .param("any", "Convertible", "Wagon")
+                        .param("page", "1")
+                        .param("size", "2")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals(List.of(4L, 5L), carIds(mvcResult));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getCarsByCategories_shouldReturnStatus404_whenNoCarIsInAllCategories() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars/categories/match")
+                        .param("all", "Convertible", "Wagon")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andReturn();
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setMassage("Cars matching the categories not found");
+
+        String expected = objectMapper.writeValueAsString(resultModel);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER", "STAFF"})
+    void countCarsByCategories_shouldFollowCategoryChanges_whenCarIsAddedAndRemoved() throws Exception {
+        assertEquals(1L, countCars("SUV1992", "Wagon"));
+
+        mockMvc.perform(put("/api/v1/cars/id/{id}/category/{name}", 3, "SUV1992"))
+                .andExpect(status().isOk());
+
+        assertEquals(2L, countCars("SUV1992", "Wagon"));
+
+        mockMvc.perform(put("/api/v1/cars/remove/id/{id}/category/{name}", 4, "Wagon"))
+                .andExpect(status().isOk());
+
+        assertEquals(1L, countCars("SUV1992", "Wagon"));
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER", "ADMIN"})
+    void countCarsByCategories_shouldDropLinksOfDeletedCars_whenCarModelAndCategoryAreDeleted() throws Exception {
+        assertEquals(4L, countCars("SUV1992"));
+
+        mockMvc.perform(delete("/api/v1/cars/id/{id}", 7))
+                .andExpect(status().isNoContent());
+
+        assertEquals(3L, countCars("SUV1992"));
+
+        mockMvc.perform(delete("/api/v1/models/name/{name}", "Touareg 2"))
+                .andExpect(status().isNoContent());
+
+        assertEquals(1L, countCars("SUV1992"));
+
+        mockMvc.perform(delete("/api/v1/categories/name/{name}", "Convertible"))
+                .andExpect(status().isNoContent());
+
+        assertEquals(0L, countCars("Convertible"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void countCarsByCategories_shouldMatchDatabase_whenCategoriesHoldThousandsOfCars() throws Exception {
+        jdbcTemplate.update("INSERT INTO model (model) SELECT 'Model ' || n FROM generate_series(1, 6000) n");
+        jdbcTemplate.update("INSERT INTO car (manufacturer_id, model_id) " +
+                            "SELECT 1, model_id FROM model WHERE model LIKE 'Model %'");
+        jdbcTemplate.update("INSERT INTO car_category_info (car_id, category_id) " +
+                            "SELECT car_id, 1 FROM car WHERE car_id > 7 " +
+                            "UNION ALL SELECT car_id, 2 FROM car WHERE car_id > 7 AND car_id % 3 = 0");
+        categoryBitmapIndex.reload();
+
+        assertEquals(6004L, countCars("SUV1992"));
+        assertEquals(2001L, countCars("SUV1992", "Convertible"));
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars/categories/match/count")
+                        .param("any", "Convertible", "Wagon")
+                        .param("none", "SUV1992")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals(3L, objectMapper.readTree(mvcResult.getResponse().getContentAsString()).get("data").asLong());
+
+        mvcResult = mockMvc.perform(get("/api/v1/cars/categories/match")
+                        .param("all", "SUV1992")
+                        .param("none", "Convertible")
+                        .param("page", "1000")
+                        .param("size", "4")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals(jdbcTemplate.queryForList("SELECT car_id FROM car c " +
+                                               "WHERE EXISTS (SELECT 1 FROM car_category_info cc " +
+                                                             "WHERE cc.car_id = c.car_id AND cc.category_id = 1) " +
+                                               "AND NOT EXISTS (SELECT 1 FROM car_category_info cc " +
+                                                               "WHERE cc.car_id = c.car_id AND cc.category_id = 2) " +
+                                               "ORDER BY car_id LIMIT 4 OFFSET 4000", Long.class),
+                carIds(mvcResult));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getSimilarCars_shouldReturnClosestCarsFirst_whenCarExists() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars/id/{id}/similar", 1)
+                        .param("limit", "3")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals(List.of(2L, 7L, 5L), carIds(mvcResult));
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER", "STAFF"})
+    void getSimilarCars_shouldRankCarHigher_whenItWasAddedToSharedCategory() throws Exception {
+        mockMvc.perform(put("/api/v1/cars/id/{id}/category/{name}", 3, "Convertible"))
+                .andExpect(status().isOk());
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars/id/{id}/similar", 1)
+                        .param("limit", "3")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals(List.of(2L, 7L, 3L), carIds(mvcResult));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getSimilarCars_shouldReturnStatus404_whenCarDoesNotExist() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars/id/{id}/similar", 100)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andReturn();
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setMassage("Cars similar to car with id(100) not found");
+
+        String expected = objectMapper.writeValueAsString(resultModel);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void searchCars_shouldReturnStatus404_whenNothingIsSimilar() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars/search")
+                        .param("query", "Zeppelin")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andReturn();
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setMassage("Cars matching(Zeppelin) not found");
+
+        String expected = objectMapper.writeValueAsString(resultModel);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
     @Test
     @WithMockUser(roles = "USER")
     void getAllCarsByManufacturerAndMinYear_shouldReturnCarDTOs_whenCarsWithInputManufacturerExist() throws Exception {
@@ -283,6 +635,58 @@ public class CarControllerIntegrationTest extends IntegrationTestcontainersConfi
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getAllCarsByManufacturer_shouldNotReturnDeletedCar_whenResultWasCachedBeforeDelete() throws Exception {
+        List<CarDTO> cars = getCars().subList(1, 3);
+
+        mockMvc.perform(get("/api/v1/cars/manufacturer")
+                        .param("manufacturer", "Acura")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/v1/cars/id/{id}", 1)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars/manufacturer")
+                        .param("manufacturer", "Acura")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setData(cars);
+
+        String expected = objectMapper.writeValueAsString(resultModel);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void deleteById_shouldKeepCachedCarsOfOtherManufacturers_whenCarWasDeleted() throws Exception {
+        for (String manufacturer : List.of("Acura", "Aston Martin")) {
+            mockMvc.perform(get("/api/v1/cars/manufacturer")
+                            .param("manufacturer", manufacturer)
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(delete("/api/v1/cars/id/{id}", 1)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+
+        Cache<?, ?> cache = (Cache<?, ?>) cacheManager.getCache(CARS_BY_MANUFACTURER).getNativeCache();
+        Set<Object> cachedManufacturers = cache.asMap().keySet().stream()
+                .map(key -> ((List<?>) key).get(0))
+                .collect(toSet());
+
+        assertEquals(Set.of("Aston Martin"), cachedManufacturers);
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void deleteById_shouldReturnStatus404_whenCarWasNotFound() throws Exception {
@@ -322,6 +726,57 @@ public class CarControllerIntegrationTest extends IntegrationTestcontainersConfi
         assertEquals(expected, actual);
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void createCars_shouldReturnPerCarResults_whenBatchIsCreated() throws Exception {
+        CarBatchCreateDTO batch = new CarBatchCreateDTO(List.of(
+                new CarCreateDTO("Acura", "Touareg 2", 2017),
+                new CarCreateDTO("Tesla", "Model S", 2020)));
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/v1/cars/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setData(List.of(
+                new CarCreateResultDTO(1L, "Acura", "Touareg 2", 2017, CarCreateResultDTO.Status.ALREADY_EXISTS),
+                new CarCreateResultDTO(8L, "Tesla", "Model S", 2020, CarCreateResultDTO.Status.CREATED)));
+
+        String expected = objectMapper.writeValueAsString(resultModel);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @WithMockUser(roles = "STAFF")
+    void changeCarCategories_shouldReturnPerItemResults_whenChangesAreApplied() throws Exception {
+        CarCategoryChangesDTO changes = new CarCategoryChangesDTO(
+                List.of(new CarCategoryLinkDTO(2L, "Wagon"), new CarCategoryLinkDTO(10L, "Wagon")),
+                List.of(new CarCategoryLinkDTO(1L, "Convertible")));
+
+        MvcResult mvcResult = mockMvc.perform(put("/api/v1/cars/categories")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(changes)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setData(new CarCategoryChangesResultDTO(
+                List.of(new CarCategoryChangeResultDTO(2L, "Wagon", Status.ADDED),
+                        new CarCategoryChangeResultDTO(10L, "Wagon", Status.CAR_NOT_FOUND)),
+                List.of(new CarCategoryChangeResultDTO(1L, "Convertible", Status.REMOVED))));
+
+        String expected = objectMapper.writeValueAsString(resultModel);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+
     @Test
     @WithMockUser(roles = "STAFF")
     void addCarToCategory_shouldReturnStatusCode404_whenCarByInputIdNotExist() throws Exception {
@@ -415,6 +870,23 @@ public class CarControllerIntegrationTest extends IntegrationTestcontainersConfi
         assertEquals(expected, actual);
     }
 
+    private List<Long> carIds(MvcResult mvcResult) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        objectMapper.readTree(mvcResult.getResponse().getContentAsString()).get("data")
+                .forEach(car -> ids.add(car.get("id").asLong()));
+        return ids;
+    }
+
+    private long countCars(String... all) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars/categories/match/count")
+                        .param("all", all)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return objectMapper.readTree(mvcResult.getResponse().getContentAsString()).get("data").asLong();
+    }
+
     private List<CarDTO> getCars() {
         CarDTO c1 = new CarDTO();
 
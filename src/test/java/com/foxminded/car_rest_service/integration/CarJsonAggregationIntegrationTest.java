@@ -0,0 +1,93 @@
+package com.foxminded.car_rest_service.integration;
+
+import com.foxminded.car_rest_service.exceptions.response.ResultModel;
+import com.foxminded.car_rest_service.services.CarService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = "car-rest.json-aggregation.enabled=true")
+public class CarJsonAggregationIntegrationTest extends IntegrationTestcontainersConfig {
+
+    @Autowired
+    private CarService carService;
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getAllCars_shouldReturnSamePayloadAsDtoPath_whenJsonAggregationEnabled() throws Exception {
+        ResultModel resultModel = new ResultModel();
+        resultModel.setData(carService.getAllCars(PageRequest.of(1, 3, Sort.by("manufacturer.year").descending())));
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars")
+                        .param("page", "1")
+                        .param("size", "3")
+                        .param("sort", "manufacturer.year,desc")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(resultModel)),
+                objectMapper.readTree(mvcResult.getResponse().getContentAsString()));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getAllCarsByManufacturer_shouldReturnSamePayloadAsDtoPath_whenJsonAggregationEnabled() throws Exception {
+        ResultModel resultModel = new ResultModel();
+        resultModel.setData(carService.getAllCarsByManufacturer("Acura", PageRequest.of(0, 20)));
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars/manufacturer")
+                        .param("manufacturer", "Acura")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(resultModel)),
+                objectMapper.readTree(mvcResult.getResponse().getContentAsString()));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getAllCarsByManufacturerAndMinYear_shouldReturnSamePayloadAsDtoPath_whenJsonAggregationEnabled() throws Exception {
+        ResultModel resultModel = new ResultModel();
+        resultModel.setData(carService.getAllCarsByManufacturerAndMinYear("Aston Martin", 2012, PageRequest.of(0, 20)));
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars/manufacturer/year")
+                        .param("manufacturer", "Aston Martin")
+                        .param("year", "2012")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(resultModel)),
+                objectMapper.readTree(mvcResult.getResponse().getContentAsString()));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getAllCarsByManufacturer_shouldReturnStatus404_whenJsonAggregationFindsNoCars() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars/manufacturer")
+                        .param("manufacturer", "name")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andReturn();
+
+        ResultModel resultModel = new ResultModel();
+        resultModel.setMassage("Cars with manufacturer(name) not found");
+
+        String expected = objectMapper.writeValueAsString(resultModel);
+
+        String actual = mvcResult.getResponse().getContentAsString();
+
+        assertEquals(expected, actual);
+    }
+}
@@ -0,0 +1,183 @@
+package com.foxminded.car_rest_service.integration;
+
+import com.foxminded.car_rest_service.dao.CarDAO;
+import com.foxminded.car_rest_service.exceptions.response.ResultModel;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.category.CategoryBasicDTO;
+import com.foxminded.car_rest_service.mapstruct.mapper.CarMapper;
+import com.foxminded.car_rest_service.services.CarService;
+import com.foxminded.car_rest_service.services.CategoryService;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static com.foxminded.car_rest_service.cache.CacheConfig.CARS_BY_MANUFACTURER;
+import static com.foxminded.car_rest_service.utils.IdPagination.inIdOrder;
+import static com.foxminded.car_rest_service.utils.IdPagination.withIdOrder;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = "car-rest.snapshot.enabled=true")
+public class CatalogSnapshotIntegrationTest extends IntegrationTestcontainersConfig {
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CarDAO carDAO;
+
+    @Autowired
+    private CarMapper carMapper;
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getAllCars_shouldReturnSamePayloadAsDatabasePath_whenSnapshotEnabled() throws Exception {
+        ResultModel resultModel = new ResultModel();
+        resultModel.setData(fromDatabase(carDAO.findAllCarIds(withIdOrder(PageRequest.of(1, 3)))));
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/cars")
+                        .param("page", "1")
+                        .param("size", "3")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(resultModel)),
+                objectMapper.readTree(mvcResult.getResponse().getContentAsString()));
+    }
+
+    @Test
+    void getAllCars_shouldReturnCarsInDescendingIdOrder_whenSortedByIdDesc() {
+        Pageable pageable = PageRequest.of(0, 4, Sort.by("id").descending());
+
+        List<Long> expected = carDAO.findAllCarIds(withIdOrder(pageable));
+
+        assertEquals(expected, ids(carService.getAllCars(pageable)));
+    }
+
+    @Test
+    void getAllCarsByManufacturer_shouldReturnSameCarsAsDatabasePath_whenSortedByYear() {
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("manufacturer.year"));
+
+        List<Long> expected = carDAO.findCarIdsByManufacturer("Aston Martin", withIdOrder(pageable));
+
+        assertEquals(expected, ids(carService.getAllCarsByManufacturer("Aston Martin", pageable)));
+    }
+
+    @Test
+    void getAllCarsByManufacturerAndMinYear_shouldReturnSameCarsAsDatabasePath_whenYearIsInsideRange() {
+        for (int year : new int[]{2000, 2006, 2007, 2017, 2018}) {
+            Pageable pageable = PageRequest.of(0, 20);
+
+            List<Long> expected = carDAO.findCarIdsByManufacturerAndMinYear("Acura", year, withIdOrder(pageable));
+
+            assertEquals(expected, ids(carService.getAllCarsByManufacturerAndMinYear("Acura", year, pageable)));
+        }
+    }
+
+    @Test
+    void getAllCarsByManufacturerAndMinYear_shouldPageInYearOrder_whenSortedByYear() {
+        Pageable pageable = PageRequest.of(1, 1, Sort.by("manufacturer.year"));
+
+        List<Long> expected = carDAO.findCarIdsByManufacturerAndMinYear("Aston Martin", 2011, withIdOrder(pageable));
+
+        assertEquals(expected, ids(carService.getAllCarsByManufacturerAndMinYear("Aston Martin", 2011, pageable)));
+    }
+
+    @Test
+    void getAllCars_shouldNotReturnCar_whenCarWasDeletedAfterSnapshotLoaded() {
+        carService.deleteCarById(1L);
+        catalogSnapshotEngine.applyPendingChanges();
+
+        assertFalse(ids(carService.getAllCars(PageRequest.of(0, 20))).contains(1L));
+    }
+
+    @Test
+    void getAllCars_shouldReturnRenamedCategory_whenCategoryWasRenamedAfterSnapshotLoaded() {
+        categoryService.updateCategory(2L, new CategoryBasicDTO(2L, "Roadster"));
+        catalogSnapshotEngine.applyPendingChanges();
+
+        List<CarDTO> cars = carService.getAllCars(PageRequest.of(0, 20));
+
+        assertEquals(fromDatabase(carDAO.findAllCarIds(withIdOrder(PageRequest.of(0, 20)))), cars);
+        assertEquals(Set.of("SUV1992", "Roadster"), cars.get(0).getCarCategories().stream()
+                .map(CategoryBasicDTO::getCategory)
+                .collect(toSet()));
+    }
+
+    @Test
+    void getAllCarsByManufacturer_shouldReturnNewCar_whenCarWasAddedToCategoryAfterSnapshotLoaded() {
+        carService.createCar("Acura", "Grand", 2006);
+        carService.addCarToCategory(8L, "Wagon");
+        catalogSnapshotEngine.applyPendingChanges();
+
+        List<Long> expected = carDAO.findCarIdsByManufacturer("Acura", withIdOrder(PageRequest.of(0, 20)));
+
+        assertEquals(List.of(1L, 2L, 3L, 8L), expected);
+        assertEquals(expected, ids(carService.getAllCarsByManufacturer("Acura", PageRequest.of(0, 20))));
+    }
+
+    @Test
+    void getAllCarsByManufacturer_shouldNotCachePage_whenSnapshotServedIt() {
+        carService.getAllCarsByManufacturer("Acura", PageRequest.of(0, 20));
+
+        Cache<?, ?> cache = (Cache<?, ?>) cacheManager.getCache(CARS_BY_MANUFACTURER).getNativeCache();
+
+        assertTrue(cache.asMap().isEmpty());
+    }
+
+    @Test
+    void getAllCarsByManufacturer_shouldReturnImportedCar_whenCarsWereImportedAfterSnapshotLoaded() {
+        String csv = "objectId,Make,Year,Model,Category\n" +
+                     "a,Tesla,2020,Model S,Sedan\n";
+        carService.importCars(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+        catalogSnapshotEngine.applyPendingChanges();
+
+        List<Long> expected = carDAO.findCarIdsByManufacturer("Tesla", withIdOrder(PageRequest.of(0, 20)));
+
+        assertEquals(1, expected.size());
+        assertEquals(expected, ids(carService.getAllCarsByManufacturer("Tesla", PageRequest.of(0, 20))));
+    }
+
+    @Test
+    void getSimilarCars_shouldReturnClosestCarsFirst_whenScoredInMemory() {
+        assertEquals(List.of(2L, 7L, 5L), ids(carService.getSimilarCars(1L, 3)));
+    }
+
+    @Test
+    void getSimilarCars_shouldRankSameCarsAsDatabasePath_whenScoredInMemory() {
+        for (long id = 1; id <= 7; id++) {
+            List<Long> expected = carDAO.findSimilarCarIds(id, PageRequest.of(0, 10));
+
+            assertEquals(expected, ids(carService.getSimilarCars(id, 10)));
+        }
+    }
+
+    private List<CarDTO> fromDatabase(List<Long> ids) {
+        return inIdOrder(ids, carMapper.carRowsToCarDTOs(carDAO.findCarRowsByIds(ids)), CarDTO::getId);
+    }
+
+    private List<Long> ids(List<CarDTO> cars) {
+        return cars.stream().map(CarDTO::getId).collect(toList());
+    }
+}
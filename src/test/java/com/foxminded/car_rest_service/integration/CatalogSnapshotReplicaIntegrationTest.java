@@ -0,0 +1,105 @@
+package com.foxminded.car_rest_service.integration;
+
+import com.foxminded.car_rest_service.bitmap.CategoryBitmapIndex;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarWithoutCategoriesDTO;
+import com.foxminded.car_rest_service.services.CarService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the snapshot and the category bitmaps against a stub replica: a second database loaded with the test data once and never
+ * written to again, so it lags behind every write the tests make on the primary.
+ */
+@TestPropertySource(properties = "car-rest.snapshot.enabled=true")
+public class CatalogSnapshotReplicaIntegrationTest extends IntegrationTestcontainersConfig {
+
+    private static final String STALE_REPLICA = "stale_replica";
+
+    private static String staleReplicaUrl;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private CategoryBitmapIndex categoryBitmapIndex;
+
+    @DynamicPropertySource
+    public static void staleReplicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("car-rest.datasource.replicas[0].url", CatalogSnapshotReplicaIntegrationTest::staleReplicaUrl);
+    }
+
+    @Test
+    void applyPendingChanges_shouldPatchNewCarFromPrimary_whenReplicaIsBehind() {
+        CarWithoutCategoriesDTO car = carService.createCar("Acura", "Grand", 2030);
+        carService.addCarToCategory(car.getId(), "Wagon");
+        catalogSnapshotEngine.applyPendingChanges();
+
+        List<CarDTO> cars = carService.getAllCarsByManufacturerAndMinYear("Acura", 2030, PageRequest.of(0, 20));
+
+        assertEquals(List.of(car.getId()), cars.stream().map(CarDTO::getId).collect(toList()));
+    }
+
+    @Test
+    void reload_shouldReadNewCarFromPrimary_whenReplicaIsBehind() {
+        CarWithoutCategoriesDTO car = carService.createCar("Acura", "Grand", 2030);
+        carService.addCarToCategory(car.getId(), "Wagon");
+        catalogSnapshotEngine.reload();
+
+        List<CarDTO> cars = carService.getAllCarsByManufacturerAndMinYear("Acura", 2030, PageRequest.of(0, 20));
+
+        assertEquals(List.of(car.getId()), cars.stream().map(CarDTO::getId).collect(toList()));
+    }
+
+    @Test
+    void reloadCategoryBitmaps_shouldReadNewLinkFromPrimary_whenReplicaIsBehind() {
+        CarWithoutCategoriesDTO car = carService.createCar("Acura", "Grand", 2030);
+        carService.addCarToCategory(car.getId(), "Wagon");
+        categoryBitmapIndex.reload();
+
+        assertTrue(categoryBitmapIndex.match(List.of("Wagon"), null, null).contains(car.getId()));
+    }
+
+    private static synchronized String staleReplicaUrl() {
+        if (staleReplicaUrl != null) {
+            return staleReplicaUrl;
+        }
+
+        String url = postgresqlContainer.getJdbcUrl()
+                .replace("/" + postgresqlContainer.getDatabaseName(), "/" + STALE_REPLICA);
+        try (Connection primary = connect(postgresqlContainer.getJdbcUrl());
+             Statement statement = primary.createStatement()) {
+            statement.execute("CREATE DATABASE " + STALE_REPLICA);
+            try (Connection replica = connect(url)) {
+                replica.setSchema("car_rest");
+                ScriptUtils.executeSqlScript(replica, new ClassPathResource("schema.sql"));
+                ScriptUtils.executeSqlScript(replica, new ClassPathResource("data.sql"));
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Stub replica wasn't created", e);
+        }
+
+        staleReplicaUrl = url;
+        return url;
+    }
+
+    private static Connection connect(String url) throws SQLException {
+        return DriverManager.getConnection(url, postgresqlContainer.getUsername(), postgresqlContainer.getPassword());
+    }
+}
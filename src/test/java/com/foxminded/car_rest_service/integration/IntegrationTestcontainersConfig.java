@@ -1,11 +1,17 @@
 package com.foxminded.car_rest_service.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foxminded.car_rest_service.bitmap.CategoryBitmapIndex;
 import com.foxminded.car_rest_service.controllers.SecurityConfigTest;
+import com.foxminded.car_rest_service.services.AutocompleteService;
+import com.foxminded.car_rest_service.snapshot.CatalogSnapshotEngine;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.BeforeEach;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
@@ -14,6 +20,8 @@ import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 import org.testcontainers.containers.PostgreSQLContainer;
 
+import javax.persistence.EntityManagerFactory;
+
 @SpringBootTest
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
@@ -21,7 +29,7 @@ import org.testcontainers.containers.PostgreSQLContainer;
 @Sql(scripts = {"classpath:schema.sql", "classpath:data.sql"})
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 public abstract class IntegrationTestcontainersConfig {
-    private static final PostgreSQLContainer<?> postgresqlContainer;
+    protected static final PostgreSQLContainer<?> postgresqlContainer;
 
     @Autowired
     protected MockMvc mockMvc;
@@ -29,6 +37,21 @@ public abstract class IntegrationTestcontainersConfig {
     @Autowired
     protected ObjectMapper objectMapper;
 
+    @Autowired
+    protected CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    @Autowired
+    private CategoryBitmapIndex categoryBitmapIndex;
+
+    @Autowired
+    protected CatalogSnapshotEngine catalogSnapshotEngine;
+
     static {
         postgresqlContainer = new PostgreSQLContainer<>("postgres:15.1-alpine");
         postgresqlContainer.start();
@@ -40,4 +63,29 @@ public abstract class IntegrationTestcontainersConfig {
         registry.add("spring.datasource.username", postgresqlContainer::getUsername);
         registry.add("spring.datasource.password", postgresqlContainer::getPassword);
     }
+
+    @BeforeEach
+    void evictSecondLevelCache() {
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+    }
+
+    @BeforeEach
+    void clearResultCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @BeforeEach
+    void reloadAutocomplete() {
+        autocompleteService.reload();
+    }
+
+    @BeforeEach
+    void reloadCategoryBitmaps() {
+        categoryBitmapIndex.reload();
+    }
+
+    @BeforeEach
+    void reloadCatalogSnapshot() {
+        catalogSnapshotEngine.reload();
+    }
 }
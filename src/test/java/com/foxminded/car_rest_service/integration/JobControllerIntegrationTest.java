@@ -0,0 +1,168 @@
+package com.foxminded.car_rest_service.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.foxminded.car_rest_service.dao.CatalogJobDAO;
+import com.foxminded.car_rest_service.dao.CatalogJobRow;
+import com.foxminded.car_rest_service.jobs.CatalogJobRunner;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = "car-rest.jobs.chunk-size=2")
+public class JobControllerIntegrationTest extends IntegrationTestcontainersConfig {
+
+    private static final String CSV = "objectId,Make,Year,Model,Category\n" +
+                                      "a1,Audi,2020,Q3,SUV\n" +
+                                      "a2,Audi,2021,Q5,\"SUV, Wagon\"\n" +
+                                      "a3,Acura,2017,Regal,Wagon\n";
+
+    @Autowired
+    private CatalogJobRunner catalogJobRunner;
+
+    @Autowired
+    private CatalogJobDAO catalogJobDAO;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @WithMockUser(roles = {"USER", "ADMIN"})
+    void submitManufacturerDeletion_shouldDeleteCarsInChunksAndThenManufacturers_whenJobRuns() throws Exception {
+        JsonNode queued = submit(post("/api/v1/jobs/manufacturers/name/{name}/delete", "Acura"));
+
+        assertAll(() -> assertEquals("QUEUED", queued.get("status").asText()),
+                () -> assertEquals(3, queued.get("total").asLong()));
+
+        catalogJobRunner.runQueued();
+
+        JsonNode job = job(queued.get("id").asLong());
+        assertAll(() -> assertEquals("SUCCEEDED", job.get("status").asText()),
+                () -> assertEquals(3, job.get("processed").asLong()),
+                () -> assertEquals(0, count("SELECT count(*) FROM manufacturer WHERE manufacturer = 'Acura'")),
+                () -> assertEquals(4, count("SELECT count(*) FROM car")),
+                () -> assertEquals(5, count("SELECT count(*) FROM car_category_info")));
+
+        mockMvc.perform(get("/api/v1/cars/manufacturer").param("manufacturer", "Acura"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void submitManufacturerDeletion_shouldReturnStatus404_whenManufacturersNotFound() throws Exception {
+        mockMvc.perform(post("/api/v1/jobs/manufacturers/name/{name}/delete", "Lada"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER", "ADMIN"})
+    void submitCarImport_shouldImportRowsInChunksAndDropThem_whenJobRuns() throws Exception {
+        JsonNode queued = submit(post("/api/v1/jobs/cars/import").contentType("text/csv").content(CSV));
+
+        assertEquals(3, queued.get("total").asLong());
+        assertEquals(3, count("SELECT count(*) FROM catalog_job_import_row"));
+
+        catalogJobRunner.runQueued();
+
+        JsonNode job = job(queued.get("id").asLong());
+        assertAll(() -> assertEquals("SUCCEEDED", job.get("status").asText()),
+                () -> assertEquals(3, job.get("processed").asLong()),
+                () -> assertEquals(10, count("SELECT count(*) FROM car")),
+                () -> assertEquals(0, count("SELECT count(*) FROM catalog_job_import_row")));
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER", "ADMIN"})
+    void cancelJob_shouldStopJobAndDropItsRows_whenJobIsQueued() throws Exception {
+        JsonNode queued = submit(post("/api/v1/jobs/cars/import").contentType("text/csv").content(CSV));
+        long id = queued.get("id").asLong();
+
+        mockMvc.perform(delete("/api/v1/jobs/id/{id}", id))
+                .andExpect(status().isOk());
+
+        catalogJobRunner.runQueued();
+
+        assertAll(() -> assertEquals("CANCELLED", job(id).get("status").asText()),
+                () -> assertEquals(7, count("SELECT count(*) FROM car")),
+                () -> assertEquals(0, count("SELECT count(*) FROM catalog_job_import_row")));
+
+        mockMvc.perform(delete("/api/v1/jobs/id/{id}", id))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER", "ADMIN"})
+    void runQueued_shouldResumeFromCheckpointAndFenceOffOldWorker_whenLeaseExpired() throws Exception {
+        long id = submit(post("/api/v1/jobs/manufacturers/name/{name}/delete", "Aston Martin")).get("id").asLong();
+
+        CatalogJobRow crashed = catalogJobDAO.claimNext(Duration.ofMinutes(1), 3).orElseThrow();
+        jdbcTemplate.update("DELETE FROM car WHERE car_id = 4");
+        catalogJobDAO.checkpoint(crashed, 4, 1);
+        jdbcTemplate.update("UPDATE catalog_job SET heartbeat_at = now() - interval '1 hour' WHERE job_id = ?", id);
+
+        catalogJobRunner.runQueued();
+
+        JsonNode job = job(id);
+        assertAll(() -> assertEquals("SUCCEEDED", job.get("status").asText()),
+                () -> assertEquals(4, job.get("processed").asLong()),
+                () -> assertEquals(0, count("SELECT count(*) FROM manufacturer WHERE manufacturer = 'Aston Martin'")),
+                () -> assertFalse(catalogJobDAO.checkpoint(crashed, 7, 1)));
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER", "ADMIN"})
+    void runQueued_shouldFailJobAndDropItsRows_whenLeaseExpiredOnLastAttempt() throws Exception {
+        long id = submit(post("/api/v1/jobs/cars/import").contentType("text/csv").content(CSV)).get("id").asLong();
+
+        catalogJobDAO.claimNext(Duration.ofMinutes(1), 3).orElseThrow();
+        jdbcTemplate.update("UPDATE catalog_job SET attempts = 3, heartbeat_at = now() - interval '1 hour' " +
+                            "WHERE job_id = ?", id);
+
+        catalogJobRunner.runQueued();
+
+        JsonNode job = job(id);
+        assertAll(() -> assertEquals("FAILED", job.get("status").asText()),
+                () -> assertEquals("Lease expired on each of 3 attempts", job.get("error").asText()),
+                () -> assertEquals(7, count("SELECT count(*) FROM car")),
+                () -> assertEquals(0, count("SELECT count(*) FROM catalog_job_import_row")));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getJob_shouldReturnStatus404_whenJobNotFound() throws Exception {
+        mockMvc.perform(get("/api/v1/jobs/id/{id}", 100))
+                .andExpect(status().isNotFound());
+    }
+
+    private JsonNode submit(RequestBuilder request) throws Exception {
+        String body = mockMvc.perform(request)
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+
+        return objectMapper.readTree(body).get("data");
+    }
+
+    private JsonNode job(long id) throws Exception {
+        String body = mockMvc.perform(get("/api/v1/jobs/id/{id}", id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        return objectMapper.readTree(body).get("data");
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,73 @@
+package com.foxminded.car_rest_service.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.test.context.TestSecurityContextHolder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = {
+        "car-rest.datasource.replicas[0].url=${spring.datasource.url}",
+        "car-rest.datasource.replicas[1].url=jdbc:postgresql://localhost:1/unreachable",
+        "car-rest.datasource.replicas[1].connection-timeout=250ms",
+        "car-rest.datasource.read-your-writes-window=1m"})
+public class ReplicaRoutingIntegrationTest extends IntegrationTestcontainersConfig {
+
+    private static final String HEALTHY_REPLICA = "car-rest-replica-1";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void readOnlyTransaction_shouldOnlyUseHealthyReplica_whenOtherReplicaIsDown() {
+        Set<String> applicationNames = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            applicationNames.add(applicationName(true));
+        }
+
+        assertEquals(Set.of(HEALTHY_REPLICA), applicationNames);
+    }
+
+    @Test
+    void readWriteTransaction_shouldUsePrimary_whenReplicasAreConfigured() {
+        assertNotEquals(HEALTHY_REPLICA, applicationName(false));
+    }
+
+    @Test
+    @WithMockUser(username = "writer", roles = "ADMIN")
+    void readOnlyTransaction_shouldUsePrimary_whenUserWroteWithinReadYourWritesWindow() throws Exception {
+        assertEquals(HEALTHY_REPLICA, applicationName(true));
+
+        mockMvc.perform(post("/api/v1/models")
+                        .content("{\"model\":\"Corolla\"}")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated());
+        SecurityContextHolder.setContext(TestSecurityContextHolder.getContext());
+
+        assertNotEquals(HEALTHY_REPLICA, applicationName(true));
+    }
+
+    private String applicationName(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+
+        return transaction.execute(status ->
+                jdbcTemplate.queryForObject("SELECT current_setting('application_name')", String.class));
+    }
+}
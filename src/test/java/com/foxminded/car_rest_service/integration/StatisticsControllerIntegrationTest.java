@@ -0,0 +1,94 @@
+package com.foxminded.car_rest_service.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.foxminded.car_rest_service.mapstruct.dto.statistics.CategoryStatisticsDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.statistics.ManufacturerYearStatisticsDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.statistics.YearStatisticsDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class StatisticsControllerIntegrationTest extends IntegrationTestcontainersConfig {
+
+    @Test
+    @WithMockUser(roles = {"USER", "ADMIN"})
+    void getCarsPerYear_shouldReturnRefreshedCountsWithTheirAge_whenStatisticsWereRefreshed() throws Exception {
+        refresh();
+
+        JsonNode data = statistics("years");
+
+        assertAll(
+                () -> assertEquals(objectMapper.writeValueAsString(List.of(
+                        new YearStatisticsDTO(2005, 1L),
+                        new YearStatisticsDTO(2006, 1L),
+                        new YearStatisticsDTO(2010, 2L),
+                        new YearStatisticsDTO(2012, 1L),
+                        new YearStatisticsDTO(2017, 1L),
+                        new YearStatisticsDTO(2018, 1L))), data.get("rows").toString()),
+                () -> assertTrue(data.get("refreshedAt").isTextual()),
+                () -> assertTrue(data.get("ageSeconds").asLong() >= 0)
+        );
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER", "ADMIN"})
+    void getModelsPerCategory_shouldCountDistinctModels_whenStatisticsWereRefreshed() throws Exception {
+        refresh();
+
+        assertEquals(objectMapper.writeValueAsString(List.of(
+                        new CategoryStatisticsDTO("Convertible", 2L),
+                        new CategoryStatisticsDTO("SUV1992", 2L),
+                        new CategoryStatisticsDTO("Wagon", 2L))),
+                statistics("categories").get("rows").toString());
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER", "ADMIN"})
+    void getCarsPerManufacturerYear_shouldKeepOldCounts_untilStatisticsAreRefreshed() throws Exception {
+        refresh();
+
+        mockMvc.perform(delete("/api/v1/cars/id/{id}", 7))
+                .andExpect(status().isNoContent());
+
+        ManufacturerYearStatisticsDTO deleted = new ManufacturerYearStatisticsDTO("Aston Martin", 2018, 1L);
+        List<ManufacturerYearStatisticsDTO> before = List.of(
+                new ManufacturerYearStatisticsDTO("Acura", 2005, 1L),
+                new ManufacturerYearStatisticsDTO("Acura", 2006, 1L),
+                new ManufacturerYearStatisticsDTO("Acura", 2017, 1L),
+                new ManufacturerYearStatisticsDTO("Aston Martin", 2010, 2L),
+                new ManufacturerYearStatisticsDTO("Aston Martin", 2012, 1L),
+                deleted);
+
+        assertEquals(objectMapper.writeValueAsString(before), statistics("manufacturers").get("rows").toString());
+
+        refresh();
+
+        assertEquals(objectMapper.writeValueAsString(before.subList(0, 5)), statistics("manufacturers").get("rows").toString());
+    }
+
+    private void refresh() throws Exception {
+        mockMvc.perform(post("/api/v1/statistics/refresh"))
+                .andExpect(status().isNoContent());
+    }
+
+    private JsonNode statistics(String kind) throws Exception {
+        String response = mockMvc.perform(get("/api/v1/statistics/{kind}", kind)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return objectMapper.readTree(response).get("data");
+    }
+}
@@ -1,27 +1,59 @@
 package com.foxminded.car_rest_service.services;
 
 import com.foxminded.car_rest_service.entities.Car;
+import com.foxminded.car_rest_service.exceptions.InvalidCursorException;
+import com.foxminded.car_rest_service.exceptions.InvalidImportException;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCategoryChangeResultDTO.Status;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCategoryChangeResultDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCategoryChangesDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCategoryChangesResultDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCategoryLinkDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCreateDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCreateResultDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarCategoryQueryDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.car.CarDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarFacetsDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarFilterDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarFilterDTO.CategoryMatch;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarImportDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.car.CarWithoutCategoriesDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.category.CategoryBasicDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.manufacturer.ManufacturerBasicDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.model.ModelBasicDTO;
+import com.foxminded.car_rest_service.utils.KeysetPage;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class CarServiceTest extends TestcontainersConfig {
@@ -43,6 +75,87 @@ class CarServiceTest extends TestcontainersConfig {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void getAllCars_shouldNotLoadEntities_whenCarsAreListed() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        long loaded = statistics.getEntityLoadCount();
+
+        List<CarDTO> actual = carService.getAllCars(PageRequest.of(0, 7));
+
+        assertAll(
+                () -> assertEquals(7, actual.size()),
+                () -> assertEquals(loaded, statistics.getEntityLoadCount())
+        );
+    }
+
+    @Test
+    void getAllCars_shouldReturnCarsInPageOrder_whenSortedByIdDescending() {
+        PageRequest pageable = PageRequest.of(1, 2, Sort.by("id").descending());
+
+        List<Long> actual = carService.getAllCars(pageable).stream()
+                .map(CarDTO::getId)
+                .collect(Collectors.toList());
+
+        assertEquals(List.of(5L, 4L), actual);
+    }
+
+    @Test
+    void getAllCars_shouldSeekPastPreviousPage_whenCursorIsProvided() {
+        KeysetPage<CarDTO> first = carService.getAllCars("", Sort.unsorted(), 3);
+        KeysetPage<CarDTO> second = carService.getAllCars(first.getNextCursor(), Sort.unsorted(), 3);
+
+        assertAll(
+                () -> assertEquals(List.of(1L, 2L, 3L), getIds(first.getContent())),
+                () -> assertEquals(List.of(4L, 5L, 6L), getIds(second.getContent())),
+                () -> assertNotNull(second.getNextCursor())
+        );
+    }
+
+    @Test
+    void getAllCars_shouldSeekByYearAndId_whenCursorIsSortedByManufacturerYear() {
+        KeysetPage<CarDTO> first = carService.getAllCars("", Sort.by("manufacturer.year"), 3);
+        KeysetPage<CarDTO> second = carService.getAllCars(first.getNextCursor(), Sort.unsorted(), 3);
+        KeysetPage<CarDTO> third = carService.getAllCars(second.getNextCursor(), Sort.unsorted(), 3);
+
+        assertAll(
+                () -> assertEquals(List.of(2L, 3L, 4L), getIds(first.getContent())),
+                () -> assertEquals(List.of(5L, 6L, 1L), getIds(second.getContent())),
+                () -> assertEquals(List.of(7L), getIds(third.getContent())),
+                () -> assertNull(third.getNextCursor())
+        );
+    }
+
+    @Test
+    void getAllCars_shouldThrowInvalidCursorException_whenSortDiffersFromCursor() {
+        KeysetPage<CarDTO> first = carService.getAllCars("", Sort.by("manufacturer.year"), 3);
+
+        assertThrows(InvalidCursorException.class,
+                () -> carService.getAllCars(first.getNextCursor(), Sort.by("id"), 3));
+    }
+
+    @Test
+    void getAllCars_shouldThrowInvalidCursorException_whenCursorIsMalformed() {
+        assertThrows(InvalidCursorException.class, () -> carService.getAllCars("%%%", Sort.unsorted(), 3));
+    }
+
+    @Test
+    void exportCars_shouldPassEveryCarWithCategoriesInIdOrder_whenCarsExist() {
+        List<CarDTO> actual = new ArrayList<>();
+
+        long exported = carService.exportCars(actual::add);
+
+        CarDTO fourth = actual.get(3);
+        assertAll(
+                () -> assertEquals(7, exported),
+                () -> assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), getIds(actual)),
+                () -> assertEquals(new ModelBasicDTO(2L, "Regal"), fourth.getModel()),
+                () -> assertEquals("Aston Martin", fourth.getManufacturer().getManufacturer()),
+                () -> assertEquals(Set.of("SUV1992", "Wagon"), fourth.getCarCategories().stream()
+                        .map(CategoryBasicDTO::getCategory)
+                        .collect(Collectors.toSet()))
+        );
+    }
+
     @Test
     void getAllCarsByManufacturer_ShouldReturnListOfCarsWithManufacturers_whenCarsWithInputManufacturesExist() {
         PageRequest pageable = PageRequest.of(0, 3, Sort.by("id").ascending());
@@ -84,6 +197,135 @@ class CarServiceTest extends TestcontainersConfig {
 
     }
 
+    @Test
+    void searchCars_shouldReturnCarsOfSimilarModel_whenQueryIsMisspelled() {
+        List<CarDTO> actual = carService.searchCars("Tuareg", PageRequest.of(0, 5));
+
+        assertEquals(List.of(1L, 2L, 7L), getIds(actual));
+    }
+
+    @Test
+    void searchCars_shouldIgnoreCaseAndSurroundingSpaces_whenQueryMatchesManufacturer() {
+        List<CarDTO> actual = carService.searchCars("  ACUR ", PageRequest.of(1, 2, Sort.by("id").descending()));
+
+        assertEquals(List.of(3L), getIds(actual));
+    }
+
+    @Test
+    void searchCars_shouldRankExactMatchFirst_whenSeveralNamesAreSimilar() {
+        carService.createCar("Acura", "Grandeur", 2017);
+
+        List<CarDTO> actual = carService.searchCars("grand", PageRequest.of(0, 5));
+
+        assertEquals(List.of(5L, 6L, 8L), getIds(actual));
+    }
+
+    @Test
+    void searchCars_shouldReturnEmptyList_whenNothingIsSimilar() {
+        assertTrue(carService.searchCars("Zeppelin", PageRequest.of(0, 5)).isEmpty());
+    }
+
+    @Test
+    void getCarsByCategories_shouldCombineIntersectionUnionAndExclusion_whenAllListsArePresent() {
+        CarCategoryQueryDTO query = new CarCategoryQueryDTO(List.of("SUV1992"), List.of("Convertible", "Wagon"),
+                List.of("Convertible"));
+
+        List<CarDTO> actual = carService.getCarsByCategories(query, PageRequest.of(0, 10));
+
+        assertEquals(List.of(4L), getIds(actual));
+        assertEquals(1L, carService.countCarsByCategories(query));
+    }
+
+    @Test
+    void filterCars_shouldReturnEveryCar_whenFilterIsEmpty() {
+        List<CarDTO> actual = carService.filterCars(new CarFilterDTO(), PageRequest.of(0, 10));
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), getIds(actual));
+    }
+
+    @Test
+    void filterCars_shouldCombineManufacturerAndYearRange_whenBothArePresent() {
+        CarFilterDTO filter = new CarFilterDTO(List.of("Aston Martin"), null, 2011, 2018, null, CategoryMatch.ANY);
+
+        List<CarDTO> actual = carService.filterCars(filter, PageRequest.of(0, 10));
+
+        assertEquals(List.of(6L, 7L), getIds(actual));
+    }
+
+    @Test
+    void filterCars_shouldReturnCarsInAnyCategory_whenCategoryMatchIsAny() {
+        CarFilterDTO filter = new CarFilterDTO(null, null, null, null, List.of("Convertible", "Wagon"), CategoryMatch.ANY);
+
+        List<CarDTO> actual = carService.filterCars(filter, PageRequest.of(0, 10));
+
+        assertEquals(List.of(1L, 3L, 4L, 5L, 6L), getIds(actual));
+    }
+
+    @Test
+    void filterCars_shouldReturnCarsInEveryCategory_whenCategoryMatchIsAll() {
+        CarFilterDTO filter = new CarFilterDTO(null, null, null, null, List.of("SUV1992", "Convertible"), CategoryMatch.ALL);
+
+        List<CarDTO> actual = carService.filterCars(filter, PageRequest.of(0, 10));
+
+        assertEquals(List.of(1L), getIds(actual));
+    }
+
+    @Test
+    void filterCars_shouldPageInSortOrderWithIdTiebreaker_whenSortedByManufacturerYear() {
+        CarFilterDTO filter = new CarFilterDTO(null, List.of("Regal", "Grand"), null, null, null, CategoryMatch.ANY);
+
+        List<CarDTO> actual = carService.filterCars(filter, PageRequest.of(0, 2, Sort.by("manufacturer.year").descending()));
+
+        assertEquals(List.of(6L, 4L), getIds(actual));
+    }
+
+    @Test
+    void getFacets_shouldCountEveryCar_whenFilterIsEmpty() {
+        CarFacetsDTO expected = new CarFacetsDTO(
+                Map.of("Acura", 3L, "Aston Martin", 4L),
+                Map.of(2005, 1L, 2006, 1L, 2010, 2L, 2012, 1L, 2017, 1L, 2018, 1L),
+                Map.of("Grand", 2L, "Regal", 2L, "Touareg 2", 3L),
+                Map.of("Convertible", 2L, "SUV1992", 4L, "Wagon", 3L));
+
+        CarFacetsDTO actual = carService.getFacets(new CarFilterDTO());
+
+        assertNotNull(actual.getRefreshedAt());
+        expected.setRefreshedAt(actual.getRefreshedAt());
+        expected.setAgeSeconds(actual.getAgeSeconds());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getFacets_shouldSumStatisticsViewsInYearRange_whenFilterHasOnlyYears() {
+        CarFilterDTO filter = new CarFilterDTO(null, null, 2010, 2017, null, CategoryMatch.ANY);
+
+        CarFacetsDTO expected = new CarFacetsDTO(
+                Map.of("Acura", 1L, "Aston Martin", 3L),
+                Map.of(2010, 2L, 2012, 1L, 2017, 1L),
+                Map.of("Grand", 2L, "Regal", 1L, "Touareg 2", 1L),
+                Map.of("Convertible", 2L, "SUV1992", 2L, "Wagon", 2L));
+
+        CarFacetsDTO actual = carService.getFacets(filter);
+
+        assertNotNull(actual.getRefreshedAt());
+        expected.setRefreshedAt(actual.getRefreshedAt());
+        expected.setAgeSeconds(actual.getAgeSeconds());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getFacets_shouldCountOnlyFilteredCars_whenFilterIsPresent() {
+        CarFilterDTO filter = new CarFilterDTO(List.of("Aston Martin"), null, null, null, List.of("Wagon"), CategoryMatch.ANY);
+
+        CarFacetsDTO expected = new CarFacetsDTO(
+                Map.of("Aston Martin", 2L),
+                Map.of(2010, 1L, 2012, 1L),
+                Map.of("Grand", 1L, "Regal", 1L),
+                Map.of("SUV1992", 1L, "Wagon", 2L));
+
+        assertEquals(expected, carService.getFacets(filter));
+    }
+
     @Test
     void createCar_shouldReturnCreatedCarWithoutCategoriesDTO_whenInputManufacturerAndModelExist() {
         CarWithoutCategoriesDTO expected = getCarWithoutCategoriesDTO();
@@ -114,12 +356,151 @@ class CarServiceTest extends TestcontainersConfig {
 
     }
 
+    @Test
+    void createCar_shouldUseSingleStatement_whenCarIsNew() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        long statements = statistics.getPrepareStatementCount();
+
+        carService.createCar("new", "new", 2017);
+
+        assertEquals(statements + 1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void createCar_shouldCreateCarOnce_whenSameCarIsCreatedConcurrently() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<CarWithoutCategoriesDTO>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return carService.createCar("Tesla", "Model 3", 2021);
+                }));
+            }
+            start.countDown();
+
+            List<CarWithoutCategoriesDTO> created = new ArrayList<>();
+            for (Future<CarWithoutCategoriesDTO> future : futures) {
+                Optional.ofNullable(future.get()).ifPresent(created::add);
+            }
+
+            assertAll(
+                    () -> assertEquals(1, created.size()),
+                    () -> assertEquals(1L, entityManager.createQuery(
+                            "SELECT count(c) FROM Car c WHERE c.manufacturer.manufacturer = 'Tesla'", Long.class)
+                            .getSingleResult())
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     void createCar_shouldReturnNull_whenCarWithInputParametersAlreadyExists() {
         CarWithoutCategoriesDTO actual = carService.createCar("Acura", "Touareg 2", 2017);
         assertNull(actual);
     }
 
+    @Test
+    void changeCarCategories_shouldReportEveryItemInRequestOrder_whenAdditionsAndRemovalsAreMixed() {
+        CarCategoryChangesDTO changes = new CarCategoryChangesDTO(
+                List.of(new CarCategoryLinkDTO(2L, "Wagon"),
+                        new CarCategoryLinkDTO(1L, "SUV1992"),
+                        new CarCategoryLinkDTO(10L, "Wagon"),
+                        new CarCategoryLinkDTO(3L, "Sedan"),
+                        new CarCategoryLinkDTO(3L, "Sedan")),
+                List.of(new CarCategoryLinkDTO(1L, "Convertible"),
+                        new CarCategoryLinkDTO(2L, "Convertible"),
+                        new CarCategoryLinkDTO(1L, "Sedan"),
+                        new CarCategoryLinkDTO(10L, "Wagon")));
+
+        CarCategoryChangesResultDTO actual = carService.changeCarCategories(changes);
+
+        assertAll(
+                () -> assertEquals(List.of(new CarCategoryChangeResultDTO(2L, "Wagon", Status.ADDED),
+                                new CarCategoryChangeResultDTO(1L, "SUV1992", Status.UNCHANGED),
+                                new CarCategoryChangeResultDTO(10L, "Wagon", Status.CAR_NOT_FOUND),
+                                new CarCategoryChangeResultDTO(3L, "Sedan", Status.ADDED),
+                                new CarCategoryChangeResultDTO(3L, "Sedan", Status.UNCHANGED)),
+                        actual.getAdd()),
+                () -> assertEquals(List.of(new CarCategoryChangeResultDTO(1L, "Convertible", Status.REMOVED),
+                                new CarCategoryChangeResultDTO(2L, "Convertible", Status.UNCHANGED),
+                                new CarCategoryChangeResultDTO(1L, "Sedan", Status.CATEGORY_NOT_FOUND),
+                                new CarCategoryChangeResultDTO(10L, "Wagon", Status.CAR_NOT_FOUND)),
+                        actual.getRemove()),
+                () -> assertEquals(Set.of("SUV1992", "Wagon"), getCategoryNames(2L)),
+                () -> assertEquals(Set.of("SUV1992"), getCategoryNames(1L))
+        );
+    }
+
+    @Test
+    void createCars_shouldReturnStatusOfEveryCarInRequestOrder_whenBatchHasNewExistingAndRepeatedCars() {
+        List<CarCreateDTO> cars = List.of(
+                new CarCreateDTO("Acura", "Regal", 2017),
+                new CarCreateDTO("Acura", "Touareg 2", 2017),
+                new CarCreateDTO("new", "new", 2017),
+                new CarCreateDTO("Acura", "Regal", 2017));
+
+        List<CarCreateResultDTO> actual = carService.createCars(cars);
+
+        assertEquals(List.of(new CarCreateResultDTO(8L, "Acura", "Regal", 2017, CarCreateResultDTO.Status.CREATED),
+                        new CarCreateResultDTO(1L, "Acura", "Touareg 2", 2017, CarCreateResultDTO.Status.ALREADY_EXISTS),
+                        new CarCreateResultDTO(9L, "new", "new", 2017, CarCreateResultDTO.Status.CREATED),
+                        new CarCreateResultDTO(8L, "Acura", "Regal", 2017, CarCreateResultDTO.Status.ALREADY_EXISTS)),
+                actual);
+    }
+
+    @Test
+    void createCars_shouldAssignDistinctIdsAcrossSequenceBlocks_whenBatchIsLargerThanIncrement() {
+        List<CarCreateDTO> cars = IntStream.range(0, 60)
+                .mapToObj(i -> new CarCreateDTO("Acura", "Batch " + i, 2017))
+                .collect(Collectors.toList());
+
+        List<Long> actual = carService.createCars(cars).stream()
+                .map(CarCreateResultDTO::getId)
+                .collect(Collectors.toList());
+
+        assertEquals(LongStream.range(8, 68).boxed().collect(Collectors.toList()), actual);
+    }
+
+    @Test
+    void importCars_shouldInsertOnlyMissingRows_whenCsvContainsExistingAndNewCars() {
+        String csv = "objectId,Make,Year,Model,Category\n" +
+                     "a,Acura,2017,Touareg 2,\"SUV1992, Convertible\"\n" +
+                     "b,Acura,2017,Regal,Wagon\n" +
+                     "c,Tesla,2020,Model S,\"Sedan,Wagon\"\n" +
+                     "d,Tesla,2020,Model S,Sedan\n";
+
+        CarImportDTO actual = carService.importCars(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertAll(
+                () -> assertEquals(new CarImportDTO(4, 1, 1, 1, 2, 3), actual),
+                () -> assertEquals(1, carService.getAllCarsByManufacturer("Tesla", PageRequest.of(0, 5)).size())
+        );
+    }
+
+    @Test
+    void importCars_shouldSkipCategoriesOfRejectedRows_whenRowHasNoModel() {
+        String csv = "objectId,Make,Year,Model,Category\n" +
+                     "a,Tesla,2020,,Pickup\n";
+
+        CarImportDTO actual = carService.importCars(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(new CarImportDTO(1, 0, 0, 0, 0, 0), actual);
+    }
+
+    @Test
+    void importCars_shouldThrowInvalidImportException_whenCsvIsMalformed() {
+        String csv = "objectId,Make,Year,Model,Category\n" +
+                     "a,Acura,not a year,Regal,Wagon\n";
+
+        assertThrows(InvalidImportException.class,
+                () -> carService.importCars(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))));
+    }
+
     @Test
     void updateCar_shouldReturnUpdatedCar_whenInputCarExists() {
         CarWithoutCategoriesDTO expected = getCarWithoutCategoriesDTOForUpdate();
@@ -162,6 +543,18 @@ class CarServiceTest extends TestcontainersConfig {
         assertTrue(isDeleted);
     }
 
+    @Test
+    void deleteCarById_shouldDeleteCarAndReturnTrue_whenCarHasNoCategories() {
+        Long id = carService.createCar("Acura", "Grand", 2006).getId();
+
+        boolean isDeleted = carService.deleteCarById(id);
+
+        assertAll(
+                () -> assertTrue(isDeleted),
+                () -> assertNull(entityManager.find(Car.class, id))
+        );
+    }
+
     @Test
     void deleteCarById_shouldReturnFalse_whenCarWithInputIdNotExist() {
         boolean isDeleted = carService.deleteCarById(10L);
@@ -190,6 +583,25 @@ class CarServiceTest extends TestcontainersConfig {
         );
     }
 
+    @Test
+    void addCarToCategory_shouldReturnCarUnchanged_whenCarIsAlreadyInCategory() {
+        CarDTO expected = getCarDtOWithCategories();
+
+        CarDTO actual = carService.addCarToCategory(1L, "Convertible");
+
+        assertEquals(expected.getCarCategories(), actual.getCarCategories());
+    }
+
+    @Test
+    void addCarToCategory_shouldNotLoadEntities_whenCarIsLinked() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        long loaded = statistics.getEntityLoadCount();
+
+        carService.addCarToCategory(2L, "Wagon");
+
+        assertEquals(loaded, statistics.getEntityLoadCount());
+    }
+
     @Test
     void addCarToCategory_shouldReturnNull_whenCarWithInputIdNotFound() {
         CarDTO actual = carService.addCarToCategory(10L, "Wagon");
@@ -208,6 +620,16 @@ class CarServiceTest extends TestcontainersConfig {
         );
     }
 
+    @Test
+    void removeCarFromCategory_shouldReturnCarWithoutCategories_whenLastCategoryWasRemoved() {
+        CarDTO actual = carService.removeCarFromCategory(7L, "SUV1992");
+
+        assertAll(
+                () -> assertEquals(7L, actual.getId()),
+                () -> assertTrue(actual.getCarCategories().isEmpty())
+        );
+    }
+
     @Test
     void removeCarFromCategory_shouldReturnCarDto_whenCategoryWithInputNameNotExist() {
         CarDTO expected = getCarDtOWithCategories();
@@ -226,6 +648,12 @@ class CarServiceTest extends TestcontainersConfig {
         assertNull(actual);
     }
 
+    private List<Long> getIds(List<CarDTO> cars) {
+        return cars.stream()
+                .map(CarDTO::getId)
+                .collect(Collectors.toList());
+    }
+
     private List<CarDTO> getCars() {
         CarDTO c1 = new CarDTO();
         c1.setId(1L);
@@ -267,6 +695,13 @@ class CarServiceTest extends TestcontainersConfig {
         return List.of(c1, c3);
     }
 
+    private Set<String> getCategoryNames(Long carId) {
+        return new HashSet<>(entityManager.createQuery(
+                        "SELECT ct.category FROM CarCategoryInfo cc JOIN cc.category ct WHERE cc.car.id = :id", String.class)
+                .setParameter("id", carId)
+                .getResultList());
+    }
+
     private CarWithoutCategoriesDTO getCarWithoutCategoriesDTO() {
         CarWithoutCategoriesDTO carWithoutCategoriesDTO = new CarWithoutCategoriesDTO();
 
@@ -1,9 +1,11 @@
 package com.foxminded.car_rest_service.services;
 
 import com.foxminded.car_rest_service.entities.Category;
+import com.foxminded.car_rest_service.exceptions.InvalidCursorException;
 import com.foxminded.car_rest_service.mapstruct.dto.car.CarWithoutCategoriesDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.category.CategoryBasicDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.category.CategoryDTO;
+import com.foxminded.car_rest_service.utils.KeysetPage;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
@@ -19,6 +21,7 @@ import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class CategoryServiceTest extends TestcontainersConfig {
@@ -38,6 +41,35 @@ class CategoryServiceTest extends TestcontainersConfig {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void getAllCategories_shouldSeekPastPreviousPage_whenCursorIsProvided() {
+        KeysetPage<CategoryBasicDTO> first = categoryService.getAllCategories("", Sort.unsorted(), 2);
+        KeysetPage<CategoryBasicDTO> second = categoryService.getAllCategories(first.getNextCursor(), Sort.unsorted(), 2);
+
+        assertAll(() -> assertEquals(List.of(new CategoryBasicDTO(1L, "SUV1992"), new CategoryBasicDTO(2L, "Convertible")),
+                        first.getContent()),
+                () -> assertEquals(List.of(new CategoryBasicDTO(3L, "Wagon")), second.getContent()),
+                () -> assertNull(second.getNextCursor()));
+    }
+
+    @Test
+    void getAllCategories_shouldKeepCursorOrder_whenSameSortIsRepeated() {
+        KeysetPage<CategoryBasicDTO> first = categoryService.getAllCategories("", Sort.by("category"), 2);
+        KeysetPage<CategoryBasicDTO> second = categoryService.getAllCategories(first.getNextCursor(), Sort.by("category"), 2);
+
+        assertAll(() -> assertEquals(List.of(new CategoryBasicDTO(2L, "Convertible"), new CategoryBasicDTO(1L, "SUV1992")),
+                        first.getContent()),
+                () -> assertEquals(List.of(new CategoryBasicDTO(3L, "Wagon")), second.getContent()));
+    }
+
+    @Test
+    void getAllCategories_shouldThrowInvalidCursorException_whenSortDiffersFromCursor() {
+        KeysetPage<CategoryBasicDTO> first = categoryService.getAllCategories("", Sort.by("category"), 2);
+
+        assertThrows(InvalidCursorException.class,
+                () -> categoryService.getAllCategories(first.getNextCursor(), Sort.by("id"), 2));
+    }
+
     @Test
     void getCategoryWithCarsByName_shouldReturnCategoryDTO_whenCategoryExists() {
         CategoryDTO expected = getCategoryWithCars();
@@ -3,6 +3,7 @@ package com.foxminded.car_rest_service.services;
 import com.foxminded.car_rest_service.entities.Manufacturer;
 import com.foxminded.car_rest_service.mapstruct.dto.manufacturer.ManufacturerBasicDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.manufacturer.ManufacturerDTO;
+import com.foxminded.car_rest_service.utils.KeysetPage;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
@@ -36,6 +37,16 @@ class ManufacturerServiceTest extends TestcontainersConfig {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void getAllUniqueManufacturers_shouldSeekPastPreviousName_whenCursorIsProvided() {
+        KeysetPage<String> first = manufacturerService.getAllUniqueManufacturers("", Sort.unsorted(), 1);
+        KeysetPage<String> second = manufacturerService.getAllUniqueManufacturers(first.getNextCursor(), Sort.unsorted(), 1);
+
+        assertEquals(List.of("Acura"), first.getContent());
+        assertEquals(List.of("Aston Martin"), second.getContent());
+        assertNull(second.getNextCursor());
+    }
+
     @Test
     void getAllManufacturersByName_shouldReturnListOfManufacturerDTOs_whenManufacturersExist() {
         PageRequest pageable = PageRequest.of(0, 3, Sort.by("manufacturer").ascending());
@@ -93,6 +104,21 @@ class ManufacturerServiceTest extends TestcontainersConfig {
         assertTrue(isDeleted);
     }
 
+    @Test
+    void deleteAllManufacturerByName_shouldDeleteCarsOfManufacturers_whenManufacturersHaveCars() {
+        manufacturerService.deleteAllManufacturerByName("Acura");
+
+        Long cars = entityManager.createQuery(
+                        "SELECT count(c) FROM Car c WHERE c.manufacturer.manufacturer = 'Acura'", Long.class)
+                .getSingleResult();
+        Long links = entityManager.createQuery(
+                        "SELECT count(cc) FROM CarCategoryInfo cc WHERE cc.car.id IN (1, 2, 3)", Long.class)
+                .getSingleResult();
+
+        assertEquals(0L, cars);
+        assertEquals(0L, links);
+    }
+
     @Test
     void deleteAllManufacturerByName_shouldReturnFalse_whenManufacturersNotExist() {
         boolean isDeleted = manufacturerService.deleteAllManufacturerByName("INPUT_NAME");
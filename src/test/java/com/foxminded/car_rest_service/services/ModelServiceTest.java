@@ -1,13 +1,19 @@
 package com.foxminded.car_rest_service.services;
 
 import com.foxminded.car_rest_service.entities.Model;
+import com.foxminded.car_rest_service.exceptions.DataAlreadyExistException;
 import com.foxminded.car_rest_service.mapstruct.dto.car.CarWithoutModelDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.model.ModelBasicDTO;
 import com.foxminded.car_rest_service.mapstruct.dto.model.ModelDTO;
+import com.foxminded.car_rest_service.utils.KeysetPage;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
@@ -20,6 +26,7 @@ import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ModelServiceTest extends TestcontainersConfig {
@@ -40,6 +47,17 @@ class ModelServiceTest extends TestcontainersConfig {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void getAllModels_shouldSeekByNameAndId_whenCursorIsProvided() {
+        KeysetPage<ModelBasicDTO> first = modelService.getAllModels("", Sort.by("model"), 2);
+        KeysetPage<ModelBasicDTO> second = modelService.getAllModels(first.getNextCursor(), Sort.unsorted(), 2);
+
+        assertAll(() -> assertEquals(List.of(new ModelBasicDTO(3L, "Grand"), new ModelBasicDTO(2L, "Regal")),
+                        first.getContent()),
+                () -> assertEquals(List.of(new ModelBasicDTO(1L, "Touareg 2")), second.getContent()),
+                () -> assertNull(second.getNextCursor()));
+    }
+
     @Test
     void getModelWithCarsByName_shouldReturnModelDTOWithCars_whenInputNameExists() {
         ModelDTO expected = getModelDTO();
@@ -88,6 +106,20 @@ class ModelServiceTest extends TestcontainersConfig {
         assertNull(actual);
     }
 
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void updateModel_shouldResolveNameFromSecondLevelCache_whenItWasLoadedByEarlierTransaction() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        ModelBasicDTO duplicate = getModelBasicDTO(1L, "Regal");
+
+        assertThrows(DataAlreadyExistException.class, () -> modelService.updateModel(1L, duplicate));
+        long hits = statistics.getNaturalIdCacheHitCount();
+
+        assertThrows(DataAlreadyExistException.class, () -> modelService.updateModel(1L, duplicate));
+
+        assertEquals(hits + 1, statistics.getNaturalIdCacheHitCount());
+    }
+
     @Test
     void deleteModelByName_shouldDeleteModelAndReturnTrue_whenModelWithInputNameExists() {
         boolean isDeleted = modelService.deleteModelByName("Grand");
@@ -98,6 +130,20 @@ class ModelServiceTest extends TestcontainersConfig {
         assertNull(actual);
     }
 
+    @Test
+    void deleteModelByName_shouldDeleteCarsAndTheirCategoryLinks_whenModelHasCars() {
+        modelService.deleteModelByName("Grand");
+
+        Long cars = entityManager.createQuery("SELECT count(c) FROM Car c WHERE c.model.id = 3", Long.class)
+                .getSingleResult();
+        Long links = entityManager.createQuery(
+                        "SELECT count(cc) FROM CarCategoryInfo cc WHERE cc.car.id IN (5, 6)", Long.class)
+                .getSingleResult();
+
+        assertEquals(0L, cars);
+        assertEquals(0L, links);
+    }
+
     @Test
     void deleteModelByName_shouldReturnFalse_whenModelWithInputNameNotExist() {
         boolean actual = modelService.deleteModelByName("Car");
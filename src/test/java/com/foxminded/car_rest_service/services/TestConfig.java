@@ -1,5 +1,12 @@
 package com.foxminded.car_rest_service.services;
 
+import com.foxminded.car_rest_service.bitmap.CategoryBitmapIndex;
+import com.foxminded.car_rest_service.dao.CarBatchDAO;
+import com.foxminded.car_rest_service.dao.CarCategoryBulkDAO;
+import com.foxminded.car_rest_service.dao.CarFacetDAO;
+import com.foxminded.car_rest_service.dao.CarImportDAO;
+import com.foxminded.car_rest_service.dao.CatalogSnapshotDAO;
+import com.foxminded.car_rest_service.dao.CategoryBitmapDAO;
 import com.foxminded.car_rest_service.mapstruct.mapper.CarMapper;
 import com.foxminded.car_rest_service.mapstruct.mapper.CarMapperImpl;
 import com.foxminded.car_rest_service.mapstruct.mapper.CategoryMapper;
@@ -8,10 +15,14 @@ import com.foxminded.car_rest_service.mapstruct.mapper.ManufacturerMapper;
 import com.foxminded.car_rest_service.mapstruct.mapper.ManufacturerMapperImpl;
 import com.foxminded.car_rest_service.mapstruct.mapper.ModelMapper;
 import com.foxminded.car_rest_service.mapstruct.mapper.ModelMapperImpl;
+import com.foxminded.car_rest_service.scheduling.SchedulingConfig;
+import com.foxminded.car_rest_service.snapshot.CatalogSnapshotEngine;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 
 @TestConfiguration
+@Import(SchedulingConfig.class)
 class TestConfig {
 
     @Bean
@@ -34,6 +45,46 @@ class TestConfig {
         return new CategoryServiceImp();
     }
 
+    @Bean
+    CarBatchDAO carBatchDAO() {
+        return new CarBatchDAO();
+    }
+
+    @Bean
+    CarCategoryBulkDAO carCategoryBulkDAO() {
+        return new CarCategoryBulkDAO();
+    }
+
+    @Bean
+    CarFacetDAO carFacetDAO() {
+        return new CarFacetDAO();
+    }
+
+    @Bean
+    CarImportDAO carImportDAO() {
+        return new CarImportDAO();
+    }
+
+    @Bean
+    CategoryBitmapDAO categoryBitmapDAO() {
+        return new CategoryBitmapDAO();
+    }
+
+    @Bean
+    CategoryBitmapIndex categoryBitmapIndex() {
+        return new CategoryBitmapIndex();
+    }
+
+    @Bean
+    CatalogSnapshotDAO catalogSnapshotDAO() {
+        return new CatalogSnapshotDAO();
+    }
+
+    @Bean
+    CatalogSnapshotEngine catalogSnapshotEngine() {
+        return new CatalogSnapshotEngine();
+    }
+
     @Bean
     CarMapper carMapper() {
         return new CarMapperImpl();
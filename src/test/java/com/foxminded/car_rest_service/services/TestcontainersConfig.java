@@ -1,5 +1,8 @@
 package com.foxminded.car_rest_service.services;
 
+import org.hibernate.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.ActiveProfiles;
@@ -9,6 +12,8 @@ import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.jdbc.Sql;
 import org.testcontainers.containers.PostgreSQLContainer;
 
+import javax.persistence.EntityManagerFactory;
+
 @DataJpaTest
 @Sql(scripts = {"classpath:schema.sql", "classpath:data.sql"})
 @ActiveProfiles("test")
@@ -17,6 +22,9 @@ import org.testcontainers.containers.PostgreSQLContainer;
 abstract class TestcontainersConfig {
     private static final PostgreSQLContainer<?> postgresqlContainer;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     static {
         postgresqlContainer = new PostgreSQLContainer<>("postgres:15.1-alpine");
         postgresqlContainer.start();
@@ -28,4 +36,9 @@ abstract class TestcontainersConfig {
         registry.add("spring.datasource.username", postgresqlContainer::getUsername);
         registry.add("spring.datasource.password", postgresqlContainer::getPassword);
     }
+
+    @BeforeEach
+    void evictSecondLevelCache() {
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+    }
 }
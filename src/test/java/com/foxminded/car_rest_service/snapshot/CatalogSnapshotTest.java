@@ -0,0 +1,201 @@
+package com.foxminded.car_rest_service.snapshot;
+
+import com.foxminded.car_rest_service.dao.CarRow;
+import com.foxminded.car_rest_service.mapstruct.dto.car.CarDTO;
+import com.foxminded.car_rest_service.mapstruct.dto.category.CategoryBasicDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CatalogSnapshotTest {
+
+    private static final List<String> MANUFACTURERS = List.of("Acura", "Audi", "BMW", "Tesla");
+
+    private static final List<String> MODELS = List.of("Grand", "Regal", "Model S");
+
+    private static final List<String> CATEGORIES = List.of("Sedan", "SUV", "Wagon", "Coupe", "Convertible");
+
+    @Test
+    void patch_shouldMatchFullBuild_whenCarsWereAddedChangedAndDeleted() {
+        Catalog catalog = Catalog.random(new Random(7), 200);
+        CatalogSnapshot snapshot = catalog.build();
+
+        Set<Long> changed = Set.of(3L, 50L, 51L, 120L, 201L, 202L, 203L, 260L);
+        catalog.cars.remove(3L);
+        catalog.cars.remove(120L);
+        catalog.cars.get(50L).categories.clear();
+        catalog.cars.get(51L).categories.put(5L, "Convertible");
+        catalog.put(201L, 5L, "Acura", 2006, 1L, "Grand", Map.of(1L, "Sedan"));
+        catalog.put(202L, 9L, "Rivian", 2022, 9L, "R1T", Map.of(9L, "Pickup"));
+        catalog.put(203L, 9L, "Rivian", 2022, 9L, "R1T", manyCategories());
+        catalog.put(260L, 2L, "Audi", 2005, 2L, "Regal", Map.of(3L, "Wagon", 4L, "Coupe"));
+
+        CatalogSnapshot patched = snapshot.patch(changed, Set.of(), Set.of(), Set.of(),
+                catalog.rows(changed, Set.of()));
+
+        assertSameReads(catalog.build(), patched, catalog);
+    }
+
+    @Test
+    void patch_shouldMoveCarsToNewName_whenManufacturerWasRenamed() {
+        Catalog catalog = Catalog.random(new Random(11), 100);
+        CatalogSnapshot snapshot = catalog.build();
+
+        catalog.cars.values().stream()
+                .filter(car -> car.manufacturerId == 2L)
+                .forEach(car -> {
+                    car.manufacturer = "Tesla";
+                    car.year = 2020;
+                });
+
+        Set<String> names = Set.of("Audi", "Tesla");
+        CatalogSnapshot patched = snapshot.patch(Set.of(), names, Set.of(), Set.of(), catalog.rows(Set.of(), names));
+
+        assertSameReads(catalog.build(), patched, catalog);
+    }
+
+    @Test
+    void patch_shouldKeepUntouchedManufacturers_whenOnlyOneManufacturerChanged() {
+        Catalog catalog = Catalog.random(new Random(13), 100);
+        CatalogSnapshot snapshot = catalog.build();
+
+        catalog.cars.remove(1L);
+        catalog.put(101L, 3L, "BMW", 2010, 1L, "Grand", Map.of(2L, "SUV"));
+
+        Set<Long> changed = Set.of(1L, 101L);
+        CatalogSnapshot patched = snapshot.patch(changed, Set.of(), Set.of(), Set.of(),
+                catalog.rows(changed, Set.of()));
+
+        assertSameReads(catalog.build(), patched, catalog);
+    }
+
+    /**
+     * More categories than fit the one bitset word per car of the random catalog.
+     */
+    private static Map<Long, String> manyCategories() {
+        Map<Long, String> categories = new TreeMap<>();
+        for (long categoryId = 10; categoryId < 80; categoryId++) {
+            categories.put(categoryId, "Category " + categoryId);
+        }
+        return categories;
+    }
+
+    private void assertSameReads(CatalogSnapshot expected, CatalogSnapshot actual, Catalog catalog) {
+        assertEquals(expected.size(), actual.size());
+        for (SnapshotOrder order : List.of(SnapshotOrder.ID_ASC, SnapshotOrder.ID_DESC)) {
+            assertEquals(render(expected.findAll(order, 0, Integer.MAX_VALUE)),
+                    render(actual.findAll(order, 0, Integer.MAX_VALUE)));
+        }
+        for (String manufacturer : Stream.concat(MANUFACTURERS.stream(), Stream.of("Rivian")).collect(toList())) {
+            for (SnapshotOrder order : SnapshotOrder.values()) {
+                assertEquals(render(expected.findByManufacturer(manufacturer, order, 0, Integer.MAX_VALUE)),
+                        render(actual.findByManufacturer(manufacturer, order, 0, Integer.MAX_VALUE)));
+                for (int year = 2000; year <= 2022; year += 3) {
+                    assertEquals(render(expected.findByManufacturerAndMinYear(manufacturer, year, order, 0, 50)),
+                            render(actual.findByManufacturerAndMinYear(manufacturer, year, order, 0, 50)));
+                }
+            }
+        }
+        for (long carId : catalog.cars.keySet()) {
+            assertEquals(render(expected.findSimilar(carId, 5)), render(actual.findSimilar(carId, 5)));
+        }
+    }
+
+    private static String render(List<CarDTO> cars) {
+        return cars.stream()
+                .map(car -> car.getId() + ":" + car.getManufacturer().getId() + "/"
+                        + car.getManufacturer().getManufacturer() + "/" + car.getManufacturer().getYear() + ":"
+                        + car.getModel().getId() + "/" + car.getModel().getModel() + ":"
+                        + car.getCarCategories().stream()
+                                .map(CategoryBasicDTO::getCategory)
+                                .sorted()
+                                .collect(joining(",")))
+                .collect(joining("\n"));
+    }
+
+    private static final class Catalog {
+
+        private final TreeMap<Long, Car> cars = new TreeMap<>();
+
+        private static Catalog random(Random random, int size) {
+            Catalog catalog = new Catalog();
+            for (long carId = 1; carId <= size; carId++) {
+                int manufacturer = random.nextInt(MANUFACTURERS.size());
+                int model = random.nextInt(MODELS.size());
+                Map<Long, String> categories = new TreeMap<>();
+                for (int category = 0; category < CATEGORIES.size(); category++) {
+                    if (random.nextInt(3) == 0) {
+                        categories.put(category + 1L, CATEGORIES.get(category));
+                    }
+                }
+                catalog.put(carId, manufacturer + 1L, MANUFACTURERS.get(manufacturer), 2000 + manufacturer * 5,
+                        model + 1L, MODELS.get(model), categories);
+            }
+            return catalog;
+        }
+
+        private void put(long carId, long manufacturerId, String manufacturer, int year, long modelId, String model,
+                         Map<Long, String> categories) {
+            Car car = new Car();
+            car.manufacturerId = manufacturerId;
+            car.manufacturer = manufacturer;
+            car.year = year;
+            car.modelId = modelId;
+            car.model = model;
+            car.categories.putAll(categories);
+            cars.put(carId, car);
+        }
+
+        private CatalogSnapshot build() {
+            CatalogSnapshot.Builder builder = CatalogSnapshot.builder();
+            rows(null, null).forEach(builder::add);
+            return builder.build();
+        }
+
+        /**
+         * Rows of the given cars and of the cars under the given manufacturer names, or of all cars for nulls.
+         */
+        private List<CarRow> rows(Set<Long> carIds, Set<String> manufacturers) {
+            List<CarRow> rows = new ArrayList<>();
+            cars.forEach((carId, car) -> {
+                if (carIds != null && !carIds.contains(carId) && !manufacturers.contains(car.manufacturer)) {
+                    return;
+                }
+                if (car.categories.isEmpty()) {
+                    rows.add(car.row(carId, null, null));
+                }
+                car.categories.forEach((categoryId, category) -> rows.add(car.row(carId, categoryId, category)));
+            });
+            return rows;
+        }
+    }
+
+    private static final class Car {
+
+        private long manufacturerId;
+
+        private String manufacturer;
+
+        private int year;
+
+        private long modelId;
+
+        private String model;
+
+        private final TreeMap<Long, String> categories = new TreeMap<>();
+
+        private CarRow row(long carId, Long categoryId, String category) {
+            return new CarRow(carId, modelId, model, manufacturerId, manufacturer, year, categoryId, category);
+        }
+    }
+}
@@ -1,37 +1,49 @@
-INSERT INTO model(model)
-VALUES ('Touareg 2'),
-       ('Regal'),
-       ('Grand');
+INSERT INTO model(model_id, model)
+VALUES (1, 'Touareg 2'),
+       (2, 'Regal'),
+       (3, 'Grand');
 
-INSERT INTO manufacturer(manufacturer, year)
-VALUES ('Acura', 2017),
-       ('Acura', 2005),
-       ('Acura', 2006),
-       ('Aston Martin', 2010),
-       ('Aston Martin', 2012),
-       ('Aston Martin', 2018);
+INSERT INTO manufacturer(manufacturer_id, manufacturer, year)
+VALUES (1, 'Acura', 2017),
+       (2, 'Acura', 2005),
+       (3, 'Acura', 2006),
+       (4, 'Aston Martin', 2010),
+       (5, 'Aston Martin', 2012),
+       (6, 'Aston Martin', 2018);
 
-INSERT INTO category(category)
-VALUES ('SUV1992'),
-       ('Convertible'),
-       ('Wagon');
+INSERT INTO category(category_id, category)
+VALUES (1, 'SUV1992'),
+       (2, 'Convertible'),
+       (3, 'Wagon');
 
-INSERT INTO car(manufacturer_id, model_id)
-VALUES (1, 1),
-       (2, 1),
-       (3, 2),
-       (4, 2),
-       (4, 3),
-       (5, 3),
-       (6, 1);
+INSERT INTO car(car_id, manufacturer_id, model_id)
+VALUES (1, 1, 1),
+       (2, 2, 1),
+       (3, 3, 2),
+       (4, 4, 2),
+       (5, 4, 3),
+       (6, 5, 3),
+       (7, 6, 1);
 
-INSERT INTO car_category_info(car_id, category_id)
-VALUES (1, 1),
-       (1, 2),
-       (2, 1),
-       (3, 3),
-       (4, 1),
-       (4, 3),
-       (5, 2),
-       (6, 3),
-       (7, 1);
+INSERT INTO car_category_info(id, car_id, category_id)
+VALUES (1, 1, 1),
+       (2, 1, 2),
+       (3, 2, 1),
+       (4, 3, 3),
+       (5, 4, 1),
+       (6, 4, 3),
+       (7, 5, 2),
+       (8, 6, 3),
+       (9, 7, 1);
+
+SELECT setval('manufacturer_seq', (SELECT max(manufacturer_id) + 1 FROM manufacturer), false);
+SELECT setval('model_seq', (SELECT max(model_id) + 1 FROM model), false);
+SELECT setval('category_seq', (SELECT max(category_id) + 1 FROM category), false);
+SELECT setval('car_seq', (SELECT max(car_id) + 1 FROM car), false);
+SELECT setval('car_category_info_seq', (SELECT max(id) + 1 FROM car_category_info), false);
+
+REFRESH MATERIALIZED VIEW stats_cars_per_manufacturer_year;
+REFRESH MATERIALIZED VIEW stats_models_per_category;
+REFRESH MATERIALIZED VIEW stats_cars_per_year;
+REFRESH MATERIALIZED VIEW stats_cars_per_model_year;
+REFRESH MATERIALIZED VIEW stats_cars_per_category_year;
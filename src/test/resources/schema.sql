@@ -17,19 +17,146 @@ CREATE TABLE model
 CREATE TABLE category
 (
     category_id bigserial PRIMARY KEY,
-    category    varchar(50)
+    category    varchar(50) NOT NULL
 );
 
 CREATE TABLE car
 (
     car_id          bigserial PRIMARY KEY,
-    manufacturer_id bigint REFERENCES manufacturer (manufacturer_id) NOT NULL,
-    model_id        bigint REFERENCES model (model_id)               NOT NULL
+    manufacturer_id bigint REFERENCES manufacturer (manufacturer_id) ON DELETE CASCADE NOT NULL,
+    model_id        bigint REFERENCES model (model_id)                ON DELETE CASCADE NOT NULL
 );
 
 CREATE TABLE car_category_info
 (
     id          bigserial PRIMARY KEY,
-    category_id bigint REFERENCES category (category_id),
-    car_id      bigint REFERENCES car (car_id)
+    category_id bigint REFERENCES category (category_id) ON DELETE CASCADE,
+    car_id      bigint REFERENCES car (car_id) ON DELETE CASCADE
+);
+
+ALTER TABLE manufacturer
+    ADD CONSTRAINT manufacturer_manufacturer_year_key UNIQUE (manufacturer, year) INCLUDE (manufacturer_id);
+
+ALTER TABLE model
+    ADD CONSTRAINT model_model_key UNIQUE (model) INCLUDE (model_id);
+
+ALTER TABLE category
+    ADD CONSTRAINT category_category_key UNIQUE (category) INCLUDE (category_id);
+
+ALTER TABLE car
+    ADD CONSTRAINT car_manufacturer_id_model_id_key UNIQUE (manufacturer_id, model_id);
+
+CREATE INDEX car_model_id_idx ON car (model_id);
+
+ALTER TABLE car_category_info
+    ADD CONSTRAINT car_category_info_car_id_category_id_key UNIQUE (car_id, category_id);
+
+CREATE INDEX car_category_info_category_id_car_id_idx ON car_category_info (category_id, car_id);
+
+CREATE SEQUENCE manufacturer_seq INCREMENT BY 50 OWNED BY manufacturer.manufacturer_id;
+ALTER TABLE manufacturer ALTER COLUMN manufacturer_id SET DEFAULT nextval('manufacturer_seq');
+
+CREATE SEQUENCE model_seq INCREMENT BY 50 OWNED BY model.model_id;
+ALTER TABLE model ALTER COLUMN model_id SET DEFAULT nextval('model_seq');
+
+CREATE SEQUENCE category_seq INCREMENT BY 50 OWNED BY category.category_id;
+ALTER TABLE category ALTER COLUMN category_id SET DEFAULT nextval('category_seq');
+
+CREATE SEQUENCE car_seq INCREMENT BY 50 OWNED BY car.car_id;
+ALTER TABLE car ALTER COLUMN car_id SET DEFAULT nextval('car_seq');
+
+CREATE SEQUENCE car_category_info_seq INCREMENT BY 50 OWNED BY car_category_info.id;
+ALTER TABLE car_category_info ALTER COLUMN id SET DEFAULT nextval('car_category_info_seq');
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX manufacturer_manufacturer_trgm_idx ON manufacturer USING gin (lower(manufacturer) gin_trgm_ops);
+
+CREATE INDEX model_model_trgm_idx ON model USING gin (lower(model) gin_trgm_ops);
+
+CREATE INDEX category_category_trgm_idx ON category USING gin (lower(category) gin_trgm_ops);
+
+CREATE MATERIALIZED VIEW stats_cars_per_manufacturer_year AS
+SELECT mf.manufacturer, mf.year, count(*) AS cars
+FROM car c
+         JOIN manufacturer mf ON mf.manufacturer_id = c.manufacturer_id
+GROUP BY mf.manufacturer, mf.year;
+
+CREATE UNIQUE INDEX stats_cars_per_manufacturer_year_key ON stats_cars_per_manufacturer_year (manufacturer, year);
+
+CREATE MATERIALIZED VIEW stats_models_per_category AS
+SELECT ct.category, count(DISTINCT c.model_id) AS models
+FROM category ct
+         JOIN car_category_info cci ON cci.category_id = ct.category_id
+         JOIN car c ON c.car_id = cci.car_id
+WHERE ct.category IS NOT NULL
+GROUP BY ct.category;
+
+CREATE UNIQUE INDEX stats_models_per_category_key ON stats_models_per_category (category);
+
+CREATE MATERIALIZED VIEW stats_cars_per_year AS
+SELECT mf.year, count(*) AS cars
+FROM car c
+         JOIN manufacturer mf ON mf.manufacturer_id = c.manufacturer_id
+GROUP BY mf.year;
+
+CREATE UNIQUE INDEX stats_cars_per_year_key ON stats_cars_per_year (year);
+
+CREATE MATERIALIZED VIEW stats_cars_per_model_year AS
+SELECT m.model, mf.year, count(*) AS cars
+FROM car c
+         JOIN manufacturer mf ON mf.manufacturer_id = c.manufacturer_id
+         JOIN model m ON m.model_id = c.model_id
+GROUP BY m.model, mf.year;
+
+CREATE UNIQUE INDEX stats_cars_per_model_year_key ON stats_cars_per_model_year (model, year);
+
+CREATE MATERIALIZED VIEW stats_cars_per_category_year AS
+SELECT ct.category, mf.year, count(*) AS cars
+FROM category ct
+         JOIN car_category_info cci ON cci.category_id = ct.category_id
+         JOIN car c ON c.car_id = cci.car_id
+         JOIN manufacturer mf ON mf.manufacturer_id = c.manufacturer_id
+WHERE ct.category IS NOT NULL
+GROUP BY ct.category, mf.year;
+
+CREATE UNIQUE INDEX stats_cars_per_category_year_key ON stats_cars_per_category_year (category, year);
+
+CREATE TABLE stats_refresh
+(
+    id           boolean PRIMARY KEY DEFAULT true CHECK (id),
+    refreshed_at timestamptz NOT NULL
+);
+
+INSERT INTO stats_refresh (refreshed_at) VALUES (now());
+
+CREATE TABLE catalog_job
+(
+    job_id       bigserial PRIMARY KEY,
+    type         varchar(50) NOT NULL,
+    status       varchar(20) NOT NULL,
+    subject      varchar(50),
+    total        bigint      NOT NULL,
+    processed    bigint      NOT NULL DEFAULT 0,
+    checkpoint   bigint      NOT NULL DEFAULT 0,
+    attempts     int         NOT NULL DEFAULT 0,
+    error        text,
+    created_at   timestamptz NOT NULL DEFAULT now(),
+    started_at   timestamptz,
+    heartbeat_at timestamptz,
+    finished_at  timestamptz
+);
+
+CREATE INDEX catalog_job_unfinished_idx ON catalog_job (job_id) WHERE status IN ('QUEUED', 'RUNNING');
+
+CREATE TABLE catalog_job_import_row
+(
+    job_id       bigint NOT NULL REFERENCES catalog_job (job_id) ON DELETE CASCADE,
+    row_no       bigint NOT NULL,
+    object_id    text,
+    manufacturer text,
+    year         int,
+    model        text,
+    category     text,
+    PRIMARY KEY (job_id, row_no)
 );